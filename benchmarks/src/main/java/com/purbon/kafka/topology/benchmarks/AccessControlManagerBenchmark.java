@@ -0,0 +1,94 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import com.purbon.kafka.topology.AccessControlManager;
+import com.purbon.kafka.topology.AccessControlProvider;
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.backend.BackendState;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.roles.acls.AclsBindingsBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Planning of the ACL changes. A share of the bindings can be seeded into the state, as if they
+ * were created by a previous run, to cover the diff against the current bindings as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessControlManagerBenchmark {
+
+  @Param({"10", "100"})
+  public int projects;
+
+  @Param({"10", "50"})
+  public int topicsPerProject;
+
+  @Param({"2", "10"})
+  public int consumersPerProject;
+
+  @Param({"0", "50"})
+  public int existingBindingsPercentage;
+
+  private AccessControlManager accessControlManager;
+  private Map<String, Topology> topologies;
+  private InMemoryBackend backend;
+
+  @Setup
+  public void setup() throws IOException {
+    Configuration config = new Configuration();
+    topologies =
+        Fixtures.topologies(
+            new SyntheticTopologyGenerator("benchmark")
+                .withProjects(projects)
+                .withTopicsPerProject(topicsPerProject)
+                .withConsumersPerProject(consumersPerProject)
+                .withProducersPerProject(consumersPerProject),
+            config);
+    accessControlManager =
+        new AccessControlManager(
+            mock(AccessControlProvider.class), new AclsBindingsBuilder(config), config);
+    backend = new InMemoryBackend(seedState());
+  }
+
+  private BackendState seedState() throws IOException {
+    InMemoryBackend seed = new InMemoryBackend();
+    ExecutionPlan plan = Fixtures.emptyPlan(seed);
+    accessControlManager.updatePlan(plan, topologies);
+    plan.run();
+
+    List<TopologyAclBinding> bindings = new ArrayList<>(seed.load().getBindings());
+    int existing = bindings.size() * existingBindingsPercentage / 100;
+    BackendState state = new BackendState();
+    state.addBindings(bindings.subList(0, existing));
+    return state;
+  }
+
+  @Benchmark
+  public ExecutionPlan updatePlan() throws IOException {
+    ExecutionPlan plan = Fixtures.emptyPlan(backend);
+    accessControlManager.updatePlan(plan, topologies);
+    return plan;
+  }
+}
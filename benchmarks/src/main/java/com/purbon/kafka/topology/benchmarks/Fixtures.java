@@ -0,0 +1,40 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import com.purbon.kafka.topology.BackendController;
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.backend.Backend;
+import com.purbon.kafka.topology.model.PlanMap;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.serdes.TopologySerdes;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Map;
+
+/** Shared set up code for the benchmarks, nothing in here talks to a remote service. */
+final class Fixtures {
+
+  private static final PrintStream NULL_OUTPUT = new PrintStream(OutputStream.nullOutputStream());
+
+  private Fixtures() {}
+
+  static Map<String, Topology> topologies(SyntheticTopologyGenerator generator) {
+    return topologies(generator, new Configuration());
+  }
+
+  static Map<String, Topology> topologies(
+      SyntheticTopologyGenerator generator, Configuration config) {
+    Topology topology = new TopologySerdes(config, new PlanMap()).deserialise(generator.yaml());
+    return Collections.singletonMap(topology.getContext(), topology);
+  }
+
+  static ExecutionPlan emptyPlan() throws IOException {
+    return emptyPlan(new InMemoryBackend());
+  }
+
+  static ExecutionPlan emptyPlan(Backend backend) throws IOException {
+    return ExecutionPlan.init(new BackendController(backend), NULL_OUTPUT);
+  }
+}
@@ -0,0 +1,33 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import com.purbon.kafka.topology.backend.Backend;
+import com.purbon.kafka.topology.backend.BackendState;
+
+/** Keeps the state in memory, so running a benchmark never touches the local state file. */
+class InMemoryBackend implements Backend {
+
+  private BackendState state;
+
+  InMemoryBackend() {
+    this(new BackendState());
+  }
+
+  InMemoryBackend(BackendState state) {
+    this.state = state;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  @Override
+  public void save(BackendState state) {
+    this.state = state;
+  }
+
+  @Override
+  public BackendState load() {
+    return state;
+  }
+}
@@ -0,0 +1,140 @@
+package com.purbon.kafka.topology.benchmarks;
+
+/**
+ * Generates a topology descriptor of a given size, so benchmarks can measure how the planning code
+ * scales without depending on descriptors checked into the repository.
+ *
+ * <p>Every project gets the same number of topics, consumers, producers and streams applications.
+ * Consumers and producers are project wide, so they are granted access to every topic of their
+ * project, while each streams application reads from one topic and writes into the next one.
+ */
+public class SyntheticTopologyGenerator {
+
+  /** The retention every generated topic is configured with. */
+  public static final String RETENTION_MS = "604800000";
+
+  private final String context;
+  private int projects = 10;
+  private int topicsPerProject = 10;
+  private int consumersPerProject = 2;
+  private int producersPerProject = 2;
+  private int streamsPerProject = 1;
+
+  public SyntheticTopologyGenerator(String context) {
+    this.context = context;
+  }
+
+  public SyntheticTopologyGenerator withProjects(int projects) {
+    this.projects = projects;
+    return this;
+  }
+
+  public SyntheticTopologyGenerator withTopicsPerProject(int topicsPerProject) {
+    this.topicsPerProject = topicsPerProject;
+    return this;
+  }
+
+  public SyntheticTopologyGenerator withConsumersPerProject(int consumersPerProject) {
+    this.consumersPerProject = consumersPerProject;
+    return this;
+  }
+
+  public SyntheticTopologyGenerator withProducersPerProject(int producersPerProject) {
+    this.producersPerProject = producersPerProject;
+    return this;
+  }
+
+  public SyntheticTopologyGenerator withStreamsPerProject(int streamsPerProject) {
+    this.streamsPerProject = streamsPerProject;
+    return this;
+  }
+
+  public String getContext() {
+    return context;
+  }
+
+  public String projectName(int project) {
+    return "project" + project;
+  }
+
+  public String topicName(int topic) {
+    return "topic" + topic;
+  }
+
+  public int getTotalTopics() {
+    return projects * topicsPerProject;
+  }
+
+  /**
+   * @return the descriptor in YAML format, as accepted by the TopologySerdes.
+   */
+  public String yaml() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("---\n");
+    sb.append("context: \"").append(context).append("\"\n");
+    sb.append("projects:\n");
+    for (int p = 0; p < projects; p++) {
+      sb.append("  - name: \"").append(projectName(p)).append("\"\n");
+      appendConsumers(sb, p);
+      appendProducers(sb, p);
+      appendStreams(sb, p);
+      appendTopics(sb);
+    }
+    return sb.toString();
+  }
+
+  private void appendConsumers(StringBuilder sb, int project) {
+    if (consumersPerProject == 0) {
+      return;
+    }
+    sb.append("    consumers:\n");
+    for (int c = 0; c < consumersPerProject; c++) {
+      sb.append("      - principal: \"User:consumer-").append(project).append("-").append(c);
+      sb.append("\"\n");
+      sb.append("        group: \"group-").append(project).append("-").append(c).append("\"\n");
+    }
+  }
+
+  private void appendProducers(StringBuilder sb, int project) {
+    if (producersPerProject == 0) {
+      return;
+    }
+    sb.append("    producers:\n");
+    for (int c = 0; c < producersPerProject; c++) {
+      sb.append("      - principal: \"User:producer-").append(project).append("-").append(c);
+      sb.append("\"\n");
+    }
+  }
+
+  private void appendStreams(StringBuilder sb, int project) {
+    if (streamsPerProject == 0 || topicsPerProject == 0) {
+      return;
+    }
+    sb.append("    streams:\n");
+    for (int s = 0; s < streamsPerProject; s++) {
+      sb.append("      - principal: \"User:streams-").append(project).append("-").append(s);
+      sb.append("\"\n");
+      sb.append("        applicationId: \"app-").append(project).append("-").append(s);
+      sb.append("\"\n");
+      sb.append("        topics:\n");
+      sb.append("          read:\n");
+      sb.append("            - \"").append(topicName(s % topicsPerProject)).append("\"\n");
+      sb.append("          write:\n");
+      sb.append("            - \"").append(topicName((s + 1) % topicsPerProject)).append("\"\n");
+    }
+  }
+
+  private void appendTopics(StringBuilder sb) {
+    if (topicsPerProject == 0) {
+      return;
+    }
+    sb.append("    topics:\n");
+    for (int t = 0; t < topicsPerProject; t++) {
+      sb.append("      - name: \"").append(topicName(t)).append("\"\n");
+      sb.append("        config:\n");
+      sb.append("          replication.factor: \"3\"\n");
+      sb.append("          num.partitions: \"6\"\n");
+      sb.append("          retention.ms: \"").append(RETENTION_MS).append("\"\n");
+    }
+  }
+}
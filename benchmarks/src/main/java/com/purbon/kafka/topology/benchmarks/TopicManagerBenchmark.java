@@ -0,0 +1,99 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.TopicManager;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Planning of the topic changes. A share of the topics can be reported as already present in the
+ * cluster, with the same configuration as in the descriptor, to cover the update path as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicManagerBenchmark {
+
+  @Param({"10", "100"})
+  public int projects;
+
+  @Param({"10", "100"})
+  public int topicsPerProject;
+
+  @Param({"0", "50"})
+  public int existingTopicsPercentage;
+
+  private TopicManager topicManager;
+  private Map<String, Topology> topologies;
+
+  @Setup
+  public void setup() throws IOException {
+    Configuration config = new Configuration();
+    topologies =
+        Fixtures.topologies(
+            new SyntheticTopologyGenerator("benchmark")
+                .withProjects(projects)
+                .withTopicsPerProject(topicsPerProject),
+            config);
+
+    TopologyBuilderAdminClient adminClient = mock(TopologyBuilderAdminClient.class);
+    when(adminClient.listApplicationTopics()).thenReturn(existingTopics());
+    Config currentConfig =
+        new Config(
+            Collections.singletonList(
+                new ConfigEntry("retention.ms", SyntheticTopologyGenerator.RETENTION_MS)));
+    when(adminClient.getActualTopicConfig(anyString())).thenReturn(currentConfig);
+    when(adminClient.getPartitionCount(anyString())).thenReturn(6);
+
+    topicManager = new TopicManager(adminClient, mock(SchemaRegistryManager.class), config);
+  }
+
+  private Set<String> existingTopics() {
+    List<String> topics =
+        topologies.values().stream()
+            .flatMap(topology -> topology.getProjects().stream())
+            .flatMap(project -> project.getTopics().stream())
+            .map(Topic::toString)
+            .collect(Collectors.toList());
+    int existing = topics.size() * existingTopicsPercentage / 100;
+    return new HashSet<>(topics.subList(0, existing));
+  }
+
+  @Benchmark
+  public ExecutionPlan updatePlan() throws IOException {
+    ExecutionPlan plan = Fixtures.emptyPlan();
+    topicManager.updatePlan(plan, topologies);
+    return plan;
+  }
+}
@@ -0,0 +1,73 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import static com.purbon.kafka.topology.Constants.PROJECT_PREFIX_FORMAT_CONFIG;
+import static com.purbon.kafka.topology.Constants.TOPIC_PREFIX_FORMAT_CONFIG;
+
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.model.Topic;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Building of the full topic names, called for every topic many times during a run. Covers the
+ * default naming structure and a pattern based one, rendered through the template engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicToStringBenchmark {
+
+  @Param({"default", "{{context}}.{{project}}.{{topic}}"})
+  public String topicPrefixFormat;
+
+  private List<Topic> topics;
+
+  @Setup
+  public void setup() {
+    Properties props = new Properties();
+    props.put(TOPIC_PREFIX_FORMAT_CONFIG, topicPrefixFormat);
+    if (!"default".equals(topicPrefixFormat)) {
+      props.put(PROJECT_PREFIX_FORMAT_CONFIG, "{{context}}.{{project}}");
+    }
+    Map<String, String> cliParams = new HashMap<>();
+    Configuration config = new Configuration(cliParams, props);
+
+    topics =
+        Fixtures.topologies(
+                new SyntheticTopologyGenerator("benchmark")
+                    .withProjects(10)
+                    .withTopicsPerProject(100),
+                config)
+            .values()
+            .stream()
+            .flatMap(topology -> topology.getProjects().stream())
+            .flatMap(project -> project.getTopics().stream())
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public void topicNames(Blackhole blackhole) {
+    for (Topic topic : topics) {
+      blackhole.consume(topic.toString());
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.purbon.kafka.topology.benchmarks;
+
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.serdes.TopologySerdes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of a topology descriptor, from the YAML text into the topology model. Run with {@code
+ * -prof gc} to compare the memory allocated per operation between two JulieOps builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopologySerdesBenchmark {
+
+  @Param({"10", "100"})
+  public int projects;
+
+  @Param({"10", "100"})
+  public int topicsPerProject;
+
+  private TopologySerdes serdes;
+  private String descriptor;
+
+  @Setup
+  public void setup() {
+    serdes = new TopologySerdes();
+    descriptor =
+        new SyntheticTopologyGenerator("benchmark")
+            .withProjects(projects)
+            .withTopicsPerProject(topicsPerProject)
+            .yaml();
+  }
+
+  @Benchmark
+  public Topology deserialise() {
+    return serdes.deserialise(descriptor);
+  }
+}
@@ -9,6 +9,7 @@ import com.purbon.kafka.topology.serviceAccounts.VoidPrincipalProvider;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,30 +46,43 @@ abstract class AbstractPrincipalManager implements ExecutionPlanUpdater {
     }
     provider.configure();
 
+    // the principals of all the topologies are compared at once with the accounts, so an
+    // account is created only once and not deleted because another topology does not use it
     Map<String, ServiceAccount> accounts = loadActualClusterStateIfAvailable(plan);
+    Set<String> principals = new LinkedHashSet<>();
     for (Topology topology : topologies.values()) {
-      List<String> principals = parseListOfPrincipals(topology);
-      doUpdatePlan(plan, topology, principals, accounts);
+      principals.addAll(parseListOfPrincipals(topology));
     }
+    doUpdatePlan(plan, principals, accounts);
   }
 
   protected abstract void doUpdatePlan(
-      ExecutionPlan plan,
-      Topology topology,
-      final List<String> principals,
-      final Map<String, ServiceAccount> accounts);
+      ExecutionPlan plan, final Set<String> principals, final Map<String, ServiceAccount> accounts);
 
   private Map<String, ServiceAccount> loadActualClusterStateIfAvailable(ExecutionPlan plan)
       throws IOException {
     Set<ServiceAccount> accounts =
         config.fetchStateFromTheCluster()
-            ? provider.listServiceAccounts()
+            ? clusterServiceAccounts(plan.getClusterSnapshot())
             : plan.getServiceAccounts();
     return accounts.stream()
         .filter(serviceAccount -> matchesPrefixList(serviceAccount.getName()))
         .collect(Collectors.toMap(ServiceAccount::getName, serviceAccount -> serviceAccount));
   }
 
+  private Set<ServiceAccount> clusterServiceAccounts(ClusterSnapshot snapshot) throws IOException {
+    return snapshot.serviceAccounts().get(provider::listServiceAccounts);
+  }
+
+  @Override
+  public void prefetchClusterState(ClusterSnapshot snapshot, boolean reportState) {
+    boolean managed =
+        config.enabledPrincipalManagement() && !(provider instanceof VoidPrincipalProvider);
+    if (reportState || (managed && config.fetchStateFromTheCluster())) {
+      snapshot.serviceAccounts().prefetch(provider::listServiceAccounts);
+    }
+  }
+
   private boolean matchesPrefixList(String principal) {
     boolean matches =
         managedPrefixes.size() == 0 || managedPrefixes.stream().anyMatch(principal::startsWith);
@@ -111,4 +125,11 @@ abstract class AbstractPrincipalManager implements ExecutionPlanUpdater {
     out.println("List of Principles: ");
     provider.listServiceAccounts().forEach(out::println);
   }
+
+  @Override
+  public final void printCurrentState(ClusterSnapshot snapshot, PrintStream out)
+      throws IOException {
+    out.println("List of Principles: ");
+    clusterServiceAccounts(snapshot).forEach(out::println);
+  }
 }
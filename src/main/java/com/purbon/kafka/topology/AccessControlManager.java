@@ -11,6 +11,7 @@ import com.purbon.kafka.topology.exceptions.RemoteValidationException;
 import com.purbon.kafka.topology.model.*;
 import com.purbon.kafka.topology.model.users.*;
 import com.purbon.kafka.topology.model.users.platform.*;
+import com.purbon.kafka.topology.roles.AclCompactor;
 import com.purbon.kafka.topology.roles.ResourceFilter;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
@@ -30,6 +31,7 @@ public class AccessControlManager implements ExecutionPlanUpdater {
   private AccessControlProvider controlProvider;
   private BindingsBuilderProvider bindingsBuilder;
   private final ResourceFilter resourceFilter;
+  private final Optional<ClusterSnapshot.Loader<String>> clusterTopics;
 
   public AccessControlManager(
       AccessControlProvider controlProvider, BindingsBuilderProvider builderProvider) {
@@ -48,11 +50,34 @@ public class AccessControlManager implements ExecutionPlanUpdater {
       BindingsBuilderProvider builderProvider,
       JulieRoles julieRoles,
       Configuration config) {
+    this(controlProvider, builderProvider, julieRoles, config, Optional.empty());
+  }
+
+  /**
+   * @param clusterTopics lists the topics of the cluster, required to compact the ACLs
+   */
+  public AccessControlManager(
+      AccessControlProvider controlProvider,
+      BindingsBuilderProvider builderProvider,
+      JulieRoles julieRoles,
+      Configuration config,
+      Optional<ClusterSnapshot.Loader<String>> clusterTopics) {
     this.controlProvider = controlProvider;
     this.bindingsBuilder = builderProvider;
     this.config = config;
     this.julieRoles = julieRoles;
     this.resourceFilter = new ResourceFilter(config);
+    this.clusterTopics = clusterTopics;
+  }
+
+  /** A manager for the bindings within the given scope only. */
+  public AccessControlManager scopedTo(ContextScope scope) {
+    return new AccessControlManager(
+        controlProvider,
+        bindingsBuilder,
+        julieRoles,
+        config.withContextScope(scope),
+        clusterTopics);
   }
 
   @Override
@@ -66,14 +91,60 @@ public class AccessControlManager implements ExecutionPlanUpdater {
       aclBindingsResults.addAll(buildSpecialTopicsAcls(topology));
     }
 
-    buildUpdateBindingsActions(aclBindingsResults, loadActualClusterStateIfAvailable(plan))
+    Optional<AclCompactor> compactor =
+        shouldCompactAcls() ? Optional.of(buildAclCompactor(plan, topologies)) : Optional.empty();
+    buildUpdateBindingsActions(
+            aclBindingsResults, loadActualClusterStateIfAvailable(plan), compactor)
         .forEach(plan::add);
   }
 
+  /**
+   * A compacted binding grants access to every topic under the prefix, including the ones created
+   * later on, so the ACLs are only compacted within the managed topic prefixes, and knowing all the
+   * topics of the cluster.
+   */
+  private boolean shouldCompactAcls() {
+    if (!config.shouldCompactAcls()) {
+      return false;
+    }
+    if (config.getTopicManagedPrefixes().isEmpty()) {
+      LOGGER.warn(
+          "ACL compaction requires topology.topic.managed.prefixes to be set, the ACLs are not"
+              + " compacted");
+      return false;
+    }
+    if (clusterTopics.isEmpty()) {
+      LOGGER.warn("The topics of the cluster can not be listed, the ACLs are not compacted");
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * The bindings can be collapsed into the project prefixes, as long as every topic in the project
+   * is covered. The known topics are the ones in the topologies, the state and the cluster.
+   */
+  private AclCompactor buildAclCompactor(ExecutionPlan plan, Map<String, Topology> topologies)
+      throws IOException {
+    Set<String> prefixes = new HashSet<>();
+    Set<String> topics = new HashSet<>(plan.getTopics());
+    topics.addAll(plan.getClusterSnapshot().topics().get(clusterTopics.get()));
+    for (Topology topology : topologies.values()) {
+      for (Project project : topology.getProjects()) {
+        prefixes.add(project.namePrefix());
+        project.getTopics().forEach(topic -> topics.add(topic.toString()));
+      }
+      topology.getSpecialTopics().forEach(topic -> topics.add(topic.toString()));
+    }
+    return new AclCompactor(prefixes, topics, resourceFilter);
+  }
+
   private Set<TopologyAclBinding> loadActualClusterStateIfAvailable(ExecutionPlan plan)
       throws IOException {
     Set<TopologyAclBinding> bindings =
-        config.fetchStateFromTheCluster() ? providerBindings() : plan.getBindings();
+        config.fetchStateFromTheCluster()
+            ? clusterBindings(plan.getClusterSnapshot())
+            : plan.getBindings();
     var currentState =
         bindings.stream()
             .filter(resourceFilter::matchesManagedPrefixList)
@@ -95,13 +166,12 @@ public class AccessControlManager implements ExecutionPlanUpdater {
     return currentState;
   }
 
-  private void detectDivergencesInTheRemoteCluster(ExecutionPlan plan)
-      throws RemoteValidationException {
+  private void detectDivergencesInTheRemoteCluster(ExecutionPlan plan) throws IOException {
     if (!config.isAllowDeleteTopics()) {
       /* Assume topics are cleaned up by mechanisms outside JulieOps, and do not fail. */
       return;
     }
-    var remoteAcls = providerBindings();
+    var remoteAcls = clusterBindings(plan.getClusterSnapshot());
 
     var delta =
         plan.getBindings().stream()
@@ -123,6 +193,24 @@ public class AccessControlManager implements ExecutionPlanUpdater {
     return internalPrincipal.map(i -> !binding.getPrincipal().equals(i)).orElse(true);
   }
 
+  private Set<TopologyAclBinding> clusterBindings(ClusterSnapshot snapshot) throws IOException {
+    return snapshot.bindings().get(this::providerBindings);
+  }
+
+  @Override
+  public void prefetchClusterState(ClusterSnapshot snapshot, boolean reportState) {
+    boolean detectDivergences =
+        config.shouldVerifyRemoteState()
+            && !config.fetchStateFromTheCluster()
+            && config.isAllowDeleteTopics();
+    if (reportState || config.fetchStateFromTheCluster() || detectDivergences) {
+      snapshot.bindings().prefetch(this::providerBindings);
+    }
+    if (shouldCompactAcls()) {
+      snapshot.topics().prefetch(clusterTopics.get());
+    }
+  }
+
   private Set<TopologyAclBinding> providerBindings() {
     Set<TopologyAclBinding> bindings = new HashSet<>();
     controlProvider.listAcls().values().forEach(bindings::addAll);
@@ -136,59 +224,64 @@ public class AccessControlManager implements ExecutionPlanUpdater {
    * @return List<Action> A list of actions required based on the parameters
    */
   private List<AclBindingsResult> buildProjectAclBindings(Topology topology) {
-    List<AclBindingsResult> aclBindingsResults = new ArrayList<>();
+    // the projects are independent of each other, the results keep the order of the projects
+    return topology.getProjects().parallelStream()
+        .map(this::buildProjectAclBindings)
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
 
-    for (Project project : topology.getProjects()) {
-      if (config.shouldOptimizeAcls()) {
-        aclBindingsResults.addAll(buildOptimizeConsumerAndProducerAcls(project));
-      } else {
-        aclBindingsResults.addAll(buildDetailedConsumerAndProducerAcls(project));
-      }
-      // Setup global Kafka Stream Access control lists
-      String topicPrefix = project.namePrefix();
-      for (KStream app : project.getStreams()) {
-        syncApplicationAcls(app, topicPrefix).ifPresent(aclBindingsResults::add);
-      }
-      for (KSqlApp kSqlApp : project.getKSqls()) {
-        syncApplicationAcls(kSqlApp, topicPrefix).ifPresent(aclBindingsResults::add);
-      }
-      for (Connector connector : project.getConnectors()) {
-        syncApplicationAcls(connector, topicPrefix).ifPresent(aclBindingsResults::add);
-        connector
-            .getConnectors()
-            .ifPresent(
-                (list) ->
-                    aclBindingsResults.add(
-                        new ConnectorAuthorizationAclBindingsBuilder(bindingsBuilder, connector)
-                            .getAclBindings()));
-      }
+  private List<AclBindingsResult> buildProjectAclBindings(Project project) {
+    List<AclBindingsResult> aclBindingsResults = new ArrayList<>();
+    if (config.shouldOptimizeAcls()) {
+      aclBindingsResults.addAll(buildOptimizeConsumerAndProducerAcls(project));
+    } else {
+      aclBindingsResults.addAll(buildDetailedConsumerAndProducerAcls(project));
+    }
+    // Setup global Kafka Stream Access control lists
+    String topicPrefix = project.namePrefix();
+    for (KStream app : project.getStreams()) {
+      syncApplicationAcls(app, topicPrefix).ifPresent(aclBindingsResults::add);
+    }
+    for (KSqlApp kSqlApp : project.getKSqls()) {
+      syncApplicationAcls(kSqlApp, topicPrefix).ifPresent(aclBindingsResults::add);
+    }
+    for (Connector connector : project.getConnectors()) {
+      syncApplicationAcls(connector, topicPrefix).ifPresent(aclBindingsResults::add);
+      connector
+          .getConnectors()
+          .ifPresent(
+              (list) ->
+                  aclBindingsResults.add(
+                      new ConnectorAuthorizationAclBindingsBuilder(bindingsBuilder, connector)
+                          .getAclBindings()));
+    }
 
-      for (Schemas schemaAuthorization : project.getSchemas()) {
-        aclBindingsResults.add(
-            new SchemaAuthorizationAclBindingsBuilder(
-                    new BuildBindingsForSchemaAuthorization(
-                        bindingsBuilder, schemaAuthorization, config, topicPrefix))
-                .getAclBindings());
-      }
+    for (Schemas schemaAuthorization : project.getSchemas()) {
+      aclBindingsResults.add(
+          new SchemaAuthorizationAclBindingsBuilder(
+                  new BuildBindingsForSchemaAuthorization(
+                      bindingsBuilder, schemaAuthorization, config, topicPrefix))
+              .getAclBindings());
+    }
 
-      syncRbacRawRoles(project.getRbacRawRoles(), topicPrefix, aclBindingsResults);
+    syncRbacRawRoles(project.getRbacRawRoles(), topicPrefix, aclBindingsResults);
 
-      for (Map.Entry<String, List<Other>> other : project.getOthers().entrySet()) {
-        if (julieRoles.size() == 0) {
-          throw new IllegalStateException(
-              "Custom JulieRoles are being used without providing the required config file.");
-        }
-        BuildBindingsForRole buildBindingsForRole =
-            new BuildBindingsForRole(
-                bindingsBuilder, julieRoles.get(other.getKey()), other.getValue());
-        try {
-          buildBindingsForRole.run();
-        } catch (IOException e) {
-          throw new IllegalStateException(e);
-        }
-        aclBindingsResults.add(
-            AclBindingsResult.forAclBindings(buildBindingsForRole.getAclBindings()));
+    for (Map.Entry<String, List<Other>> other : project.getOthers().entrySet()) {
+      if (julieRoles.size() == 0) {
+        throw new IllegalStateException(
+            "Custom JulieRoles are being used without providing the required config file.");
+      }
+      BuildBindingsForRole buildBindingsForRole =
+          new BuildBindingsForRole(
+              bindingsBuilder, julieRoles.get(other.getKey()), other.getValue());
+      try {
+        buildBindingsForRole.run();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
       }
+      aclBindingsResults.add(
+          AclBindingsResult.forAclBindings(buildBindingsForRole.getAclBindings()));
     }
     return aclBindingsResults;
   }
@@ -228,25 +321,21 @@ public class AccessControlManager implements ExecutionPlanUpdater {
 
     for (Topic topic : topics) {
       final String fullTopicName = topic.toString();
-      Set<Consumer> consumers = new HashSet(topic.getConsumers());
-      if (includeProjectLevel) {
-        consumers.addAll(project.getConsumers());
-      }
+      List<Consumer> consumers =
+          distinctUsers(
+              topic.getConsumers(), includeProjectLevel ? project.getConsumers() : List.of());
       if (!consumers.isEmpty()) {
         AclBindingsResult aclBindingsResult =
-            new ConsumerAclBindingsBuilder(
-                    bindingsBuilder, new ArrayList<>(consumers), fullTopicName, false)
+            new ConsumerAclBindingsBuilder(bindingsBuilder, consumers, fullTopicName, false)
                 .getAclBindings();
         aclBindingsResults.add(aclBindingsResult);
       }
-      Set<Producer> producers = new HashSet(topic.getProducers());
-      if (includeProjectLevel) {
-        producers.addAll(project.getProducers());
-      }
+      List<Producer> producers =
+          distinctUsers(
+              topic.getProducers(), includeProjectLevel ? project.getProducers() : List.of());
       if (!producers.isEmpty()) {
         AclBindingsResult aclBindingsResult =
-            new ProducerAclBindingsBuilder(
-                    bindingsBuilder, new ArrayList<>(producers), fullTopicName, false)
+            new ProducerAclBindingsBuilder(bindingsBuilder, producers, fullTopicName, false)
                 .getAclBindings();
         aclBindingsResults.add(aclBindingsResult);
       }
@@ -254,15 +343,37 @@ public class AccessControlManager implements ExecutionPlanUpdater {
     return aclBindingsResults;
   }
 
+  /**
+   * @return the users of a topic and of its project, without duplicates, in a single copy. The few
+   *     users of a topic are compared one by one, a single user is used as it is.
+   */
+  private static <T> List<T> distinctUsers(List<T> topicUsers, List<T> projectUsers) {
+    if (projectUsers.isEmpty() && topicUsers.size() <= 1) {
+      return topicUsers;
+    }
+    List<T> users = new ArrayList<>(topicUsers.size() + projectUsers.size());
+    for (List<T> list : List.of(topicUsers, projectUsers)) {
+      for (T user : list) {
+        if (!users.contains(user)) {
+          users.add(user);
+        }
+      }
+    }
+    return users;
+  }
+
   /**
    * Build a list of actions required to create or delete necessary bindings
    *
    * @param aclBindingsResults List of pre computed actions based on a topology
    * @param bindings List of current bindings available in the cluster
+   * @param compactor Optional compaction of the literal bindings into prefixed ones
    * @return List<Action> list of actions necessary to update the cluster
    */
   private List<Action> buildUpdateBindingsActions(
-      List<AclBindingsResult> aclBindingsResults, Set<TopologyAclBinding> bindings)
+      List<AclBindingsResult> aclBindingsResults,
+      Set<TopologyAclBinding> bindings,
+      Optional<AclCompactor> compactor)
       throws IOException {
 
     List<Action> updateActions = new ArrayList<>();
@@ -279,10 +390,13 @@ public class AccessControlManager implements ExecutionPlanUpdater {
       throw new IOException(errorMessages.get(0));
     }
 
-    Set<TopologyAclBinding> allFinalBindings =
+    Set<TopologyAclBinding> generatedBindings =
         aclBindingsResults.stream()
             .flatMap(aboe -> aboe.getAclBindings().stream())
+            .filter(Objects::nonNull)
             .collect(Collectors.toSet());
+    Set<TopologyAclBinding> allFinalBindings =
+        compactor.map(c -> compact(c, generatedBindings)).orElse(generatedBindings);
 
     Set<TopologyAclBinding> bindingsToBeCreated =
         allFinalBindings.stream()
@@ -313,6 +427,20 @@ public class AccessControlManager implements ExecutionPlanUpdater {
     return updateActions;
   }
 
+  private Set<TopologyAclBinding> compact(
+      AclCompactor compactor, Set<TopologyAclBinding> bindings) {
+    Set<TopologyAclBinding> compacted = compactor.compact(bindings);
+    if (!bindings.isEmpty()) {
+      LOGGER.info(
+          String.format(
+              "ACL compaction reduced %d bindings to %d (%.1f%% less)",
+              bindings.size(),
+              compacted.size(),
+              100.0 * (bindings.size() - compacted.size()) / bindings.size()));
+    }
+    return compacted;
+  }
+
   // Sync platform relevant Access Control List.
   private List<AclBindingsResult> buildPlatformLevelActions(final Topology topology) {
     List<AclBindingsResult> aclBindingsResults = new ArrayList<>();
@@ -401,4 +529,16 @@ public class AccessControlManager implements ExecutionPlanUpdater {
               aclBindings.forEach(out::println);
             });
   }
+
+  @Override
+  public void printCurrentState(ClusterSnapshot snapshot, PrintStream out) throws IOException {
+    out.println("List of ACLs: ");
+    clusterBindings(snapshot).stream()
+        .collect(Collectors.groupingBy(TopologyAclBinding::getResourceName))
+        .forEach(
+            (topic, aclBindings) -> {
+              out.println(topic);
+              aclBindings.forEach(out::println);
+            });
+  }
 }
@@ -19,6 +19,7 @@ public class AccessControlProviderFactory {
   private final Configuration config;
   private final TopologyBuilderAdminClient builderAdminClient;
   private final MDSApiClientBuilder mdsApiClientBuilder;
+  private MDSApiClient mdsApiClient;
 
   public AccessControlProviderFactory(
       Configuration config,
@@ -53,9 +54,6 @@ public class AccessControlProviderFactory {
         case RBAC_ACCESS_CONTROL_CLASS:
           Constructor<?> rbacProviderConstructor = clazz.getConstructor(MDSApiClient.class);
           MDSApiClient apiClient = apiClientLogIn();
-          if (!config.doValidate()) {
-            apiClient.authenticate();
-          }
           return (RBACProvider) rbacProviderConstructor.newInstance(apiClient);
         default:
           throw new IOException("Unknown access control provided. " + accessControlClassName);
@@ -76,9 +74,6 @@ public class AccessControlProviderFactory {
         return new AclsBindingsBuilder(config);
       } else if (accessControlClass.equalsIgnoreCase(RBAC_ACCESS_CONTROL_CLASS)) {
         MDSApiClient apiClient = apiClientLogIn();
-        if (!config.doValidate()) {
-          apiClient.authenticate();
-        }
         return new RBACBindingsBuilder(apiClient);
       } else {
         throw new IOException(accessControlClass + " Unknown access control provided.");
@@ -88,9 +83,16 @@ public class AccessControlProviderFactory {
     }
   }
 
-  private MDSApiClient apiClientLogIn() throws IOException {
-    MDSApiClient apiClient = mdsApiClientBuilder.build();
-    config.getMdsBasicAuth().ifPresent(apiClient::setBasicAuth);
-    return apiClient;
+  /** The provider and the bindings builder share a single client, logged in once. */
+  private synchronized MDSApiClient apiClientLogIn() throws IOException {
+    if (mdsApiClient == null) {
+      MDSApiClient apiClient = mdsApiClientBuilder.build();
+      config.getMdsBasicAuth().ifPresent(apiClient::setBasicAuth);
+      if (!config.doValidate() && !config.isOffline()) {
+        apiClient.authenticate();
+      }
+      mdsApiClient = apiClient;
+    }
+    return mdsApiClient;
   }
 }
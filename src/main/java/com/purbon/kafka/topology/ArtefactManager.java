@@ -72,7 +72,13 @@ public abstract class ArtefactManager implements ExecutionPlanUpdater {
                     + " require a non configured client, please check our configuration");
           }
           client.addSessionVars(kSqlVarsArtefact.getSessionVars());
-          plan.add(new CreateArtefactAction(client, rootPath(), currentArtefacts, artefact));
+          plan.add(
+              new CreateArtefactAction(
+                  client,
+                  rootPath(),
+                  currentArtefacts,
+                  artefact,
+                  kSqlVarsArtefact.getSessionVars()));
         } else {
           Artefact existingArtefact = existingArtefactOpt.get();
           if (!Objects.equals(existingArtefact.getHash(), artefact.getHash())) {
@@ -123,7 +129,10 @@ public abstract class ArtefactManager implements ExecutionPlanUpdater {
 
   protected Collection<? extends Artefact> loadActualClusterStateIfAvailable(ExecutionPlan plan)
       throws IOException {
-    var currentState = config.fetchStateFromTheCluster() ? getClustersState() : getLocalState(plan);
+    var currentState =
+        config.fetchStateFromTheCluster()
+            ? getClustersState(plan.getClusterSnapshot())
+            : getLocalState(plan);
 
     if (!config.shouldVerifyRemoteState()) {
       LOGGER.warn(
@@ -145,7 +154,7 @@ public abstract class ArtefactManager implements ExecutionPlanUpdater {
       /* Assume topics are cleaned up by mechanisms outside JulieOps, and do not fail. */
       return;
     }
-    var remoteArtefacts = getClustersState();
+    var remoteArtefacts = getClustersState(plan.getClusterSnapshot());
 
     var delta =
         getLocalState(plan).stream()
@@ -162,10 +171,29 @@ public abstract class ArtefactManager implements ExecutionPlanUpdater {
     }
   }
 
+  @Override
+  public void prefetchClusterState(ClusterSnapshot snapshot, boolean reportState) {
+    boolean detectDivergences =
+        config.shouldVerifyRemoteState()
+            && !config.fetchStateFromTheCluster()
+            && config.isAllowDeleteTopics();
+    if (reportState || config.fetchStateFromTheCluster() || detectDivergences) {
+      getSnapshotState(snapshot).prefetch(this::getClustersState);
+    }
+  }
+
+  /** The cluster state as kept in the snapshot, a copy as actions keep hold of it. */
+  protected Collection<? extends Artefact> getClustersState(ClusterSnapshot snapshot)
+      throws IOException {
+    return new ArrayList<>(getSnapshotState(snapshot).get(this::getClustersState));
+  }
+
   protected abstract Collection<? extends Artefact> getLocalState(ExecutionPlan plan);
 
   protected abstract Collection<? extends Artefact> getClustersState() throws IOException;
 
+  protected abstract ClusterSnapshot.Source<Artefact> getSnapshotState(ClusterSnapshot snapshot);
+
   abstract Set<? extends Artefact> parseNewArtefacts(Topology topology);
 
   abstract boolean isAllowDelete();
@@ -3,13 +3,17 @@ package com.purbon.kafka.topology;
 import com.purbon.kafka.topology.backend.Backend;
 import com.purbon.kafka.topology.backend.BackendState;
 import com.purbon.kafka.topology.backend.FileBackend;
+import com.purbon.kafka.topology.backend.PlanCheckpoint;
+import com.purbon.kafka.topology.metrics.Metrics;
 import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.profiling.BackendEvent;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
@@ -91,17 +95,75 @@ public class BackendController {
     return state.getKSqlTables();
   }
 
+  public Optional<PlanCheckpoint> getCheckpoint() {
+    return Optional.ofNullable(state.getCheckpoint());
+  }
+
+  public void setCheckpoint(PlanCheckpoint checkpoint) {
+    state.setCheckpoint(checkpoint);
+  }
+
+  /** Persist the current state while keeping the backend open for further updates. */
+  public void checkpoint() throws IOException {
+    LOGGER.debug(String.format("Checkpoint data into the backend at %s", backend.getClass()));
+    backend.createOrOpen(Mode.TRUNCATE);
+    save();
+  }
+
   public void flushAndClose() throws IOException {
     LOGGER.debug(String.format("Flush data from the backend at %s", backend.getClass()));
     backend.createOrOpen(Mode.TRUNCATE);
-    backend.save(state);
+    save();
     backend.close();
   }
 
   public void load() throws IOException {
     LOGGER.debug(String.format("Loading data from the backend at %s", backend.getClass()));
     backend.createOrOpen();
-    state = backend.load();
+    BackendEvent event = new BackendEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      state = backend.load();
+      failed = false;
+    } finally {
+      commit(event, "load", start, failed);
+    }
+  }
+
+  private void save() throws IOException {
+    BackendEvent event = new BackendEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      backend.save(state);
+      failed = false;
+    } finally {
+      commit(event, "save", start, failed);
+    }
+  }
+
+  private void commit(BackendEvent event, String operation, long start, boolean failed) {
+    long elapsed = System.nanoTime() - start;
+    if (Metrics.isEnabled()) {
+      Metrics.backendOperation(
+          operation,
+          backend.getClass().getSimpleName(),
+          backend.transferredBytes(),
+          backend.storedBytes(),
+          elapsed,
+          failed);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.backend = backend.getClass().getSimpleName();
+      event.resources = state == null ? 0 : state.size();
+      event.failed = failed;
+      event.commit();
+    }
   }
 
   public void reset() {
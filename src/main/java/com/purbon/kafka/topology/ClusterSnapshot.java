@@ -0,0 +1,302 @@
+package com.purbon.kafka.topology;
+
+import com.purbon.kafka.topology.metrics.Metrics;
+import com.purbon.kafka.topology.model.Artefact;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.Async;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+
+/**
+ * The state of the remote cluster(s) as seen during a single run.
+ *
+ * <p>Every kind of resource is fetched at most once per run, no matter how many {@link
+ * ExecutionPlanUpdater}s read it, and the fetches requested up front with {@link
+ * Source#prefetch(Loader)} run concurrently. Executed actions apply their changes to the loaded
+ * state, so after the plan ran the snapshot reflects the cluster without asking it again.
+ *
+ * <p>A snapshot can be exported into a file, and a run can plan against such a file instead of the
+ * remote cluster(s), see {@link ClusterSnapshotSerdes}.
+ */
+public class ClusterSnapshot implements AutoCloseable {
+
+  private final Source<String> topics = new Source<>("topics");
+  private final Source<TopologyAclBinding> bindings = new Source<>("bindings");
+  private final Source<ServiceAccount> serviceAccounts = new Source<>("service_accounts");
+  private final Source<Artefact> connectors = new Source<>("connectors");
+  private final Source<Artefact> ksqlArtefacts = new Source<>("ksql_artefacts");
+  private final Lookup<String, TopicDetails> topicDetails = new Lookup<>("topic_details");
+  private final Lookup<ClientQuotaEntity, Map<String, Double>> quotas = new Lookup<>("quotas");
+
+  /** The application topics, internal topics are not part of the snapshot. */
+  public Source<String> topics() {
+    return topics;
+  }
+
+  public Source<TopologyAclBinding> bindings() {
+    return bindings;
+  }
+
+  public Source<ServiceAccount> serviceAccounts() {
+    return serviceAccounts;
+  }
+
+  public Source<Artefact> connectors() {
+    return connectors;
+  }
+
+  /** The ksql streams and tables. */
+  public Source<Artefact> ksqlArtefacts() {
+    return ksqlArtefacts;
+  }
+
+  /** The partition count and configuration of the topics, loaded per topic. */
+  public Lookup<String, TopicDetails> topicDetails() {
+    return topicDetails;
+  }
+
+  /** The user quotas, loaded all at once. */
+  public Lookup<ClientQuotaEntity, Map<String, Double>> quotas() {
+    return quotas;
+  }
+
+  /** Stop waiting for the prefetches still running. */
+  @Override
+  public void close() {
+    List.of(topics, bindings, serviceAccounts, connectors, ksqlArtefacts).forEach(Source::cancel);
+  }
+
+  @FunctionalInterface
+  public interface Loader<T> {
+    Collection<? extends T> load() throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface KeyLoader<K, V> {
+    V load(K key) throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface MapLoader<K, V> {
+    Map<K, V> load() throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface KeysLoader<K, V> {
+    Map<K, V> load(Collection<K> keys) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Fetch<T> {
+    T fetch() throws IOException;
+  }
+
+  private static <T> T timed(String name, Fetch<T> loader) throws IOException {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      T resources = loader.fetch();
+      failed = false;
+      return resources;
+    } finally {
+      Metrics.stateFetched(name, System.nanoTime() - start, failed);
+    }
+  }
+
+  /** One kind of remote resource, loaded on first use. */
+  public class Source<T> {
+
+    private final String name;
+    private CompletableFuture<Set<T>> state;
+
+    private Source(String name) {
+      this.name = name;
+    }
+
+    /** Start loading the resources in the background, unless they are already loaded. */
+    public synchronized void prefetch(Loader<T> loader) {
+      if (state == null) {
+        state = Async.supply(() -> fetch(loader));
+      }
+    }
+
+    /**
+     * @return the resources, using the given loader only if they were not loaded (or requested)
+     *     before during this run.
+     */
+    public Set<T> get(Loader<T> loader) throws IOException {
+      CompletableFuture<Set<T>> future;
+      synchronized (this) {
+        if (state == null) {
+          state = CompletableFuture.completedFuture(fetch(loader));
+        }
+        future = state;
+      }
+      try {
+        return Collections.unmodifiableSet(future.join());
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof UncheckedIOException) {
+          throw ((UncheckedIOException) e.getCause()).getCause();
+        }
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    /**
+     * Apply a change made to the cluster. Resources not loaded yet are left alone, loading them
+     * later on returns the changed state anyway.
+     */
+    public synchronized void update(Consumer<Set<T>> change) {
+      if (state != null) {
+        state =
+            state.thenApply(
+                resources -> {
+                  change.accept(resources);
+                  return resources;
+                });
+      }
+    }
+
+    private synchronized void cancel() {
+      if (state != null) {
+        state.cancel(false);
+      }
+    }
+
+    private Set<T> fetch(Loader<T> loader) throws IOException {
+      return timed(name, () -> new HashSet<>(loader.load()));
+    }
+
+    /** Use the given resources, e.g. read from a snapshot file, instead of loading them. */
+    synchronized void preload(Collection<? extends T> resources) {
+      state = CompletableFuture.completedFuture(new HashSet<>(resources));
+    }
+
+    /**
+     * @return the resources loaded so far, nothing if they were never requested.
+     */
+    Set<T> loaded() throws IOException {
+      CompletableFuture<Set<T>> future;
+      synchronized (this) {
+        future = state;
+      }
+      return future == null ? Collections.emptySet() : get(() -> Collections.emptySet());
+    }
+  }
+
+  /**
+   * A kind of remote resource looked up by key, e.g. the details of a topic. The values are loaded
+   * on first use, for some keys or all of them at once. The values of some keys are loaded outside
+   * of the lock, so concurrent lookups of other keys do not wait for them.
+   */
+  public class Lookup<K, V> {
+
+    private final String name;
+    private final Map<K, V> values = new HashMap<>();
+    private boolean complete;
+
+    private Lookup(String name) {
+      this.name = name;
+    }
+
+    public V get(K key, KeyLoader<K, V> loader) throws IOException {
+      return getAll(
+              Collections.singleton(key), keys -> Collections.singletonMap(key, loader.load(key)))
+          .get(key);
+    }
+
+    /**
+     * @return the values of the keys, the missing ones are loaded with a single call of the loader
+     * @throws IOException if the loader did not return the value of a key
+     */
+    public Map<K, V> getAll(Collection<K> keys, KeysLoader<K, V> loader) throws IOException {
+      List<K> missing = missing(keys);
+      if (!missing.isEmpty()) {
+        Map<K, V> loaded = timed(name, () -> loader.load(missing));
+        synchronized (this) {
+          loaded.forEach(values::putIfAbsent);
+        }
+      }
+      synchronized (this) {
+        Map<K, V> result = new HashMap<>();
+        for (K key : keys) {
+          if (!values.containsKey(key)) {
+            throw new IOException(String.format("No %s found for %s", name, key));
+          }
+          result.put(key, values.get(key));
+        }
+        return result;
+      }
+    }
+
+    private synchronized List<K> missing(Collection<K> keys) throws IOException {
+      List<K> missing = new ArrayList<>();
+      for (K key : keys) {
+        if (!values.containsKey(key)) {
+          if (complete) {
+            throw new IOException(String.format("No %s found for %s in the snapshot", name, key));
+          }
+          missing.add(key);
+        }
+      }
+      return missing;
+    }
+
+    /**
+     * @return all the values, using the given loader only if they were not all loaded before.
+     */
+    public synchronized Map<K, V> getAll(MapLoader<K, V> loader) throws IOException {
+      if (!complete) {
+        values.putAll(timed(name, loader::load));
+        complete = true;
+      }
+      return Collections.unmodifiableMap(new HashMap<>(values));
+    }
+
+    /**
+     * Apply a change made to the cluster to the value of a key, a null value removes it. A key not
+     * loaded yet is left alone, unless all the values were loaded, loading it later on returns the
+     * changed value anyway.
+     */
+    public synchronized void update(K key, UnaryOperator<V> change) {
+      if (!complete && !values.containsKey(key)) {
+        return;
+      }
+      V value = change.apply(values.get(key));
+      if (value == null) {
+        values.remove(key);
+      } else {
+        values.put(key, value);
+      }
+    }
+
+    /** Use the given values, e.g. read from a snapshot file, as all the values there are. */
+    synchronized void preload(Map<K, V> values) {
+      this.values.clear();
+      this.values.putAll(values);
+      complete = true;
+    }
+
+    synchronized Map<K, V> loaded() {
+      return Collections.unmodifiableMap(new HashMap<>(values));
+    }
+  }
+}
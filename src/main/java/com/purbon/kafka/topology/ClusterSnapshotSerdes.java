@@ -0,0 +1,272 @@
+package com.purbon.kafka.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.purbon.kafka.topology.model.Artefact;
+import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigType;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes the remote state read during a run, as kept in a {@link ClusterSnapshot}, into a snapshot
+ * file and reads it back, so a plan can be computed offline against the exported state.
+ *
+ * <p>To keep the file compact, the topic configuration values not set on the topic itself are only
+ * written once when they are the same for most topics. Files ending with .gz are compressed.
+ */
+public class ClusterSnapshotSerdes {
+
+  private static final Logger LOGGER = LogManager.getLogger(ClusterSnapshotSerdes.class);
+
+  static final int VERSION = 1;
+
+  public void write(ClusterSnapshot snapshot, Path file) throws IOException {
+    Map<String, TopicDetails> details = snapshot.topicDetails().loaded();
+    Map<String, String> defaults = sharedDefaults(details.values());
+
+    Map<String, Object> topics = new TreeMap<>();
+    for (String topic : snapshot.topics().loaded()) {
+      Map<String, Object> map = new LinkedHashMap<>();
+      TopicDetails topicDetails = details.get(topic);
+      if (topicDetails != null) {
+        map.put("partitions", topicDetails.getPartitionCount());
+        map.put("config", configs(topicDetails.getConfig(), true, Collections.emptyMap()));
+        map.put("defaults", configs(topicDetails.getConfig(), false, defaults));
+      }
+      topics.put(topic, map);
+    }
+
+    List<KsqlStreamArtefact> ksqlStreams = new ArrayList<>();
+    List<KsqlTableArtefact> ksqlTables = new ArrayList<>();
+    for (Artefact artefact : snapshot.ksqlArtefacts().loaded()) {
+      if (artefact instanceof KsqlStreamArtefact) {
+        ksqlStreams.add((KsqlStreamArtefact) artefact);
+      } else if (artefact instanceof KsqlTableArtefact) {
+        ksqlTables.add((KsqlTableArtefact) artefact);
+      }
+    }
+
+    List<Map<String, Object>> quotas = new ArrayList<>();
+    snapshot
+        .quotas()
+        .loaded()
+        .forEach(
+            (entity, values) -> {
+              Map<String, Object> map = new LinkedHashMap<>();
+              map.put("entity", entity.entries());
+              map.put("quotas", new TreeMap<>(values));
+              quotas.add(map);
+            });
+
+    Map<String, Object> doc = new LinkedHashMap<>();
+    doc.put("version", VERSION);
+    doc.put("defaults", defaults);
+    doc.put("topics", topics);
+    doc.put("bindings", new TreeSet<>(snapshot.bindings().loaded()));
+    doc.put("serviceAccounts", snapshot.serviceAccounts().loaded());
+    doc.put("connectors", snapshot.connectors().loaded());
+    doc.put("ksqlStreams", ksqlStreams);
+    doc.put("ksqlTables", ksqlTables);
+    doc.put("quotas", quotas);
+
+    writeFile(file, JSON.asString(doc).getBytes(StandardCharsets.UTF_8));
+    LOGGER.info(
+        String.format(
+            "Cluster snapshot with %d topics and %d bindings written to %s",
+            topics.size(), snapshot.bindings().loaded().size(), file));
+  }
+
+  /**
+   * @return a snapshot holding the state of the file, it never reaches out to the cluster(s).
+   */
+  public ClusterSnapshot read(Path file) throws IOException {
+    JsonNode doc = JSON.toNode(new String(readFile(file), StandardCharsets.UTF_8));
+    int version = doc.path("version").asInt(-1);
+    if (version != VERSION) {
+      throw new IOException(
+          String.format("Unsupported snapshot file version %d found in %s", version, file));
+    }
+
+    Map<String, String> defaults = asStringMap(doc.path("defaults"));
+    Map<String, TopicDetails> details = new HashMap<>();
+    Iterator<Map.Entry<String, JsonNode>> topics = doc.path("topics").fields();
+    while (topics.hasNext()) {
+      Map.Entry<String, JsonNode> topic = topics.next();
+      JsonNode node = topic.getValue();
+      if (node.has("partitions")) {
+        details.put(
+            topic.getKey(),
+            new TopicDetails(
+                node.path("partitions").asInt(),
+                asConfig(
+                    asStringMap(node.path("config")),
+                    asStringMap(node.path("defaults")),
+                    defaults)));
+      }
+    }
+
+    List<Artefact> ksqlArtefacts = new ArrayList<>();
+    ksqlArtefacts.addAll(asList(doc.path("ksqlStreams"), KsqlStreamArtefact.class));
+    ksqlArtefacts.addAll(asList(doc.path("ksqlTables"), KsqlTableArtefact.class));
+
+    Map<ClientQuotaEntity, Map<String, Double>> quotas = new HashMap<>();
+    for (JsonNode node : doc.path("quotas")) {
+      Map<String, Double> values = new HashMap<>();
+      node.path("quotas")
+          .fields()
+          .forEachRemaining(e -> values.put(e.getKey(), e.getValue().asDouble()));
+      Map<String, String> entity = new HashMap<>();
+      node.path("entity")
+          .fields()
+          .forEachRemaining(
+              e -> entity.put(e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+      quotas.put(new ClientQuotaEntity(entity), values);
+    }
+
+    ClusterSnapshot snapshot = new ClusterSnapshot();
+    snapshot.topics().preload(asStringMap(doc.path("topics")).keySet());
+    snapshot.topicDetails().preload(details);
+    snapshot.bindings().preload(asList(doc.path("bindings"), TopologyAclBinding.class));
+    snapshot.serviceAccounts().preload(asList(doc.path("serviceAccounts"), ServiceAccount.class));
+    snapshot.connectors().preload(asList(doc.path("connectors"), KafkaConnectArtefact.class));
+    snapshot.ksqlArtefacts().preload(ksqlArtefacts);
+    snapshot.quotas().preload(quotas);
+    return snapshot;
+  }
+
+  /** The value of each non topic level config that most topics share. */
+  private static Map<String, String> sharedDefaults(Collection<TopicDetails> details) {
+    Map<String, Map<String, Integer>> counts = new HashMap<>();
+    for (TopicDetails topicDetails : details) {
+      for (ConfigEntry entry : topicDetails.getConfig().entries()) {
+        if (!isTopicConfig(entry) && entry.value() != null) {
+          counts
+              .computeIfAbsent(entry.name(), k -> new HashMap<>())
+              .merge(entry.value(), 1, Integer::sum);
+        }
+      }
+    }
+    Map<String, String> defaults = new TreeMap<>();
+    counts.forEach(
+        (name, values) ->
+            defaults.put(
+                name, Collections.max(values.entrySet(), Map.Entry.comparingByValue()).getKey()));
+    return defaults;
+  }
+
+  private static Map<String, String> configs(
+      Config config, boolean topicConfigs, Map<String, String> defaults) {
+    Map<String, String> configs = new TreeMap<>();
+    for (ConfigEntry entry : config.entries()) {
+      if (isTopicConfig(entry) == topicConfigs
+          && entry.value() != null
+          && !entry.value().equals(defaults.get(entry.name()))) {
+        configs.put(entry.name(), entry.value());
+      }
+    }
+    return configs;
+  }
+
+  private static Config asConfig(
+      Map<String, String> topicConfigs,
+      Map<String, String> topicDefaults,
+      Map<String, String> sharedDefaults) {
+    Map<String, ConfigEntry> entries = new HashMap<>();
+    // only the source of the values matters to plan the config changes
+    sharedDefaults.forEach(
+        (name, value) -> entries.put(name, entry(name, value, ConfigSource.DEFAULT_CONFIG)));
+    topicDefaults.forEach(
+        (name, value) -> entries.put(name, entry(name, value, ConfigSource.DEFAULT_CONFIG)));
+    topicConfigs.forEach(
+        (name, value) -> entries.put(name, entry(name, value, ConfigSource.DYNAMIC_TOPIC_CONFIG)));
+    return new Config(entries.values());
+  }
+
+  private static ConfigEntry entry(String name, String value, ConfigSource source) {
+    return new ConfigEntry(
+        name, value, source, false, false, Collections.emptyList(), ConfigType.UNKNOWN, null);
+  }
+
+  private static boolean isTopicConfig(ConfigEntry entry) {
+    return entry.source() == ConfigSource.DYNAMIC_TOPIC_CONFIG;
+  }
+
+  private static Map<String, String> asStringMap(JsonNode node) {
+    Map<String, String> map = new HashMap<>();
+    node.fields().forEachRemaining(e -> map.put(e.getKey(), e.getValue().asText()));
+    return map;
+  }
+
+  private static <T> List<T> asList(JsonNode node, Class<T> clazz) throws IOException {
+    List<T> list = new ArrayList<>();
+    for (JsonNode element : node) {
+      list.add(JSON.toObject(element, clazz));
+    }
+    return list;
+  }
+
+  private static boolean isCompressed(Path file) {
+    return file.getFileName().toString().endsWith(".gz");
+  }
+
+  private static void writeFile(Path file, byte[] content) throws IOException {
+    // write the complete file next to the target first, a failed export leaves no partial file
+    Path parent = file.toAbsolutePath().getParent();
+    Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tmp)) {
+        if (isCompressed(file)) {
+          try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+          }
+        } else {
+          out.write(content);
+        }
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private static byte[] readFile(Path file) throws IOException {
+    if (!isCompressed(file)) {
+      return Files.readAllBytes(file);
+    }
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+        ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      in.transferTo(out);
+      return out.toByteArray();
+    }
+  }
+}
@@ -2,6 +2,8 @@ package com.purbon.kafka.topology;
 
 import static java.lang.System.exit;
 
+import com.purbon.kafka.topology.profiling.FlightRecording;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +35,34 @@ public class CommandLineInterface {
   public static final String DRY_RUN_OPTION = "dryRun";
   public static final String DRY_RUN_DESC = "Print the execution plan without altering anything.";
 
+  public static final String PLAN_FILE_OPTION = "planFile";
+  public static final String PLAN_FILE_DESC =
+      "Write the computed execution plan to this file, use together with --dryRun.";
+
+  public static final String APPLY_PLAN_OPTION = "applyPlan";
+  public static final String APPLY_PLAN_DESC =
+      "Execute a plan file previously written with --dryRun --planFile.";
+
+  public static final String PROFILE_OPTION = "profile";
+  public static final String PROFILE_DESC =
+      "Print where the run spent its time, per phase and per remote call.";
+
+  public static final String PROFILE_FILE_OPTION = "profileFile";
+  public static final String PROFILE_FILE_DESC =
+      "Write the profile as JSON into this file, implies --profile.";
+
+  public static final String JFR_OPTION = "jfr";
+  public static final String JFR_DESC =
+      "Record the run with Java Flight Recorder, including the JulieOps events, into this file.";
+
+  public static final String EXPORT_SNAPSHOT_OPTION = "exportSnapshot";
+  public static final String EXPORT_SNAPSHOT_DESC =
+      "Export the state of the cluster(s) into this file, to plan against it later with --snapshot.";
+
+  public static final String SNAPSHOT_OPTION = "snapshot";
+  public static final String SNAPSHOT_DESC =
+      "Compute the plan offline against a file written with --exportSnapshot, implies --dryRun.";
+
   public static final String RECURSIVE_OPTION = "recursive";
   public static final String RECURSIVE_DESC =
       "Recursively look for topology files below the given directory.";
@@ -101,6 +131,57 @@ public class CommandLineInterface {
             .required(false)
             .build();
 
+    final Option planFileOption =
+        Option.builder()
+            .longOpt(PLAN_FILE_OPTION)
+            .hasArg()
+            .desc(PLAN_FILE_DESC)
+            .required(false)
+            .build();
+
+    final Option applyPlanOption =
+        Option.builder()
+            .longOpt(APPLY_PLAN_OPTION)
+            .hasArg()
+            .desc(APPLY_PLAN_DESC)
+            .required(false)
+            .build();
+
+    final Option profileOption =
+        Option.builder()
+            .longOpt(PROFILE_OPTION)
+            .hasArg(false)
+            .desc(PROFILE_DESC)
+            .required(false)
+            .build();
+
+    final Option profileFileOption =
+        Option.builder()
+            .longOpt(PROFILE_FILE_OPTION)
+            .hasArg()
+            .desc(PROFILE_FILE_DESC)
+            .required(false)
+            .build();
+
+    final Option jfrOption =
+        Option.builder().longOpt(JFR_OPTION).hasArg().desc(JFR_DESC).required(false).build();
+
+    final Option exportSnapshotOption =
+        Option.builder()
+            .longOpt(EXPORT_SNAPSHOT_OPTION)
+            .hasArg()
+            .desc(EXPORT_SNAPSHOT_DESC)
+            .required(false)
+            .build();
+
+    final Option snapshotOption =
+        Option.builder()
+            .longOpt(SNAPSHOT_OPTION)
+            .hasArg()
+            .desc(SNAPSHOT_DESC)
+            .required(false)
+            .build();
+
     final Option recursiveOption =
         Option.builder()
             .longOpt(RECURSIVE_OPTION)
@@ -145,6 +226,13 @@ public class CommandLineInterface {
 
     options.addOption(overridingAdminClientConfigFileOption);
     options.addOption(dryRunOption);
+    options.addOption(planFileOption);
+    options.addOption(applyPlanOption);
+    options.addOption(profileOption);
+    options.addOption(profileFileOption);
+    options.addOption(jfrOption);
+    options.addOption(exportSnapshotOption);
+    options.addOption(snapshotOption);
     options.addOption(recursiveOption);
     options.addOption(quietOption);
     options.addOption(validateOption);
@@ -173,7 +261,10 @@ public class CommandLineInterface {
 
     processTopology(
         cmd.getOptionValue(TOPOLOGY_OPTION), cmd.getOptionValue(PLANS_OPTION, "default"), config);
-    if (!cmd.hasOption(DRY_RUN_OPTION) && !cmd.hasOption(VALIDATE_OPTION)) {
+    if (!cmd.hasOption(DRY_RUN_OPTION)
+        && !cmd.hasOption(VALIDATE_OPTION)
+        && !cmd.hasOption(EXPORT_SNAPSHOT_OPTION)
+        && !cmd.hasOption(SNAPSHOT_OPTION)) {
       System.out.println("Kafka Topology updated");
     }
   }
@@ -184,6 +275,27 @@ public class CommandLineInterface {
       config.put(BROKERS_OPTION, cmd.getOptionValue(BROKERS_OPTION));
     }
     config.put(DRY_RUN_OPTION, String.valueOf(cmd.hasOption(DRY_RUN_OPTION)));
+    if (cmd.hasOption(PLAN_FILE_OPTION)) {
+      config.put(PLAN_FILE_OPTION, cmd.getOptionValue(PLAN_FILE_OPTION));
+    }
+    if (cmd.hasOption(APPLY_PLAN_OPTION)) {
+      config.put(APPLY_PLAN_OPTION, cmd.getOptionValue(APPLY_PLAN_OPTION));
+    }
+    if (cmd.hasOption(PROFILE_OPTION)) {
+      config.put(PROFILE_OPTION, "true");
+    }
+    if (cmd.hasOption(PROFILE_FILE_OPTION)) {
+      config.put(PROFILE_FILE_OPTION, cmd.getOptionValue(PROFILE_FILE_OPTION));
+    }
+    if (cmd.hasOption(JFR_OPTION)) {
+      config.put(JFR_OPTION, cmd.getOptionValue(JFR_OPTION));
+    }
+    if (cmd.hasOption(EXPORT_SNAPSHOT_OPTION)) {
+      config.put(EXPORT_SNAPSHOT_OPTION, cmd.getOptionValue(EXPORT_SNAPSHOT_OPTION));
+    }
+    if (cmd.hasOption(SNAPSHOT_OPTION)) {
+      config.put(SNAPSHOT_OPTION, cmd.getOptionValue(SNAPSHOT_OPTION));
+    }
     config.put(RECURSIVE_OPTION, String.valueOf(cmd.hasOption(RECURSIVE_OPTION)));
     config.put(QUIET_OPTION, String.valueOf(cmd.hasOption(QUIET_OPTION)));
     config.put(VALIDATE_OPTION, String.valueOf(cmd.hasOption(VALIDATE_OPTION)));
@@ -222,6 +334,17 @@ public class CommandLineInterface {
 
   void processTopology(String topologyFile, String plansFile, Map<String, String> config)
       throws Exception {
+    if (config.containsKey(JFR_OPTION)) {
+      try (FlightRecording recording = FlightRecording.start(Paths.get(config.get(JFR_OPTION)))) {
+        run(topologyFile, plansFile, config);
+      }
+    } else {
+      run(topologyFile, plansFile, config);
+    }
+  }
+
+  private void run(String topologyFile, String plansFile, Map<String, String> config)
+      throws Exception {
     try (JulieOps builder = JulieOps.build(topologyFile, plansFile, config)) {
       builder.run();
     }
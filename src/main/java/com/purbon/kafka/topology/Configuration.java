@@ -35,6 +35,7 @@ public class Configuration {
 
   private final Map<String, String> cliParams;
   private final Config config;
+  private final ContextScope contextScope;
 
   public Configuration() {
     this(new HashMap<>(), ConfigFactory.load());
@@ -68,8 +69,24 @@ public class Configuration {
   }
 
   public Configuration(Map<String, String> cliParams, Config config) {
+    this(cliParams, config, ContextScope.ALL);
+  }
+
+  private Configuration(Map<String, String> cliParams, Config config, ContextScope contextScope) {
     this.cliParams = cliParams;
     this.config = config;
+    this.contextScope = contextScope;
+  }
+
+  /** The same configuration, for the managers of a pipeline reconciling only the given scope. */
+  public Configuration withContextScope(ContextScope contextScope) {
+    Configuration scoped = new Configuration(cliParams, config, contextScope);
+    scoped.julieInstanceId = julieInstanceId;
+    return scoped;
+  }
+
+  public ContextScope getContextScope() {
+    return contextScope;
   }
 
   public Map<String, ?> asMap() {
@@ -250,6 +267,10 @@ public class Configuration {
         .collect(Collectors.toList());
   }
 
+  public int getServiceAccountsConcurrency() {
+    return config.getInt(SERVICE_ACCOUNTS_CONCURRENCY_CONFIG);
+  }
+
   public List<String> getTopicManagedPrefixes() {
     return config.getStringList(TOPIC_MANAGED_PREFIXES).stream()
         .map(String::trim)
@@ -292,6 +313,10 @@ public class Configuration {
     return getString(STATE_PROCESSOR_IMPLEMENTATION_CLASS);
   }
 
+  public long getStateFileJournalCompactionBytes() {
+    return config.getLong(STATE_FILE_JOURNAL_COMPACTION_BYTES_CONFIG);
+  }
+
   public String getTopicPrefixFormat() {
     return getString(TOPIC_PREFIX_FORMAT_CONFIG);
   }
@@ -316,6 +341,10 @@ public class Configuration {
     return config.getBoolean(OPTIMIZED_ACLS_CONFIG);
   }
 
+  public boolean shouldCompactAcls() {
+    return config.getBoolean(ACLS_COMPACTION_ENABLED_CONFIG);
+  }
+
   public String getConfluentCloudEnv() {
     return getString(CCLOUD_ENV_CONFIG);
   }
@@ -361,13 +390,44 @@ public class Configuration {
   }
 
   public boolean isDryRun() {
-    return Boolean.parseBoolean(cliParams.getOrDefault(DRY_RUN_OPTION, "false"));
+    // a plan computed offline can not be applied
+    return Boolean.parseBoolean(cliParams.getOrDefault(DRY_RUN_OPTION, "false")) || isOffline();
+  }
+
+  /** If the run plans against a snapshot file instead of the remote cluster(s). */
+  public boolean isOffline() {
+    return getSnapshotFile().isPresent();
+  }
+
+  public Optional<String> getSnapshotFile() {
+    return Optional.ofNullable(cliParams.get(SNAPSHOT_OPTION));
+  }
+
+  public Optional<String> getExportSnapshotFile() {
+    return Optional.ofNullable(cliParams.get(EXPORT_SNAPSHOT_OPTION));
   }
 
   public boolean isRecursive() {
     return Boolean.parseBoolean(cliParams.getOrDefault(RECURSIVE_OPTION, "false"));
   }
 
+  public Optional<String> getPlanFile() {
+    return Optional.ofNullable(cliParams.get(PLAN_FILE_OPTION));
+  }
+
+  public Optional<String> getApplyPlanFile() {
+    return Optional.ofNullable(cliParams.get(APPLY_PLAN_OPTION));
+  }
+
+  public boolean isProfileEnabled() {
+    return Boolean.parseBoolean(cliParams.getOrDefault(PROFILE_OPTION, "false"))
+        || getProfileFile().isPresent();
+  }
+
+  public Optional<String> getProfileFile() {
+    return Optional.ofNullable(cliParams.get(PROFILE_FILE_OPTION));
+  }
+
   public FileType getTopologyFileType() {
     return config.getEnum(FileType.class, TOPOLOGY_FILE_TYPE);
   }
@@ -392,6 +452,10 @@ public class Configuration {
     return config.getBoolean(ALLOW_DELETE_KSQL_ARTEFACTS);
   }
 
+  public boolean isAllowDeleteQuotas() {
+    return config.getBoolean(ALLOW_DELETE_QUOTAS);
+  }
+
   public boolean enabledPrincipalTranslation() {
     return config.getBoolean(TOPOLOGY_PRINCIPAL_TRANSLATION_ENABLED_CONFIG);
   }
@@ -448,6 +512,16 @@ public class Configuration {
     return config.getBoolean(MDS_ALLOW_INSECURE_CONFIG);
   }
 
+  public long getMdsTokenRefreshMarginMs() {
+    return config.getLong(MDS_TOKEN_REFRESH_MARGIN_MS_CONFIG);
+  }
+
+  public Optional<String> getMdsTokenCacheFile() {
+    return hasProperty(MDS_TOKEN_CACHE_FILE_CONFIG)
+        ? Optional.of(getString(MDS_TOKEN_CACHE_FILE_CONFIG))
+        : Optional.empty();
+  }
+
   public String getKafkaClusterId() {
     return getString(MDS_KAFKA_CLUSTER_ID_CONFIG);
   }
@@ -611,6 +685,14 @@ public class Configuration {
     return config.getBoolean(JULIE_ENABLE_MULTIPLE_CONTEXT_PER_DIR);
   }
 
+  /**
+   * @return the number of contexts reconciled concurrently, each one in its own pipeline. One
+   *     reconciles all the contexts together.
+   */
+  public int getContextPipelinesParallelism() {
+    return config.getInt(JULIE_CONTEXT_PIPELINES_PARALLELISM);
+  }
+
   public String getJulieKafkaConfigTopic() {
     return getString(JULIE_KAFKA_CONFIG_TOPIC);
   }
@@ -681,6 +763,20 @@ public class Configuration {
     return config.getInt(CCLOUD_SA_ACCOUNT_QUERY_PAGE_SIZE);
   }
 
+  public Optional<String> getConfluentCloudServiceAccountCacheFile() {
+    return hasProperty(CCLOUD_SA_ACCOUNT_CACHE_FILE)
+        ? Optional.of(getString(CCLOUD_SA_ACCOUNT_CACHE_FILE))
+        : Optional.empty();
+  }
+
+  public long getConfluentCloudServiceAccountCacheTtlMs() {
+    return config.getLong(CCLOUD_SA_ACCOUNT_CACHE_TTL_MS);
+  }
+
+  public int getConfluentCloudAclsListConcurrency() {
+    return config.getInt(CCLOUD_ACLS_LIST_CONCURRENCY);
+  }
+
   public Boolean enabledPrincipalManagement() {
     return config.getBoolean(JULIE_ENABLE_PRINCIPAL_MANAGEMENT);
   }
@@ -705,6 +801,25 @@ public class Configuration {
     return config.getBoolean(JULIE_VERIFY_STATE_SYNC);
   }
 
+  public Integer getPlanCheckpointInterval() {
+    return config.getInt(JULIE_PLAN_CHECKPOINT_INTERVAL);
+  }
+
+  /** The file the metrics are written into after every run, for the textfile collector. */
+  public Optional<String> getMetricsTextFile() {
+    String file = getString(JULIE_METRICS_TEXTFILE);
+    return file.isEmpty() ? Optional.empty() : Optional.of(file);
+  }
+
+  /** The port to serve the metrics on, a negative value if they are not served. */
+  public Integer getMetricsHttpPort() {
+    return config.getInt(JULIE_METRICS_HTTP_PORT);
+  }
+
+  public boolean areMetricsEnabled() {
+    return getMetricsTextFile().isPresent() || getMetricsHttpPort() >= 0;
+  }
+
   public Integer getHttpRetryTimes() {
     return config.getInt(JULIE_HTTP_RETRY_TIMES);
   }
@@ -37,6 +37,9 @@ public class Constants {
   public static final String KAFKA_STATE_PROCESSOR_CLASS =
       "com.purbon.kafka.topology.backend.KafkaBackend";
 
+  public static final String STATE_FILE_JOURNAL_COMPACTION_BYTES_CONFIG =
+      "topology.builder.state.file.journal.compaction.bytes";
+
   public static final String REDIS_HOST_CONFIG = "topology.builder.redis.host";
   public static final String REDIS_PORT_CONFIG = "topology.builder.redis.port";
   public static final String REDIS_BUCKET_CONFIG = "topology.builder.redis.bucket";
@@ -55,6 +58,10 @@ public class Constants {
 
   public static final String MDS_ALLOW_INSECURE_CONFIG = "topology.builder.mds.allow.insecure";
 
+  public static final String MDS_TOKEN_REFRESH_MARGIN_MS_CONFIG =
+      "topology.builder.mds.token.refresh.margin.ms";
+  public static final String MDS_TOKEN_CACHE_FILE_CONFIG = "topology.builder.mds.token.cache.file";
+
   public static final String CONFLUENT_SCHEMA_REGISTRY_URL_CONFIG = "schema.registry.url";
   static final String CONFLUENT_MONITORING_TOPIC_CONFIG = "confluent.monitoring.topic";
   static final String CONFLUENT_COMMAND_TOPIC_CONFIG = "confluent.command.topic";
@@ -76,12 +83,14 @@ public class Constants {
   static final String TOPOLOGY_FILE_TYPE = "topology.file.type";
 
   public static final String OPTIMIZED_ACLS_CONFIG = "topology.acls.optimized";
+  public static final String ACLS_COMPACTION_ENABLED_CONFIG = "topology.acls.compaction.enabled";
 
   public static final String ALLOW_DELETE_TOPICS = "allow.delete.topics";
   public static final String ALLOW_DELETE_BINDINGS = "allow.delete.bindings";
   static final String ALLOW_DELETE_PRINCIPALS = "allow.delete.principals";
   public static final String ALLOW_DELETE_CONNECT_ARTEFACTS = "allow.delete.artefacts.connect";
   public static final String ALLOW_DELETE_KSQL_ARTEFACTS = "allow.delete.artefacts.ksql";
+  public static final String ALLOW_DELETE_QUOTAS = "allow.delete.quotas";
 
   public static final String JULIE_ENABLE_PRINCIPAL_MANAGEMENT =
       "julie.enable.principal.management";
@@ -101,6 +110,11 @@ public class Constants {
   public static final String CCLOUD_SA_ACCOUNT_QUERY_PAGE_SIZE =
       "ccloud.service_account.query.page.size";
 
+  public static final String CCLOUD_SA_ACCOUNT_CACHE_FILE = "ccloud.service_account.cache.file";
+  public static final String CCLOUD_SA_ACCOUNT_CACHE_TTL_MS = "ccloud.service_account.cache.ttl.ms";
+
+  public static final String CCLOUD_ACLS_LIST_CONCURRENCY = "ccloud.acls.list.concurrency";
+
   public static final String TOPOLOGY_EXPERIMENTAL_ENABLED_CONFIG =
       "topology.features.experimental";
   static final String TOPOLOGY_PRINCIPAL_TRANSLATION_ENABLED_CONFIG =
@@ -114,6 +128,9 @@ public class Constants {
   public static final String SERVICE_ACCOUNT_MANAGED_PREFIXES =
       "topology.service.accounts.managed.prefixes";
 
+  public static final String SERVICE_ACCOUNTS_CONCURRENCY_CONFIG =
+      "topology.service.accounts.concurrency";
+
   public static final String TOPIC_MANAGED_PREFIXES = "topology.topic.managed.prefixes";
 
   public static final String GROUP_MANAGED_PREFIXES = "topology.group.managed.prefixes";
@@ -150,6 +167,8 @@ public class Constants {
 
   public static final String JULIE_ENABLE_MULTIPLE_CONTEXT_PER_DIR =
       "julie.multiple.context.per.dir.enabled";
+  public static final String JULIE_CONTEXT_PIPELINES_PARALLELISM =
+      "julie.multiple.context.pipelines.parallelism";
 
   public static final String TOPOLOGY_VALIDATIONS_TOPIC_NAME_REGEXP =
       "validations.topic.name.regexp";
@@ -192,4 +211,9 @@ public class Constants {
 
   public static final String JULIE_HTTP_RETRY_TIMES = "julie.http.retry.times";
   public static final String JULIE_HTTP_BACKOFF_TIME_MS = "julie.http.retry.backoff.time.ms";
+
+  public static final String JULIE_PLAN_CHECKPOINT_INTERVAL = "julie.plan.checkpoint.interval";
+
+  public static final String JULIE_METRICS_TEXTFILE = "julie.metrics.textfile";
+  public static final String JULIE_METRICS_HTTP_PORT = "julie.metrics.http.port";
 }
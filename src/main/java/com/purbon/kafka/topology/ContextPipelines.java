@@ -0,0 +1,289 @@
+package com.purbon.kafka.topology;
+
+import com.purbon.kafka.topology.model.Project;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.profiling.Profiler;
+import com.purbon.kafka.topology.quotas.QuotasManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reconcile each context of a topology directory in its own pipeline, up to the configured number
+ * of them concurrently.
+ *
+ * <p>A context pipeline plans and applies the topics, schemas and ACLs under the context prefix.
+ * The resources every context may refer to, the principals, the quotas, the connectors, the ksql
+ * artefacts and the resources outside of all the context prefixes, are reconciled by a shared
+ * pipeline, the principals before the contexts and the rest after them. A failed context does not
+ * stop the others, the principals are only deleted if all the contexts succeeded.
+ *
+ * <p>All the pipelines work on forks of the same {@link ExecutionPlan}, the changes they make are
+ * merged back into it, so a single consolidated state is persisted.
+ */
+class ContextPipelines {
+
+  private static final Logger LOGGER = LogManager.getLogger(ContextPipelines.class);
+
+  static final String PRINCIPALS_PIPELINE = "principals";
+  static final String SHARED_PIPELINE = "shared";
+
+  private final Map<String, Topology> topologies;
+  private final Configuration config;
+  private final TopicManager topicManager;
+  private final AccessControlManager accessControlManager;
+  private final QuotasManager quotasManager;
+  private final PrincipalUpdateManager principalUpdateManager;
+  private final PrincipalDeleteManager principalDeleteManager;
+  private final KafkaConnectArtefactManager connectorManager;
+  private final KSqlArtefactManager kSqlArtefactManager;
+  private final PrintStream outputStream;
+
+  ContextPipelines(
+      Map<String, Topology> topologies,
+      Configuration config,
+      TopicManager topicManager,
+      AccessControlManager accessControlManager,
+      QuotasManager quotasManager,
+      PrincipalUpdateManager principalUpdateManager,
+      PrincipalDeleteManager principalDeleteManager,
+      KafkaConnectArtefactManager connectorManager,
+      KSqlArtefactManager kSqlArtefactManager,
+      PrintStream outputStream) {
+    this.topologies = new TreeMap<>(topologies);
+    this.config = config;
+    this.topicManager = topicManager;
+    this.accessControlManager = accessControlManager;
+    this.quotasManager = quotasManager;
+    this.principalUpdateManager = principalUpdateManager;
+    this.principalDeleteManager = principalDeleteManager;
+    this.connectorManager = connectorManager;
+    this.kSqlArtefactManager = kSqlArtefactManager;
+    this.outputStream = outputStream;
+  }
+
+  /**
+   * @return if the run reconciles the contexts in their own pipelines. Plan files hold a single
+   *     sequence of actions, runs reading or writing them reconcile all the contexts together.
+   */
+  static boolean isEnabled(Configuration config, Map<String, Topology> topologies) {
+    return config.getContextPipelinesParallelism() > 1
+        && topologies.size() > 1
+        && config.getApplyPlanFile().isEmpty()
+        && config.getPlanFile().isEmpty();
+  }
+
+  static String contextPrefix(Topology topology, Configuration config) {
+    return topology.getContext() + config.getTopicPrefixSeparator();
+  }
+
+  /**
+   * @return the reasons why the contexts can not be reconciled independently, every project has to
+   *     be named under the prefix of its context and no context prefix can contain another one.
+   *     Special topics may be named freely, they are reconciled by the shared pipeline.
+   */
+  static List<String> validate(Map<String, Topology> topologies, Configuration config) {
+    List<String> errors = new ArrayList<>();
+    Map<String, String> prefixes = new TreeMap<>();
+    for (Topology topology : topologies.values()) {
+      String prefix = contextPrefix(topology, config);
+      prefixes.put(topology.getContext(), prefix);
+      for (Project project : topology.getProjects()) {
+        if (!project.namePrefix().startsWith(prefix)) {
+          errors.add(
+              String.format(
+                  "Project %s of context %s is named %s, outside of the context prefix %s",
+                  project.getName(), topology.getContext(), project.namePrefix(), prefix));
+        }
+        for (Topic topic : project.getTopics()) {
+          if (!topic.toString().startsWith(prefix)) {
+            errors.add(
+                String.format(
+                    "Topic %s of context %s is outside of the context prefix %s",
+                    topic, topology.getContext(), prefix));
+          }
+        }
+      }
+    }
+    prefixes.forEach(
+        (context, prefix) ->
+            prefixes.forEach(
+                (other, otherPrefix) -> {
+                  if (!context.equals(other) && otherPrefix.startsWith(prefix)) {
+                    errors.add(
+                        String.format(
+                            "The prefix %s of context %s contains the prefix %s of context %s",
+                            prefix, context, otherPrefix, other));
+                  }
+                }));
+    return errors;
+  }
+
+  /**
+   * Plan and run all the pipelines, merging their changes into the given plan. The plan itself is
+   * not run, it is left to persist the consolidated state.
+   *
+   * @return the pipelines that failed, with the reason
+   */
+  Map<String, Exception> run(ExecutionPlan plan, boolean dryRun) throws IOException {
+    Map<String, Exception> failures = new LinkedHashMap<>();
+
+    // Create users should always be first, so user exists when making acl link
+    runPipeline(
+        PRINCIPALS_PIPELINE,
+        plan,
+        plan.fork(outputStream),
+        dryRun,
+        forked -> principalUpdateManager.updatePlan(forked, topologies),
+        failures);
+    if (!failures.isEmpty()) {
+      return failures;
+    }
+
+    failures.putAll(runContexts(plan, dryRun));
+
+    List<String> contextPrefixes = new ArrayList<>();
+    topologies.values().forEach(topology -> contextPrefixes.add(contextPrefix(topology, config)));
+    ContextScope sharedScope = ContextScope.excluding(contextPrefixes);
+    boolean deletePrincipals = failures.isEmpty();
+    if (!deletePrincipals) {
+      LOGGER.warn(
+          "Principals are not deleted, the pipelines of the contexts "
+              + failures.keySet()
+              + " failed");
+    }
+    runPipeline(
+        SHARED_PIPELINE,
+        plan,
+        plan.fork(outputStream),
+        dryRun,
+        forked -> {
+          topicManager.scopedTo(sharedScope).updatePlan(forked, topologies);
+          accessControlManager.scopedTo(sharedScope).updatePlan(forked, topologies);
+          quotasManager.updatePlan(forked, topologies);
+          connectorManager.updatePlan(forked, topologies);
+          kSqlArtefactManager.updatePlan(forked, topologies);
+          if (deletePrincipals) {
+            // Delete users should always be last, avoids any unlinked acls
+            principalDeleteManager.updatePlan(forked, topologies);
+          }
+        },
+        failures);
+    return failures;
+  }
+
+  private Map<String, Exception> runContexts(ExecutionPlan plan, boolean dryRun)
+      throws IOException {
+    int parallelism = Math.min(config.getContextPipelinesParallelism(), topologies.size());
+    LOGGER.info(
+        String.format(
+            "Reconciling %d contexts, up to %d concurrently", topologies.size(), parallelism));
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              Thread thread = new Thread(runnable, "julie-context-pipeline");
+              thread.setDaemon(true);
+              return thread;
+            });
+    Map<String, ByteArrayOutputStream> outputs = new LinkedHashMap<>();
+    Map<String, ExecutionPlan> plans = new LinkedHashMap<>();
+    Map<String, Future<?>> futures = new LinkedHashMap<>();
+    try {
+      for (Map.Entry<String, Topology> entry : topologies.entrySet()) {
+        String context = entry.getKey();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExecutionPlan forked =
+            plan.fork(new PrintStream(output, true, StandardCharsets.UTF_8.name()));
+        outputs.put(context, output);
+        plans.put(context, forked);
+        futures.put(context, executor.submit(() -> runContext(entry.getValue(), forked, dryRun)));
+      }
+
+      Map<String, Exception> failures = new LinkedHashMap<>();
+      for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+        try {
+          entry.getValue().get();
+        } catch (ExecutionException e) {
+          Exception cause =
+              e.getCause() instanceof Exception ? (Exception) e.getCause() : new IOException(e);
+          LOGGER.error("The pipeline of the context " + entry.getKey() + " failed", cause);
+          failures.put(entry.getKey(), cause);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+
+      // merge only once all the pipelines are done, they all read the state of the plan
+      for (String context : topologies.keySet()) {
+        plan.merge(plans.get(context));
+        outputStream.println(
+            failures.containsKey(context)
+                ? String.format("Context %s (failed):", context)
+                : String.format("Context %s:", context));
+        outputStream.print(outputs.get(context).toString(StandardCharsets.UTF_8));
+      }
+      return failures;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Void runContext(Topology topology, ExecutionPlan forked, boolean dryRun)
+      throws IOException {
+    String context = topology.getContext();
+    ContextScope scope = ContextScope.of(contextPrefix(topology, config));
+    Map<String, Topology> contextTopologies = Collections.singletonMap(context, topology);
+    Profiler.phase(
+        "context pipeline " + context,
+        () -> {
+          topicManager.scopedTo(scope).updatePlan(forked, contextTopologies);
+          accessControlManager.scopedTo(scope).updatePlan(forked, contextTopologies);
+          forked.run(dryRun);
+        });
+    return null;
+  }
+
+  private void runPipeline(
+      String name,
+      ExecutionPlan plan,
+      ExecutionPlan forked,
+      boolean dryRun,
+      PipelinePlanner planner,
+      Map<String, Exception> failures) {
+    try {
+      Profiler.phase(
+          name + " pipeline",
+          () -> {
+            planner.updatePlan(forked);
+            forked.run(dryRun);
+          });
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("The " + name + " pipeline failed", e);
+      failures.put(name, e);
+    } finally {
+      plan.merge(forked);
+    }
+  }
+
+  @FunctionalInterface
+  private interface PipelinePlanner {
+    void updatePlan(ExecutionPlan plan) throws IOException;
+  }
+}
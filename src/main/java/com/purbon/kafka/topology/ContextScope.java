@@ -0,0 +1,61 @@
+package com.purbon.kafka.topology;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The part of the topic, group and subject names managed by a run, used when each context of a
+ * topology directory is reconciled in its own pipeline.
+ *
+ * <p>A context owns the names starting with its prefix, the shared scope owns every other name and
+ * the resources not named after a topic, group or subject, e.g. the cluster level ACLs. Together
+ * they split all the resources without overlapping, so the pipelines never delete the resources of
+ * each other.
+ */
+public class ContextScope {
+
+  /** Everything, the scope of a run reconciling all the contexts at once. */
+  public static final ContextScope ALL = new ContextScope(new ArrayList<>(), false, true);
+
+  private final List<String> prefixes;
+  private final boolean excluded;
+  private final boolean unnamedResources;
+
+  private ContextScope(List<String> prefixes, boolean excluded, boolean unnamedResources) {
+    this.prefixes = prefixes;
+    this.excluded = excluded;
+    this.unnamedResources = unnamedResources;
+  }
+
+  /** The names under the prefix of a single context. */
+  public static ContextScope of(String contextPrefix) {
+    return new ContextScope(List.of(contextPrefix), false, false);
+  }
+
+  /** The names outside of the prefixes of all the contexts, and the resources without a name. */
+  public static ContextScope excluding(Collection<String> contextPrefixes) {
+    return new ContextScope(new ArrayList<>(contextPrefixes), true, true);
+  }
+
+  /**
+   * @return if the topic, group or subject (or prefix of them) is within the scope
+   */
+  public boolean contains(String name) {
+    boolean matches = prefixes.stream().anyMatch(name::startsWith);
+    return excluded ? !matches : matches || prefixes.isEmpty();
+  }
+
+  /**
+   * @return if the resources not named after a topic, group or subject, e.g. the cluster, are
+   *     within the scope
+   */
+  public boolean containsUnnamedResources() {
+    return unnamedResources;
+  }
+
+  @Override
+  public String toString() {
+    return excluded ? "all but " + prefixes : String.valueOf(prefixes);
+  }
+}
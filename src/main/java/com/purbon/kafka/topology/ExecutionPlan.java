@@ -1,21 +1,18 @@
 package com.purbon.kafka.topology;
 
-import com.purbon.kafka.topology.actions.*;
-import com.purbon.kafka.topology.actions.access.ClearBindings;
-import com.purbon.kafka.topology.actions.accounts.ClearAccounts;
-import com.purbon.kafka.topology.actions.accounts.CreateAccounts;
-import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
-import com.purbon.kafka.topology.actions.topics.DeleteTopics;
+import com.purbon.kafka.topology.actions.Action;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.audit.Auditor;
 import com.purbon.kafka.topology.audit.VoidAuditor;
-import com.purbon.kafka.topology.model.Artefact;
+import com.purbon.kafka.topology.backend.BackendState;
+import com.purbon.kafka.topology.backend.PlanCheckpoint;
+import com.purbon.kafka.topology.exceptions.PartiallyAppliedException;
+import com.purbon.kafka.topology.metrics.Metrics;
 import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlArtefact;
-import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
-import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.profiling.ActionEvent;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
-import com.purbon.kafka.topology.utils.StreamUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.*;
@@ -32,46 +29,96 @@ public class ExecutionPlan {
   private final PrintStream outputStream;
   private final BackendController backendController;
 
-  private Set<TopologyAclBinding> bindings;
-  private Set<ServiceAccount> serviceAccounts;
-  private Set<String> topics;
-  private Set<KafkaConnectArtefact> connectors;
-  private Set<KsqlStreamArtefact> ksqlStreams;
-  private Set<KsqlTableArtefact> ksqlTables;
+  private final BackendState state;
+  private final ClusterSnapshot clusterSnapshot;
+  private final boolean forked;
+  private final List<StateDelta> deltas;
 
   private Auditor auditor;
 
+  private int checkpointInterval;
+  private String planId;
+  private int committedActions;
+
   private ExecutionPlan(
       List<Action> plan,
       PrintStream outputStream,
       BackendController backendController,
-      Auditor auditor) {
+      Auditor auditor,
+      ClusterSnapshot clusterSnapshot) {
     this.plan = plan;
     this.outputStream = outputStream;
     this.auditor = auditor;
+    this.clusterSnapshot = clusterSnapshot;
 
-    this.bindings = new HashSet<>();
-    this.serviceAccounts = new HashSet<>();
-    this.topics = new HashSet<>();
-    this.connectors = new HashSet<>();
-    this.ksqlStreams = new HashSet<>();
-    this.ksqlTables = new HashSet<>();
+    this.state = new BackendState();
     this.backendController = backendController;
+    this.forked = false;
+    this.deltas = new ArrayList<>();
 
     if (backendController.size() > 0) {
-      this.bindings.addAll(backendController.getBindings());
-      this.serviceAccounts.addAll(backendController.getServiceAccounts());
-      this.topics.addAll(backendController.getTopics());
-      this.connectors.addAll(backendController.getConnectors());
-      this.ksqlStreams.addAll(backendController.getKSqlStreams());
-      this.ksqlTables.addAll(backendController.getKSqlTables());
+      this.state.addBindings(backendController.getBindings());
+      this.state.addAccounts(backendController.getServiceAccounts());
+      this.state.addTopics(backendController.getTopics());
+      this.state.addConnectors(backendController.getConnectors());
+      this.state.addKSqlStreams(backendController.getKSqlStreams());
+      this.state.addKSqlTables(backendController.getKSqlTables());
+    }
+  }
+
+  private ExecutionPlan(ExecutionPlan parent, PrintStream outputStream) {
+    this.plan = Collections.synchronizedList(new LinkedList<>());
+    this.outputStream = outputStream;
+    this.auditor = parent.auditor;
+    this.clusterSnapshot = parent.clusterSnapshot;
+    this.state = parent.state;
+    this.backendController = parent.backendController;
+    this.forked = true;
+    this.deltas = new ArrayList<>();
+  }
+
+  /**
+   * A plan for an independent part of the run, e.g. a single context. It reads the state of this
+   * plan, but keeps the changes made by its actions until they are merged back with {@link
+   * #merge(ExecutionPlan)}, and never persists the state, so forked plans can be planned and run
+   * concurrently. Nothing must be merged while forked plans are still planned or running.
+   */
+  public ExecutionPlan fork(PrintStream outputStream) {
+    return new ExecutionPlan(this, outputStream);
+  }
+
+  /** Apply the changes made by the actions executed so far by a forked plan. */
+  public void merge(ExecutionPlan forkedPlan) {
+    for (StateDelta delta : forkedPlan.deltas) {
+      delta.applyTo(state);
+      delta.applyTo(clusterSnapshot);
     }
+    forkedPlan.deltas.clear();
   }
 
   public void add(Action action) {
     this.plan.add(action);
   }
 
+  /**
+   * Persist the state reached so far into the backend every given number of executed actions, a
+   * value of zero disables the periodic checkpoints. The state reached is always persisted when an
+   * action fails.
+   */
+  public void setCheckpointInterval(int checkpointInterval) {
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  /** Identifies the plan file being applied, checkpoints record the progress made on it. */
+  public void setPlanId(String planId) {
+    this.planId = planId;
+  }
+
+  /** Skip the first actions of the plan, they were committed by a previous run. */
+  public void resumeFrom(int committedActions) {
+    this.committedActions = committedActions;
+  }
+
   public static ExecutionPlan init(BackendController backendController, PrintStream outputStream)
       throws IOException {
     return init(backendController, outputStream, new VoidAuditor());
@@ -80,9 +127,19 @@ public class ExecutionPlan {
   public static ExecutionPlan init(
       BackendController backendController, PrintStream outputStream, Auditor auditor)
       throws IOException {
+    return init(backendController, outputStream, auditor, new ClusterSnapshot());
+  }
+
+  public static ExecutionPlan init(
+      BackendController backendController,
+      PrintStream outputStream,
+      Auditor auditor,
+      ClusterSnapshot clusterSnapshot)
+      throws IOException {
     backendController.load();
     List<Action> listOfActions = Collections.synchronizedList(new LinkedList<>());
-    return new ExecutionPlan(listOfActions, outputStream, backendController, auditor);
+    return new ExecutionPlan(
+        listOfActions, outputStream, backendController, auditor, clusterSnapshot);
   }
 
   public void run() throws IOException {
@@ -90,25 +147,74 @@ public class ExecutionPlan {
   }
 
   public void run(boolean dryRun) throws IOException {
-    for (Action action : plan) {
+    List<Action> actions = new ArrayList<>(plan);
+    if (committedActions > 0) {
+      LOGGER.info(
+          String.format(
+              "Resuming execution plan, skipping %d already committed actions", committedActions));
+    }
+    if (Metrics.isEnabled()) {
+      for (int i = committedActions; i < actions.size(); i++) {
+        Metrics.actionPlanned(actions.get(i).getClass().getSimpleName());
+      }
+    }
+    for (int i = committedActions; i < actions.size(); i++) {
+      Action action = actions.get(i);
       try {
         execute(action, dryRun);
-      } catch (IOException e) {
+      } catch (IOException | RuntimeException e) {
         LOGGER.error(String.format("Something happen running action %s", action), e);
+        if (!dryRun && !forked) {
+          checkpoint(i);
+        }
         throw e;
       }
+      int executed = i + 1;
+      if (!dryRun
+          && !forked
+          && checkpointInterval > 0
+          && executed < actions.size()
+          && (executed - committedActions) % checkpointInterval == 0) {
+        checkpoint(executed);
+      }
     }
 
+    if (forked) {
+      // the plan it was forked from persists the state, once all the changes are merged
+      return;
+    }
     if (!dryRun) {
-      backendController.reset();
-      backendController.addBindings(new ArrayList<>(bindings));
-      backendController.addServiceAccounts(serviceAccounts);
-      backendController.addTopics(topics);
-      backendController.addConnectors(connectors);
-      backendController.addKSqlStreams(ksqlStreams);
-      backendController.addKSqlTables(ksqlTables);
+      updateBackendState(null);
       backendController.flushAndClose();
     }
+    reportManagedResources();
+  }
+
+  private void reportManagedResources() {
+    Metrics.managedResources("topics", state.getTopics().size());
+    Metrics.managedResources("bindings", state.getBindings().size());
+    Metrics.managedResources("service_accounts", state.getAccounts().size());
+    Metrics.managedResources("connectors", state.getConnectors().size());
+    Metrics.managedResources("ksql_streams", state.getKSqlStreams().size());
+    Metrics.managedResources("ksql_tables", state.getKSqlTables().size());
+  }
+
+  private void checkpoint(int executedActions) throws IOException {
+    LOGGER.info(
+        String.format("Checkpoint the state after %d of %d actions", executedActions, plan.size()));
+    updateBackendState(planId == null ? null : new PlanCheckpoint(planId, executedActions));
+    backendController.checkpoint();
+  }
+
+  private void updateBackendState(PlanCheckpoint checkpoint) {
+    backendController.reset();
+    backendController.addBindings(new ArrayList<>(state.getBindings()));
+    backendController.addServiceAccounts(state.getAccounts());
+    backendController.addTopics(state.getTopics());
+    backendController.addConnectors(state.getConnectors());
+    backendController.addKSqlStreams(state.getKSqlStreams());
+    backendController.addKSqlTables(state.getKSqlTables());
+    backendController.setCheckpoint(checkpoint);
   }
 
   private void execute(Action action, boolean dryRun) throws IOException {
@@ -117,87 +223,62 @@ public class ExecutionPlan {
       outputStream.println(action);
     }
     if (!dryRun) {
-      action.run();
-      auditor.log(action);
-      // TODO: a nicer and more clean version of this might be a cool thing to have, current version
-      // is shitty.
-      if (action instanceof CreateTopicAction) {
-        topics.add(((CreateTopicAction) action).getTopic());
-      } else if (action instanceof DeleteTopics) {
-        List<String> topicsToBeDeleted = ((DeleteTopics) action).getTopicsToBeDeleted();
-        topics =
-            new StreamUtils<>(topics.stream())
-                .filterAsSet(topic -> !topicsToBeDeleted.contains(topic));
-      }
-      if (action instanceof BaseAccessControlAction
-          && !((BaseAccessControlAction) action).getAclBindings().isEmpty()) {
-        if (action instanceof ClearBindings) {
-          bindings =
-              new StreamUtils<>(bindings.stream())
-                  .filterAsSet(
-                      binding ->
-                          !((BaseAccessControlAction) action).getAclBindings().contains(binding));
-        } else {
-          bindings.addAll(((BaseAccessControlAction) action).getAclBindings());
-        }
-      }
-      if (action instanceof BaseAccountsAction) {
-        if (action instanceof ClearAccounts) {
-          Collection<ServiceAccount> toDeletePrincipals = ((ClearAccounts) action).getPrincipals();
-          serviceAccounts =
-              new StreamUtils<>(serviceAccounts.stream())
-                  .filterAsSet(sa -> !toDeletePrincipals.contains(sa));
-        } else {
-          CreateAccounts createAction = (CreateAccounts) action;
-          serviceAccounts.addAll(createAction.getPrincipals());
-        }
+      try {
+        run(action);
+      } catch (PartiallyAppliedException e) {
+        auditor.log(action);
+        apply(action.stateDelta());
+        throw e;
       }
+      auditor.log(action);
+      apply(action.stateDelta());
+    }
+  }
 
-      if (action instanceof CreateArtefactAction) {
-        Artefact artefact = ((CreateArtefactAction) action).getArtefact();
-        if (artefact instanceof KafkaConnectArtefact) {
-          connectors.add((KafkaConnectArtefact) artefact);
-        } else if (artefact instanceof KsqlStreamArtefact) {
-          ksqlStreams.add((KsqlStreamArtefact) artefact);
-        } else if (artefact instanceof KsqlTableArtefact) {
-          ksqlTables.add((KsqlTableArtefact) artefact);
-        }
-      } else if (action instanceof SyncArtefactAction) {
-        Artefact artefact = ((SyncArtefactAction) action).getArtefact();
-        if (artefact instanceof KafkaConnectArtefact) {
-          connectors =
-              new StreamUtils<>(connectors.stream())
-                  .filterAsSet(connector -> !connector.equals(artefact));
-          connectors.add((KafkaConnectArtefact) artefact);
-        }
-      } else if (action instanceof DeleteArtefactAction) {
-        Artefact toBeDeleted = ((DeleteArtefactAction) action).getArtefact();
-        if (toBeDeleted instanceof KafkaConnectArtefact) {
-          connectors =
-              new StreamUtils<>(connectors.stream())
-                  .filterAsSet(connector -> !connector.equals(toBeDeleted));
-        } else if (toBeDeleted instanceof KsqlStreamArtefact) {
-          ksqlStreams =
-              new StreamUtils<>(ksqlStreams.stream())
-                  .filterAsSet(ksql -> !ksql.equals(toBeDeleted));
-        } else if (toBeDeleted instanceof KsqlTableArtefact) {
-          ksqlTables =
-              new StreamUtils<>(ksqlTables.stream()).filterAsSet(ksql -> !ksql.equals(toBeDeleted));
-        }
+  private void apply(StateDelta delta) {
+    if (forked) {
+      deltas.add(delta);
+    } else {
+      delta.applyTo(state);
+      delta.applyTo(clusterSnapshot);
+    }
+  }
+
+  private void run(Action action) throws IOException {
+    ActionEvent event = new ActionEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      action.run();
+      failed = false;
+    } finally {
+      Metrics.actionExecuted(action.getClass().getSimpleName(), System.nanoTime() - start, failed);
+      event.end();
+      if (event.shouldCommit()) {
+        event.type = action.getClass().getSimpleName();
+        event.resources = action.toString();
+        event.failed = failed;
+        event.commit();
       }
     }
   }
 
+  /** The state of the cluster(s) shared by all the updaters contributing to this plan. */
+  public ClusterSnapshot getClusterSnapshot() {
+    return clusterSnapshot;
+  }
+
   public Set<ServiceAccount> getServiceAccounts() {
-    return serviceAccounts;
+    return state.getAccounts();
   }
 
   public Set<TopologyAclBinding> getBindings() {
-    return bindings;
+    return state.getBindings();
   }
 
   public Set<String> getTopics() {
-    return topics;
+    return state.getTopics();
   }
 
   public List<Action> getActions() {
@@ -205,11 +286,11 @@ public class ExecutionPlan {
   }
 
   public Set<KafkaConnectArtefact> getConnectors() {
-    return connectors;
+    return state.getConnectors();
   }
 
   public Set<? extends KsqlArtefact> getKSqlArtefacts() {
-    return Stream.of(ksqlStreams, ksqlTables)
+    return Stream.of(state.getKSqlStreams(), state.getKSqlTables())
         .flatMap(Collection::stream)
         .collect(Collectors.toSet());
   }
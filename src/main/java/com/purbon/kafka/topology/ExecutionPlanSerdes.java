@@ -0,0 +1,553 @@
+package com.purbon.kafka.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.purbon.kafka.topology.actions.Action;
+import com.purbon.kafka.topology.actions.CreateArtefactAction;
+import com.purbon.kafka.topology.actions.DeleteArtefactAction;
+import com.purbon.kafka.topology.actions.SyncArtefactAction;
+import com.purbon.kafka.topology.actions.access.ClearBindings;
+import com.purbon.kafka.topology.actions.access.CreateBindings;
+import com.purbon.kafka.topology.actions.accounts.ClearAccounts;
+import com.purbon.kafka.topology.actions.accounts.CreateAccounts;
+import com.purbon.kafka.topology.actions.quotas.AlterClientQuotas;
+import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
+import com.purbon.kafka.topology.actions.topics.DeleteTopics;
+import com.purbon.kafka.topology.actions.topics.RegisterSchemaAction;
+import com.purbon.kafka.topology.actions.topics.TopicConfigUpdatePlan;
+import com.purbon.kafka.topology.actions.topics.UpdateTopicConfigs;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.backend.PlanCheckpoint;
+import com.purbon.kafka.topology.clients.ArtefactClient;
+import com.purbon.kafka.topology.exceptions.RemoteValidationException;
+import com.purbon.kafka.topology.model.Artefact;
+import com.purbon.kafka.topology.model.SubjectNameStrategy;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.model.schema.Subject;
+import com.purbon.kafka.topology.model.schema.TopicSchemas;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
+import com.purbon.kafka.topology.serviceAccounts.VoidPrincipalProvider;
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes an {@link ExecutionPlan} into a plan file and reads it back, so a plan computed with
+ * --dryRun can be applied later without parsing the topologies or fetching the remote state again.
+ *
+ * <p>Every plan file carries fingerprints of the state the plan was computed against (the backend
+ * state and, when the state is fetched from the cluster, the remote topics, acls and principals). A
+ * plan is only applied when all fingerprints still match.
+ */
+public class ExecutionPlanSerdes {
+
+  private static final Logger LOGGER = LogManager.getLogger(ExecutionPlanSerdes.class);
+
+  static final int VERSION = 1;
+
+  private final Configuration config;
+  private final TopologyBuilderAdminClient adminClient;
+  private final SchemaRegistryManager schemaRegistryManager;
+  private final AccessControlProvider accessControlProvider;
+  private final PrincipalProvider principalProvider;
+  private final KafkaConnectArtefactManager connectorManager;
+  private final KSqlArtefactManager kSqlArtefactManager;
+
+  public ExecutionPlanSerdes(
+      Configuration config,
+      TopologyBuilderAdminClient adminClient,
+      SchemaRegistryManager schemaRegistryManager,
+      AccessControlProvider accessControlProvider,
+      PrincipalProvider principalProvider,
+      KafkaConnectArtefactManager connectorManager,
+      KSqlArtefactManager kSqlArtefactManager) {
+    this.config = config;
+    this.adminClient = adminClient;
+    this.schemaRegistryManager = schemaRegistryManager;
+    this.accessControlProvider = accessControlProvider;
+    this.principalProvider = principalProvider;
+    this.connectorManager = connectorManager;
+    this.kSqlArtefactManager = kSqlArtefactManager;
+  }
+
+  public void write(ExecutionPlan plan, BackendController backendController, Path file)
+      throws IOException {
+    List<Map<String, Object>> actions = new ArrayList<>();
+    for (Action action : plan.getActions()) {
+      actions.add(asMap(action));
+    }
+    Map<String, Object> doc = new LinkedHashMap<>();
+    doc.put("version", VERSION);
+    doc.put("fingerprints", fingerprints(plan.getClusterSnapshot(), backendController));
+    doc.put("actions", actions);
+    Files.writeString(file, JSON.asPrettyString(doc), StandardCharsets.UTF_8);
+    LOGGER.info(
+        String.format("Execution plan with %d actions written to %s", actions.size(), file));
+  }
+
+  /**
+   * Verify the plan file is still current and add its actions to the given plan. If the backend
+   * holds a checkpoint of a previous, failed, run of the same plan, the plan resumes after the last
+   * committed action.
+   *
+   * @param file the plan file
+   * @param plan the plan receiving the stored actions
+   * @param backendController the already loaded backend
+   * @throws RemoteValidationException if the state changed since the plan was computed
+   */
+  public void read(Path file, ExecutionPlan plan, BackendController backendController)
+      throws IOException {
+    String content = Files.readString(file, StandardCharsets.UTF_8);
+    JsonNode doc = JSON.toNode(content);
+    int version = doc.path("version").asInt(-1);
+    if (version != VERSION) {
+      throw new IOException(
+          String.format("Unsupported plan file version %d found in %s", version, file));
+    }
+    String planId = digest(Stream.of(content));
+    Optional<PlanCheckpoint> checkpoint =
+        backendController.getCheckpoint().filter(c -> planId.equals(c.getPlan()));
+    if (checkpoint.isPresent()) {
+      // the fingerprints changed because of our own committed actions, resume after them
+      LOGGER.info(
+          String.format(
+              "Resuming the execution plan in %s after %d committed actions",
+              file, checkpoint.get().getCommittedActions()));
+    } else {
+      verifyFingerprints(
+          file, doc.path("fingerprints"), plan.getClusterSnapshot(), backendController);
+    }
+    for (JsonNode node : doc.path("actions")) {
+      plan.add(asAction(node));
+    }
+    plan.setPlanId(planId);
+    checkpoint.ifPresent(c -> plan.resumeFrom(c.getCommittedActions()));
+  }
+
+  private void verifyFingerprints(
+      Path file,
+      JsonNode fingerprints,
+      ClusterSnapshot snapshot,
+      BackendController backendController)
+      throws IOException {
+    Map<String, String> expected = new TreeMap<>();
+    fingerprints.fields().forEachRemaining(e -> expected.put(e.getKey(), e.getValue().asText()));
+    Map<String, String> actual = fingerprints(snapshot, backendController);
+    if (!expected.equals(actual)) {
+      Set<String> keys = new HashSet<>(expected.keySet());
+      keys.addAll(actual.keySet());
+      List<String> stale =
+          keys.stream()
+              .filter(key -> !actual.getOrDefault(key, "").equals(expected.get(key)))
+              .sorted()
+              .collect(Collectors.toList());
+      throw new RemoteValidationException(
+          String.format(
+              "The execution plan in %s is stale, %s changed since it was computed. Please run the dryRun again.",
+              file, String.join(", ", stale)));
+    }
+  }
+
+  Map<String, String> fingerprints(ClusterSnapshot snapshot, BackendController backendController)
+      throws IOException {
+    Map<String, String> fingerprints = new TreeMap<>();
+    Stream<String> stateEntries =
+        Stream.of(
+                backendController.getTopics().stream().map(topic -> "topic:" + topic),
+                backendController.getBindings().stream().map(binding -> "binding:" + binding),
+                backendController.getServiceAccounts().stream()
+                    .map(account -> "account:" + account.getName()),
+                backendController.getConnectors().stream().map(this::artefactEntry),
+                backendController.getKSqlStreams().stream().map(this::artefactEntry),
+                backendController.getKSqlTables().stream().map(this::artefactEntry))
+            .flatMap(s -> s);
+    fingerprints.put("state", digest(stateEntries));
+
+    if (config.fetchTopicStateFromTheCluster()) {
+      Set<String> topics = snapshot.topics().get(adminClient::listApplicationTopics);
+      fingerprints.put("topics", digest(topics.stream()));
+    }
+    if (config.fetchStateFromTheCluster()) {
+      Set<TopologyAclBinding> acls = snapshot.bindings().get(this::providerBindings);
+      fingerprints.put("acls", digest(acls.stream().map(TopologyAclBinding::toString)));
+      if (config.enabledPrincipalManagement()
+          && !(principalProvider instanceof VoidPrincipalProvider)) {
+        principalProvider.configure();
+        Set<ServiceAccount> accounts =
+            snapshot.serviceAccounts().get(principalProvider::listServiceAccounts);
+        fingerprints.put("principals", digest(accounts.stream().map(ServiceAccount::getName)));
+      }
+    }
+    return fingerprints;
+  }
+
+  private Set<TopologyAclBinding> providerBindings() {
+    Set<TopologyAclBinding> bindings = new HashSet<>();
+    accessControlProvider.listAcls().values().forEach(bindings::addAll);
+    return bindings;
+  }
+
+  private String artefactEntry(Artefact artefact) {
+    return String.format(
+        "artefact:%s:%s:%s:%s",
+        artefact.getClass().getSimpleName(),
+        artefact.getServerLabel(),
+        artefact.getName(),
+        artefact.getHash());
+  }
+
+  private static String digest(Stream<String> entries) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    entries
+        .sorted()
+        .forEach(
+            entry -> {
+              digest.update(entry.getBytes(StandardCharsets.UTF_8));
+              digest.update((byte) '\n');
+            });
+    StringBuilder sb = new StringBuilder();
+    for (byte b : digest.digest()) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+
+  private Map<String, Object> asMap(Action action) throws IOException {
+    Map<String, Object> map = new LinkedHashMap<>();
+    if (action instanceof CreateTopicAction) {
+      CreateTopicAction createTopic = (CreateTopicAction) action;
+      map.put("type", "create-topic");
+      map.put("topic", topicAsMap(createTopic.getTopicDefinition(), createTopic.getTopic()));
+    } else if (action instanceof UpdateTopicConfigs) {
+      map.put("type", "update-topic-configs");
+      List<Map<String, Object>> topics = new ArrayList<>();
+      for (TopicConfigUpdatePlan updatePlan :
+          ((UpdateTopicConfigs) action).getTopicConfigUpdatePlans()) {
+        topics.add(topicConfigUpdateAsMap(updatePlan));
+      }
+      map.put("topics", topics);
+    } else if (action instanceof RegisterSchemaAction) {
+      RegisterSchemaAction registerSchema = (RegisterSchemaAction) action;
+      map.put("type", "register-schema");
+      map.put("topic", topicAsMap(registerSchema.getTopicDefinition(), registerSchema.getTopic()));
+    } else if (action instanceof DeleteTopics) {
+      map.put("type", "delete-topics");
+      map.put("topics", ((DeleteTopics) action).getTopicsToBeDeleted());
+    } else if (action instanceof CreateBindings) {
+      map.put("type", "create-bindings");
+      map.put("bindings", ((CreateBindings) action).getAclBindings());
+    } else if (action instanceof ClearBindings) {
+      map.put("type", "clear-bindings");
+      map.put("bindings", ((ClearBindings) action).getAclBindings());
+    } else if (action instanceof CreateAccounts) {
+      map.put("type", "create-accounts");
+      map.put("accounts", ((CreateAccounts) action).getPrincipals());
+    } else if (action instanceof ClearAccounts) {
+      map.put("type", "clear-accounts");
+      map.put("accounts", ((ClearAccounts) action).getPrincipals());
+    } else if (action instanceof CreateArtefactAction) {
+      CreateArtefactAction createArtefact = (CreateArtefactAction) action;
+      map.put("type", "create-artefact");
+      map.put("artefact", artefactAsMap(createArtefact.getArtefact()));
+      map.put("sessionVars", createArtefact.getSessionVars());
+    } else if (action instanceof SyncArtefactAction) {
+      map.put("type", "sync-artefact");
+      map.put("artefact", artefactAsMap(((SyncArtefactAction) action).getArtefact()));
+    } else if (action instanceof DeleteArtefactAction) {
+      map.put("type", "delete-artefact");
+      map.put("artefact", artefactAsMap(((DeleteArtefactAction) action).getArtefact()));
+    } else if (action instanceof AlterClientQuotas) {
+      map.put("type", "alter-client-quotas");
+      map.put("quotas", quotasAsList(((AlterClientQuotas) action).getAlterations()));
+    } else {
+      throw new IOException(
+          String.format("Action %s can not be stored into a plan file", action.getClass()));
+    }
+    return map;
+  }
+
+  private Action asAction(JsonNode node) throws IOException {
+    String type = node.path("type").asText();
+    switch (type) {
+      case "create-topic":
+        Topic topic = asTopic(node.get("topic"));
+        return new CreateTopicAction(adminClient, topic, topic.toString());
+      case "update-topic-configs":
+        List<TopicConfigUpdatePlan> updatePlans = new ArrayList<>();
+        for (JsonNode topicNode : node.path("topics")) {
+          updatePlans.add(asTopicConfigUpdatePlan(topicNode));
+        }
+        return new UpdateTopicConfigs(adminClient, updatePlans);
+      case "register-schema":
+        Topic schemaTopic = asTopic(node.get("topic"));
+        return new RegisterSchemaAction(schemaRegistryManager, schemaTopic, schemaTopic.toString());
+      case "delete-topics":
+        List<String> topics = new ArrayList<>();
+        node.path("topics").forEach(t -> topics.add(t.asText()));
+        return new DeleteTopics(adminClient, topics);
+      case "create-bindings":
+        return new CreateBindings(accessControlProvider, new HashSet<>(asBindings(node)));
+      case "clear-bindings":
+        return new ClearBindings(accessControlProvider, asBindings(node));
+      case "create-accounts":
+        return new CreateAccounts(
+            principalProvider,
+            new HashSet<>(asAccounts(node)),
+            config.getServiceAccountsConcurrency());
+      case "clear-accounts":
+        return new ClearAccounts(
+            principalProvider, asAccounts(node), config.getServiceAccountsConcurrency());
+      case "create-artefact":
+        Artefact artefact = asArtefact(node.get("artefact"));
+        Map<String, String> sessionVars = asStringMap(node.get("sessionVars"));
+        ArtefactClient client = selectClient(artefact);
+        client.addSessionVars(sessionVars);
+        return new CreateArtefactAction(
+            client, rootPath(artefact), Collections.emptyList(), artefact, sessionVars);
+      case "sync-artefact":
+        Artefact syncArtefact = asArtefact(node.get("artefact"));
+        return new SyncArtefactAction(
+            selectClient(syncArtefact), rootPath(syncArtefact), syncArtefact);
+      case "delete-artefact":
+        Artefact deleteArtefact = asArtefact(node.get("artefact"));
+        return new DeleteArtefactAction(selectClient(deleteArtefact), deleteArtefact);
+      case "alter-client-quotas":
+        return new AlterClientQuotas(adminClient, asQuotaAlterations(node.path("quotas")));
+      default:
+        throw new IOException(String.format("Unknown action type '%s' in plan file", type));
+    }
+  }
+
+  private Map<String, Object> topicConfigUpdateAsMap(TopicConfigUpdatePlan updatePlan)
+      throws IOException {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("topic", topicAsMap(updatePlan.getTopic(), updatePlan.getFullTopicName()));
+    map.put("updatePartitionCount", updatePlan.isUpdatePartitionCount());
+    map.put("newConfigs", updatePlan.getNewConfigValues());
+    map.put("updatedConfigs", updatePlan.getUpdatedConfigValues());
+    map.put("deletedConfigs", updatePlan.getDeletedConfigValues());
+    return map;
+  }
+
+  private TopicConfigUpdatePlan asTopicConfigUpdatePlan(JsonNode node) {
+    TopicConfigUpdatePlan updatePlan = new TopicConfigUpdatePlan(asTopic(node.get("topic")));
+    updatePlan.setUpdatePartitionCount(node.path("updatePartitionCount").asBoolean());
+    asStringMap(node.get("newConfigs")).forEach(updatePlan::addNewConfig);
+    asStringMap(node.get("updatedConfigs")).forEach(updatePlan::addConfigToUpdate);
+    asStringMap(node.get("deletedConfigs")).forEach(updatePlan::addConfigToDelete);
+    return updatePlan;
+  }
+
+  private List<Map<String, Object>> quotasAsList(List<ClientQuotaAlteration> alterations) {
+    List<Map<String, Object>> quotas = new ArrayList<>();
+    for (ClientQuotaAlteration alteration : alterations) {
+      Map<String, Object> map = new LinkedHashMap<>();
+      map.put("entity", alteration.entity().entries());
+      Map<String, Double> ops = new LinkedHashMap<>();
+      alteration.ops().forEach(op -> ops.put(op.key(), op.value()));
+      map.put("ops", ops);
+      quotas.add(map);
+    }
+    return quotas;
+  }
+
+  private List<ClientQuotaAlteration> asQuotaAlterations(JsonNode node) {
+    List<ClientQuotaAlteration> alterations = new ArrayList<>();
+    for (JsonNode quota : node) {
+      Map<String, String> entity = new HashMap<>();
+      quota
+          .path("entity")
+          .fields()
+          .forEachRemaining(
+              e -> entity.put(e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+      List<ClientQuotaAlteration.Op> ops = new ArrayList<>();
+      quota
+          .path("ops")
+          .fields()
+          .forEachRemaining(
+              e ->
+                  ops.add(
+                      new ClientQuotaAlteration.Op(
+                          e.getKey(), e.getValue().isNull() ? null : e.getValue().asDouble())));
+      alterations.add(new ClientQuotaAlteration(new ClientQuotaEntity(entity), ops));
+    }
+    return alterations;
+  }
+
+  private Map<String, Object> topicAsMap(Topic topic, String fullTopicName) throws IOException {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("name", fullTopicName);
+    map.put("config", topic.getConfig());
+    topic.getPartitionCount().ifPresent(count -> map.put("partitions", count));
+    topic.replicationFactor().ifPresent(factor -> map.put("replicationFactor", factor));
+    map.put("subjectNameStrategy", topic.getSubjectNameStrategy().name());
+    List<Map<String, Object>> schemas = new ArrayList<>();
+    for (TopicSchemas topicSchemas : topic.getSchemas()) {
+      Map<String, Object> schema = new LinkedHashMap<>();
+      schema.put("key", subjectAsMap(topicSchemas.getKeySubject()));
+      schema.put("value", subjectAsMap(topicSchemas.getValueSubject()));
+      schemas.add(schema);
+    }
+    map.put("schemas", schemas);
+    return map;
+  }
+
+  private Map<String, String> subjectAsMap(Subject subject) {
+    Map<String, String> map = new LinkedHashMap<>();
+    subject.getOptionalSchemaFile().ifPresent(file -> map.put("file", file));
+    subject.getOptionalRecordType().ifPresent(recordType -> map.put("recordType", recordType));
+    subject.getOptionalFormat().ifPresent(format -> map.put("format", format));
+    subject
+        .getOptionalCompatibility()
+        .ifPresent(compatibility -> map.put("compatibility", compatibility));
+    return map;
+  }
+
+  private Topic asTopic(JsonNode node) {
+    Topic topic =
+        new Topic(
+            node.get("name").asText(), Optional.empty(), asStringMap(node.get("config")), config);
+    // the name stored in the plan is already the fully resolved topic name
+    topic.setTopicNamePattern("name");
+    if (node.has("partitions")) {
+      topic.setPartitionCount(Optional.of(node.get("partitions").asInt()));
+    }
+    if (node.has("replicationFactor")) {
+      topic.setReplicationFactor(Optional.of((short) node.get("replicationFactor").asInt()));
+    }
+    topic.setSubjectNameStrategy(
+        Optional.of(SubjectNameStrategy.valueOf(node.get("subjectNameStrategy").asText())));
+    List<TopicSchemas> schemas = new ArrayList<>();
+    for (JsonNode schema : node.path("schemas")) {
+      JsonNode key = schema.path("key");
+      JsonNode value = schema.path("value");
+      schemas.add(
+          new TopicSchemas(
+              optionalText(key, "file"),
+              optionalText(key, "recordType"),
+              optionalText(key, "format"),
+              optionalText(key, "compatibility"),
+              optionalText(value, "file"),
+              optionalText(value, "recordType"),
+              optionalText(value, "format"),
+              optionalText(value, "compatibility")));
+    }
+    topic.setSchemas(schemas);
+    return topic;
+  }
+
+  private Optional<JsonNode> optionalText(JsonNode node, String field) {
+    return Optional.ofNullable(node.get(field)).map(JsonNode::asText).map(TextNode::valueOf);
+  }
+
+  private Map<String, String> asStringMap(JsonNode node) {
+    Map<String, String> map = new HashMap<>();
+    if (node != null) {
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      fields.forEachRemaining(e -> map.put(e.getKey(), e.getValue().asText()));
+    }
+    return map;
+  }
+
+  private List<TopologyAclBinding> asBindings(JsonNode node) throws IOException {
+    List<TopologyAclBinding> bindings = new ArrayList<>();
+    for (JsonNode binding : node.path("bindings")) {
+      bindings.add(JSON.toObject(binding, TopologyAclBinding.class));
+    }
+    return bindings;
+  }
+
+  private List<ServiceAccount> asAccounts(JsonNode node) throws IOException {
+    List<ServiceAccount> accounts = new ArrayList<>();
+    for (JsonNode account : node.path("accounts")) {
+      accounts.add(JSON.toObject(account, ServiceAccount.class));
+    }
+    return accounts;
+  }
+
+  private Map<String, Object> artefactAsMap(Artefact artefact) throws IOException {
+    Map<String, Object> map = new LinkedHashMap<>();
+    if (artefact instanceof KafkaConnectArtefact) {
+      map.put("kind", "connector");
+    } else if (artefact instanceof KsqlStreamArtefact) {
+      map.put("kind", "stream");
+    } else if (artefact instanceof KsqlTableArtefact) {
+      map.put("kind", "table");
+    } else {
+      throw new IOException(
+          String.format("Artefact %s can not be stored into a plan file", artefact));
+    }
+    map.put("path", artefact.getPath());
+    map.put("server", artefact.getServerLabel());
+    map.put("name", artefact.getName());
+    map.put("hash", artefact.getHash());
+    return map;
+  }
+
+  private Artefact asArtefact(JsonNode node) throws IOException {
+    String path = node.path("path").asText(null);
+    String server = node.path("server").asText(null);
+    String name = node.path("name").asText(null);
+    String kind = node.path("kind").asText();
+    switch (kind) {
+      case "connector":
+        return new KafkaConnectArtefact(path, server, name, node.path("hash").asText(null));
+      case "stream":
+        return new KsqlStreamArtefact(path, server, name);
+      case "table":
+        return new KsqlTableArtefact(path, server, name);
+      default:
+        throw new IOException(String.format("Unknown artefact kind '%s' in plan file", kind));
+    }
+  }
+
+  private ArtefactManager managerFor(Artefact artefact) {
+    return artefact instanceof KafkaConnectArtefact ? connectorManager : kSqlArtefactManager;
+  }
+
+  private ArtefactClient selectClient(Artefact artefact) throws IOException {
+    ArtefactClient client = managerFor(artefact).selectClient(artefact);
+    if (client == null) {
+      throw new IOException(
+          "The Artefact "
+              + artefact.getName()
+              + " require a non configured client, please check our configuration");
+    }
+    return client;
+  }
+
+  private String rootPath(Artefact artefact) {
+    return managerFor(artefact).rootPath();
+  }
+}
@@ -14,5 +14,29 @@ public interface ExecutionPlanUpdater {
 
   void updatePlan(ExecutionPlan plan, Map<String, Topology> topologies) throws IOException;
 
+  /**
+   * Start loading the cluster state this updater is going to read, so the remote calls of a run
+   * happen concurrently and only once.
+   *
+   * @param snapshot the run scoped cluster snapshot
+   * @param reportState if the state is printed after the run, and so has to be loaded as well
+   */
+  default void prefetchClusterState(ClusterSnapshot snapshot, boolean reportState) {
+    // nothing to prefetch by default
+  }
+
+  /**
+   * Load all the cluster state this updater can read, no matter the configuration, e.g. to export
+   * the snapshot into a file.
+   */
+  default void loadClusterState(ClusterSnapshot snapshot) throws IOException {
+    prefetchClusterState(snapshot, true);
+  }
+
   void printCurrentState(PrintStream out) throws IOException;
+
+  /** Print the current state using the, already updated, snapshot of the run. */
+  default void printCurrentState(ClusterSnapshot snapshot, PrintStream out) throws IOException {
+    printCurrentState(out);
+  }
 }
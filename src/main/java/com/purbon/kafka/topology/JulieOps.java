@@ -7,9 +7,15 @@ import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClientBuild
 import com.purbon.kafka.topology.api.mds.MDSApiClientBuilder;
 import com.purbon.kafka.topology.audit.Auditor;
 import com.purbon.kafka.topology.exceptions.ValidationException;
+import com.purbon.kafka.topology.metrics.Metrics;
 import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.profiling.Profile;
+import com.purbon.kafka.topology.profiling.Profiler;
+import com.purbon.kafka.topology.quotas.QuotasManager;
 import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
 import com.purbon.kafka.topology.serviceAccounts.VoidPrincipalProvider;
+import com.purbon.kafka.topology.utils.Interner;
+import com.purbon.kafka.topology.utils.JSON;
 import io.confluent.kafka.schemaregistry.SchemaProvider;
 import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
@@ -20,11 +26,16 @@ import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,29 +52,35 @@ public class JulieOps implements AutoCloseable {
   private final PrincipalUpdateManager principalUpdateManager;
   private final PrincipalDeleteManager principalDeleteManager;
   private AccessControlManager accessControlManager;
+  private final QuotasManager quotasManager;
   private KafkaConnectArtefactManager connectorManager;
   private KSqlArtefactManager kSqlArtefactManager;
   private final Map<String, Topology> topologies;
   private final Configuration config;
   private final PrintStream outputStream;
+  private final ExecutionPlanSerdes planSerdes;
 
   private JulieOps(
       Map<String, Topology> topologies,
       Configuration config,
       TopicManager topicManager,
       AccessControlManager accessControlManager,
+      QuotasManager quotasManager,
       PrincipalUpdateManager principalUpdateManager,
       PrincipalDeleteManager principalDeleteManager,
       KafkaConnectArtefactManager connectorManager,
-      KSqlArtefactManager kSqlArtefactManager) {
+      KSqlArtefactManager kSqlArtefactManager,
+      ExecutionPlanSerdes planSerdes) {
     this.topologies = topologies;
     this.config = config;
     this.topicManager = topicManager;
     this.accessControlManager = accessControlManager;
+    this.quotasManager = quotasManager;
     this.principalUpdateManager = principalUpdateManager;
     this.principalDeleteManager = principalDeleteManager;
     this.connectorManager = connectorManager;
     this.kSqlArtefactManager = kSqlArtefactManager;
+    this.planSerdes = planSerdes;
     this.outputStream = System.out;
   }
 
@@ -122,45 +139,34 @@ public class JulieOps implements AutoCloseable {
       PrincipalProvider principalProvider)
       throws Exception {
 
-    Map<String, Topology> topologies;
-    if (plansFile.equals("default")) {
-      topologies = TopologyObjectBuilder.build(topologyFileOrDir, config);
-    } else {
-      topologies = TopologyObjectBuilder.build(topologyFileOrDir, plansFile, config);
+    if (config.isProfileEnabled()) {
+      Profiler.start();
     }
-
-    TopologyValidator validator = new TopologyValidator(config);
-
-    for (Topology topology : topologies.values()) {
-      List<String> validationResults = validator.validate(topology);
-      if (!validationResults.isEmpty()) {
-        String resultsMessage = String.join("\n", validationResults);
-        throw new ValidationException(resultsMessage);
+    if (config.areMetricsEnabled()) {
+      Metrics.enable();
+      if (config.getMetricsHttpPort() >= 0) {
+        Metrics.serve(config.getMetricsHttpPort());
       }
-      config.validateWith(topology);
     }
 
+    Map<String, Topology> topologies =
+        Profiler.phase(
+            "build topologies", () -> buildTopologies(topologyFileOrDir, plansFile, config));
+    Profiler.phase("validate topologies", () -> validate(topologies, config));
+
     AccessControlManager accessControlManager =
         new AccessControlManager(
-            accessControlProvider, bindingsBuilderProvider, config.getJulieRoles(), config);
-
-    RestService restService = new RestService(config.getConfluentSchemaRegistryUrl());
-    Map<String, ?> schemaRegistryConfig = config.asMap();
+            accessControlProvider,
+            bindingsBuilderProvider,
+            config.getJulieRoles(),
+            config,
+            Optional.of(adminClient::listApplicationTopics));
 
-    List<SchemaProvider> providers =
-        Arrays.asList(
-            new AvroSchemaProvider(), new JsonSchemaProvider(), new ProtobufSchemaProvider());
-    SchemaRegistryClient schemaRegistryClient =
-        new CachedSchemaRegistryClient(
-            restService,
-            10,
-            providers,
-            schemaRegistryConfig.isEmpty() ? null : schemaRegistryConfig,
-            null);
     SchemaRegistryManager schemaRegistryManager =
-        new SchemaRegistryManager(schemaRegistryClient, topologyFileOrDir);
+        new SchemaRegistryManager(() -> schemaRegistryClient(config), topologyFileOrDir);
 
     TopicManager topicManager = new TopicManager(adminClient, schemaRegistryManager, config);
+    QuotasManager quotasManager = new QuotasManager(adminClient, config);
 
     PrincipalUpdateManager principalUpdateManager =
         new PrincipalUpdateManager(principalProvider, config);
@@ -173,6 +179,16 @@ public class JulieOps implements AutoCloseable {
     KSqlArtefactManager kSqlArtefactManager =
         configureKSqlArtefactManager(config, topologyFileOrDir);
 
+    ExecutionPlanSerdes planSerdes =
+        new ExecutionPlanSerdes(
+            config,
+            adminClient,
+            schemaRegistryManager,
+            accessControlProvider,
+            principalProvider,
+            connectorManager,
+            kSqlArtefactManager);
+
     configureLogsInDebugMode(config);
 
     return new JulieOps(
@@ -180,55 +196,246 @@ public class JulieOps implements AutoCloseable {
         config,
         topicManager,
         accessControlManager,
+        quotasManager,
         principalUpdateManager,
         principalDeleteManager,
         connectorManager,
-        kSqlArtefactManager);
+        kSqlArtefactManager,
+        planSerdes);
+  }
+
+  private static SchemaRegistryClient schemaRegistryClient(Configuration config) {
+    RestService restService = new RestService(config.getConfluentSchemaRegistryUrl());
+    Map<String, ?> schemaRegistryConfig = config.asMap();
+
+    List<SchemaProvider> providers =
+        Arrays.asList(
+            new AvroSchemaProvider(), new JsonSchemaProvider(), new ProtobufSchemaProvider());
+    return new CachedSchemaRegistryClient(
+        restService,
+        10,
+        providers,
+        schemaRegistryConfig.isEmpty() ? null : schemaRegistryConfig,
+        null);
+  }
+
+  private static Map<String, Topology> buildTopologies(
+      String topologyFileOrDir, String plansFile, Configuration config) throws IOException {
+    if (config.getApplyPlanFile().isPresent()) {
+      // the actions come from the plan file, no need to parse and validate the topologies
+      return Collections.emptyMap();
+    } else if (plansFile.equals("default")) {
+      return TopologyObjectBuilder.build(topologyFileOrDir, config);
+    } else {
+      return TopologyObjectBuilder.build(topologyFileOrDir, plansFile, config);
+    }
+  }
+
+  private static void validate(Map<String, Topology> topologies, Configuration config)
+      throws ValidationException {
+    TopologyValidator validator = new TopologyValidator(config);
+
+    // report the violations of all topologies at once
+    List<String> validationResults = new ArrayList<>();
+    for (Topology topology : topologies.values()) {
+      validationResults.addAll(validator.validate(topology));
+    }
+    if (ContextPipelines.isEnabled(config, topologies)) {
+      validationResults.addAll(ContextPipelines.validate(topologies, config));
+    }
+    if (!validationResults.isEmpty()) {
+      String resultsMessage = String.join("\n", validationResults);
+      throw new ValidationException(resultsMessage);
+    }
+    for (Topology topology : topologies.values()) {
+      config.validateWith(topology);
+    }
   }
 
   void run(BackendController backendController, PrintStream printStream, Auditor auditor)
       throws IOException {
-    ExecutionPlan plan = ExecutionPlan.init(backendController, printStream, auditor);
+    try (ClusterSnapshot snapshot = initClusterSnapshot()) {
+      run(backendController, printStream, auditor, snapshot);
+    }
+  }
+
+  private ClusterSnapshot initClusterSnapshot() throws IOException {
+    Optional<String> snapshotFile = config.getSnapshotFile();
+    if (snapshotFile.isPresent()) {
+      LOGGER.info("Planning offline against the cluster snapshot " + snapshotFile.get());
+      return new ClusterSnapshotSerdes().read(Paths.get(snapshotFile.get()));
+    }
+    return new ClusterSnapshot();
+  }
+
+  /** Load all the state of the cluster(s) JulieOps reads and write it into the given file. */
+  void exportSnapshot(Path file) throws IOException {
+    try (ClusterSnapshot snapshot = new ClusterSnapshot()) {
+      for (ExecutionPlanUpdater updater : updaters()) {
+        Profiler.phase(
+            "loadClusterState " + updater.getClass().getSimpleName(),
+            () -> updater.loadClusterState(snapshot));
+      }
+      new ClusterSnapshotSerdes().write(snapshot, file);
+    }
+  }
+
+  private void run(
+      BackendController backendController,
+      PrintStream printStream,
+      Auditor auditor,
+      ClusterSnapshot snapshot)
+      throws IOException {
+    ExecutionPlan plan = ExecutionPlan.init(backendController, printStream, auditor, snapshot);
     LOGGER.debug(
         String.format(
             "Running topology builder with topicManager=[%s], accessControlManager=[%s], dryRun=[%s], isQuiet=[%s]",
             topicManager, accessControlManager, config.isDryRun(), config.isQuiet()));
 
-    // Create users should always be first, so user exists when making acl link
-    for (Topology topology : topologies.values()) {
-      principalUpdateManager.updatePlan(topology, plan);
+    plan.setCheckpointInterval(config.getPlanCheckpointInterval());
+
+    boolean reportState = !config.isQuiet() && !config.isDryRun();
+    Optional<String> applyPlanFile = config.getApplyPlanFile();
+    if (applyPlanFile.isEmpty() || reportState) {
+      // load everything the run is going to read from the cluster(s) at once
+      for (ExecutionPlanUpdater updater : updaters()) {
+        updater.prefetchClusterState(snapshot, reportState);
+      }
     }
-    topicManager.updatePlan(plan, topologies);
-    accessControlManager.updatePlan(plan, topologies);
-    connectorManager.updatePlan(plan, topologies);
-    kSqlArtefactManager.updatePlan(plan, topologies);
+
+    Map<String, Exception> failedPipelines = Collections.emptyMap();
+    if (applyPlanFile.isPresent()) {
+      planSerdes.read(Paths.get(applyPlanFile.get()), plan, backendController);
+    } else if (ContextPipelines.isEnabled(config, topologies)) {
+      failedPipelines = contextPipelines(printStream).run(plan, config.isDryRun());
+    } else {
+      updatePlan(plan);
+    }
+
+    // with the context pipelines, the plan only persists the state they reached
+    Profiler.phase("run plan", () -> plan.run(config.isDryRun()));
+    if (!failedPipelines.isEmpty()) {
+      throw new IOException(
+          "The pipelines " + failedPipelines.keySet() + " failed",
+          failedPipelines.values().iterator().next());
+    }
+
+    Optional<String> planFile = config.getPlanFile();
+    if (config.isDryRun() && planFile.isPresent()) {
+      planSerdes.write(plan, backendController, Paths.get(planFile.get()));
+    }
+
+    if (reportState) {
+      // the snapshot was kept up to date by the executed actions
+      topicManager.printCurrentState(snapshot, System.out);
+      accessControlManager.printCurrentState(snapshot, System.out);
+      quotasManager.printCurrentState(snapshot, System.out);
+      principalUpdateManager.printCurrentState(snapshot, System.out);
+      connectorManager.printCurrentState(snapshot, System.out);
+      kSqlArtefactManager.printCurrentState(snapshot, System.out);
+    }
+  }
+
+  private ContextPipelines contextPipelines(PrintStream printStream) {
+    return new ContextPipelines(
+        topologies,
+        config,
+        topicManager,
+        accessControlManager,
+        quotasManager,
+        principalUpdateManager,
+        principalDeleteManager,
+        connectorManager,
+        kSqlArtefactManager,
+        printStream);
+  }
+
+  private List<ExecutionPlanUpdater> updaters() {
+    return Arrays.asList(
+        principalUpdateManager,
+        topicManager,
+        accessControlManager,
+        quotasManager,
+        connectorManager,
+        kSqlArtefactManager,
+        principalDeleteManager);
+  }
+
+  private void updatePlan(ExecutionPlan plan) throws IOException {
+    // Create users should always be first, so user exists when making acl link
+    Profiler.phase(
+        "updatePlan PrincipalUpdateManager",
+        () -> principalUpdateManager.updatePlan(plan, topologies));
+    Profiler.phase("updatePlan TopicManager", () -> topicManager.updatePlan(plan, topologies));
+    Profiler.phase(
+        "updatePlan AccessControlManager", () -> accessControlManager.updatePlan(plan, topologies));
+    Profiler.phase("updatePlan QuotasManager", () -> quotasManager.updatePlan(plan, topologies));
+    Profiler.phase(
+        "updatePlan KafkaConnectArtefactManager",
+        () -> connectorManager.updatePlan(plan, topologies));
+    Profiler.phase(
+        "updatePlan KSqlArtefactManager", () -> kSqlArtefactManager.updatePlan(plan, topologies));
     // Delete users should always be last,
     // avoids any unlinked acls, e.g. if acl delete or something errors then there is a link still
     // from the account, and can be re-run or manually fixed more easily
-    for (Topology topology : topologies.values()) {
-      principalDeleteManager.updatePlan(topology, plan);
-    }
+    Profiler.phase(
+        "updatePlan PrincipalDeleteManager",
+        () -> principalDeleteManager.updatePlan(plan, topologies));
+  }
 
-    plan.run(config.isDryRun());
+  public void run() throws IOException {
+    try {
+      if (config.doValidate()) {
+        return;
+      }
+      Optional<String> exportSnapshotFile = config.getExportSnapshotFile();
+      if (exportSnapshotFile.isPresent()) {
+        exportSnapshot(Paths.get(exportSnapshotFile.get()));
+        return;
+      }
+      long start = System.nanoTime();
+      boolean failed = true;
+      try {
+        run(buildBackendController(config), outputStream, configureAndBuildAuditor(config));
+        failed = false;
+      } finally {
+        reportMetrics(System.nanoTime() - start, failed);
+      }
+    } finally {
+      reportProfile();
+    }
+  }
 
-    if (!config.isQuiet() && !config.isDryRun()) {
-      topicManager.printCurrentState(System.out);
-      accessControlManager.printCurrentState(System.out);
-      principalUpdateManager.printCurrentState(System.out);
-      connectorManager.printCurrentState(System.out);
-      kSqlArtefactManager.printCurrentState(System.out);
+  private void reportMetrics(long nanos, boolean failed) {
+    Metrics.runCompleted(nanos, failed);
+    Optional<String> textFile = config.getMetricsTextFile();
+    if (textFile.isPresent()) {
+      try {
+        Metrics.writeTextFile(Paths.get(textFile.get()));
+      } catch (IOException e) {
+        LOGGER.error("Failed to write the metrics into " + textFile.get(), e);
+      }
     }
   }
 
-  public void run() throws IOException {
-    if (config.doValidate()) {
+  private void reportProfile() throws IOException {
+    Optional<Profile> profile = Profiler.stop();
+    if (profile.isEmpty()) {
       return;
     }
-    run(buildBackendController(config), outputStream, configureAndBuildAuditor(config));
+    profile.get().print(outputStream);
+    Optional<String> profileFile = config.getProfileFile();
+    if (profileFile.isPresent()) {
+      Files.writeString(
+          Paths.get(profileFile.get()),
+          JSON.asPrettyString(profile.get().asMap()),
+          StandardCharsets.UTF_8);
+    }
   }
 
   public void close() {
     topicManager.close();
+    Interner.clear();
   }
 
   public static String getVersion() {
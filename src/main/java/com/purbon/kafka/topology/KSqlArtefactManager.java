@@ -74,6 +74,11 @@ public class KSqlArtefactManager extends ArtefactManager {
     return toDeleteArtefactsList;
   }
 
+  @Override
+  protected ClusterSnapshot.Source<Artefact> getSnapshotState(ClusterSnapshot snapshot) {
+    return snapshot.ksqlArtefacts();
+  }
+
   @Override
   protected Collection<? extends Artefact> getClustersState() throws IOException {
     List<Either> list =
@@ -157,4 +162,10 @@ public class KSqlArtefactManager extends ArtefactManager {
     out.println("List of KSQL Artifacts:");
     getClustersState().forEach(out::println);
   }
+
+  @Override
+  public void printCurrentState(ClusterSnapshot snapshot, PrintStream out) throws IOException {
+    out.println("List of KSQL Artifacts:");
+    getClustersState(snapshot).forEach(out::println);
+  }
 }
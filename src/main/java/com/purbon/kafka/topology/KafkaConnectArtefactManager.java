@@ -45,6 +45,11 @@ public class KafkaConnectArtefactManager extends ArtefactManager {
     super(clients, config, topologyFileOrDir);
   }
 
+  @Override
+  protected ClusterSnapshot.Source<Artefact> getSnapshotState(ClusterSnapshot snapshot) {
+    return snapshot.connectors();
+  }
+
   @Override
   protected Collection<? extends Artefact> getClustersState() throws IOException {
     List<Either> list =
@@ -136,4 +141,10 @@ public class KafkaConnectArtefactManager extends ArtefactManager {
     out.println("List of Connectors:");
     getClustersState().forEach(out::println);
   }
+
+  @Override
+  public void printCurrentState(ClusterSnapshot snapshot, PrintStream out) throws IOException {
+    out.println("List of Connectors:");
+    getClustersState(snapshot).forEach(out::println);
+  }
 }
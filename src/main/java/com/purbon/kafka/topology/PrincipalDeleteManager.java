@@ -1,10 +1,10 @@
 package com.purbon.kafka.topology;
 
 import com.purbon.kafka.topology.actions.accounts.ClearAccounts;
-import com.purbon.kafka.topology.model.Topology;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class PrincipalDeleteManager extends AbstractPrincipalManager {
@@ -15,10 +15,7 @@ public class PrincipalDeleteManager extends AbstractPrincipalManager {
 
   @Override
   protected void doUpdatePlan(
-      ExecutionPlan plan,
-      Topology topology,
-      List<String> principals,
-      Map<String, ServiceAccount> accounts) {
+      ExecutionPlan plan, Set<String> principals, Map<String, ServiceAccount> accounts) {
     if (config.isAllowDeletePrincipals()) {
       // build list of principals to be deleted.
       List<ServiceAccount> principalsToBeDeleted =
@@ -26,7 +23,9 @@ public class PrincipalDeleteManager extends AbstractPrincipalManager {
               .filter(currentPrincipal -> !principals.contains(currentPrincipal.getName()))
               .collect(Collectors.toList());
       if (!principalsToBeDeleted.isEmpty()) {
-        plan.add(new ClearAccounts(provider, principalsToBeDeleted));
+        plan.add(
+            new ClearAccounts(
+                provider, principalsToBeDeleted, config.getServiceAccountsConcurrency()));
       }
     }
   }
@@ -3,9 +3,7 @@ package com.purbon.kafka.topology;
 import static com.purbon.kafka.topology.Constants.MANAGED_BY;
 
 import com.purbon.kafka.topology.actions.accounts.CreateAccounts;
-import com.purbon.kafka.topology.model.Topology;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -22,10 +20,7 @@ public class PrincipalUpdateManager extends AbstractPrincipalManager {
 
   @Override
   protected void doUpdatePlan(
-      ExecutionPlan plan,
-      Topology topology,
-      List<String> principals,
-      Map<String, ServiceAccount> accounts) {
+      ExecutionPlan plan, Set<String> principals, Map<String, ServiceAccount> accounts) {
     LOGGER.debug(
         "Updating accounts for principals = "
             + principals.stream().collect(Collectors.joining(","))
@@ -41,7 +36,9 @@ public class PrincipalUpdateManager extends AbstractPrincipalManager {
             .collect(Collectors.toSet());
 
     if (!principalsToBeCreated.isEmpty()) {
-      plan.add(new CreateAccounts(provider, principalsToBeCreated));
+      plan.add(
+          new CreateAccounts(
+              provider, principalsToBeCreated, config.getServiceAccountsConcurrency()));
     }
   }
 }
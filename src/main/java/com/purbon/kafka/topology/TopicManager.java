@@ -5,16 +5,18 @@ import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
 import com.purbon.kafka.topology.actions.topics.DeleteTopics;
 import com.purbon.kafka.topology.actions.topics.RegisterSchemaAction;
 import com.purbon.kafka.topology.actions.topics.TopicConfigUpdatePlan;
-import com.purbon.kafka.topology.actions.topics.UpdateTopicConfigAction;
+import com.purbon.kafka.topology.actions.topics.UpdateTopicConfigs;
 import com.purbon.kafka.topology.actions.topics.builders.TopicConfigUpdatePlanBuilder;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import com.purbon.kafka.topology.exceptions.RemoteValidationException;
 import com.purbon.kafka.topology.model.Topic;
 import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
 import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +40,7 @@ public class TopicManager implements ExecutionPlanUpdater {
   private final Configuration config;
   private List<String> internalTopicPrefixes;
   private final List<String> managedPrefixes;
+  private final ContextScope contextScope;
 
   public TopicManager(
       TopologyBuilderAdminClient adminClient, SchemaRegistryManager schemaRegistryManager) {
@@ -53,6 +56,12 @@ public class TopicManager implements ExecutionPlanUpdater {
     this.config = config;
     this.internalTopicPrefixes = new ArrayList<>();
     this.managedPrefixes = config.getTopicManagedPrefixes();
+    this.contextScope = config.getContextScope();
+  }
+
+  /** A manager for the topics within the given scope only. */
+  public TopicManager scopedTo(ContextScope scope) {
+    return new TopicManager(adminClient, schemaRegistryManager, config.withContextScope(scope));
   }
 
   @Override
@@ -61,30 +70,41 @@ public class TopicManager implements ExecutionPlanUpdater {
     internalTopicPrefixes = config.getKafkaInternalTopicPrefixes(topologies.values());
     Set<String> currentTopics = loadActualClusterStateIfAvailable(plan);
     Map<String, Topic> topics = new HashMap<>();
+    for (Topology topology : topologies.values()) {
+      topics.putAll(parseMapOfTopics(topology));
+    }
+
+    // the details of the existing topics are described with as few requests as possible
+    List<String> existingTopics =
+        topics.keySet().stream().filter(currentTopics::contains).collect(Collectors.toList());
+    Map<String, TopicDetails> details =
+        plan.getClusterSnapshot()
+            .topicDetails()
+            .getAll(existingTopics, adminClient::getTopicDetails);
 
     Set<Action> createTopicActions = new HashSet<>();
-    Set<Action> updateTopicConfigActions = new HashSet<>();
-    for (Topology topology : topologies.values()) {
-      Map<String, Topic> entryTopics = parseMapOfTopics(topology);
-      entryTopics.forEach(
-          (topicName, topic) -> {
-            if (currentTopics.contains(topicName)) {
-              TopicConfigUpdatePlanBuilder builder = new TopicConfigUpdatePlanBuilder(adminClient);
-              TopicConfigUpdatePlan topicConfigUpdatePlan =
-                  builder.createTopicConfigUpdatePlan(topic, topicName);
-              if (topicConfigUpdatePlan.hasConfigChanges()) {
-                updateTopicConfigActions.add(
-                    new UpdateTopicConfigAction(adminClient, topicConfigUpdatePlan));
-              }
-            } else {
-              createTopicActions.add(new CreateTopicAction(adminClient, topic, topicName));
-            }
-            topics.put(topicName, topic);
-          });
+    List<TopicConfigUpdatePlan> topicConfigUpdatePlans = new ArrayList<>();
+    TopicConfigUpdatePlanBuilder builder = new TopicConfigUpdatePlanBuilder(adminClient);
+    for (Map.Entry<String, Topic> entry : topics.entrySet()) {
+      String topicName = entry.getKey();
+      Topic topic = entry.getValue();
+      if (details.containsKey(topicName)) {
+        TopicConfigUpdatePlan topicConfigUpdatePlan =
+            builder.createTopicConfigUpdatePlan(topic, topicName, details.get(topicName));
+        if (topicConfigUpdatePlan.hasConfigChanges()) {
+          topicConfigUpdatePlans.add(topicConfigUpdatePlan);
+        }
+      } else {
+        createTopicActions.add(new CreateTopicAction(adminClient, topic, topicName));
+      }
     }
 
     createTopicActions.forEach(plan::add); // Do createActions before update actions
-    updateTopicConfigActions.forEach(plan::add);
+    if (!topicConfigUpdatePlans.isEmpty()) {
+      // a single action, so the updates are sent to the cluster in as few requests as possible
+      topicConfigUpdatePlans.sort(Comparator.comparing(TopicConfigUpdatePlan::getFullTopicName));
+      plan.add(new UpdateTopicConfigs(adminClient, topicConfigUpdatePlans));
+    }
 
     topics.forEach(
         (topicName, topic) -> {
@@ -126,7 +146,7 @@ public class TopicManager implements ExecutionPlanUpdater {
   private Set<String> loadActualClusterStateIfAvailable(ExecutionPlan plan) throws IOException {
     Set<String> listOfTopics =
         config.fetchTopicStateFromTheCluster()
-            ? adminClient.listApplicationTopics()
+            ? clusterTopics(plan.getClusterSnapshot())
             : plan.getTopics();
 
     listOfTopics =
@@ -150,12 +170,33 @@ public class TopicManager implements ExecutionPlanUpdater {
     return listOfTopics;
   }
 
+  private Set<String> clusterTopics(ClusterSnapshot snapshot) throws IOException {
+    return snapshot.topics().get(adminClient::listApplicationTopics);
+  }
+
+  @Override
+  public void prefetchClusterState(ClusterSnapshot snapshot, boolean reportState) {
+    boolean detectDivergences =
+        config.shouldVerifyRemoteState()
+            && !config.fetchStateFromTheCluster()
+            && config.isAllowDeleteTopics();
+    if (reportState || config.fetchTopicStateFromTheCluster() || detectDivergences) {
+      snapshot.topics().prefetch(adminClient::listApplicationTopics);
+    }
+  }
+
+  @Override
+  public void loadClusterState(ClusterSnapshot snapshot) throws IOException {
+    Set<String> topics = clusterTopics(snapshot);
+    snapshot.topicDetails().getAll(() -> adminClient.getTopicDetails(topics));
+  }
+
   private void detectDivergencesInTheRemoteCluster(ExecutionPlan plan) throws IOException {
     if (!config.isAllowDeleteTopics()) {
       /* Assume topics are cleaned up by mechanisms outside JulieOps, and do not fail. */
       return;
     }
-    Set<String> remoteTopics = adminClient.listApplicationTopics();
+    Set<String> remoteTopics = clusterTopics(plan.getClusterSnapshot());
     List<String> delta =
         plan.getTopics().stream()
             .filter(localTopic -> !remoteTopics.contains(localTopic))
@@ -177,7 +218,8 @@ public class TopicManager implements ExecutionPlanUpdater {
 
   private boolean matchesPrefixList(String topic) {
     boolean matches =
-        managedPrefixes.size() == 0 || managedPrefixes.stream().anyMatch(topic::startsWith);
+        (managedPrefixes.size() == 0 || managedPrefixes.stream().anyMatch(topic::startsWith))
+            && contextScope.contains(topic);
     LOGGER.debug(String.format("Topic %s matches %s with $s", topic, matches, managedPrefixes));
     return matches;
   }
@@ -188,6 +230,12 @@ public class TopicManager implements ExecutionPlanUpdater {
     adminClient.listTopics().forEach(os::println);
   }
 
+  @Override
+  public void printCurrentState(ClusterSnapshot snapshot, PrintStream os) throws IOException {
+    os.println("List of Topics:");
+    clusterTopics(snapshot).forEach(os::println);
+  }
+
   public void close() {
     adminClient.close();
   }
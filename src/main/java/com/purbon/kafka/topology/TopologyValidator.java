@@ -10,6 +10,7 @@ import com.purbon.kafka.topology.validation.TopologyValidation;
 import com.purbon.kafka.topology.validation.Validation;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -23,16 +24,27 @@ public class TopologyValidator {
 
   private final Configuration config;
 
+  private List<TopologyValidation> topologyValidations;
+  private List<TopicValidation> topicValidations;
+
   public TopologyValidator(Configuration config) {
     this.config = config;
   }
 
+  /**
+   * Run all configured validations over the given topology.
+   *
+   * <p>Validations are instantiated once per validator instance and topic validations are evaluated
+   * in parallel, so they are expected to be thread safe.
+   *
+   * @param topology the topology to validate
+   * @return the messages of all violations found, in topology order
+   */
   public List<String> validate(Topology topology) {
+    loadValidationsIfNeeded();
 
     Stream<Either<Boolean, ValidationException>> streamOfTopologyResults =
-        validations().stream()
-            .filter(p -> p instanceof TopologyValidation)
-            .map(validation -> (TopologyValidation) validation)
+        topologyValidations.stream()
             .map(
                 validation -> {
                   try {
@@ -43,37 +55,55 @@ public class TopologyValidator {
                   }
                 });
 
-    List<TopicValidation> listOfTopicValidations =
-        validations().stream()
-            .filter(p -> p instanceof TopicValidation)
-            .map(validation -> (TopicValidation) validation)
-            .collect(Collectors.toList());
-
-    Stream<Topic> streamOfTopics =
+    List<Topic> topics =
         topology.getProjects().stream()
-            .flatMap((Function<Project, Stream<Topic>>) project -> project.getTopics().stream());
+            .flatMap((Function<Project, Stream<Topic>>) project -> project.getTopics().stream())
+            .collect(Collectors.toList());
 
-    Stream<Either<Boolean, ValidationException>> streamOfTopicResults =
-        streamOfTopics.flatMap(
-            (Function<Topic, Stream<Either<Boolean, ValidationException>>>)
-                topic ->
-                    listOfTopicValidations.stream()
-                        .map(
-                            validation -> {
-                              try {
-                                validation.valid(topic);
-                                return Either.Left(true);
-                              } catch (ValidationException ex) {
-                                return Either.Right(ex);
-                              }
-                            }));
+    // parallel streams keep the encounter order when collecting, so the report stays stable
+    List<Either<Boolean, ValidationException>> topicResults =
+        topicValidations.isEmpty()
+            ? Collections.emptyList()
+            : topics.parallelStream()
+                .flatMap(
+                    (Function<Topic, Stream<Either<Boolean, ValidationException>>>)
+                        topic ->
+                            topicValidations.stream()
+                                .map(
+                                    validation -> {
+                                      try {
+                                        validation.valid(topic);
+                                        return Either.Left(true);
+                                      } catch (ValidationException ex) {
+                                        return Either.Right(ex);
+                                      }
+                                    }))
+                .filter(Either::isRight)
+                .collect(Collectors.toList());
 
-    return Stream.concat(streamOfTopologyResults, streamOfTopicResults)
+    return Stream.concat(streamOfTopologyResults, topicResults.stream())
         .filter(Either::isRight)
         .map(either -> either.getRight().get().getMessage())
         .collect(Collectors.toList());
   }
 
+  private synchronized void loadValidationsIfNeeded() {
+    if (topologyValidations != null) {
+      return;
+    }
+    List<Validation> validations = validations();
+    topologyValidations =
+        validations.stream()
+            .filter(p -> p instanceof TopologyValidation)
+            .map(validation -> (TopologyValidation) validation)
+            .collect(Collectors.toList());
+    topicValidations =
+        validations.stream()
+            .filter(p -> p instanceof TopicValidation)
+            .map(validation -> (TopicValidation) validation)
+            .collect(Collectors.toList());
+  }
+
   private List<Validation> validations() {
     return config.getTopologyValidations().stream()
         .map(
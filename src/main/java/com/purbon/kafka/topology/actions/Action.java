@@ -11,4 +11,9 @@ public interface Action {
   default List<String> refs() {
     return Collections.emptyList();
   }
+
+  /** The changes to the tracked state made by this action, only valid after it has run. */
+  default StateDelta stateDelta() {
+    return StateDelta.none();
+  }
 }
@@ -43,6 +43,11 @@ public abstract class BaseAccessControlAction extends BaseAction {
     LOGGER.debug(String.format("Bindings created %s", String.join("\n", bindingsAsList)));
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().addBindings(aclBindings);
+  }
+
   protected abstract void execute() throws IOException;
 
   public List<TopologyAclBinding> getAclBindings() {
@@ -1,9 +1,14 @@
 package com.purbon.kafka.topology.actions;
 
 import com.purbon.kafka.topology.PrincipalProvider;
+import com.purbon.kafka.topology.exceptions.PartiallyAppliedException;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.utils.CheckedFunction;
+import com.purbon.kafka.topology.utils.Parallel;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -14,10 +19,39 @@ public abstract class BaseAccountsAction extends BaseAction {
 
   protected PrincipalProvider provider;
   protected Collection<ServiceAccount> accounts;
+  private final int concurrency;
 
   public BaseAccountsAction(PrincipalProvider provider, Collection<ServiceAccount> accounts) {
+    this(provider, accounts, 1);
+  }
+
+  /**
+   * @param concurrency the maximum number of accounts processed at the same time
+   */
+  public BaseAccountsAction(
+      PrincipalProvider provider, Collection<ServiceAccount> accounts, int concurrency) {
     this.provider = provider;
     this.accounts = accounts;
+    this.concurrency = Math.max(1, concurrency);
+  }
+
+  /**
+   * Applies the operation to every account, up to the concurrency of the action at the same time,
+   * and replaces the accounts of the action with the accounts the operation returned. The requests
+   * rejected by the rate limits of the provider are retried by its http client.
+   *
+   * <p>If an operation fails, the accounts of the action are replaced with the ones processed
+   * successfully, so its state delta records them, and a {@link PartiallyAppliedException} is
+   * raised once all the operations are done.
+   */
+  protected void forEachAccount(CheckedFunction<ServiceAccount, ServiceAccount> operation)
+      throws IOException {
+    Parallel.Results<ServiceAccount> results =
+        Parallel.map("julie-accounts", accounts, concurrency, operation);
+    accounts = new HashSet<>(results.successes());
+    if (results.failure().isPresent()) {
+      throw new PartiallyAppliedException(results.failure().get());
+    }
   }
 
   public Collection<ServiceAccount> getPrincipals() {
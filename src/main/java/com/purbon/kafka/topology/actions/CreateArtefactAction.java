@@ -22,16 +22,27 @@ public class CreateArtefactAction extends BaseAction {
   private final Artefact artefact;
   private final String rootPath;
   private final Collection<? extends Artefact> artefacts;
+  private final Map<String, String> sessionVars;
 
   public CreateArtefactAction(
       ArtefactClient client,
       String rootPath,
       Collection<? extends Artefact> artefacts,
       Artefact artefact) {
+    this(client, rootPath, artefacts, artefact, Collections.emptyMap());
+  }
+
+  public CreateArtefactAction(
+      ArtefactClient client,
+      String rootPath,
+      Collection<? extends Artefact> artefacts,
+      Artefact artefact,
+      Map<String, String> sessionVars) {
     this.client = client;
     this.artefact = artefact;
     this.artefacts = artefacts;
     this.rootPath = rootPath;
+    this.sessionVars = sessionVars;
   }
 
   @Override
@@ -48,6 +59,15 @@ public class CreateArtefactAction extends BaseAction {
     return artefact;
   }
 
+  public Map<String, String> getSessionVars() {
+    return sessionVars;
+  }
+
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().addArtefact(artefact);
+  }
+
   private String content() throws IOException {
     LOGGER.debug(
         "Reading artefact content from " + artefact.getPath() + " with rootPath " + rootPath);
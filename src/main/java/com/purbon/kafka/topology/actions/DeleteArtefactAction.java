@@ -43,6 +43,11 @@ public class DeleteArtefactAction extends BaseAction {
     return artefact;
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().removeArtefact(artefact);
+  }
+
   @Override
   protected Map<String, Object> props() {
     Map<String, Object> map = new HashMap<>();
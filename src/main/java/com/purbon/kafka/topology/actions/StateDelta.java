@@ -0,0 +1,151 @@
+package com.purbon.kafka.topology.actions;
+
+import com.purbon.kafka.topology.ClusterSnapshot;
+import com.purbon.kafka.topology.backend.BackendState;
+import com.purbon.kafka.topology.model.Artefact;
+import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+
+/**
+ * The changes an executed {@link Action} made to the resources tracked in the {@link BackendState}.
+ * Removals are applied before additions, each one as a single set operation, so the cost of keeping
+ * the state up to date only depends on the number of changes.
+ */
+public class StateDelta {
+
+  private final Changes<String> topics = new Changes<>();
+  private final Changes<TopologyAclBinding> bindings = new Changes<>();
+  private final Changes<ServiceAccount> accounts = new Changes<>();
+  private final Changes<KafkaConnectArtefact> connectors = new Changes<>();
+  private final Changes<KsqlStreamArtefact> ksqlStreams = new Changes<>();
+  private final Changes<KsqlTableArtefact> ksqlTables = new Changes<>();
+  private final Map<ClientQuotaEntity, Map<String, Double>> quotas = new LinkedHashMap<>();
+
+  public static StateDelta none() {
+    return new StateDelta();
+  }
+
+  public StateDelta addTopics(Collection<String> topics) {
+    this.topics.added.addAll(topics);
+    return this;
+  }
+
+  public StateDelta removeTopics(Collection<String> topics) {
+    this.topics.removed.addAll(topics);
+    return this;
+  }
+
+  public StateDelta addBindings(Collection<TopologyAclBinding> bindings) {
+    this.bindings.added.addAll(bindings);
+    return this;
+  }
+
+  public StateDelta removeBindings(Collection<TopologyAclBinding> bindings) {
+    this.bindings.removed.addAll(bindings);
+    return this;
+  }
+
+  public StateDelta addAccounts(Collection<ServiceAccount> accounts) {
+    this.accounts.added.addAll(accounts);
+    return this;
+  }
+
+  public StateDelta removeAccounts(Collection<ServiceAccount> accounts) {
+    this.accounts.removed.addAll(accounts);
+    return this;
+  }
+
+  public StateDelta addArtefact(Artefact artefact) {
+    if (artefact instanceof KafkaConnectArtefact) {
+      connectors.added.add((KafkaConnectArtefact) artefact);
+    } else if (artefact instanceof KsqlStreamArtefact) {
+      ksqlStreams.added.add((KsqlStreamArtefact) artefact);
+    } else if (artefact instanceof KsqlTableArtefact) {
+      ksqlTables.added.add((KsqlTableArtefact) artefact);
+    }
+    return this;
+  }
+
+  public StateDelta removeArtefact(Artefact artefact) {
+    if (artefact instanceof KafkaConnectArtefact) {
+      connectors.removed.add((KafkaConnectArtefact) artefact);
+    } else if (artefact instanceof KsqlStreamArtefact) {
+      ksqlStreams.removed.add((KsqlStreamArtefact) artefact);
+    } else if (artefact instanceof KsqlTableArtefact) {
+      ksqlTables.removed.add((KsqlTableArtefact) artefact);
+    }
+    return this;
+  }
+
+  /**
+   * Change the quotas of an entity, only the quotas set or removed (with a null value) are given.
+   * The quotas are not part of the {@link BackendState}, only of the {@link ClusterSnapshot}.
+   */
+  public StateDelta alterQuotas(ClientQuotaEntity entity, Map<String, Double> changes) {
+    quotas.computeIfAbsent(entity, e -> new HashMap<>()).putAll(changes);
+    return this;
+  }
+
+  /** Replace a tracked artefact, e.g. to keep the hash of an updated artefact. */
+  public StateDelta replaceArtefact(Artefact artefact) {
+    return removeArtefact(artefact).addArtefact(artefact);
+  }
+
+  public void applyTo(BackendState state) {
+    topics.applyTo(state.getTopics());
+    bindings.applyTo(state.getBindings());
+    accounts.applyTo(state.getAccounts());
+    connectors.applyTo(state.getConnectors());
+    ksqlStreams.applyTo(state.getKSqlStreams());
+    ksqlTables.applyTo(state.getKSqlTables());
+  }
+
+  public void applyTo(ClusterSnapshot snapshot) {
+    snapshot.topics().update(topics::applyTo);
+    snapshot.bindings().update(bindings::applyTo);
+    snapshot.serviceAccounts().update(accounts::applyTo);
+    snapshot.connectors().update(connectors::applyTo);
+    snapshot.ksqlArtefacts().update(ksqlStreams::applyTo);
+    snapshot.ksqlArtefacts().update(ksqlTables::applyTo);
+    quotas.forEach(
+        (entity, changes) -> snapshot.quotas().update(entity, current -> alter(current, changes)));
+  }
+
+  private static Map<String, Double> alter(
+      Map<String, Double> current, Map<String, Double> changes) {
+    Map<String, Double> quotas = current == null ? new HashMap<>() : new HashMap<>(current);
+    changes.forEach(
+        (key, value) -> {
+          if (value == null) {
+            quotas.remove(key);
+          } else {
+            quotas.put(key, value);
+          }
+        });
+    return quotas.isEmpty() ? null : quotas;
+  }
+
+  private static class Changes<T> {
+    private final List<T> added = new ArrayList<>();
+    private final List<T> removed = new ArrayList<>();
+
+    private void applyTo(Set<? super T> set) {
+      // remove one element at a time, Set.removeAll falls back to contains() on the argument
+      for (T element : removed) {
+        set.remove(element);
+      }
+      set.addAll(added);
+    }
+  }
+}
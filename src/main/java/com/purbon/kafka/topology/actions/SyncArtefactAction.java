@@ -35,6 +35,11 @@ public class SyncArtefactAction extends BaseAction {
     return artefact;
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().replaceArtefact(artefact);
+  }
+
   private String content() throws IOException {
     LOGGER.debug(
         "Reading artefact content from " + artefact.getPath() + " with rootPath " + rootPath);
@@ -2,6 +2,7 @@ package com.purbon.kafka.topology.actions.access;
 
 import com.purbon.kafka.topology.AccessControlProvider;
 import com.purbon.kafka.topology.actions.BaseAccessControlAction;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
 import java.util.Collection;
@@ -29,6 +30,11 @@ public class ClearBindings extends BaseAccessControlAction {
     controlProvider.clearBindings(new HashSet(aclBindings));
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().removeBindings(aclBindings);
+  }
+
   @Override
   protected Map<String, Object> props() {
     Map<String, Object> map = new HashMap<>();
@@ -2,6 +2,7 @@ package com.purbon.kafka.topology.actions.accounts;
 
 import com.purbon.kafka.topology.PrincipalProvider;
 import com.purbon.kafka.topology.actions.BaseAccountsAction;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import java.io.IOException;
 import java.util.Collection;
@@ -16,12 +17,24 @@ public class ClearAccounts extends BaseAccountsAction {
     super(provider, accounts);
   }
 
+  public ClearAccounts(
+      PrincipalProvider provider, Collection<ServiceAccount> accounts, int concurrency) {
+    super(provider, accounts, concurrency);
+  }
+
   @Override
   public void run() throws IOException {
     LOGGER.debug("ClearPrincipals " + accounts);
-    for (ServiceAccount account : accounts) {
-      provider.deleteServiceAccount(account);
-    }
+    forEachAccount(
+        account -> {
+          provider.deleteServiceAccount(account);
+          return account;
+        });
+  }
+
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().removeAccounts(accounts);
   }
 
   @Override
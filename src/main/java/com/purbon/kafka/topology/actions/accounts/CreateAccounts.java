@@ -2,9 +2,9 @@ package com.purbon.kafka.topology.actions.accounts;
 
 import com.purbon.kafka.topology.PrincipalProvider;
 import com.purbon.kafka.topology.actions.BaseAccountsAction;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,16 +17,20 @@ public class CreateAccounts extends BaseAccountsAction {
     super(provider, accounts);
   }
 
+  public CreateAccounts(PrincipalProvider provider, Set<ServiceAccount> accounts, int concurrency) {
+    super(provider, accounts, concurrency);
+  }
+
   @Override
   public void run() throws IOException {
     LOGGER.debug("CreatePrincipals " + accounts);
-    Set<ServiceAccount> mappedAccounts = new HashSet<>();
-    for (ServiceAccount account : accounts) {
-      ServiceAccount sa =
-          provider.createServiceAccount(account.getName(), account.getDescription());
-      mappedAccounts.add(sa);
-    }
-    accounts = mappedAccounts;
+    forEachAccount(
+        account -> provider.createServiceAccount(account.getName(), account.getDescription()));
+  }
+
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().addAccounts(accounts);
   }
 
   @Override
@@ -0,0 +1,104 @@
+package com.purbon.kafka.topology.actions.quotas;
+
+import com.purbon.kafka.topology.actions.BaseAction;
+import com.purbon.kafka.topology.actions.StateDelta;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Set or remove the quotas of a group of entities. Only the quotas that changed are part of the
+ * alterations, they are sent in batches of {@link #BATCH_SIZE} entities.
+ */
+public class AlterClientQuotas extends BaseAction {
+
+  private static final Logger LOGGER = LogManager.getLogger(AlterClientQuotas.class);
+
+  static final int BATCH_SIZE = 500;
+
+  private final TopologyBuilderAdminClient adminClient;
+  private final List<ClientQuotaAlteration> alterations;
+
+  public AlterClientQuotas(
+      TopologyBuilderAdminClient adminClient, List<ClientQuotaAlteration> alterations) {
+    this.adminClient = adminClient;
+    this.alterations = alterations;
+  }
+
+  @Override
+  public void run() throws IOException {
+    LOGGER.debug(String.format("Alter the quotas of %d entities", alterations.size()));
+    for (int from = 0; from < alterations.size(); from += BATCH_SIZE) {
+      int to = Math.min(from + BATCH_SIZE, alterations.size());
+      adminClient.alterClientQuotas(alterations.subList(from, to));
+    }
+  }
+
+  @Override
+  public StateDelta stateDelta() {
+    StateDelta delta = new StateDelta();
+    for (ClientQuotaAlteration alteration : alterations) {
+      // a removed quota has a null value
+      Map<String, Double> changes = new HashMap<>();
+      alteration.ops().forEach(op -> changes.put(op.key(), op.value()));
+      delta.alterQuotas(alteration.entity(), changes);
+    }
+    return delta;
+  }
+
+  public List<ClientQuotaAlteration> getAlterations() {
+    return alterations;
+  }
+
+  @Override
+  protected Map<String, Object> props() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("Operation", getClass().getName());
+    map.put(
+        "Quotas", alterations.stream().map(AlterClientQuotas::asMap).collect(Collectors.toList()));
+    return map;
+  }
+
+  @Override
+  protected List<Map<String, Object>> detailedProps() {
+    List<Map<String, Object>> details = new ArrayList<>();
+    for (ClientQuotaAlteration alteration : alterations) {
+      Map<String, Object> map = new HashMap<>();
+      map.put(
+          "resource_name",
+          String.format(
+              "rn://alter.quotas/%s/%s", getClass().getName(), entityName(alteration.entity())));
+      map.put("operation", getClass().getName());
+      map.put("quotas", asMap(alteration).get("quotas"));
+      details.add(map);
+    }
+    return details;
+  }
+
+  private static Map<String, Object> asMap(ClientQuotaAlteration alteration) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("entity", new TreeMap<>(alteration.entity().entries()));
+    // removed quotas are shown with a null value
+    Map<String, Double> quotas = new TreeMap<>();
+    alteration.ops().forEach(op -> quotas.put(op.key(), op.value()));
+    map.put("quotas", quotas);
+    return map;
+  }
+
+  private static String entityName(ClientQuotaEntity entity) {
+    return new TreeMap<>(entity.entries())
+        .entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining(","));
+  }
+}
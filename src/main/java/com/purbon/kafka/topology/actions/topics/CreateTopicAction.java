@@ -1,6 +1,7 @@
 package com.purbon.kafka.topology.actions.topics;
 
 import com.purbon.kafka.topology.actions.BaseAction;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import com.purbon.kafka.topology.model.Topic;
 import java.io.IOException;
@@ -31,6 +32,10 @@ public class CreateTopicAction extends BaseAction {
     return fullTopicName;
   }
 
+  public Topic getTopicDefinition() {
+    return topic;
+  }
+
   @Override
   public void run() throws IOException {
     createTopic(topic, fullTopicName);
@@ -41,6 +46,11 @@ public class CreateTopicAction extends BaseAction {
     adminClient.createTopic(topic, fullTopicName);
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().addTopics(Collections.singleton(fullTopicName));
+  }
+
   @Override
   protected Map<String, Object> props() {
     Map<String, Object> map = new LinkedHashMap<>();
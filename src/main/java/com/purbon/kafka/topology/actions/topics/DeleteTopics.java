@@ -1,6 +1,7 @@
 package com.purbon.kafka.topology.actions.topics;
 
 import com.purbon.kafka.topology.actions.BaseAction;
+import com.purbon.kafka.topology.actions.StateDelta;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import java.io.IOException;
 import java.util.HashMap;
@@ -30,6 +31,11 @@ public class DeleteTopics extends BaseAction {
     adminClient.deleteTopics(topicsToBeDeleted);
   }
 
+  @Override
+  public StateDelta stateDelta() {
+    return new StateDelta().removeTopics(topicsToBeDeleted);
+  }
+
   @Override
   protected Map<String, Object> props() {
     Map<String, Object> map = new LinkedHashMap<>();
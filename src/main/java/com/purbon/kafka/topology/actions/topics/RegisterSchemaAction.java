@@ -31,6 +31,10 @@ public class RegisterSchemaAction extends BaseAction {
     return fullTopicName;
   }
 
+  public Topic getTopicDefinition() {
+    return topic;
+  }
+
   @Override
   public void run() throws IOException {
     registerSchemas(topic, fullTopicName);
@@ -0,0 +1,112 @@
+package com.purbon.kafka.topology.actions.topics;
+
+import com.purbon.kafka.topology.actions.BaseAction;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Update the config of many topics at once. The partition increases are sent first, all in a single
+ * request, followed by the config changes in requests of up to {@link #BATCH_SIZE} topics.
+ */
+public class UpdateTopicConfigs extends BaseAction {
+
+  private static final Logger LOGGER = LogManager.getLogger(UpdateTopicConfigs.class);
+
+  static final int BATCH_SIZE = 500;
+
+  private final TopologyBuilderAdminClient adminClient;
+  private final List<TopicConfigUpdatePlan> topicConfigUpdatePlans;
+
+  public UpdateTopicConfigs(
+      TopologyBuilderAdminClient adminClient, List<TopicConfigUpdatePlan> topicConfigUpdatePlans) {
+    this.adminClient = adminClient;
+    this.topicConfigUpdatePlans = topicConfigUpdatePlans;
+  }
+
+  public List<TopicConfigUpdatePlan> getTopicConfigUpdatePlans() {
+    return topicConfigUpdatePlans;
+  }
+
+  @Override
+  public void run() throws IOException {
+    Map<String, Integer> partitionCounts = new LinkedHashMap<>();
+    List<TopicConfigUpdatePlan> configUpdates = new ArrayList<>();
+    for (TopicConfigUpdatePlan updatePlan : topicConfigUpdatePlans) {
+      if (updatePlan.isUpdatePartitionCount()) {
+        partitionCounts.put(updatePlan.getFullTopicName(), updatePlan.getTopicPartitionCount());
+      }
+      if (updatePlan.hasNewConfigs()
+          || updatePlan.hasUpdatedConfigs()
+          || updatePlan.hasDeletedConfigs()) {
+        configUpdates.add(updatePlan);
+      }
+    }
+
+    LOGGER.debug(String.format("Update partition count of topics %s", partitionCounts.keySet()));
+    adminClient.updatePartitionCounts(partitionCounts);
+
+    for (int from = 0; from < configUpdates.size(); from += BATCH_SIZE) {
+      List<TopicConfigUpdatePlan> batch =
+          configUpdates.subList(from, Math.min(from + BATCH_SIZE, configUpdates.size()));
+      LOGGER.debug(String.format("Update config of %d topics", batch.size()));
+      adminClient.updateTopicConfigs(batch);
+    }
+  }
+
+  @Override
+  protected Map<String, Object> props() {
+    Map<String, Object> topics = new LinkedHashMap<>();
+    for (TopicConfigUpdatePlan updatePlan : topicConfigUpdatePlans) {
+      topics.put(updatePlan.getFullTopicName(), changes(updatePlan));
+    }
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("Operation", getClass().getName());
+    map.put("Action", "update");
+    map.put("Topics", topics);
+    return map;
+  }
+
+  @Override
+  protected List<Map<String, Object>> detailedProps() {
+    return topicConfigUpdatePlans.stream()
+        .map(
+            updatePlan -> {
+              Map<String, Object> map = new HashMap<>();
+              map.put("operation", getClass().getName());
+              map.put("topic", updatePlan.getFullTopicName());
+              map.put("changes", changes(updatePlan));
+              map.put(
+                  "resource_name",
+                  String.format(
+                      "rn://update.topic.config/%s/%s",
+                      getClass().getName(), updatePlan.getTopic().getName()));
+              return map;
+            })
+        .collect(Collectors.toList());
+  }
+
+  private static Map<String, Object> changes(TopicConfigUpdatePlan updatePlan) {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    if (updatePlan.hasNewConfigs()) {
+      changes.put("NewConfigs", updatePlan.getNewConfigValues());
+    }
+    if (updatePlan.hasUpdatedConfigs()) {
+      changes.put("UpdatedConfigs", updatePlan.getUpdatedConfigValues());
+    }
+    if (updatePlan.hasDeletedConfigs()) {
+      changes.put("DeletedConfigs", updatePlan.getDeletedConfigValues());
+    }
+    if (updatePlan.isUpdatePartitionCount()) {
+      changes.put("UpdatedPartitionCount", updatePlan.getTopicPartitionCount());
+    }
+    return changes;
+  }
+}
@@ -3,6 +3,7 @@ package com.purbon.kafka.topology.actions.topics.builders;
 import com.purbon.kafka.topology.actions.topics.TopicConfigUpdatePlan;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
 import java.io.IOException;
 import java.util.HashMap;
 import org.apache.kafka.clients.admin.Config;
@@ -19,20 +20,34 @@ public class TopicConfigUpdatePlanBuilder {
 
     Config currentKafkaConfigs = adminClient.getActualTopicConfig(fullTopicName);
 
-    TopicConfigUpdatePlan topicConfigUpdatePlan = new TopicConfigUpdatePlan(topic);
-
+    int partitionCount;
     try {
-      if (topic.partitionsCount() > adminClient.getPartitionCount(fullTopicName)) {
-        topicConfigUpdatePlan.setUpdatePartitionCount(true);
-      }
+      partitionCount = adminClient.getPartitionCount(fullTopicName);
     } catch (IOException e) {
       throw new RuntimeException("Failed to get partition count for topic " + fullTopicName, e);
     }
 
+    return createTopicConfigUpdatePlan(
+        topic, fullTopicName, new TopicDetails(partitionCount, currentKafkaConfigs));
+  }
+
+  /**
+   * Build the update plan of a topic from its already known details, e.g. from the cluster
+   * snapshot.
+   */
+  public TopicConfigUpdatePlan createTopicConfigUpdatePlan(
+      Topic topic, String fullTopicName, TopicDetails details) {
+
+    TopicConfigUpdatePlan topicConfigUpdatePlan = new TopicConfigUpdatePlan(topic);
+
+    if (topic.partitionsCount() > details.getPartitionCount()) {
+      topicConfigUpdatePlan.setUpdatePartitionCount(true);
+    }
+
     HashMap<String, String> topicConfigs = topic.getRawConfig();
 
-    topicConfigUpdatePlan.addNewOrUpdatedConfigs(topicConfigs, currentKafkaConfigs);
-    topicConfigUpdatePlan.addDeletedConfigs(topicConfigs, currentKafkaConfigs);
+    topicConfigUpdatePlan.addNewOrUpdatedConfigs(topicConfigs, details.getConfig());
+    topicConfigUpdatePlan.addDeletedConfigs(topicConfigs, details.getConfig());
 
     return topicConfigUpdatePlan;
   }
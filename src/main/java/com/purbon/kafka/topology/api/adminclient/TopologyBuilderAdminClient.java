@@ -2,6 +2,9 @@ package com.purbon.kafka.topology.api.adminclient;
 
 import com.purbon.kafka.topology.actions.topics.TopicConfigUpdatePlan;
 import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
+import com.purbon.kafka.topology.profiling.AdminClientEvent;
+import com.purbon.kafka.topology.profiling.Profiler;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -9,9 +12,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AlterConfigOp;
@@ -22,6 +29,7 @@ import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.acl.AccessControlEntryFilter;
 import org.apache.kafka.common.acl.AclBinding;
 import org.apache.kafka.common.acl.AclBindingFilter;
@@ -31,6 +39,10 @@ import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.ConfigResource.Type;
 import org.apache.kafka.common.errors.InvalidConfigurationException;
 import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.kafka.common.quota.ClientQuotaFilter;
+import org.apache.kafka.common.quota.ClientQuotaFilterComponent;
 import org.apache.kafka.common.resource.PatternType;
 import org.apache.kafka.common.resource.ResourcePatternFilter;
 import org.apache.kafka.common.resource.ResourceType;
@@ -50,7 +62,7 @@ public class TopologyBuilderAdminClient {
   public Set<String> listTopics(ListTopicsOptions options) throws IOException {
     Set<String> listOfTopics;
     try {
-      listOfTopics = adminClient.listTopics(options).names().get();
+      listOfTopics = await("listTopics", () -> "", adminClient.listTopics(options).names());
     } catch (InterruptedException | ExecutionException e) {
       LOGGER.error(e);
       throw new IOException(e);
@@ -61,7 +73,7 @@ public class TopologyBuilderAdminClient {
   public void healthCheck() throws IOException {
 
     try {
-      adminClient.describeCluster().nodes().get();
+      await("describeCluster", () -> "", adminClient.describeCluster().nodes());
     } catch (Exception ex) {
       throw new IOException("Problem during the health-check operation", ex);
     }
@@ -77,7 +89,31 @@ public class TopologyBuilderAdminClient {
     return listTopics(options);
   }
 
-  public void updateTopicConfig(TopicConfigUpdatePlan configUpdatePlan) {
+  /**
+   * Update the config of several topics with a single request.
+   *
+   * @throws IOException listing the topics whose config could not be updated, after the update of
+   *     all the others completed
+   */
+  public void updateTopicConfigs(Collection<TopicConfigUpdatePlan> configUpdatePlans)
+      throws IOException {
+    if (configUpdatePlans.isEmpty()) {
+      return;
+    }
+    Map<ConfigResource, Collection<AlterConfigOp>> configs = new HashMap<>();
+    for (TopicConfigUpdatePlan configUpdatePlan : configUpdatePlans) {
+      configs.put(
+          new ConfigResource(Type.TOPIC, configUpdatePlan.getFullTopicName()),
+          configChanges(configUpdatePlan));
+    }
+    awaitAll(
+        "incrementalAlterConfigs",
+        adminClient.incrementalAlterConfigs(configs).values(),
+        ConfigResource::name,
+        "update the config of");
+  }
+
+  private Set<AlterConfigOp> configChanges(TopicConfigUpdatePlan configUpdatePlan) {
     Set<AlterConfigOp> configChanges = new HashSet<>();
 
     configUpdatePlan
@@ -100,21 +136,16 @@ public class TopologyBuilderAdminClient {
             (configKey, configValue) ->
                 configChanges.add(
                     new AlterConfigOp(new ConfigEntry(configKey, configValue), OpType.DELETE)));
-    Map<ConfigResource, Collection<AlterConfigOp>> configs = new HashMap<>();
-    configs.put(new ConfigResource(Type.TOPIC, configUpdatePlan.getFullTopicName()), configChanges);
-
-    try {
-      adminClient.incrementalAlterConfigs(configs).all().get();
-    } catch (InterruptedException | ExecutionException ex) {
-      LOGGER.error("Failed to update configs for topic " + configUpdatePlan.getFullTopicName(), ex);
-      throw new RuntimeException(ex);
-    }
+    return configChanges;
   }
 
   public int getPartitionCount(String topic) throws IOException {
     try {
       Map<String, TopicDescription> results =
-          adminClient.describeTopics(Collections.singletonList(topic)).allTopicNames().get();
+          await(
+              "describeTopics",
+              () -> topic,
+              adminClient.describeTopics(Collections.singletonList(topic)).allTopicNames());
       return results.get(topic).partitions().size();
     } catch (InterruptedException | ExecutionException e) {
       LOGGER.error(e);
@@ -122,15 +153,24 @@ public class TopologyBuilderAdminClient {
     }
   }
 
-  public void updatePartitionCount(Topic topic, String topicName) throws IOException {
-    Map<String, NewPartitions> map = new HashMap<>();
-    map.put(topicName, NewPartitions.increaseTo(topic.partitionsCount()));
-    try {
-      adminClient.createPartitions(map).all().get();
-    } catch (InterruptedException | ExecutionException e) {
-      LOGGER.error(e);
-      throw new IOException(e);
+  /**
+   * Increase the partitions of several topics with a single request.
+   *
+   * @param partitionCounts the new partition count of each topic
+   * @throws IOException listing the topics whose partitions could not be increased, after the
+   *     increase of all the others completed
+   */
+  public void updatePartitionCounts(Map<String, Integer> partitionCounts) throws IOException {
+    if (partitionCounts.isEmpty()) {
+      return;
     }
+    Map<String, NewPartitions> map = new HashMap<>();
+    partitionCounts.forEach((topic, count) -> map.put(topic, NewPartitions.increaseTo(count)));
+    awaitAll(
+        "createPartitions",
+        adminClient.createPartitions(map).values(),
+        topic -> topic,
+        "increase the partitions of");
   }
 
   public void clearAcls() throws IOException {
@@ -163,7 +203,7 @@ public class TopologyBuilderAdminClient {
 
   private void clearAcls(Collection<AclBindingFilter> filters) throws IOException {
     try {
-      adminClient.deleteAcls(filters).all().get();
+      await("deleteAcls", () -> names(filters), adminClient.deleteAcls(filters).all());
     } catch (ExecutionException | InterruptedException e) {
       LOGGER.error(e);
       throw new IOException(e);
@@ -176,7 +216,7 @@ public class TopologyBuilderAdminClient {
 
     Map<ConfigResource, Config> configs = null;
     try {
-      configs = adminClient.describeConfigs(resources).all().get();
+      configs = await("describeConfigs", () -> topic, adminClient.describeConfigs(resources).all());
     } catch (InterruptedException | ExecutionException ex) {
       LOGGER.error(ex);
       throw new RuntimeException(ex);
@@ -185,6 +225,45 @@ public class TopologyBuilderAdminClient {
     return configs.get(resource);
   }
 
+  /**
+   * Describe the partitions and the configuration of several topics with two requests.
+   *
+   * @param topics the topics to describe
+   * @return the details of each topic
+   */
+  public Map<String, TopicDetails> getTopicDetails(Collection<String> topics) throws IOException {
+    if (topics.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<ConfigResource> resources =
+        topics.stream()
+            .map(topic -> new ConfigResource(Type.TOPIC, topic))
+            .collect(Collectors.toList());
+    try {
+      Map<String, TopicDescription> descriptions =
+          await(
+              "describeTopics",
+              () -> String.join(",", topics),
+              adminClient.describeTopics(topics).allTopicNames());
+      Map<ConfigResource, Config> configs =
+          await(
+              "describeConfigs",
+              () -> String.join(",", topics),
+              adminClient.describeConfigs(resources).all());
+      Map<String, TopicDetails> details = new HashMap<>();
+      for (ConfigResource resource : resources) {
+        String topic = resource.name();
+        details.put(
+            topic,
+            new TopicDetails(descriptions.get(topic).partitions().size(), configs.get(resource)));
+      }
+      return details;
+    } catch (InterruptedException | ExecutionException e) {
+      LOGGER.error(e);
+      throw new IOException(e);
+    }
+  }
+
   public void createTopic(Topic topic, String fullTopicName) throws IOException {
     NewTopic newTopic =
         new NewTopic(fullTopicName, topic.getPartitionCount(), topic.replicationFactor())
@@ -208,12 +287,15 @@ public class TopologyBuilderAdminClient {
 
   private void createAllTopics(Collection<NewTopic> newTopics)
       throws ExecutionException, InterruptedException {
-    adminClient.createTopics(newTopics).all().get();
+    await(
+        "createTopics",
+        () -> newTopics.stream().map(NewTopic::name).collect(Collectors.joining(",")),
+        adminClient.createTopics(newTopics).all());
   }
 
   public void deleteTopics(Collection<String> topics) throws IOException {
     try {
-      adminClient.deleteTopics(topics).all().get();
+      await("deleteTopics", () -> String.join(",", topics), adminClient.deleteTopics(topics).all());
     } catch (ExecutionException | InterruptedException e) {
       LOGGER.error(e);
       throw new IOException(e);
@@ -224,7 +306,8 @@ public class TopologyBuilderAdminClient {
     Map<String, Collection<AclBinding>> acls = new HashMap<>();
 
     try {
-      Collection<AclBinding> list = adminClient.describeAcls(AclBindingFilter.ANY).values().get();
+      Collection<AclBinding> list =
+          await("describeAcls", () -> "", adminClient.describeAcls(AclBindingFilter.ANY).values());
       list.forEach(
           aclBinding -> {
             String name = aclBinding.pattern().name();
@@ -245,7 +328,14 @@ public class TopologyBuilderAdminClient {
     try {
       String aclsDump = acls.stream().map(AclBinding::toString).collect(Collectors.joining(", "));
       LOGGER.debug("createAcls: " + aclsDump);
-      adminClient.createAcls(acls).all().get();
+      await(
+          "createAcls",
+          () ->
+              acls.stream()
+                  .map(acl -> acl.pattern().name())
+                  .distinct()
+                  .collect(Collectors.joining(",")),
+          adminClient.createAcls(acls).all());
     } catch (InvalidConfigurationException ex) {
       LOGGER.error(ex);
       throw ex;
@@ -254,7 +344,120 @@ public class TopologyBuilderAdminClient {
     }
   }
 
+  /**
+   * @return the quotas of every user entity, without the user and client-id entities.
+   */
+  public Map<ClientQuotaEntity, Map<String, Double>> describeUserQuotas() throws IOException {
+    ClientQuotaFilter filter =
+        ClientQuotaFilter.containsOnly(
+            Collections.singletonList(
+                ClientQuotaFilterComponent.ofEntityType(ClientQuotaEntity.USER)));
+    try {
+      return await(
+          "describeClientQuotas", () -> "", adminClient.describeClientQuotas(filter).entities());
+    } catch (InterruptedException | ExecutionException e) {
+      LOGGER.error(e);
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Send the alterations in a single request and wait for all of them, so a failure of one entity
+   * does not hide the outcome of the others.
+   *
+   * @throws IOException listing the entities whose alteration failed
+   */
+  public void alterClientQuotas(Collection<ClientQuotaAlteration> alterations) throws IOException {
+    if (alterations.isEmpty()) {
+      return;
+    }
+    awaitAll(
+        "alterClientQuotas",
+        adminClient.alterClientQuotas(alterations).values(),
+        ClientQuotaEntity::toString,
+        "alter the quotas of");
+  }
+
   public void close() {
     adminClient.close();
   }
+
+  /**
+   * Wait for the result of an admin client operation, recording it for the profile and as a JFR
+   * event. The names of the resources involved are only computed when the event is recorded.
+   */
+  private <T> T await(String operation, Supplier<String> resources, KafkaFuture<T> future)
+      throws InterruptedException, ExecutionException {
+    AdminClientEvent event = new AdminClientEvent();
+    event.begin();
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      T result = future.get();
+      failed = false;
+      return result;
+    } finally {
+      Profiler.remoteCall("AdminClient", operation, 0, 0, failed, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.operation = operation;
+        event.resources = resources.get();
+        event.failed = failed;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Wait for the result of every resource of a multi-resource request, so a failure of one does not
+   * hide the outcome of the others. The request is recorded once, the results of the resources are
+   * only collected once all of them completed.
+   *
+   * @throws IOException listing the resources that failed
+   */
+  private <K> void awaitAll(
+      String operation,
+      Map<K, KafkaFuture<Void>> results,
+      Function<K, String> resourceName,
+      String description)
+      throws IOException {
+    try {
+      await(
+          operation,
+          () -> results.keySet().stream().map(resourceName).collect(Collectors.joining(",")),
+          KafkaFuture.allOf(results.values().toArray(new KafkaFuture[0])));
+    } catch (ExecutionException e) {
+      // the failures are collected from the results of the resources
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    Map<String, Throwable> failures = new TreeMap<>();
+    for (Map.Entry<K, KafkaFuture<Void>> result : results.entrySet()) {
+      String name = resourceName.apply(result.getKey());
+      try {
+        result.getValue().get();
+      } catch (ExecutionException e) {
+        LOGGER.error(String.format("Failed to %s %s", description, name), e.getCause());
+        failures.put(name, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new IOException(
+          String.format(
+              "Failed to %s %d out of %d resources: %s",
+              description, failures.size(), results.size(), failures.keySet()),
+          failures.values().iterator().next());
+    }
+  }
+
+  private static String names(Collection<AclBindingFilter> filters) {
+    return filters.stream()
+        .map(filter -> filter.patternFilter().name())
+        .distinct()
+        .collect(Collectors.joining(","));
+  }
 }
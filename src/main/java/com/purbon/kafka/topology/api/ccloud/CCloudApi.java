@@ -3,6 +3,7 @@ package com.purbon.kafka.topology.api.ccloud;
 import static com.purbon.kafka.topology.Constants.MANAGED_BY;
 
 import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.api.ccloud.requests.KafkaAclFilter;
 import com.purbon.kafka.topology.api.ccloud.requests.KafkaAclRequest;
 import com.purbon.kafka.topology.api.ccloud.requests.ServiceAccountRequest;
 import com.purbon.kafka.topology.api.ccloud.response.KafkaAclListResponse;
@@ -14,13 +15,18 @@ import com.purbon.kafka.topology.clients.JulieHttpClient;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import com.purbon.kafka.topology.model.cluster.ServiceAccountV1;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.Async;
 import com.purbon.kafka.topology.utils.JSON;
+import com.purbon.kafka.topology.utils.Parallel;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -74,7 +80,15 @@ public class CCloudApi {
   }
 
   public List<TopologyAclBinding> listAcls(String clusterId) throws IOException {
-    String url = String.format(V3_KAFKA_CLUSTER_ACL_PATTERN, clusterId);
+    return listAcls(clusterId, KafkaAclFilter.ALL);
+  }
+
+  /**
+   * @return the ACLs of the cluster matching the filter, as selected by the server
+   */
+  public List<TopologyAclBinding> listAcls(String clusterId, KafkaAclFilter filter)
+      throws IOException {
+    String url = String.format(V3_KAFKA_CLUSTER_ACL_PATTERN, clusterId) + filter.queryString();
     List<TopologyAclBinding> acls = new ArrayList<>();
     do {
       Response rawResponse = clusterHttpClient.doGet(url);
@@ -88,6 +102,23 @@ public class CCloudApi {
     return acls;
   }
 
+  /**
+   * List the ACLs matching any of the filters, up to a number of filters at the same time.
+   *
+   * @return the ACLs of all the filters, each one once
+   * @throws IOException the first failure
+   */
+  public Set<TopologyAclBinding> listAcls(
+      String clusterId, Collection<KafkaAclFilter> filters, int concurrency) throws IOException {
+    Set<TopologyAclBinding> acls = new LinkedHashSet<>();
+    for (List<TopologyAclBinding> page :
+        Parallel.map("julie-ccloud-acls", filters, concurrency, f -> listAcls(clusterId, f))
+            .get()) {
+      acls.addAll(page);
+    }
+    return acls;
+  }
+
   public ServiceAccount createServiceAccount(String sa) throws IOException {
     return createServiceAccount(sa, MANAGED_BY);
   }
@@ -112,13 +143,22 @@ public class CCloudApi {
         response.getMetadata().getResource_name());
   }
 
+  /**
+   * List the service accounts page by page. The next page is requested as soon as its link is
+   * known, while the accounts of the current one are collected.
+   */
   public Set<ServiceAccount> listServiceAccounts() throws IOException {
-    String url = V2_IAM_SERVICE_ACCOUNTS_URL;
-    boolean finished;
     Set<ServiceAccount> accounts = new HashSet<>();
+    CompletableFuture<ListServiceAccountResponse> page =
+        CompletableFuture.completedFuture(
+            getListServiceAccounts(V2_IAM_SERVICE_ACCOUNTS_URL, serviceAccountPageSize));
 
     do {
-      ListServiceAccountResponse response = getListServiceAccounts(url, serviceAccountPageSize);
+      ListServiceAccountResponse response = Async.join(page);
+      String nextUrl = response.getMetadata().getNext();
+      page =
+          nextUrl == null ? null : prefetchServiceAccounts(nextUrl.replace(ccloudApiBaseUrl, ""));
+
       for (ServiceAccountResponse serviceAccountResponse : response.getData()) {
         var resourceId = serviceAccountResponse.getMetadata().getResource_name();
         var serviceAccount =
@@ -129,17 +169,15 @@ public class CCloudApi {
                 resourceId);
         accounts.add(serviceAccount);
       }
-
-      String nextUrl = response.getMetadata().getNext();
-      finished = nextUrl == null;
-      if (!finished) {
-        url = nextUrl.replace(ccloudApiBaseUrl, "");
-      }
-    } while (!finished);
+    } while (page != null);
 
     return accounts;
   }
 
+  private CompletableFuture<ListServiceAccountResponse> prefetchServiceAccounts(String url) {
+    return Async.supply(() -> getListServiceAccounts(url, serviceAccountPageSize));
+  }
+
   public Set<ServiceAccountV1> listServiceAccountsV1() throws IOException {
     Set<ServiceAccountV1> accounts = new HashSet<>();
     ServiceAccountV1Response response = getServiceAccountsV1(V1_IAM_SERVICE_ACCOUNTS_URL);
@@ -0,0 +1,208 @@
+package com.purbon.kafka.topology.api.ccloud;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The numeric ids of the Confluent Cloud service accounts by name, as required to translate the
+ * principals of the ACLs.
+ *
+ * <p>Listing all the service accounts is expensive in large organizations, so the directory is
+ * fetched once and reused for the whole run. Optionally it is kept on disk, and the following runs
+ * reuse it until it is older than the ttl. A directory cached for another Cloud API key is ignored.
+ * The accounts created or deleted since it was fetched are forgotten, so their ids are fetched
+ * again instead of reusing stale ones.
+ */
+public class ServiceAccountDirectory {
+
+  private static final Logger LOGGER = LogManager.getLogger(ServiceAccountDirectory.class);
+
+  @FunctionalInterface
+  public interface Loader {
+    Map<String, Long> load() throws IOException;
+  }
+
+  private final Loader loader;
+  private final long ttlMs;
+  private final Optional<Path> file;
+  private final String owner;
+  private final Clock clock;
+
+  private Map<String, Long> ids;
+  private long fetchedAtMs;
+  private boolean refreshed;
+  // the names not found in the directory fetched during this run
+  private final Set<String> missing = new HashSet<>();
+
+  /**
+   * @param loader fetches the directory from Confluent Cloud
+   * @param ttlMs how long a directory cached on disk is reused
+   * @param file the cache file, if any
+   * @param owner the Cloud API key the directory is fetched with
+   */
+  public ServiceAccountDirectory(Loader loader, long ttlMs, Optional<Path> file, String owner) {
+    this(loader, ttlMs, file, owner, Clock.systemUTC());
+  }
+
+  ServiceAccountDirectory(
+      Loader loader, long ttlMs, Optional<Path> file, String owner, Clock clock) {
+    this.loader = loader;
+    this.ttlMs = ttlMs;
+    this.file = file;
+    this.owner = owner;
+    this.clock = clock;
+  }
+
+  /**
+   * @return the directory, from memory or the cache file if fresh, fetched otherwise
+   */
+  public synchronized Map<String, Long> ids() throws IOException {
+    if (ids == null) {
+      ids = file.flatMap(this::read).orElse(null);
+    }
+    if (ids == null) {
+      refresh();
+    }
+    return ids;
+  }
+
+  /**
+   * Fetch the directory again, unless it was already fetched during this run.
+   *
+   * @return true if the directory was fetched
+   */
+  public synchronized boolean refresh() throws IOException {
+    if (refreshed) {
+      return false;
+    }
+    fetch();
+    return true;
+  }
+
+  /**
+   * Fetch the directory again if some of the names are unknown, e.g. accounts created since it was
+   * fetched. Names still unknown after a fetch during this run never trigger another one.
+   *
+   * @return true if the directory was fetched
+   */
+  public synchronized boolean refresh(Collection<String> names) throws IOException {
+    if (ids == null) {
+      ids = file.flatMap(this::read).orElse(null);
+    }
+    boolean fetched = ids == null;
+    if (fetched) {
+      fetch();
+    }
+    Set<String> unknown = new HashSet<>(names);
+    unknown.removeAll(missing);
+    unknown.removeAll(ids.keySet());
+    if (unknown.isEmpty()) {
+      return fetched;
+    }
+    if (!fetched) {
+      fetch();
+      unknown.removeAll(ids.keySet());
+    }
+    missing.addAll(unknown);
+    return true;
+  }
+
+  /**
+   * Forget the ids of the accounts, e.g. created, deleted or found stale, in memory and in the
+   * cache file, so they are fetched again when looked up. The cache file keeps its age.
+   */
+  public synchronized void forget(Collection<String> names) throws IOException {
+    missing.removeAll(names);
+    if (ids == null) {
+      ids = file.flatMap(this::read).orElse(null);
+    }
+    if (ids == null || names.stream().noneMatch(ids::containsKey)) {
+      return;
+    }
+    ids = new HashMap<>(ids);
+    ids.keySet().removeAll(names);
+    refreshed = false;
+    if (file.isPresent()) {
+      write(file.get());
+    }
+  }
+
+  /**
+   * @return true if the directory was fetched from Confluent Cloud during this run, false if it was
+   *     read from the cache file or some accounts were forgotten since, and so may miss accounts
+   */
+  public synchronized boolean fetched() {
+    return refreshed;
+  }
+
+  private void fetch() throws IOException {
+    refreshed = true;
+    long start = clock.millis();
+    ids = loader.load();
+    fetchedAtMs = clock.millis();
+    LOGGER.debug("Fetched " + ids.size() + " service accounts in " + (fetchedAtMs - start) + " ms");
+    if (file.isPresent()) {
+      write(file.get());
+    }
+  }
+
+  private Optional<Map<String, Long>> read(Path path) {
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+    try {
+      JsonNode node = JSON.toNode(Files.readString(path));
+      if (!owner.equals(node.path("owner").asText())) {
+        LOGGER.debug("Cached service accounts ignored, they belong to another Cloud API key");
+        return Optional.empty();
+      }
+      long fetchedAtMs = node.path("fetched_at_ms").asLong();
+      long ageMs = clock.millis() - fetchedAtMs;
+      if (ageMs < 0 || ageMs >= ttlMs) {
+        LOGGER.debug("Cached service accounts at " + path + " expired");
+        return Optional.empty();
+      }
+      Map<String, Long> accounts = new HashMap<>();
+      Iterator<Map.Entry<String, JsonNode>> fields = node.path("accounts").fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        accounts.put(field.getKey(), field.getValue().asLong());
+      }
+      LOGGER.debug("Using " + accounts.size() + " cached service accounts from " + path);
+      this.fetchedAtMs = fetchedAtMs;
+      return Optional.of(accounts);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Cached service accounts at " + path + " could not be read, ignoring them", e);
+      return Optional.empty();
+    }
+  }
+
+  private void write(Path path) throws IOException {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("owner", owner);
+    values.put("fetched_at_ms", fetchedAtMs);
+    values.put("accounts", ids);
+
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.writeString(tmp, JSON.asString(values));
+    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
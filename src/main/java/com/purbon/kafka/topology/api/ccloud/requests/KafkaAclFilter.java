@@ -0,0 +1,48 @@
+package com.purbon.kafka.topology.api.ccloud.requests;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+/**
+ * The query parameters of an ACL listing, as supported by the v3 ACL endpoint. The values are
+ * matched exactly by the server, the parameters left null match every ACL.
+ */
+@Value
+public class KafkaAclFilter {
+
+  public static final KafkaAclFilter ALL = new KafkaAclFilter(null, null, null, null);
+
+  String resource_type;
+  String resource_name;
+  String pattern_type;
+  String principal;
+
+  public static KafkaAclFilter forResourceType(String resourceType) {
+    return new KafkaAclFilter(resourceType, null, null, null);
+  }
+
+  public static KafkaAclFilter forPrincipal(String principal) {
+    return new KafkaAclFilter(null, null, null, principal);
+  }
+
+  /**
+   * @return the query string, starting with "?", or empty if the filter matches every ACL
+   */
+  public String queryString() {
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("resource_type", resource_type);
+    params.put("resource_name", resource_name);
+    params.put("pattern_type", pattern_type);
+    params.put("principal", principal);
+    String query =
+        params.entrySet().stream()
+            .filter(e -> e.getValue() != null)
+            .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+    return query.isEmpty() ? "" : "?" + query;
+  }
+}
@@ -8,6 +8,7 @@ import com.purbon.kafka.topology.model.artefact.KsqlArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
 import com.purbon.kafka.topology.utils.JSON;
+import com.purbon.kafka.topology.utils.Lazy;
 import io.confluent.ksql.api.client.Client;
 import io.confluent.ksql.api.client.ClientOptions;
 import io.confluent.ksql.api.client.StreamInfo;
@@ -31,7 +32,7 @@ public class KsqlApiClient implements ArtefactClient {
   private static final Logger LOGGER = LogManager.getLogger(KsqlApiClient.class);
 
   private final URL server;
-  private final Client client;
+  private final Lazy<Client> client;
 
   public static final String QUERY_TYPE = "query";
   public static final String STREAM_TYPE = "stream";
@@ -54,7 +55,8 @@ public class KsqlApiClient implements ArtefactClient {
       options.setBasicAuthCredentials(
           ksqlClientConfig.getBasicAuth().getUser(), ksqlClientConfig.getBasicAuth().getPassword());
     }
-    this.client = Client.create(options);
+    // the client starts its own event loop, create it only when the first statement is sent
+    this.client = Lazy.of(() -> Client.create(options));
   }
 
   @Override
@@ -64,7 +66,7 @@ public class KsqlApiClient implements ArtefactClient {
 
   @Override
   public void addSessionVars(Map<String, String> vars) {
-    vars.forEach(this.client::define);
+    vars.forEach(client.get()::define);
   }
 
   @Override
@@ -78,7 +80,7 @@ public class KsqlApiClient implements ArtefactClient {
                 + sql.substring(0, 40));
       }
 
-      var result = client.executeStatement(sql).get();
+      var result = client.get().executeStatement(sql).get();
       return new QueryResponse(result).asMap();
     } catch (InterruptedException | ExecutionException e) {
       throw new IOException(e);
@@ -105,9 +107,9 @@ public class KsqlApiClient implements ArtefactClient {
     try {
       if (STREAM_TYPE.equalsIgnoreCase(type) || TABLE_TYPE.equalsIgnoreCase(type)) {
         String sql = String.format("DROP %s IF EXISTS %s;", type.toUpperCase(), id);
-        client.executeStatement(sql).get();
+        client.get().executeStatement(sql).get();
       } else {
-        client.terminatePushQuery(id).get();
+        client.get().terminatePushQuery(id).get();
       }
     } catch (InterruptedException | ExecutionException e) {
       e.printStackTrace();
@@ -125,7 +127,7 @@ public class KsqlApiClient implements ArtefactClient {
   public List<String> listTables() throws IOException {
     List<TableInfo> infos;
     try {
-      infos = client.listTables().get();
+      infos = client.get().listTables().get();
     } catch (InterruptedException | ExecutionException e) {
       e.printStackTrace();
       throw new IOException(e);
@@ -150,7 +152,7 @@ public class KsqlApiClient implements ArtefactClient {
   public List<String> listStreams() throws IOException {
     List<StreamInfo> infos;
     try {
-      infos = client.listStreams().get();
+      infos = client.get().listStreams().get();
     } catch (InterruptedException | ExecutionException e) {
       e.printStackTrace();
       throw new IOException(e);
@@ -9,10 +9,15 @@ import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.clients.JulieHttpClient;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import com.purbon.kafka.topology.roles.rbac.ClusterLevelRoleBuilder;
+import com.purbon.kafka.topology.utils.BasicAuth;
 import com.purbon.kafka.topology.utils.JSON;
 import java.io.IOException;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Paths;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,8 +36,12 @@ public class MDSApiClient extends JulieHttpClient {
 
   private static final Logger LOGGER = LogManager.getLogger(MDSApiClient.class);
 
+  private static final String AUTHENTICATE_PATH = "/security/1.0/authenticate";
+  private static final long DEFAULT_TOKEN_REFRESH_MARGIN_MS = 60000;
+
   private AuthenticationCredentials authenticationCredentials;
   private final ClusterIDs clusterIDs;
+  private final MDSTokenManager tokenManager;
 
   public MDSApiClient(String mdsServer) throws IOException {
     this(mdsServer, Optional.empty());
@@ -41,6 +50,20 @@ public class MDSApiClient extends JulieHttpClient {
   public MDSApiClient(String mdsServer, Optional<Configuration> configOptional) throws IOException {
     super(mdsServer, configOptional);
     this.clusterIDs = new ClusterIDs(configOptional);
+    this.tokenManager =
+        new MDSTokenManager(
+            this::requestToken,
+            configOptional
+                .map(Configuration::getMdsTokenRefreshMarginMs)
+                .orElse(DEFAULT_TOKEN_REFRESH_MARGIN_MS),
+            configOptional.flatMap(config -> tokenCache(mdsServer, config)));
+  }
+
+  private static Optional<MDSTokenCache> tokenCache(String mdsServer, Configuration config) {
+    String user = config.getMdsBasicAuth().map(BasicAuth::getUser).orElse("");
+    return config
+        .getMdsTokenCacheFile()
+        .map(file -> new MDSTokenCache(Paths.get(file), mdsServer + "|" + user));
   }
 
   @Override
@@ -90,23 +113,51 @@ public class MDSApiClient extends JulieHttpClient {
     return authenticationCredentials;
   }
 
+  /**
+   * Authenticate against MDS, the following requests are sent with the token obtained instead of
+   * the basic auth credentials. The token is renewed before it expires.
+   */
   public void authenticate() throws IOException {
+    authenticationCredentials = tokenManager.credentials();
+  }
+
+  private AuthenticationCredentials requestToken() throws IOException {
     try {
-      Response response = doGet("/security/1.0/authenticate");
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create(server + AUTHENTICATE_PATH))
+              .timeout(Duration.ofMillis(DEFAULT_TIMEOUT_MS))
+              .header("accept", " application/json")
+              .header("Authorization", super.authorization())
+              .GET()
+              .build();
+      Response response = doGet(request);
       if (response.getStatus() < 200 || response.getStatus() > 204) {
         throw new IOException("MDS Authentication error: " + response.getResponseAsString());
       }
-      authenticationCredentials =
-          new AuthenticationCredentials(
-              response.getField("auth_token").toString(),
-              response.getField("token_type").toString(),
-              Integer.valueOf(response.getField("expires_in").toString()));
+      return new AuthenticationCredentials(
+          response.getField("auth_token").toString(),
+          response.getField("token_type").toString(),
+          Integer.valueOf(response.getField("expires_in").toString()));
     } catch (Exception e) {
       LOGGER.error(e);
       throw new IOException(e);
     }
   }
 
+  @Override
+  protected String authorization() throws IOException {
+    return authenticationCredentials == null ? super.authorization() : tokenManager.authorization();
+  }
+
+  @Override
+  protected boolean renewAuthorization(HttpRequest request) {
+    if (authenticationCredentials == null || request.uri().getPath().endsWith(AUTHENTICATE_PATH)) {
+      return false;
+    }
+    request.headers().firstValue("Authorization").ifPresent(tokenManager::invalidate);
+    return true;
+  }
+
   public ClusterLevelRoleBuilder bind(String principal, String role) {
     return new ClusterLevelRoleBuilder(principal, role, this);
   }
@@ -0,0 +1,153 @@
+package com.purbon.kafka.topology.api.mds;
+
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The MDS token of the last run, kept on disk so the following runs do not authenticate again.
+ *
+ * <p>The token is encrypted with a key generated on first use and stored next to the cache file,
+ * with the suffix ".key", readable only by its owner. A token cached for another MDS server or user
+ * is ignored.
+ */
+public class MDSTokenCache {
+
+  private static final Logger LOGGER = LogManager.getLogger(MDSTokenCache.class);
+
+  private static final String CIPHER = "AES/GCM/NoPadding";
+  private static final int KEY_SIZE = 32;
+  private static final int IV_SIZE = 12;
+  private static final int TAG_BITS = 128;
+
+  private final Path file;
+  private final Path keyFile;
+  private final String owner;
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * @param file the cache file
+   * @param owner the server and user the tokens are valid for
+   */
+  public MDSTokenCache(Path file, String owner) {
+    this.file = file;
+    this.keyFile = file.resolveSibling(file.getFileName() + ".key");
+    this.owner = owner;
+  }
+
+  /**
+   * @return the cached token, nothing if there is none for the owner or it can not be read
+   */
+  public Optional<MDSTokenManager.Token> load() {
+    if (!Files.exists(file) || !Files.exists(keyFile)) {
+      return Optional.empty();
+    }
+    try {
+      ByteBuffer content = ByteBuffer.wrap(Base64.getDecoder().decode(Files.readAllBytes(file)));
+      byte[] iv = new byte[IV_SIZE];
+      content.get(iv);
+      byte[] encrypted = new byte[content.remaining()];
+      content.get(encrypted);
+
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.DECRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, iv));
+      String json = new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8);
+      Map<String, Object> values = JSON.toMap(json);
+      if (!owner.equals(values.get("owner"))) {
+        LOGGER.debug("Cached MDS token ignored, it belongs to another server or user");
+        return Optional.empty();
+      }
+      AuthenticationCredentials credentials =
+          new AuthenticationCredentials(
+              values.get("auth_token").toString(),
+              values.get("token_type").toString(),
+              Integer.valueOf(values.get("expires_in").toString()));
+      long expiresAtMs = Long.parseLong(values.get("expires_at_ms").toString());
+      return Optional.of(new MDSTokenManager.Token(credentials, expiresAtMs));
+    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+      LOGGER.warn("Cached MDS token at " + file + " could not be read, ignoring it", e);
+      return Optional.empty();
+    }
+  }
+
+  public void save(MDSTokenManager.Token token) throws IOException {
+    Map<String, Object> values = new HashMap<>();
+    values.put("owner", owner);
+    values.put("auth_token", token.getCredentials().getAuthToken());
+    values.put("token_type", token.getCredentials().getTokenType());
+    values.put("expires_in", token.getCredentials().getExpiresIn());
+    values.put("expires_at_ms", token.getExpiresAtMs());
+
+    byte[] iv = new byte[IV_SIZE];
+    random.nextBytes(iv);
+    byte[] encrypted;
+    try {
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.ENCRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, iv));
+      encrypted = cipher.doFinal(JSON.asString(values).getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IOException(e);
+    }
+    byte[] content =
+        ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.deleteIfExists(tmp);
+    createPrivateFile(tmp);
+    Files.write(tmp, Base64.getEncoder().encode(content));
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public void delete() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.warn("Cached MDS token at " + file + " could not be deleted", e);
+    }
+  }
+
+  private synchronized SecretKey key() throws IOException {
+    if (!Files.exists(keyFile)) {
+      byte[] key = new byte[KEY_SIZE];
+      random.nextBytes(key);
+      try {
+        createPrivateFile(keyFile);
+        Files.write(keyFile, Base64.getEncoder().encode(key));
+      } catch (FileAlreadyExistsException e) {
+        // created by a concurrent run in the meantime
+      }
+    }
+    byte[] key = Base64.getDecoder().decode(Files.readAllBytes(keyFile));
+    return new SecretKeySpec(key, "AES");
+  }
+
+  private static void createPrivateFile(Path path) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    try {
+      Files.createFile(
+          path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } catch (UnsupportedOperationException e) {
+      Files.createFile(path);
+    }
+  }
+}
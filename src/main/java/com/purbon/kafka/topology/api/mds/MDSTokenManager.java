@@ -0,0 +1,139 @@
+package com.purbon.kafka.topology.api.mds;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the bearer token of an MDS client valid for the whole run.
+ *
+ * <p>The token is requested once and shared by all the requests. Shortly before it expires a new
+ * one is requested in the background, the requests in flight keep using the current token in the
+ * meantime. A token rejected by the server is dropped, so the next request authenticates again.
+ * Optionally the token is kept in a {@link MDSTokenCache}, so repeated runs reuse it.
+ */
+public class MDSTokenManager {
+
+  private static final Logger LOGGER = LogManager.getLogger(MDSTokenManager.class);
+
+  @FunctionalInterface
+  public interface Authenticator {
+    AuthenticationCredentials authenticate() throws IOException;
+  }
+
+  private final Authenticator authenticator;
+  private final long refreshMarginMs;
+  private final Optional<MDSTokenCache> cache;
+  private final Clock clock;
+
+  private Token token;
+  private boolean cacheLoaded;
+  private CompletableFuture<Void> refresh;
+
+  public MDSTokenManager(
+      Authenticator authenticator, long refreshMarginMs, Optional<MDSTokenCache> cache) {
+    this(authenticator, refreshMarginMs, cache, Clock.systemUTC());
+  }
+
+  MDSTokenManager(
+      Authenticator authenticator,
+      long refreshMarginMs,
+      Optional<MDSTokenCache> cache,
+      Clock clock) {
+    this.authenticator = authenticator;
+    this.refreshMarginMs = refreshMarginMs;
+    this.cache = cache;
+    this.clock = clock;
+  }
+
+  /**
+   * @return the value of the Authorization header, authenticating first if there is no valid token
+   */
+  public String authorization() throws IOException {
+    return token().header();
+  }
+
+  public AuthenticationCredentials credentials() throws IOException {
+    return token().getCredentials();
+  }
+
+  /** Drop the token sent with a request the server rejected, unless it was replaced already. */
+  public synchronized void invalidate(String authorization) {
+    if (token != null && token.header().equals(authorization)) {
+      LOGGER.debug("MDS token rejected, authenticating again on the next request");
+      token = null;
+      cache.ifPresent(MDSTokenCache::delete);
+    }
+  }
+
+  private synchronized Token token() throws IOException {
+    if (token == null && !cacheLoaded) {
+      cacheLoaded = true;
+      token = cache.flatMap(MDSTokenCache::load).orElse(null);
+    }
+    long now = clock.millis();
+    if (token == null || token.getExpiresAtMs() <= now) {
+      // nothing usable, the requests wait for a new token
+      token = fetch();
+    } else if (token.getExpiresAtMs() - now <= refreshMarginMs && refresh == null) {
+      refresh = CompletableFuture.runAsync(this::refresh);
+    }
+    return token;
+  }
+
+  private void refresh() {
+    try {
+      Token refreshed = fetch();
+      synchronized (this) {
+        token = refreshed;
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("MDS token refresh failed, it is retried on the next request", e);
+    } finally {
+      synchronized (this) {
+        refresh = null;
+      }
+    }
+  }
+
+  private Token fetch() throws IOException {
+    AuthenticationCredentials credentials = authenticator.authenticate();
+    Token fetched = new Token(credentials, clock.millis() + credentials.getExpiresIn() * 1000L);
+    LOGGER.debug("MDS token obtained, valid for " + credentials.getExpiresIn() + " seconds");
+    if (cache.isPresent()) {
+      try {
+        cache.get().save(fetched);
+      } catch (IOException e) {
+        LOGGER.warn("MDS token could not be cached", e);
+      }
+    }
+    return fetched;
+  }
+
+  /** A token with the instant it expires at. */
+  public static class Token {
+
+    private final AuthenticationCredentials credentials;
+    private final long expiresAtMs;
+
+    public Token(AuthenticationCredentials credentials, long expiresAtMs) {
+      this.credentials = credentials;
+      this.expiresAtMs = expiresAtMs;
+    }
+
+    public AuthenticationCredentials getCredentials() {
+      return credentials;
+    }
+
+    public long getExpiresAtMs() {
+      return expiresAtMs;
+    }
+
+    String header() {
+      return credentials.getTokenType() + " " + credentials.getAuthToken();
+    }
+  }
+}
@@ -23,4 +23,19 @@ public interface Backend {
   void save(BackendState state) throws IOException;
 
   BackendState load() throws IOException;
+
+  /**
+   * @return the bytes read by the last load or written by the last save, -1 if not tracked
+   */
+  default long transferredBytes() {
+    return -1;
+  }
+
+  /**
+   * @return the size of the state as stored after the last load or save, -1 if not tracked. A
+   *     failed save leaves the previous size, as the previous state is still stored.
+   */
+  default long storedBytes() {
+    return -1;
+  }
 }
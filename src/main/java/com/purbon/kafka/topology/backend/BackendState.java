@@ -1,6 +1,7 @@
 package com.purbon.kafka.topology.backend;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
 import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
@@ -21,6 +22,9 @@ public class BackendState {
   private final Set<KsqlStreamArtefact> ksqlStreams;
   private final Set<KsqlTableArtefact> ksqlTables;
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private PlanCheckpoint checkpoint;
+
   public BackendState() {
     this.accounts = new HashSet<>();
     this.bindings = new HashSet<>();
@@ -78,6 +82,14 @@ public class BackendState {
     return ksqlTables;
   }
 
+  public PlanCheckpoint getCheckpoint() {
+    return checkpoint;
+  }
+
+  public void setCheckpoint(PlanCheckpoint checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
   @JsonIgnore
   public String asJson() throws JsonProcessingException {
     return JSON.asString(this);
@@ -95,6 +107,7 @@ public class BackendState {
     connectors.clear();
     ksqlStreams.clear();
     ksqlTables.clear();
+    checkpoint = null;
   }
 
   public int size() {
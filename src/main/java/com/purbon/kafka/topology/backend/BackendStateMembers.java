@@ -0,0 +1,189 @@
+package com.purbon.kafka.topology.backend;
+
+import com.purbon.kafka.topology.model.artefact.KafkaConnectArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlStreamArtefact;
+import com.purbon.kafka.topology.model.artefact.KsqlTableArtefact;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The resources of a state as a set of JSON documents per type, topics as their names, so backends
+ * can store and compare them one by one instead of the state as a whole. The checkpoint is not part
+ * of the members.
+ */
+class BackendStateMembers {
+
+  static final String BINDINGS = "bindings";
+  static final String ACCOUNTS = "accounts";
+  static final String TOPICS = "topics";
+  static final String CONNECTORS = "connectors";
+  static final String KSQL_STREAMS = "ksqlStreams";
+  static final String KSQL_TABLES = "ksqlTables";
+
+  private static final List<Resource<?>> RESOURCES =
+      List.of(
+          new Resource<>(
+              BINDINGS,
+              TopologyAclBinding.class,
+              BackendState::getBindings,
+              BackendState::addBindings),
+          new Resource<>(
+              ACCOUNTS, ServiceAccount.class, BackendState::getAccounts, BackendState::addAccounts),
+          new Resource<>(TOPICS, String.class, BackendState::getTopics, BackendState::addTopics),
+          new Resource<>(
+              CONNECTORS,
+              KafkaConnectArtefact.class,
+              BackendState::getConnectors,
+              BackendState::addConnectors),
+          new Resource<>(
+              KSQL_STREAMS,
+              KsqlStreamArtefact.class,
+              BackendState::getKSqlStreams,
+              BackendState::addKSqlStreams),
+          new Resource<>(
+              KSQL_TABLES,
+              KsqlTableArtefact.class,
+              BackendState::getKSqlTables,
+              BackendState::addKSqlTables));
+
+  private final Map<String, Set<String>> members;
+
+  BackendStateMembers() {
+    this.members = new LinkedHashMap<>();
+    for (Resource<?> resource : RESOURCES) {
+      members.put(resource.type, new HashSet<>());
+    }
+  }
+
+  static BackendStateMembers of(BackendState state) throws IOException {
+    BackendStateMembers members = new BackendStateMembers();
+    for (Resource<?> resource : RESOURCES) {
+      resource.collect(state, members.get(resource.type));
+    }
+    return members;
+  }
+
+  static List<String> types() {
+    List<String> types = new ArrayList<>();
+    for (Resource<?> resource : RESOURCES) {
+      types.add(resource.type);
+    }
+    return types;
+  }
+
+  Set<String> get(String type) {
+    return members.get(type);
+  }
+
+  /**
+   * @return the members not in the other ones
+   */
+  BackendStateMembers minus(BackendStateMembers other) {
+    BackendStateMembers difference = new BackendStateMembers();
+    members.forEach(
+        (type, values) -> {
+          Set<String> others = other.get(type);
+          for (String value : values) {
+            if (!others.contains(value)) {
+              difference.get(type).add(value);
+            }
+          }
+        });
+    return difference;
+  }
+
+  void addAll(BackendStateMembers other) {
+    members.forEach((type, values) -> values.addAll(other.get(type)));
+  }
+
+  void removeAll(BackendStateMembers other) {
+    members.forEach((type, values) -> values.removeAll(other.get(type)));
+  }
+
+  int size() {
+    return members.values().stream().mapToInt(Set::size).sum();
+  }
+
+  /**
+   * @return the size of the members encoded as UTF-8
+   */
+  long bytes() {
+    long bytes = 0;
+    for (Set<String> values : members.values()) {
+      for (String value : values) {
+        bytes += utf8Length(value);
+      }
+    }
+    return bytes;
+  }
+
+  static long utf8Length(String value) {
+    long bytes = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c)) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+
+  BackendState toState() throws IOException {
+    BackendState state = new BackendState();
+    for (Resource<?> resource : RESOURCES) {
+      resource.addTo(state, members.get(resource.type));
+    }
+    return state;
+  }
+
+  private static class Resource<T> {
+    private final String type;
+    private final Class<T> clazz;
+    private final Function<BackendState, Set<T>> getter;
+    private final BiConsumer<BackendState, Collection<T>> adder;
+
+    Resource(
+        String type,
+        Class<T> clazz,
+        Function<BackendState, Set<T>> getter,
+        BiConsumer<BackendState, Collection<T>> adder) {
+      this.type = type;
+      this.clazz = clazz;
+      this.getter = getter;
+      this.adder = adder;
+    }
+
+    void collect(BackendState state, Set<String> members) throws IOException {
+      for (T value : getter.apply(state)) {
+        members.add(clazz == String.class ? (String) value : JSON.asString(value));
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    void addTo(BackendState state, Set<String> members) throws IOException {
+      List<T> values = new ArrayList<>();
+      for (String member : members) {
+        values.add(clazz == String.class ? (T) member : (T) JSON.toObject(member, clazz));
+      }
+      adder.accept(state, values);
+    }
+  }
+}
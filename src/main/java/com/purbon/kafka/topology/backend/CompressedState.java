@@ -0,0 +1,76 @@
+package com.purbon.kafka.topology.backend;
+
+import com.purbon.kafka.topology.utils.JSON;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The state as stored by the object store backends: JSON compressed with gzip. The SHA-256 of the
+ * JSON is stored in the object metadata, so an unchanged state is not uploaded again.
+ */
+class CompressedState {
+
+  static final String HASH_METADATA = "julie-state-sha256";
+  static final String CONTENT_TYPE = "application/gzip";
+
+  private final byte[] content;
+  private final String hash;
+
+  private CompressedState(byte[] content, String hash) {
+    this.content = content;
+    this.hash = hash;
+  }
+
+  static CompressedState of(BackendState state) throws IOException {
+    byte[] json = state.asJson().getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream content = new ByteArrayOutputStream(json.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(content)) {
+      gzip.write(json);
+    }
+    return new CompressedState(content.toByteArray(), sha256(json));
+  }
+
+  /**
+   * @return the state read from the stream, compressed or as plain JSON as stored by previous
+   *     versions
+   */
+  static BackendState read(InputStream stream) throws IOException {
+    InputStream input = new BufferedInputStream(stream);
+    input.mark(2);
+    int magic = input.read() | (input.read() << 8);
+    input.reset();
+    if (magic == GZIPInputStream.GZIP_MAGIC) {
+      input = new GZIPInputStream(input);
+    }
+    try (InputStream json = input) {
+      return JSON.toObject(json, BackendState.class);
+    }
+  }
+
+  byte[] getContent() {
+    return content;
+  }
+
+  String getHash() {
+    return hash;
+  }
+
+  static String sha256(byte[] content) throws IOException {
+    try {
+      StringBuilder hex = new StringBuilder();
+      for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -1,26 +1,84 @@
 package com.purbon.kafka.topology.backend;
 
 import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.purbon.kafka.topology.BackendController.Mode;
+import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.utils.JSON;
-import java.io.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Stores the state in the working directory, as a snapshot in ".cluster-state" and a journal in
+ * ".cluster-state.journal" with a line per save holding the resources it added and removed.
+ *
+ * <p>Loading replays the journal over the snapshot, a line left incomplete by an interrupted save
+ * is dropped. Once the journal grows over the compaction size, the snapshot is rewritten with the
+ * whole state through a temporary file renamed over the previous one, and the journal is removed.
+ * The journal starts with the SHA-256 of the snapshot it extends, loading fails if the snapshot was
+ * replaced or deleted in the meantime, instead of silently dropping the changes in the journal.
+ * Before the snapshot is replaced, the journal records the hash of the new snapshot, so a journal
+ * left behind by a compaction interrupted right after the rename is recognised and ignored.
+ */
 public class FileBackend implements Backend {
 
   private static final Logger LOGGER = LogManager.getLogger(FileBackend.class);
 
-  // Use FileWriter instead of RandomAccessFile due to
-  // https://bugs.java.com/bugdatabase/view_bug.do?bug_id=4715154
-  private FileWriter writer;
+  public static final String JOURNAL_FILE_SUFFIX = ".journal";
+  public static final long DEFAULT_COMPACTION_BYTES = 1024 * 1024;
+
+  private static final String SNAPSHOT = "snapshot";
+  private static final String COMPACTED_INTO = "compacted_into";
+
+  private final Path snapshotFile;
+  private final Path journalFile;
+  private long compactionBytes;
+
+  // the state as persisted in the files, null until read
+  private BackendStateMembers stored;
+  private String storedCheckpoint;
+  private long journalBytes;
+  // the SHA-256 of the snapshot, empty if there is none, and its size and modification time
+  private String snapshotHash;
+  private String snapshotAttributes;
+  private long transferredBytes = -1;
+  private long storedBytes = -1;
 
   public FileBackend() {
-    this.writer = null;
+    this(Paths.get(STATE_FILE_NAME));
+  }
+
+  FileBackend(Path snapshotFile) {
+    this(snapshotFile, DEFAULT_COMPACTION_BYTES);
+  }
+
+  FileBackend(Path snapshotFile, long compactionBytes) {
+    this.snapshotFile = snapshotFile;
+    this.journalFile =
+        snapshotFile.resolveSibling(snapshotFile.getFileName() + JOURNAL_FILE_SUFFIX);
+    this.compactionBytes = compactionBytes;
+  }
+
+  @Override
+  public void configure(Configuration config) {
+    this.compactionBytes = config.getStateFileJournalCompactionBytes();
   }
 
   @Override
@@ -30,51 +88,233 @@ public class FileBackend implements Backend {
 
   @Override
   public void createOrOpen(Mode mode) {
-    try {
-      if (this.writer != null) writer.close();
-      this.writer = new FileWriter(STATE_FILE_NAME, !Mode.TRUNCATE.equals(mode));
-    } catch (IOException e) {
-      LOGGER.error(e);
-    }
+    // a save appends only the changes to the stored state, there is nothing to remove upfront
   }
 
   @Override
-  public void save(BackendState state) throws IOException {
-    writeText(state.asPrettyJson());
+  public synchronized void save(BackendState state) throws IOException {
+    if (stored == null) {
+      read();
+    }
+    transferredBytes = 0;
+    if (!Files.exists(snapshotFile) || !snapshotAttributes().equals(snapshotAttributes)) {
+      // the snapshot was replaced since it was read, the journal can not extend it
+      compact(state);
+      return;
+    }
+
+    BackendStateMembers members = BackendStateMembers.of(state);
+    BackendStateMembers added = members.minus(stored);
+    BackendStateMembers removed = stored.minus(members);
+    String checkpoint = state.getCheckpoint() == null ? null : JSON.asString(state.getCheckpoint());
+    if (added.size() + removed.size() == 0 && Objects.equals(checkpoint, storedCheckpoint)) {
+      LOGGER.debug("No changes to store in " + journalFile);
+      return;
+    }
+
+    Map<String, Object> segment = new LinkedHashMap<>();
+    segment.put("added", added.toState());
+    segment.put("removed", removed.toState());
+    segment.put("checkpoint", state.getCheckpoint());
+    transferredBytes += append(JSON.asString(segment));
+    storedBytes = Files.size(snapshotFile) + journalBytes;
+    stored = members;
+    storedCheckpoint = checkpoint;
+    LOGGER.debug(
+        "Stored " + (added.size() + removed.size()) + " changed resources in " + journalFile);
+
+    if (journalBytes > compactionBytes) {
+      compact(state);
+    }
   }
 
   @Override
-  public BackendState load() throws IOException {
-    Path filePath = Paths.get(STATE_FILE_NAME);
-    if (Files.size(filePath) == 0) { // if we are loading when there is no file or is empty.
-      return new BackendState();
-    }
-    return load(filePath);
+  public synchronized BackendState load() throws IOException {
+    return read();
   }
 
   BackendState load(Path stateFilePath) throws IOException {
-    String backendStateAsJsonString = Files.readString(stateFilePath);
+    return parse(Files.readString(stateFilePath), stateFilePath);
+  }
+
+  private BackendState parse(String backendStateAsJsonString, Path stateFilePath)
+      throws IOException {
     if (OldFileBackendLoader.isControlTag(backendStateAsJsonString.split("\\r?\\n")[0])) {
       return new OldFileBackendLoader().load(stateFilePath.toFile());
     }
     return (BackendState) JSON.toObject(backendStateAsJsonString, BackendState.class);
   }
 
-  private void writeText(String text) throws IOException {
-    try {
-      writer.write(text);
-    } catch (IOException e) {
-      LOGGER.error(e);
-      throw e;
+  private BackendState read() throws IOException {
+    BackendState snapshot = new BackendState();
+    snapshotHash = "";
+    snapshotAttributes = snapshotAttributes();
+    long snapshotBytes = 0;
+    if (Files.exists(snapshotFile)) {
+      byte[] content = Files.readAllBytes(snapshotFile);
+      snapshotHash = CompressedState.sha256(content);
+      snapshotBytes = content.length;
+      if (snapshotBytes > 0) {
+        snapshot = parse(new String(content, UTF_8), snapshotFile);
+      }
+    }
+    stored = BackendStateMembers.of(snapshot);
+    storedCheckpoint =
+        snapshot.getCheckpoint() == null ? null : JSON.asString(snapshot.getCheckpoint());
+    journalBytes = 0;
+
+    List<String> segments = readJournal();
+    transferredBytes = snapshotBytes + journalBytes;
+    storedBytes = snapshotBytes + journalBytes;
+    if (segments.isEmpty()) {
+      return snapshot;
+    }
+    for (String segment : segments) {
+      JsonNode node = JSON.toNode(segment);
+      if (node.has(COMPACTED_INTO)) {
+        continue;
+      }
+      stored.removeAll(
+          BackendStateMembers.of(JSON.toObject(node.get("removed"), BackendState.class)));
+      stored.addAll(BackendStateMembers.of(JSON.toObject(node.get("added"), BackendState.class)));
+      JsonNode checkpoint = node.get("checkpoint");
+      storedCheckpoint = checkpoint == null || checkpoint.isNull() ? null : checkpoint.toString();
+    }
+    BackendState state = stored.toState();
+    if (storedCheckpoint != null) {
+      state.setCheckpoint((PlanCheckpoint) JSON.toObject(storedCheckpoint, PlanCheckpoint.class));
+    }
+    LOGGER.debug("Replayed " + segments.size() + " segments of " + journalFile);
+    return state;
+  }
+
+  /**
+   * @return the complete segments of the journal, empty if there is none for the current snapshot
+   * @throws IOException if the journal extends another snapshot
+   */
+  private List<String> readJournal() throws IOException {
+    List<String> lines = new ArrayList<>();
+    journalBytes = 0;
+    if (!Files.exists(journalFile)) {
+      return lines;
+    }
+    try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      int start = 0;
+      for (int i = 0; i < buffer.limit(); i++) {
+        if (buffer.get(i) == '\n') {
+          ByteBuffer line = buffer.duplicate();
+          line.position(start).limit(i);
+          lines.add(UTF_8.decode(line).toString());
+          start = i + 1;
+        }
+      }
+      if (start < buffer.limit()) {
+        LOGGER.warn("Dropping the incomplete last segment of " + journalFile);
+      }
+      journalBytes = start;
+    }
+    if (lines.isEmpty()) {
+      journalBytes = 0;
+      return lines;
+    }
+    String compactedInto = JSON.toNode(lines.get(lines.size() - 1)).path(COMPACTED_INTO).asText();
+    if (!snapshotHash.equals(JSON.toNode(lines.get(0)).path(SNAPSHOT).asText())) {
+      if (!compactedInto.isEmpty() && compactedInto.equals(snapshotHash)) {
+        LOGGER.debug(journalFile + " was already compacted into " + snapshotFile + ", ignoring it");
+        journalBytes = 0;
+        return new ArrayList<>();
+      }
+      throw new IOException(
+          journalFile
+              + " extends another snapshot than "
+              + snapshotFile
+              + ", restore the snapshot it belongs to, or remove the journal to discard the changes"
+              + " it holds");
+    }
+    return lines.subList(1, lines.size());
+  }
+
+  /**
+   * @return the bytes written
+   */
+  private long append(String segment) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      // drop whatever an interrupted save left after the last complete segment
+      channel.truncate(journalBytes);
+      channel.position(journalBytes);
+      StringBuilder content = new StringBuilder();
+      if (journalBytes == 0) {
+        content.append(JSON.asString(Map.of(SNAPSHOT, snapshotHash))).append('\n');
+      }
+      content.append(segment).append('\n');
+      ByteBuffer bytes = UTF_8.encode(content.toString());
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      channel.force(true);
+      long written = channel.position() - journalBytes;
+      journalBytes = channel.position();
+      return written;
+    }
+  }
+
+  private void compact(BackendState state) throws IOException {
+    Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+    byte[] content = state.asPrettyJson().getBytes(UTF_8);
+    try (FileChannel channel =
+        FileChannel.open(
+            tmp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer bytes = ByteBuffer.wrap(content);
+      transferredBytes += bytes.remaining();
+      storedBytes = bytes.remaining();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      channel.force(true);
+    }
+    String hash = CompressedState.sha256(content);
+    if (journalBytes > 0) {
+      transferredBytes += append(JSON.asString(Map.of(COMPACTED_INTO, hash)));
+    } else {
+      // nothing in the journal extends the current snapshot
+      Files.deleteIfExists(journalFile);
+    }
+    Files.move(
+        tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    Files.deleteIfExists(journalFile);
+    snapshotHash = hash;
+    snapshotAttributes = snapshotAttributes();
+    stored = BackendStateMembers.of(state);
+    storedCheckpoint = state.getCheckpoint() == null ? null : JSON.asString(state.getCheckpoint());
+    journalBytes = 0;
+    LOGGER.debug("Compacted the state into " + snapshotFile);
+  }
+
+  private String snapshotAttributes() throws IOException {
+    if (!Files.exists(snapshotFile)) {
+      return "";
     }
+    BasicFileAttributes attributes = Files.readAttributes(snapshotFile, BasicFileAttributes.class);
+    return attributes.size() + "-" + attributes.lastModifiedTime().toMillis();
+  }
+
+  @Override
+  public long transferredBytes() {
+    return transferredBytes;
+  }
+
+  @Override
+  public long storedBytes() {
+    return storedBytes;
   }
 
   @Override
   public void close() {
-    try {
-      writer.close();
-    } catch (IOException e) {
-      LOGGER.error(e);
-    }
+    // the files are only open while reading or writing them
   }
 }
@@ -2,15 +2,22 @@ package com.purbon.kafka.topology.backend;
 
 import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
 
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.*;
 import com.purbon.kafka.topology.Configuration;
-import com.purbon.kafka.topology.utils.JSON;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Stores the state as a gzipped JSON blob. The upload is skipped when the state did not change
+ * since it was loaded or saved, and it is conditional on the generation of the blob, so a change by
+ * another run in the meantime is detected.
+ */
 public class GCPBackend implements Backend {
 
   private static final Logger LOGGER = LogManager.getLogger(GCPBackend.class);
@@ -18,26 +25,63 @@ public class GCPBackend implements Backend {
   private Storage storage;
   private Configuration config;
 
+  // the stored blob as last seen, generation is null if there is none
+  private boolean known;
+  private Long generation;
+  private String hash;
+  private long transferredBytes = -1;
+  private long storedBytes = -1;
+
   @Override
   public void configure(Configuration config) {
-    configure(config, null);
+    configure(config, (URI) null);
   }
 
   public void configure(Configuration config, URI endpoint) {
+    configure(
+        config,
+        StorageOptions.newBuilder().setProjectId(config.getGCPProjectId()).build().getService());
+  }
+
+  void configure(Configuration config, Storage storage) {
     this.config = config;
-    this.storage =
-        StorageOptions.newBuilder().setProjectId(config.getGCPProjectId()).build().getService();
+    this.storage = storage;
   }
 
   @Override
   public void save(BackendState state) throws IOException {
-    BlobId blobId = BlobId.of(config.getGCPBucket(), STATE_FILE_NAME);
-    BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
+    CompressedState content = CompressedState.of(state);
     try {
-      storage.create(
-          blobInfo,
-          state.asJson().getBytes(StandardCharsets.UTF_8),
-          Storage.BlobTargetOption.detectContentType());
+      if (!known) {
+        remember(storage.get(BlobId.of(config.getGCPBucket(), STATE_FILE_NAME)));
+      }
+      if (content.getHash().equals(hash)) {
+        LOGGER.debug("The state did not change, skipping the upload of " + STATE_FILE_NAME);
+        transferredBytes = 0;
+        return;
+      }
+      BlobId blobId = BlobId.of(config.getGCPBucket(), STATE_FILE_NAME, generation);
+      BlobInfo blobInfo =
+          BlobInfo.newBuilder(blobId)
+              .setContentType(CompressedState.CONTENT_TYPE)
+              .setMetadata(Map.of(CompressedState.HASH_METADATA, content.getHash()))
+              .build();
+      Storage.BlobTargetOption precondition =
+          generation == null
+              ? Storage.BlobTargetOption.doesNotExist()
+              : Storage.BlobTargetOption.generationMatch();
+      remember(storage.create(blobInfo, content.getContent(), precondition));
+      transferredBytes = content.getContent().length;
+      storedBytes = transferredBytes;
+    } catch (StorageException ex) {
+      LOGGER.error(ex);
+      if (ex.getCode() == 412) {
+        known = false;
+        throw new IOException(
+            "The state in " + STATE_FILE_NAME + " was changed by another run since it was loaded",
+            ex);
+      }
+      throw new IOException(ex);
     } catch (Exception ex) {
       LOGGER.error(ex);
       throw new IOException(ex);
@@ -48,16 +92,43 @@ public class GCPBackend implements Backend {
   public BackendState load() throws IOException {
     try {
       Blob blob = storage.get(BlobId.of(config.getGCPBucket(), STATE_FILE_NAME));
-      String contentJson = new String(blob.getContent(), StandardCharsets.UTF_8);
-      return (BackendState) JSON.toObject(contentJson, BackendState.class);
+      remember(blob);
+      if (blob == null) {
+        transferredBytes = 0;
+        return new BackendState();
+      }
+      transferredBytes = storedBytes;
+      try (ReadChannel reader = blob.reader();
+          InputStream stream = Channels.newInputStream(reader)) {
+        return CompressedState.read(stream);
+      }
     } catch (Exception ex) {
       LOGGER.error(ex);
       throw new IOException(ex);
     }
   }
 
+  @Override
+  public long transferredBytes() {
+    return transferredBytes;
+  }
+
+  @Override
+  public long storedBytes() {
+    return storedBytes;
+  }
+
   @Override
   public void close() {
     // empty
   }
+
+  private void remember(Blob blob) {
+    this.known = true;
+    this.generation = blob == null ? null : blob.getGeneration();
+    Map<String, String> metadata = blob == null ? null : blob.getMetadata();
+    this.hash = metadata == null ? null : metadata.get(CompressedState.HASH_METADATA);
+    Long size = blob == null ? Long.valueOf(0) : blob.getSize();
+    this.storedBytes = size == null ? -1 : size;
+  }
 }
@@ -0,0 +1,29 @@
+package com.purbon.kafka.topology.backend;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Progress of a partially applied plan file. It is stored in the backend together with the state
+ * reached so far, so a failed run of the same plan can resume after the last committed action.
+ */
+public class PlanCheckpoint {
+
+  private final String plan;
+  private final int committedActions;
+
+  @JsonCreator
+  public PlanCheckpoint(
+      @JsonProperty("plan") String plan, @JsonProperty("committedActions") int committedActions) {
+    this.plan = plan;
+    this.committedActions = committedActions;
+  }
+
+  public String getPlan() {
+    return plan;
+  }
+
+  public int getCommittedActions() {
+    return committedActions;
+  }
+}
@@ -4,24 +4,58 @@ import com.purbon.kafka.topology.BackendController.Mode;
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.utils.JSON;
 import java.io.IOException;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
+/**
+ * Stores the state in Redis, with a set per resource type under the bucket, e.g. "bucket:topics",
+ * holding each resource as JSON. A save only sends the resources added and removed since the state
+ * was loaded, within a single transaction, so the stored state is never partially written.
+ *
+ * <p>Every save increments the version under "bucket:version". A save watches the keys of the
+ * bucket, and when the version is not the one last loaded or saved, the changes are computed
+ * against the stored state read again. If the keys are modified while saving, the transaction is
+ * aborted and the save is attempted again, failing after {@value #MAX_SAVE_ATTEMPTS} attempts.
+ *
+ * <p>A state stored by previous versions as a single JSON document under the bucket key is read and
+ * replaced on the next save.
+ */
 public class RedisBackend implements Backend {
 
   private static final Logger LOGGER = LogManager.getLogger(RedisBackend.class);
 
+  static final String CHECKPOINT = "checkpoint";
+  static final String VERSION = "version";
+
+  private static final int SCAN_COUNT = 1000;
+  private static final int BATCH_SIZE = 1000;
+  static final int MAX_SAVE_ATTEMPTS = 3;
+
   private final String bucket;
-  private final Jedis jedis;
+  private final JedisPool pool;
+
+  // the members of each set as last loaded or saved, null until known
+  private BackendStateMembers stored;
+  // the version of the stored members, null if the bucket was never saved with a version
+  private String version;
+  private long transferredBytes = -1;
+  private long storedBytes = -1;
 
   public RedisBackend(String host, int port, String bucket) {
-    this(new Jedis(host, port), bucket);
+    this(new JedisPool(host, port), bucket);
   }
 
-  public RedisBackend(Jedis jedis, String bucket) {
-    this.jedis = jedis;
+  public RedisBackend(JedisPool pool, String bucket) {
+    this.pool = pool;
     this.bucket = bucket;
   }
 
@@ -36,34 +70,161 @@ public class RedisBackend implements Backend {
 
   @Override
   public void createOrOpen(Mode mode) {
-    jedis.connect();
-    if (mode.equals(Mode.TRUNCATE)) {
-      jedis.del(bucket);
-    }
+    // a save replaces the stored state atomically, there is nothing to remove upfront
   }
 
+  /** Closes the connection pool, the backend can not be used anymore afterwards. */
   @Override
   public void close() {
-    jedis.close();
+    pool.close();
   }
 
   @Override
-  public void save(BackendState state) throws IOException {
+  public synchronized void save(BackendState state) throws IOException {
     LOGGER.debug("Storing state for: " + state);
-    jedis.set(bucket, state.asPrettyJson());
+    BackendStateMembers members = BackendStateMembers.of(state);
+    String checkpoint = state.getCheckpoint() == null ? null : JSON.asString(state.getCheckpoint());
+    try (Jedis jedis = resource()) {
+      for (int attempt = 1; ; attempt++) {
+        if (save(jedis, members, checkpoint)) {
+          return;
+        }
+        if (attempt == MAX_SAVE_ATTEMPTS) {
+          throw new IOException(
+              "The state in "
+                  + bucket
+                  + " was modified concurrently, it could not be saved after "
+                  + attempt
+                  + " attempts");
+        }
+        LOGGER.debug("The state in " + bucket + " was modified while saving, saving again");
+      }
+    }
+  }
+
+  /**
+   * @return false if the transaction was aborted, because the watched keys were modified
+   */
+  private boolean save(Jedis jedis, BackendStateMembers members, String checkpoint) {
+    jedis.watch(watchedKeys());
+    String current = jedis.get(key(VERSION));
+    if (stored == null || !Objects.equals(current, version)) {
+      if (stored != null) {
+        LOGGER.warn("The state in " + bucket + " was modified since it was loaded, it is replaced");
+      }
+      stored = readMembers(jedis);
+    }
+    BackendStateMembers added = members.minus(stored);
+    BackendStateMembers removed = stored.minus(members);
+    Transaction transaction = jedis.multi();
+    transaction.incr(key(VERSION));
+    for (String type : BackendStateMembers.types()) {
+      for (String[] batch : batches(added.get(type))) {
+        transaction.sadd(key(type), batch);
+      }
+      for (String[] batch : batches(removed.get(type))) {
+        transaction.srem(key(type), batch);
+      }
+    }
+    if (checkpoint != null) {
+      transaction.set(key(CHECKPOINT), checkpoint);
+    } else {
+      transaction.del(key(CHECKPOINT));
+    }
+    transaction.del(bucket);
+    List<Object> results = transaction.exec();
+    if (results == null) {
+      stored = null;
+      return false;
+    }
+    stored = members;
+    version = String.valueOf(results.get(0));
+    long checkpointBytes = checkpoint == null ? 0 : BackendStateMembers.utf8Length(checkpoint);
+    transferredBytes = added.bytes() + removed.bytes() + checkpointBytes;
+    storedBytes = members.bytes() + checkpointBytes;
+    LOGGER.debug("Stored " + (added.size() + removed.size()) + " changed resources in " + bucket);
+    return true;
+  }
+
+  @Override
+  public synchronized BackendState load() throws IOException {
+    try (Jedis jedis = resource()) {
+      version = jedis.get(key(VERSION));
+      String legacy = jedis.get(bucket);
+      if (legacy != null) {
+        LOGGER.debug("Loading a state stored as a single document: " + legacy);
+        stored = new BackendStateMembers();
+        transferredBytes = BackendStateMembers.utf8Length(legacy);
+        storedBytes = transferredBytes;
+        return (BackendState) JSON.toObject(legacy, BackendState.class);
+      }
+      stored = readMembers(jedis);
+      BackendState state = stored.toState();
+      String checkpoint = jedis.get(key(CHECKPOINT));
+      if (checkpoint != null) {
+        state.setCheckpoint((PlanCheckpoint) JSON.toObject(checkpoint, PlanCheckpoint.class));
+      }
+      transferredBytes =
+          stored.bytes() + (checkpoint == null ? 0 : BackendStateMembers.utf8Length(checkpoint));
+      storedBytes = transferredBytes;
+      LOGGER.debug("Loading a new state instance: " + state.size() + " resources");
+      return state;
+    }
   }
 
   @Override
-  public BackendState load() throws IOException {
-    connectIfNeed();
-    Optional<String> contentOptional = Optional.ofNullable(jedis.get(bucket));
-    LOGGER.debug("Loading a new state instance: " + contentOptional);
-    return (BackendState) JSON.toObject(contentOptional.orElse("{}"), BackendState.class);
+  public long transferredBytes() {
+    return transferredBytes;
+  }
+
+  @Override
+  public long storedBytes() {
+    return storedBytes;
+  }
+
+  private Jedis resource() throws IOException {
+    if (pool.isClosed()) {
+      throw new IOException("The Redis backend for " + bucket + " is closed");
+    }
+    return pool.getResource();
+  }
+
+  private String[] watchedKeys() {
+    List<String> keys = new ArrayList<>();
+    keys.add(bucket);
+    keys.add(key(VERSION));
+    keys.add(key(CHECKPOINT));
+    for (String type : BackendStateMembers.types()) {
+      keys.add(key(type));
+    }
+    return keys.toArray(new String[0]);
+  }
+
+  private BackendStateMembers readMembers(Jedis jedis) {
+    BackendStateMembers members = new BackendStateMembers();
+    ScanParams params = new ScanParams().count(SCAN_COUNT);
+    for (String type : BackendStateMembers.types()) {
+      String cursor = ScanParams.SCAN_POINTER_START;
+      do {
+        ScanResult<String> result = jedis.sscan(key(type), cursor, params);
+        members.get(type).addAll(result.getResult());
+        cursor = result.getCursor();
+      } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+    return members;
+  }
+
+  String key(String name) {
+    return bucket + ":" + name;
   }
 
-  private void connectIfNeed() {
-    if (!jedis.isConnected()) {
-      createOrOpen();
+  private static List<String[]> batches(Set<String> members) {
+    List<String> values = new ArrayList<>(members);
+    List<String[]> batches = new ArrayList<>();
+    for (int i = 0; i < values.size(); i += BATCH_SIZE) {
+      batches.add(
+          values.subList(i, Math.min(i + BATCH_SIZE, values.size())).toArray(new String[0]));
     }
+    return batches;
   }
 }
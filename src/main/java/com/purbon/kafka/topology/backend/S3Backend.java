@@ -3,20 +3,24 @@ package com.purbon.kafka.topology.backend;
 import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
 
 import com.purbon.kafka.topology.Configuration;
-import com.purbon.kafka.topology.utils.JSON;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
-import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.model.*;
 
+/**
+ * Stores the state as a gzipped JSON object. The upload is skipped when the state did not change
+ * since it was loaded or saved, and it is conditional on the object not being changed by another
+ * run in the meantime.
+ */
 public class S3Backend implements Backend {
 
   private static final Logger LOGGER = LogManager.getLogger(S3Backend.class);
@@ -24,6 +28,13 @@ public class S3Backend implements Backend {
   private S3Client s3;
   private Configuration config;
 
+  // the stored object as last seen, eTag is null if there is none
+  private boolean known;
+  private String eTag;
+  private String hash;
+  private long transferredBytes = -1;
+  private long storedBytes = -1;
+
   @Override
   public void configure(Configuration config) {
     configure(config, false);
@@ -31,7 +42,6 @@ public class S3Backend implements Backend {
 
   // Visible and used for tests
   public void configure(Configuration config, boolean anonymous) {
-    this.config = config;
     S3ClientBuilder builder = S3Client.builder().region(Region.of(config.getS3Region()));
     String endpoint = config.getS3Endpoint();
     if (!endpoint.isBlank()) {
@@ -41,53 +51,122 @@ public class S3Backend implements Backend {
       builder = builder.credentialsProvider(AnonymousCredentialsProvider.create());
     }
 
-    this.s3 = builder.build();
+    configure(config, builder.build());
+  }
+
+  void configure(Configuration config, S3Client s3) {
+    this.config = config;
+    this.s3 = s3;
   }
 
   @Override
   public void save(BackendState state) throws IOException {
-    flushRemoteStateContent(state.asJson(), STATE_FILE_NAME);
+    CompressedState content = CompressedState.of(state);
+    if (!known) {
+      fetchStoredObject();
+    }
+    if (content.getHash().equals(hash)) {
+      LOGGER.debug("The state did not change, skipping the upload of " + STATE_FILE_NAME);
+      transferredBytes = 0;
+      return;
+    }
+    flushRemoteStateContent(content, STATE_FILE_NAME);
   }
 
   @Override
   public BackendState load() {
     try {
-      String content = getRemoteStateContent(STATE_FILE_NAME);
-      return (BackendState) JSON.toObject(content, BackendState.class);
+      return getRemoteStateContent(STATE_FILE_NAME);
     } catch (IOException ex) {
       LOGGER.debug(ex);
       return new BackendState();
     }
   }
 
+  @Override
+  public long transferredBytes() {
+    return transferredBytes;
+  }
+
+  @Override
+  public long storedBytes() {
+    return storedBytes;
+  }
+
   @Override
   public void close() {
     s3.close();
   }
 
-  private String getRemoteStateContent(String key) throws IOException {
+  private BackendState getRemoteStateContent(String key) throws IOException {
     GetObjectRequest request =
         GetObjectRequest.builder().key(key).bucket(config.getS3Bucket()).build();
 
-    try {
-      ResponseBytes<GetObjectResponse> objectBytes = s3.getObjectAsBytes(request);
-      return objectBytes.asString(StandardCharsets.UTF_8);
+    try (ResponseInputStream<GetObjectResponse> stream = s3.getObject(request)) {
+      BackendState state = CompressedState.read(stream);
+      remember(stream.response().eTag(), stream.response().metadata());
+      Long size = stream.response().contentLength();
+      transferredBytes = size == null ? -1 : size;
+      storedBytes = transferredBytes;
+      return state;
+    } catch (NoSuchKeyException ex) {
+      remember(null, Map.of());
+      throw new IOException(ex);
     } catch (S3Exception ex) {
       LOGGER.debug(ex);
       throw new IOException(ex);
     }
   }
 
-  private String flushRemoteStateContent(String content, String key) throws IOException {
+  private void fetchStoredObject() throws IOException {
+    HeadObjectRequest request =
+        HeadObjectRequest.builder().key(STATE_FILE_NAME).bucket(config.getS3Bucket()).build();
+    try {
+      HeadObjectResponse response = s3.headObject(request);
+      remember(response.eTag(), response.metadata());
+      Long size = response.contentLength();
+      storedBytes = size == null ? -1 : size;
+    } catch (NoSuchKeyException ex) {
+      remember(null, Map.of());
+      storedBytes = 0;
+    } catch (S3Exception ex) {
+      LOGGER.error(ex);
+      throw new IOException(ex);
+    }
+  }
+
+  private void flushRemoteStateContent(CompressedState content, String key) throws IOException {
+    // If-Match and If-None-Match are evaluated by S3 for conditional writes
+    String precondition = eTag == null ? "If-None-Match" : "If-Match";
+    String expected = eTag == null ? "*" : eTag;
     PutObjectRequest request =
-        PutObjectRequest.builder().bucket(config.getS3Bucket()).key(key).build();
+        PutObjectRequest.builder()
+            .bucket(config.getS3Bucket())
+            .key(key)
+            .contentType(CompressedState.CONTENT_TYPE)
+            .metadata(Map.of(CompressedState.HASH_METADATA, content.getHash()))
+            .overrideConfiguration(o -> o.putHeader(precondition, expected))
+            .build();
     try {
       PutObjectResponse response =
-          s3.putObject(request, RequestBody.fromString(content, StandardCharsets.UTF_8));
-      return response.eTag();
+          s3.putObject(request, RequestBody.fromBytes(content.getContent()));
+      remember(response.eTag(), Map.of(CompressedState.HASH_METADATA, content.getHash()));
+      transferredBytes = content.getContent().length;
+      storedBytes = transferredBytes;
     } catch (S3Exception ex) {
       LOGGER.error(ex);
+      if (ex.statusCode() == 412) {
+        known = false;
+        throw new IOException(
+            "The state in " + key + " was changed by another run since it was loaded", ex);
+      }
       throw new IOException(ex);
     }
   }
+
+  private void remember(String eTag, Map<String, String> metadata) {
+    this.known = true;
+    this.eTag = eTag;
+    this.hash = metadata.get(CompressedState.HASH_METADATA);
+  }
 }
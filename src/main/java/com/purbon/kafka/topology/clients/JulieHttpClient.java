@@ -5,6 +5,8 @@ import static java.net.http.HttpRequest.BodyPublishers.ofString;
 
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.api.mds.Response;
+import com.purbon.kafka.topology.profiling.HttpRequestEvent;
+import com.purbon.kafka.topology.profiling.Profiler;
 import com.purbon.kafka.topology.utils.BasicAuth;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,9 +25,15 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -38,8 +46,20 @@ public class JulieHttpClient {
 
   private static final Logger LOGGER = LogManager.getLogger(JulieHttpClient.class);
 
-  private final long DEFAULT_TIMEOUT_MS = 60000;
+  private static final Pattern IDENTIFIER_LIKE = Pattern.compile("[0-9:@%]");
 
+  protected static final long DEFAULT_TIMEOUT_MS = 60000;
+
+  /** The longest wait requested by a rate limited response that is honoured before a retry. */
+  static final long MAX_RETRY_AFTER_MS = 60000;
+
+  /**
+   * The SSL contexts built so far, shared by all clients using the same key and trust stores. Keyed
+   * by the store locations only, the stores are always PKCS12 and no passwords are kept around.
+   */
+  private static final Map<List<String>, SSLContext> SSL_CONTEXTS = new HashMap<>();
+
+  private final Optional<Configuration> configOptional;
   private HttpClient httpClient;
   protected final String server;
   private String token;
@@ -54,7 +74,7 @@ public class JulieHttpClient {
   public JulieHttpClient(String server, Optional<Configuration> configOptional) throws IOException {
     this.server = server;
     this.token = "";
-    this.httpClient = configureHttpOrHttpsClient(configOptional);
+    this.configOptional = configOptional;
     configOptional.ifPresentOrElse(
         e -> {
           retryTimes = e.getHttpRetryTimes();
@@ -66,50 +86,86 @@ public class JulieHttpClient {
         });
   }
 
-  private HttpRequest.Builder setupARequest(String url, long timeoutMs) {
+  private HttpRequest.Builder setupARequest(String url, long timeoutMs) throws IOException {
     HttpRequest.Builder builder =
         HttpRequest.newBuilder(URI.create(server + url))
             .timeout(Duration.ofMillis(timeoutMs))
             .header("accept", " application/json")
             .header("Content-Type", "application/json");
-    if (!token.isBlank()) {
-      builder = builder.header("Authorization", token);
+    String authorization = authorization();
+    if (!authorization.isBlank()) {
+      builder = builder.header("Authorization", authorization);
     }
     return builder;
   }
 
+  /**
+   * @return the value of the Authorization header of the requests, blank if there is none
+   */
+  protected String authorization() throws IOException {
+    return token;
+  }
+
+  /**
+   * Called when the server rejected the credentials sent with a request.
+   *
+   * @return if the credentials were renewed, and so the request should be sent once more
+   */
+  protected boolean renewAuthorization(HttpRequest request) {
+    return false;
+  }
+
+  /** The http client is built on the first request, clients never used never load any stores. */
+  private synchronized HttpClient httpClient() throws IOException {
+    if (httpClient == null) {
+      httpClient = configureHttpOrHttpsClient(configOptional);
+    }
+    return httpClient;
+  }
+
   protected HttpClient configureHttpOrHttpsClient(Optional<Configuration> configOptional)
       throws IOException {
     if (configOptional.isEmpty()) {
       return HttpClient.newBuilder().build();
     }
     Configuration config = configOptional.get();
+    return HttpClient.newBuilder().sslContext(sslContext(config)).build();
+  }
 
-    SSLContext sslContext = null;
-
-    try {
-      sslContext = SSLContext.getInstance("TLS");
-
-      if (areKeyStoreConfigured(config)) {
-        var keyManagers = getKeyManagersFromKeyStore(config);
-        var trustManagers = getTrustManagersFromTrustStore(config);
-        sslContext.init(keyManagers, trustManagers, null);
-      } else {
-        LOGGER.debug("Keystore and Trusstore not configured, connection will be using plain HTTP");
-        sslContext = SSLContext.getDefault();
+  private SSLContext sslContext(Configuration config) throws IOException {
+    if (!areKeyStoreConfigured(config)) {
+      LOGGER.debug("Keystore and Trusstore not configured, connection will be using plain HTTP");
+      try {
+        return SSLContext.getDefault();
+      } catch (NoSuchAlgorithmException e) {
+        LOGGER.error(e);
+        throw new IOException(e);
       }
-
-    } catch (KeyManagementException
-        | NoSuchAlgorithmException
-        | CertificateException
-        | KeyStoreException
-        | IOException
-        | UnrecoverableKeyException e) {
-      LOGGER.error(e);
-      throw new IOException(e);
     }
 
-    return HttpClient.newBuilder().sslContext(sslContext).build();
+    List<String> key =
+        List.of(config.getSslKeyStoreLocation().get(), config.getSslTrustStoreLocation().get());
+    synchronized (SSL_CONTEXTS) {
+      SSLContext sslContext = SSL_CONTEXTS.get(key);
+      if (sslContext == null) {
+        try {
+          sslContext = SSLContext.getInstance("TLS");
+          var keyManagers = getKeyManagersFromKeyStore(config);
+          var trustManagers = getTrustManagersFromTrustStore(config);
+          sslContext.init(keyManagers, trustManagers, null);
+        } catch (KeyManagementException
+            | NoSuchAlgorithmException
+            | CertificateException
+            | KeyStoreException
+            | IOException
+            | UnrecoverableKeyException e) {
+          LOGGER.error(e);
+          throw new IOException(e);
+        }
+        SSL_CONTEXTS.put(key, sslContext);
+      }
+      return sslContext;
+    }
   }
 
   protected boolean areKeyStoreConfigured(Configuration config) {
@@ -130,7 +186,10 @@ public class JulieHttpClient {
   }
 
   protected KeyManager[] getKeyManagersFromKeyStore(Configuration config)
-      throws NoSuchAlgorithmException, CertificateException, KeyStoreException, IOException,
+      throws NoSuchAlgorithmException,
+          CertificateException,
+          KeyStoreException,
+          IOException,
           UnrecoverableKeyException {
     KeyManagerFactory kmf = KeyManagerFactory.getInstance("PKIX");
     KeyStore ks = loadKeyStore(config.getSslKeyStoreLocation(), config.getSslKeyStorePassword());
@@ -162,7 +221,7 @@ public class JulieHttpClient {
     return doGet(request);
   }
 
-  private HttpRequest getRequest(String url, long timeoutMs) {
+  private HttpRequest getRequest(String url, long timeoutMs) throws IOException {
     return setupARequest(url, timeoutMs).GET().build();
   }
 
@@ -172,7 +231,7 @@ public class JulieHttpClient {
     return doRequest(request);
   }
 
-  private HttpRequest postRequest(String url, String body, long timeoutMs) {
+  private HttpRequest postRequest(String url, String body, long timeoutMs) throws IOException {
     return setupARequest(url, timeoutMs).POST(ofString(body)).build();
   }
 
@@ -188,11 +247,12 @@ public class JulieHttpClient {
     return doRequest(request);
   }
 
-  private HttpRequest putRequest(String url, long timeoutMs) {
+  private HttpRequest putRequest(String url, long timeoutMs) throws IOException {
     return putRequest(url, noBody(), timeoutMs);
   }
 
-  private HttpRequest putRequest(String url, BodyPublisher bodyPublisher, long timeoutMs) {
+  private HttpRequest putRequest(String url, BodyPublisher bodyPublisher, long timeoutMs)
+      throws IOException {
     return setupARequest(url, timeoutMs).PUT(bodyPublisher).build();
   }
 
@@ -206,7 +266,7 @@ public class JulieHttpClient {
     doRequest(request);
   }
 
-  private HttpRequest deleteRequest(String url, String body, long timeoutMs) {
+  private HttpRequest deleteRequest(String url, String body, long timeoutMs) throws IOException {
     HttpRequest.Builder builder = setupARequest(url, timeoutMs);
     BodyPublisher bodyPublisher = !body.isEmpty() ? ofString(body) : noBody();
     builder = builder.method("DELETE", bodyPublisher);
@@ -253,12 +313,141 @@ public class JulieHttpClient {
 
   private CompletableFuture<HttpResponse<String>> sendAsync(
       HttpRequest request, HttpResponse.BodyHandler<String> handler) {
-    return httpClient
+    HttpClient client;
+    try {
+      client = httpClient();
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    HttpRequestEvent event = new HttpRequestEvent();
+    event.begin();
+    long start = System.nanoTime();
+    return send(client, request, handler)
+        .thenCompose(response -> resendIfUnauthorized(client, request, handler, response))
+        .whenComplete((response, throwable) -> profile(request, response, throwable, start, event));
+  }
+
+  private CompletableFuture<HttpResponse<String>> send(
+      HttpClient client, HttpRequest request, HttpResponse.BodyHandler<String> handler) {
+    return client
         .sendAsync(request, handler)
         .handleAsync((response, throwable) -> tryResend(request, handler, 1, response, throwable))
         .thenCompose(Function.identity());
   }
 
+  /** Send the request once more, with renewed credentials, if the server rejected them. */
+  private CompletableFuture<HttpResponse<String>> resendIfUnauthorized(
+      HttpClient client,
+      HttpRequest request,
+      HttpResponse.BodyHandler<String> handler,
+      HttpResponse<String> response) {
+    if (response.statusCode() != 401 || !renewAuthorization(request)) {
+      return CompletableFuture.completedFuture(response);
+    }
+    LOGGER.debug("Credentials rejected, sending " + request.uri() + " again");
+    try {
+      return send(client, withAuthorization(request, authorization()), handler);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static HttpRequest withAuthorization(HttpRequest request, String authorization) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(request.uri())
+            .method(request.method(), request.bodyPublisher().orElse(noBody()));
+    request.timeout().ifPresent(builder::timeout);
+    request
+        .headers()
+        .map()
+        .forEach(
+            (name, values) -> {
+              if (!name.equalsIgnoreCase("Authorization")) {
+                values.forEach(value -> builder.header(name, value));
+              }
+            });
+    if (!authorization.isBlank()) {
+      builder.header("Authorization", authorization);
+    }
+    return builder.build();
+  }
+
+  private void profile(
+      HttpRequest request,
+      HttpResponse<String> response,
+      Throwable throwable,
+      long start,
+      HttpRequestEvent event) {
+    long elapsed = System.nanoTime() - start;
+    event.end();
+    if (!Profiler.isEnabled() && !event.shouldCommit()) {
+      return;
+    }
+    long bytesSent = request.bodyPublisher().map(BodyPublisher::contentLength).orElse(0L);
+    long bytesReceived = response != null ? bytesReceived(response) : 0;
+    boolean failed =
+        throwable != null || response.statusCode() < 200 || response.statusCode() > 299;
+    Profiler.remoteCall(
+        getClass().getSimpleName(),
+        request.method() + " " + endpoint(request.uri()),
+        Math.max(bytesSent, 0),
+        bytesReceived,
+        failed,
+        elapsed);
+    if (event.shouldCommit()) {
+      event.client = getClass().getSimpleName();
+      event.method = request.method();
+      event.uri = request.uri().toString();
+      event.statusCode = response != null ? response.statusCode() : -1;
+      event.bytesSent = Math.max(bytesSent, 0);
+      event.bytesReceived = bytesReceived;
+      event.failed = failed;
+      event.commit();
+    }
+  }
+
+  /** The Content-Length of the response, or the length of its body encoded as UTF-8. */
+  private static long bytesReceived(HttpResponse<String> response) {
+    return response
+        .headers()
+        .firstValueAsLong("Content-Length")
+        .orElseGet(() -> response.body() != null ? utf8Length(response.body()) : 0);
+  }
+
+  /** The length of the text encoded as UTF-8, counted without encoding it. */
+  static long utf8Length(CharSequence text) {
+    long length = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < text.length()
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length++; // encoded as '?'
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * The path of the request with the segments that look like identifiers (holding digits, ':', '@'
+   * or encoded characters) replaced by '*', to group the calls made to the same endpoint.
+   */
+  static String endpoint(URI uri) {
+    String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+    return Arrays.stream(path.split("/", -1))
+        .map(segment -> IDENTIFIER_LIKE.matcher(segment).find() ? "*" : segment)
+        .collect(Collectors.joining("/"));
+  }
+
   private CompletableFuture<HttpResponse<String>> tryResend(
       HttpRequest request,
       HttpResponse.BodyHandler<String> handler,
@@ -268,6 +457,7 @@ public class JulieHttpClient {
 
     if (shouldRetry(response, throwable, count)) {
       System.out.println("shouldRetry: count=" + count);
+      // only reached after a first request, the client is built already
       return httpClient
           .sendAsync(request, handler)
           .handleAsync((r, t) -> tryResend(request, handler, count + 1, r, t))
@@ -281,19 +471,50 @@ public class JulieHttpClient {
 
   private boolean shouldRetry(HttpResponse<String> response, Throwable throwable, int count) {
     if (response != null && !isRetrievableStatusCode(response) || count >= retryTimes) return false;
-    var backoffTime = backoff(count);
+    var backoffTime = backoff(count, retryAfterMs(response));
     LOGGER.debug("Sleeping before retry on " + backoffTime + " ms");
     return true;
   }
 
+  /**
+   * @return the time to wait as requested by a rate limited response, up to {@link
+   *     #MAX_RETRY_AFTER_MS}, 0 if it does not tell
+   */
+  private static long retryAfterMs(HttpResponse<String> response) {
+    if (response == null) {
+      return 0;
+    }
+    try {
+      long seconds =
+          response
+              .headers()
+              .firstValue("Retry-After")
+              .map(v -> Long.parseLong(v.trim()))
+              .orElse(0L);
+      if (seconds > MAX_RETRY_AFTER_MS / 1000) {
+        LOGGER.warn(
+            "Waiting "
+                + MAX_RETRY_AFTER_MS
+                + " ms instead of the requested Retry-After of "
+                + seconds
+                + " seconds");
+        return MAX_RETRY_AFTER_MS;
+      }
+      return Math.max(0, seconds * 1000);
+    } catch (NumberFormatException e) {
+      // an HTTP date, the regular backoff applies
+      return 0;
+    }
+  }
+
   private <T> boolean isRetrievableStatusCode(HttpResponse<T> response) {
     return response.statusCode() == 429 || response.statusCode() == 503;
   }
 
-  private int backoff(int count) {
-    int backoff = 0;
+  private long backoff(int count, long retryAfterMs) {
+    long backoff = 0;
     try {
-      backoff = this.backoffTimesMs + (10 * count);
+      backoff = Math.max(this.backoffTimesMs + (10 * count), retryAfterMs);
       Thread.sleep(backoff);
     } catch (Exception ex) {
       LOGGER.error(ex);
@@ -0,0 +1,14 @@
+package com.purbon.kafka.topology.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Exception raised by an action that failed after applying part of its changes, for example when
+ * some of the accounts of a batch were created. The state delta of the action covers the changes
+ * that were applied, so they are recorded in the state even though the action failed.
+ */
+public class PartiallyAppliedException extends IOException {
+  public PartiallyAppliedException(IOException cause) {
+    super(cause.getMessage(), cause);
+  }
+}
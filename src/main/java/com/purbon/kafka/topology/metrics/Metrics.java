@@ -0,0 +1,222 @@
+package com.purbon.kafka.topology.metrics;
+
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Counter;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Family;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Gauge;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Summary;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * The reconciliation metrics of the process: what the plans contained and executed, how many
+ * resources are managed, and how long fetching the cluster state and loading/saving the backend
+ * state took. Counters accumulate over all the runs made by the process, as Prometheus expects.
+ * While disabled every hook returns right away.
+ */
+public final class Metrics {
+
+  private static volatile Metrics metrics;
+  private static MetricsServer server;
+
+  private final MetricsRegistry registry = new MetricsRegistry();
+
+  private final Family<Counter> actionsPlanned =
+      registry.counter(
+          "julie_actions_planned_total", "Actions in the execution plans, by type.", "type");
+  private final Family<Counter> actionsExecuted =
+      registry.counter("julie_actions_executed_total", "Actions executed, by type.", "type");
+  private final Family<Counter> actionFailures =
+      registry.counter("julie_action_failures_total", "Actions that failed, by type.", "type");
+  private final Family<Summary> actionDuration =
+      registry.summary("julie_action_duration_seconds", "Time spent running actions.", "type");
+  private final Family<Gauge> managedResources =
+      registry.gauge(
+          "julie_managed_resources",
+          "Resources managed by JulieOps after the last run, by kind.",
+          "kind");
+  private final Family<Summary> stateFetchDuration =
+      registry.summary(
+          "julie_remote_state_fetch_duration_seconds",
+          "Time spent fetching the state of the cluster(s), by resource.",
+          "resource");
+  private final Family<Counter> stateFetchFailures =
+      registry.counter(
+          "julie_remote_state_fetch_failures_total",
+          "Failed fetches of the state of the cluster(s), by resource.",
+          "resource");
+  private final Family<Summary> backendDuration =
+      registry.summary(
+          "julie_backend_duration_seconds",
+          "Time spent loading and saving the state.",
+          "operation",
+          "backend");
+  private final Family<Summary> backendBytes =
+      registry.summary(
+          "julie_backend_bytes",
+          "Bytes read by the state loads and written by the state saves.",
+          "operation",
+          "backend");
+  private final Family<Gauge> backendStoredBytes =
+      registry.gauge(
+          "julie_backend_stored_bytes", "Size of the state as stored by the backend.", "backend");
+  private final Family<Counter> backendFailures =
+      registry.counter(
+          "julie_backend_failures_total", "Failed state loads and saves.", "operation", "backend");
+  private final Family<Counter> runs =
+      registry.counter("julie_runs_total", "Runs, including the failed ones.");
+  private final Family<Counter> runFailures =
+      registry.counter("julie_run_failures_total", "Runs that failed.");
+  private final Family<Gauge> lastRunDuration =
+      registry.gauge("julie_last_run_duration_seconds", "Duration of the last run.");
+  private final Family<Gauge> lastRunTimestamp =
+      registry.gauge(
+          "julie_last_run_timestamp_seconds", "Time the last run completed, since the epoch.");
+  private final Family<Gauge> lastRunSuccess =
+      registry.gauge("julie_last_run_success", "1 if the last run succeeded, 0 otherwise.");
+
+  private Metrics() {}
+
+  /** Start collecting metrics, keeping the ones collected so far if already enabled. */
+  public static synchronized void enable() {
+    if (metrics == null) {
+      metrics = new Metrics();
+    }
+  }
+
+  /** Stop collecting and drop the metrics collected so far. */
+  public static synchronized void disable() {
+    if (server != null) {
+      server.close();
+      server = null;
+    }
+    metrics = null;
+  }
+
+  public static boolean isEnabled() {
+    return metrics != null;
+  }
+
+  public static Optional<MetricsRegistry> registry() {
+    Metrics current = metrics;
+    return current == null ? Optional.empty() : Optional.of(current.registry);
+  }
+
+  /**
+   * Serve the metrics on http://0.0.0.0:port/metrics for as long as the process lives, for the
+   * long-lived deployments. Calling it again is a no-op.
+   */
+  public static synchronized void serve(int port) throws IOException {
+    enable();
+    if (server == null) {
+      server = MetricsServer.start(port, metrics.registry);
+    }
+  }
+
+  /**
+   * Write the metrics into a file, replacing it atomically so the node exporter textfile collector
+   * never reads a partial file.
+   */
+  public static void writeTextFile(Path file) throws IOException {
+    Optional<MetricsRegistry> registry = registry();
+    if (registry.isEmpty()) {
+      return;
+    }
+    Path absolute = file.toAbsolutePath();
+    Path temp =
+        Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        registry.get().write(writer);
+      }
+      Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  public static void actionPlanned(String type) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.actionsPlanned.labels(type).inc();
+    }
+  }
+
+  public static void actionExecuted(String type, long nanos, boolean failed) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.actionsExecuted.labels(type).inc();
+      current.actionDuration.labels(type).observe(seconds(nanos));
+      if (failed) {
+        current.actionFailures.labels(type).inc();
+      }
+    }
+  }
+
+  /**
+   * @param kind the kind of resource, e.g. topics or bindings
+   * @param count the number of resources of this kind managed
+   */
+  public static void managedResources(String kind, int count) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.managedResources.labels(kind).set(count);
+    }
+  }
+
+  public static void stateFetched(String resource, long nanos, boolean failed) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.stateFetchDuration.labels(resource).observe(seconds(nanos));
+      if (failed) {
+        current.stateFetchFailures.labels(resource).inc();
+      }
+    }
+  }
+
+  /**
+   * @param transferredBytes the bytes read or written by the operation, -1 if unknown
+   * @param storedBytes the size of the stored state after the operation, -1 if unknown
+   */
+  public static void backendOperation(
+      String operation,
+      String backend,
+      long transferredBytes,
+      long storedBytes,
+      long nanos,
+      boolean failed) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.backendDuration.labels(operation, backend).observe(seconds(nanos));
+      if (failed) {
+        current.backendFailures.labels(operation, backend).inc();
+      } else if (transferredBytes >= 0) {
+        current.backendBytes.labels(operation, backend).observe(transferredBytes);
+      }
+      if (storedBytes >= 0) {
+        current.backendStoredBytes.labels(backend).set(storedBytes);
+      }
+    }
+  }
+
+  public static void runCompleted(long nanos, boolean failed) {
+    Metrics current = metrics;
+    if (current != null) {
+      current.runs.labels().inc();
+      if (failed) {
+        current.runFailures.labels().inc();
+      }
+      current.lastRunDuration.labels().set(seconds(nanos));
+      current.lastRunTimestamp.labels().set(System.currentTimeMillis() / 1000.0);
+      current.lastRunSuccess.labels().set(failed ? 0 : 1);
+    }
+  }
+
+  private static double seconds(long nanos) {
+    return nanos / 1e9;
+  }
+}
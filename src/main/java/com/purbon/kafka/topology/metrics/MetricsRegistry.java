@@ -0,0 +1,199 @@
+package com.purbon.kafka.topology.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A minimal set of counters, gauges and summaries, written in the Prometheus text exposition format
+ * (version 0.0.4), as understood by the Prometheus scrapers and the node exporter textfile
+ * collector.
+ */
+public class MetricsRegistry {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final Map<String, Family<?>> families = new ConcurrentSkipListMap<>();
+
+  public Family<Counter> counter(String name, String help, String... labelNames) {
+    return register(new Family<>(name, help, "counter", labelNames, Counter::new));
+  }
+
+  public Family<Gauge> gauge(String name, String help, String... labelNames) {
+    return register(new Family<>(name, help, "gauge", labelNames, Gauge::new));
+  }
+
+  public Family<Summary> summary(String name, String help, String... labelNames) {
+    return register(new Family<>(name, help, "summary", labelNames, Summary::new));
+  }
+
+  private <T extends Sample> Family<T> register(Family<T> family) {
+    if (families.putIfAbsent(family.name, family) != null) {
+      throw new IllegalArgumentException("Metric " + family.name + " is already registered");
+    }
+    return family;
+  }
+
+  public void write(Writer writer) throws IOException {
+    for (Family<?> family : families.values()) {
+      family.write(writer);
+    }
+  }
+
+  public String asText() {
+    StringWriter writer = new StringWriter();
+    try {
+      write(writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  /** A metric and all its label combinations. */
+  public static class Family<T extends Sample> {
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String[] labelNames;
+    private final Supplier<T> factory;
+    private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+    private Family(
+        String name, String help, String type, String[] labelNames, Supplier<T> factory) {
+      this.name = name;
+      this.help = help;
+      this.type = type;
+      this.labelNames = labelNames;
+      this.factory = factory;
+    }
+
+    public T labels(String... labelValues) {
+      if (labelValues.length != labelNames.length) {
+        throw new IllegalArgumentException(
+            String.format("Metric %s expects the labels %s", name, Arrays.toString(labelNames)));
+      }
+      return children.computeIfAbsent(Arrays.asList(labelValues), values -> factory.get());
+    }
+
+    private void write(Writer writer) throws IOException {
+      if (children.isEmpty()) {
+        return;
+      }
+      writer.write("# HELP " + name + " " + help.replace("\\", "\\\\").replace("\n", "\\n"));
+      writer.write('\n');
+      writer.write("# TYPE " + name + " " + type + "\n");
+      for (Map.Entry<List<String>, T> child : children.entrySet()) {
+        child.getValue().write(writer, name, labels(child.getKey()));
+      }
+    }
+
+    private String labels(List<String> values) {
+      if (values.isEmpty()) {
+        return "";
+      }
+      StringBuilder builder = new StringBuilder("{");
+      for (int i = 0; i < labelNames.length; i++) {
+        if (i > 0) {
+          builder.append(',');
+        }
+        builder.append(labelNames[i]).append("=\"");
+        String value = values.get(i);
+        builder.append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"));
+        builder.append('"');
+      }
+      return builder.append('}').toString();
+    }
+  }
+
+  public interface Sample {
+    void write(Writer writer, String name, String labels) throws IOException;
+  }
+
+  public static class Counter implements Sample {
+    private final DoubleAdder value = new DoubleAdder();
+
+    public void inc() {
+      inc(1);
+    }
+
+    public void inc(double amount) {
+      value.add(amount);
+    }
+
+    public double get() {
+      return value.sum();
+    }
+
+    @Override
+    public void write(Writer writer, String name, String labels) throws IOException {
+      writer.write(name + labels + " " + format(get()) + "\n");
+    }
+  }
+
+  public static class Gauge implements Sample {
+    private final AtomicLong bits = new AtomicLong(Double.doubleToLongBits(0));
+
+    public void set(double value) {
+      bits.set(Double.doubleToLongBits(value));
+    }
+
+    public double get() {
+      return Double.longBitsToDouble(bits.get());
+    }
+
+    @Override
+    public void write(Writer writer, String name, String labels) throws IOException {
+      writer.write(name + labels + " " + format(get()) + "\n");
+    }
+  }
+
+  /** The count and the sum of the observed values, e.g. to compute average latencies. */
+  public static class Summary implements Sample {
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    public void observe(double value) {
+      count.increment();
+      sum.add(value);
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public double getSum() {
+      return sum.sum();
+    }
+
+    @Override
+    public void write(Writer writer, String name, String labels) throws IOException {
+      writer.write(name + "_count" + labels + " " + getCount() + "\n");
+      writer.write(name + "_sum" + labels + " " + format(getSum()) + "\n");
+    }
+  }
+
+  private static String format(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+}
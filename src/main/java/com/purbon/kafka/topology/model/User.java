@@ -1,5 +1,7 @@
 package com.purbon.kafka.topology.model;
 
+import static com.purbon.kafka.topology.utils.Interner.intern;
+
 import java.util.Map;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,6 +16,10 @@ public class User {
   private Map<String, String> metadata;
 
   public User(String principal) {
-    this.principal = principal;
+    this.principal = intern(principal);
+  }
+
+  public void setPrincipal(String principal) {
+    this.principal = intern(principal);
   }
 }
@@ -53,6 +53,6 @@ public class ServiceAccount {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getId(), getName(), getDescription(), getResourceId());
+    return Objects.hash(getName());
   }
 }
@@ -0,0 +1,23 @@
+package com.purbon.kafka.topology.model.cluster;
+
+import org.apache.kafka.clients.admin.Config;
+
+/** The partition count and the configuration of an existing topic. */
+public class TopicDetails {
+
+  private final int partitionCount;
+  private final Config config;
+
+  public TopicDetails(int partitionCount, Config config) {
+    this.partitionCount = partitionCount;
+    this.config = config;
+  }
+
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  public Config getConfig() {
+    return config;
+  }
+}
@@ -41,6 +41,8 @@ public class Subject {
   public Subject(String schemaFile, String recordType, SubjectKind kind) {
     this.schemaFile = Optional.ofNullable(schemaFile);
     this.recordType = Optional.ofNullable(recordType);
+    this.optionalCompatibility = Optional.empty();
+    this.optionalFormat = Optional.empty();
     this.kind = kind;
   }
 
@@ -64,6 +66,22 @@ public class Subject {
     return optionalCompatibility;
   }
 
+  public Optional<String> getOptionalSchemaFile() {
+    return schemaFile;
+  }
+
+  public Optional<String> getOptionalRecordType() {
+    return recordType;
+  }
+
+  public Optional<String> getOptionalFormat() {
+    return optionalFormat;
+  }
+
+  public SubjectKind getKind() {
+    return kind;
+  }
+
   public String buildSubjectName(Topic topic) throws IOException {
     switch (topic.getSubjectNameStrategy()) {
       case TOPIC_NAME_STRATEGY:
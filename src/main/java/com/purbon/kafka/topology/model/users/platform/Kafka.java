@@ -1,6 +1,7 @@
 package com.purbon.kafka.topology.model.users.platform;
 
 import com.purbon.kafka.topology.model.User;
+import com.purbon.kafka.topology.model.users.Quota;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -9,10 +10,12 @@ public class Kafka {
 
   private Optional<List<User>> instances;
   private Optional<Map<String, List<User>>> rbac;
+  private Optional<List<Quota>> quotas;
 
   public Kafka() {
     instances = Optional.empty();
     rbac = Optional.empty();
+    quotas = Optional.empty();
   }
 
   public Optional<List<User>> getInstances() {
@@ -30,4 +33,12 @@ public class Kafka {
   public void setRbac(Optional<Map<String, List<User>>> rbac) {
     this.rbac = rbac;
   }
+
+  public Optional<List<Quota>> getQuotas() {
+    return quotas;
+  }
+
+  public void setQuotas(Optional<List<Quota>> quotas) {
+    this.quotas = quotas;
+  }
 }
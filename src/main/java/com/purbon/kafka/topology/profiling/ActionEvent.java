@@ -0,0 +1,25 @@
+package com.purbon.kafka.topology.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("julie.Action")
+@Label("Plan Action")
+@Category({"JulieOps", "Plan"})
+@Description("The execution of an action of the plan")
+@StackTrace(false)
+public class ActionEvent extends jdk.jfr.Event {
+
+  @Label("Type")
+  public String type;
+
+  @Label("Resources")
+  @Description("The action details, including the names of the resources changed")
+  public String resources;
+
+  @Label("Failed")
+  public boolean failed;
+}
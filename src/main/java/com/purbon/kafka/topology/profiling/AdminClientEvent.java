@@ -0,0 +1,24 @@
+package com.purbon.kafka.topology.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("julie.AdminClient")
+@Label("AdminClient Call")
+@Category({"JulieOps", "Remote"})
+@Description("The wait for the result of a Kafka AdminClient operation")
+@StackTrace(false)
+public class AdminClientEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Resources")
+  public String resources;
+
+  @Label("Failed")
+  public boolean failed;
+}
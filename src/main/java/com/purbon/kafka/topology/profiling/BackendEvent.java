@@ -0,0 +1,28 @@
+package com.purbon.kafka.topology.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("julie.Backend")
+@Label("Backend Operation")
+@Category({"JulieOps", "Backend"})
+@Description("Loading or saving the state from, or into, the configured backend")
+@StackTrace(false)
+public class BackendEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Backend")
+  public String backend;
+
+  @Label("Resources")
+  @Description("The number of resources in the state")
+  public int resources;
+
+  @Label("Failed")
+  public boolean failed;
+}
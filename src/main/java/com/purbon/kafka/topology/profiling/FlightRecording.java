@@ -0,0 +1,51 @@
+package com.purbon.kafka.topology.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import jdk.jfr.Recording;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A Java Flight Recorder recording of a run, started with the --jfr option. Besides the JDK events
+ * of the default settings, it contains the JulieOps events for plan actions, remote calls and
+ * backend operations. The recording is written into the destination file when closed.
+ */
+public class FlightRecording implements AutoCloseable {
+
+  private static final Logger LOGGER = LogManager.getLogger(FlightRecording.class);
+
+  private final Recording recording;
+  private final Path destination;
+
+  private FlightRecording(Recording recording, Path destination) {
+    this.recording = recording;
+    this.destination = destination;
+  }
+
+  public static FlightRecording start(Path destination) throws IOException {
+    jdk.jfr.Configuration settings;
+    try {
+      settings = jdk.jfr.Configuration.getConfiguration("default");
+    } catch (ParseException e) {
+      throw new IOException(e);
+    }
+    Recording recording = new Recording(settings);
+    recording.setName("julie-ops");
+    recording.setToDisk(true);
+    recording.start();
+    LOGGER.debug(String.format("Flight recording started, writing it into %s", destination));
+    return new FlightRecording(recording, destination);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      recording.stop();
+      recording.dump(destination);
+    } finally {
+      recording.close();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.purbon.kafka.topology.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("julie.HttpRequest")
+@Label("HTTP Request")
+@Category({"JulieOps", "Remote"})
+@Description("A request sent through the JulieOps http clients, retries included")
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+  @Label("Client")
+  public String client;
+
+  @Label("Method")
+  public String method;
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Status Code")
+  public int statusCode;
+
+  @Label("Bytes Sent")
+  @DataAmount
+  public long bytesSent;
+
+  @Label("Bytes Received")
+  @DataAmount
+  public long bytesReceived;
+
+  @Label("Failed")
+  public boolean failed;
+}
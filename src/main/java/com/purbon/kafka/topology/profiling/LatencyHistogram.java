@@ -0,0 +1,75 @@
+package com.purbon.kafka.topology.profiling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed bucket latency histogram, small enough to keep one per remote endpoint. Percentiles are
+ * reported as the upper bound of the bucket they fall into.
+ */
+public class LatencyHistogram {
+
+  static final long[] BUCKETS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+  private final long[] counts = new long[BUCKETS_MS.length + 1];
+  private long count;
+  private long totalNanos;
+  private long maxNanos;
+
+  public synchronized void record(long nanos) {
+    long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    int bucket = 0;
+    while (bucket < BUCKETS_MS.length && millis >= BUCKETS_MS[bucket]) {
+      bucket++;
+    }
+    counts[bucket]++;
+    count++;
+    totalNanos += nanos;
+    maxNanos = Math.max(maxNanos, nanos);
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized double getTotalMs() {
+    return totalNanos / 1_000_000d;
+  }
+
+  public synchronized double getMaxMs() {
+    return maxNanos / 1_000_000d;
+  }
+
+  /**
+   * @param percentile a value between 0 and 100
+   * @return the upper bound, in ms, of the bucket holding the percentile, or the max latency for
+   *     the last bucket
+   */
+  public synchronized double percentileMs(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(count * percentile / 100d);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS_MS.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(BUCKETS_MS[bucket], getMaxMs());
+      }
+    }
+    return getMaxMs();
+  }
+
+  /**
+   * @return the count per bucket, keyed by the bucket upper bound.
+   */
+  public synchronized Map<String, Long> buckets() {
+    Map<String, Long> buckets = new LinkedHashMap<>();
+    for (int bucket = 0; bucket < BUCKETS_MS.length; bucket++) {
+      buckets.put("<" + BUCKETS_MS[bucket] + "ms", counts[bucket]);
+    }
+    buckets.put(">=" + BUCKETS_MS[BUCKETS_MS.length - 1] + "ms", counts[BUCKETS_MS.length]);
+    return buckets;
+  }
+}
@@ -0,0 +1,200 @@
+package com.purbon.kafka.topology.profiling;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/** The timings collected by the {@link Profiler} during one run. */
+public class Profile {
+
+  private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+  private final Map<String, RemoteCallStats> remoteCalls = new ConcurrentHashMap<>();
+
+  synchronized void recordPhase(String phase, long nanos) {
+    phases.computeIfAbsent(phase, PhaseStats::new).record(nanos);
+  }
+
+  void recordRemoteCall(
+      String client,
+      String endpoint,
+      long bytesSent,
+      long bytesReceived,
+      boolean failed,
+      long nanos) {
+    remoteCalls
+        .computeIfAbsent(client + " " + endpoint, key -> new RemoteCallStats(client, endpoint))
+        .record(bytesSent, bytesReceived, failed, nanos);
+  }
+
+  public synchronized List<PhaseStats> getPhases() {
+    return new ArrayList<>(phases.values());
+  }
+
+  /**
+   * @return the remote call statistics, the most expensive endpoints first.
+   */
+  public List<RemoteCallStats> getRemoteCalls() {
+    return remoteCalls.values().stream()
+        .sorted(Comparator.comparingDouble(RemoteCallStats::getTotalMs).reversed())
+        .collect(Collectors.toList());
+  }
+
+  public void print(PrintStream out) {
+    out.println("Profile:");
+    out.println(String.format("  %-50s %8s %12s", "Phase", "count", "total(ms)"));
+    for (PhaseStats phase : getPhases()) {
+      out.println(
+          String.format(
+              "  %-50s %8d %12.1f", phase.getName(), phase.getCount(), phase.getTotalMs()));
+    }
+    out.println(
+        String.format(
+            "  %-50s %8s %7s %12s %12s %12s %8s %8s %8s %10s",
+            "Remote call",
+            "count",
+            "errors",
+            "sent(B)",
+            "received(B)",
+            "total(ms)",
+            "p50(ms)",
+            "p95(ms)",
+            "p99(ms)",
+            "max(ms)"));
+    for (RemoteCallStats call : getRemoteCalls()) {
+      LatencyHistogram latency = call.getLatency();
+      out.println(
+          String.format(
+              "  %-50s %8d %7d %12d %12d %12.1f %8.1f %8.1f %8.1f %10.1f",
+              call.getClient() + " " + call.getEndpoint(),
+              latency.getCount(),
+              call.getErrors(),
+              call.getBytesSent(),
+              call.getBytesReceived(),
+              latency.getTotalMs(),
+              latency.percentileMs(50),
+              latency.percentileMs(95),
+              latency.percentileMs(99),
+              latency.getMaxMs()));
+    }
+  }
+
+  /**
+   * @return the profile as a map, ready to be written as JSON.
+   */
+  public Map<String, Object> asMap() {
+    List<Map<String, Object>> phaseList = new ArrayList<>();
+    for (PhaseStats phase : getPhases()) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("name", phase.getName());
+      entry.put("count", phase.getCount());
+      entry.put("totalMs", phase.getTotalMs());
+      phaseList.add(entry);
+    }
+    List<Map<String, Object>> callList = new ArrayList<>();
+    for (RemoteCallStats call : getRemoteCalls()) {
+      LatencyHistogram latency = call.getLatency();
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("client", call.getClient());
+      entry.put("endpoint", call.getEndpoint());
+      entry.put("count", latency.getCount());
+      entry.put("errors", call.getErrors());
+      entry.put("bytesSent", call.getBytesSent());
+      entry.put("bytesReceived", call.getBytesReceived());
+      entry.put("totalMs", latency.getTotalMs());
+      entry.put("p50Ms", latency.percentileMs(50));
+      entry.put("p95Ms", latency.percentileMs(95));
+      entry.put("p99Ms", latency.percentileMs(99));
+      entry.put("maxMs", latency.getMaxMs());
+      entry.put("histogram", latency.buckets());
+      callList.add(entry);
+    }
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("phases", phaseList);
+    map.put("remoteCalls", callList);
+    return map;
+  }
+
+  public static class PhaseStats {
+    private final String name;
+    private long count;
+    private long totalNanos;
+
+    PhaseStats(String name) {
+      this.name = name;
+    }
+
+    private void record(long nanos) {
+      count++;
+      totalNanos += nanos;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getTotalMs() {
+      return totalNanos / 1_000_000d;
+    }
+  }
+
+  public static class RemoteCallStats {
+    private final String client;
+    private final String endpoint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long errors;
+    private long bytesSent;
+    private long bytesReceived;
+
+    RemoteCallStats(String client, String endpoint) {
+      this.client = client;
+      this.endpoint = endpoint;
+    }
+
+    private synchronized void record(
+        long bytesSent, long bytesReceived, boolean failed, long nanos) {
+      this.bytesSent += bytesSent;
+      this.bytesReceived += bytesReceived;
+      if (failed) {
+        errors++;
+      }
+      latency.record(nanos);
+    }
+
+    public String getClient() {
+      return client;
+    }
+
+    public String getEndpoint() {
+      return endpoint;
+    }
+
+    public LatencyHistogram getLatency() {
+      return latency;
+    }
+
+    public synchronized long getErrors() {
+      return errors;
+    }
+
+    public synchronized long getBytesSent() {
+      return bytesSent;
+    }
+
+    public synchronized long getBytesReceived() {
+      return bytesReceived;
+    }
+
+    double getTotalMs() {
+      return latency.getTotalMs();
+    }
+  }
+}
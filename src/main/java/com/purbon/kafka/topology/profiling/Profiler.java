@@ -0,0 +1,86 @@
+package com.purbon.kafka.topology.profiling;
+
+import java.util.Optional;
+
+/**
+ * Collects the time spent in each phase of a run and in every remote call, when enabled with the
+ * --profile option. While disabled every method only delegates, so the instrumented code paths do
+ * not pay for it.
+ */
+public final class Profiler {
+
+  private static volatile Profile profile;
+
+  private Profiler() {}
+
+  /** Start collecting a new profile. */
+  public static void start() {
+    profile = new Profile();
+  }
+
+  /** Stop collecting and return the profile collected so far, if it was started. */
+  public static Optional<Profile> stop() {
+    Profile current = profile;
+    profile = null;
+    return Optional.ofNullable(current);
+  }
+
+  public static boolean isEnabled() {
+    return profile != null;
+  }
+
+  public static <T, E extends Exception> T phase(String name, PhaseCall<T, E> call) throws E {
+    Profile current = profile;
+    if (current == null) {
+      return call.call();
+    }
+    long start = System.nanoTime();
+    try {
+      return call.call();
+    } finally {
+      current.recordPhase(name, System.nanoTime() - start);
+    }
+  }
+
+  public static <E extends Exception> void phase(String name, PhaseRunnable<E> runnable) throws E {
+    Profiler.<Void, E>phase(
+        name,
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  /**
+   * Record a call made to a remote service.
+   *
+   * @param client the client used, e.g. the AdminClient or an http api client
+   * @param endpoint the operation or endpoint called
+   * @param bytesSent the request payload size, zero if unknown
+   * @param bytesReceived the response payload size, zero if unknown
+   * @param failed if the call failed
+   * @param nanos the time spent waiting for the response
+   */
+  public static void remoteCall(
+      String client,
+      String endpoint,
+      long bytesSent,
+      long bytesReceived,
+      boolean failed,
+      long nanos) {
+    Profile current = profile;
+    if (current != null) {
+      current.recordRemoteCall(client, endpoint, bytesSent, bytesReceived, failed, nanos);
+    }
+  }
+
+  @FunctionalInterface
+  public interface PhaseCall<T, E extends Exception> {
+    T call() throws E;
+  }
+
+  @FunctionalInterface
+  public interface PhaseRunnable<E extends Exception> {
+    void run() throws E;
+  }
+}
@@ -10,6 +10,7 @@ public class QuotasClientBindingsBuilder {
   private static final String CONSUMER_BYTE_RATE = "consumer_byte_rate";
   private static final String PRODUCER_BYTE_RATE = "producer_byte_rate";
   private static final String REQUEST_RATE = "request_percentage";
+  private static final String USER_PREFIX = "User:";
 
   Quota quota = null;
 
@@ -21,11 +22,31 @@ public class QuotasClientBindingsBuilder {
     Map<String, String> entries = new HashMap<>();
     entries.put(ClientQuotaEntity.USER, null);
     if (!quota.getPrincipal().isEmpty()) {
-      entries.put(ClientQuotaEntity.USER, quota.getPrincipal());
+      // quotas are assigned to the user name, not to the principal
+      String principal = quota.getPrincipal();
+      entries.put(
+          ClientQuotaEntity.USER,
+          principal.startsWith(USER_PREFIX)
+              ? principal.substring(USER_PREFIX.length())
+              : principal);
     }
     return new ClientQuotaEntity(entries);
   }
 
+  /** The entity the quotas apply to. */
+  ClientQuotaEntity entity() {
+    return buildClient();
+  }
+
+  /** The declared quotas, the ones not declared are not part of the map. */
+  Map<String, Double> quotas() {
+    Map<String, Double> quotas = new HashMap<>();
+    quota.getConsumer_byte_rate().ifPresent(value -> quotas.put(CONSUMER_BYTE_RATE, value));
+    quota.getProducer_byte_rate().ifPresent(value -> quotas.put(PRODUCER_BYTE_RATE, value));
+    quota.getRequest_percentage().ifPresent(value -> quotas.put(REQUEST_RATE, value));
+    return quotas;
+  }
+
   private ClientQuotaAlteration.Op addConsumer() {
     return new ClientQuotaAlteration.Op(
         CONSUMER_BYTE_RATE, quota.getConsumer_byte_rate().orElse(null));
@@ -1,41 +1,150 @@
 package com.purbon.kafka.topology.quotas;
 
+import com.purbon.kafka.topology.ClusterSnapshot;
 import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.ExecutionPlanUpdater;
+import com.purbon.kafka.topology.actions.quotas.AlterClientQuotas;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.model.Topology;
 import com.purbon.kafka.topology.model.User;
 import com.purbon.kafka.topology.model.users.Quota;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.common.quota.ClientQuotaAlteration;
 import org.apache.kafka.common.quota.ClientQuotaEntity;
-import org.apache.kafka.common.quota.ClientQuotaFilter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class QuotasManager {
+/**
+ * Reconciles the user quotas declared in the platform section of the topologies. The quotas of the
+ * cluster are fetched with a single request, compared in memory, and only the entities whose quotas
+ * changed are altered.
+ */
+public class QuotasManager implements ExecutionPlanUpdater {
 
   private static final Logger LOGGER = LogManager.getLogger(QuotasManager.class);
 
-  private final AdminClient adminClient;
-  // private final TopologyBuilderAdminClient adminClient;
+  private static final Comparator<ClientQuotaEntity> BY_USER =
+      Comparator.comparing(
+          entity -> entity.entries().get(ClientQuotaEntity.USER),
+          Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final TopologyBuilderAdminClient adminClient;
   private final Configuration config;
+  private final List<String> managedPrefixes;
+  private boolean managingQuotas;
 
   public QuotasManager(AdminClient adminClient, Configuration config) {
+    this(new TopologyBuilderAdminClient(adminClient), config);
+  }
+
+  public QuotasManager(TopologyBuilderAdminClient adminClient, Configuration config) {
     this.adminClient = adminClient;
     this.config = config;
+    this.managedPrefixes = config.getServiceAccountManagedPrefixes();
+  }
+
+  @Override
+  public void updatePlan(ExecutionPlan plan, Map<String, Topology> topologies) throws IOException {
+    Map<ClientQuotaEntity, Map<String, Double>> desired = desiredQuotas(topologies);
+    managingQuotas = !desired.isEmpty() || config.isAllowDeleteQuotas();
+    if (!managingQuotas) {
+      return;
+    }
+
+    Map<ClientQuotaEntity, Map<String, Double>> current =
+        plan.getClusterSnapshot().quotas().getAll(adminClient::describeUserQuotas);
+
+    List<ClientQuotaAlteration> alterations = new ArrayList<>();
+    desired.forEach(
+        (entity, quotas) ->
+            diff(entity, quotas, current.getOrDefault(entity, Collections.emptyMap()))
+                .ifPresent(alterations::add));
+    if (config.isAllowDeleteQuotas()) {
+      current.keySet().stream()
+          .filter(entity -> !desired.containsKey(entity) && isManaged(entity))
+          .sorted(BY_USER)
+          .forEach(
+              entity ->
+                  diff(entity, Collections.emptyMap(), current.get(entity))
+                      .ifPresent(alterations::add));
+    }
+
+    if (!alterations.isEmpty()) {
+      plan.add(new AlterClientQuotas(adminClient, alterations));
+    }
+  }
+
+  @Override
+  public void loadClusterState(ClusterSnapshot snapshot) throws IOException {
+    snapshot.quotas().getAll(adminClient::describeUserQuotas);
   }
 
-  public void assignQuotasPrincipal(Collection<Quota> quotas) {
+  private Map<ClientQuotaEntity, Map<String, Double>> desiredQuotas(
+      Map<String, Topology> topologies) {
+    Map<ClientQuotaEntity, Map<String, Double>> desired = new TreeMap<>(BY_USER);
+    for (Topology topology : topologies.values()) {
+      List<Quota> quotas = topology.getPlatform().getKafka().getQuotas().orElse(List.of());
+      for (Quota quota : quotas) {
+        QuotasClientBindingsBuilder builder = new QuotasClientBindingsBuilder(quota);
+        Map<String, Double> previous = desired.put(builder.entity(), builder.quotas());
+        if (previous != null && !previous.equals(builder.quotas())) {
+          LOGGER.warn(
+              String.format(
+                  "Quotas for %s are declared more than once, using %s",
+                  quota.getPrincipal(), builder.quotas()));
+        }
+      }
+    }
+    return desired;
+  }
+
+  /**
+   * @return the alteration turning the current quotas into the desired ones, if any.
+   */
+  private static Optional<ClientQuotaAlteration> diff(
+      ClientQuotaEntity entity, Map<String, Double> desired, Map<String, Double> current) {
+    List<ClientQuotaAlteration.Op> ops = new ArrayList<>();
+    desired.forEach(
+        (key, value) -> {
+          if (!value.equals(current.get(key))) {
+            ops.add(new ClientQuotaAlteration.Op(key, value));
+          }
+        });
+    current.keySet().stream()
+        .filter(key -> !desired.containsKey(key))
+        .sorted()
+        .forEach(key -> ops.add(new ClientQuotaAlteration.Op(key, null)));
+    return ops.isEmpty() ? Optional.empty() : Optional.of(new ClientQuotaAlteration(entity, ops));
+  }
+
+  private boolean isManaged(ClientQuotaEntity entity) {
+    String user = entity.entries().get(ClientQuotaEntity.USER);
+    if (user == null) {
+      // the default quota of the cluster is only changed when a topology declares it
+      return false;
+    }
+    if (managedPrefixes.isEmpty()) {
+      return true;
+    }
+    return managedPrefixes.stream()
+        .anyMatch(prefix -> user.startsWith(prefix) || ("User:" + user).startsWith(prefix));
+  }
+
+  public void assignQuotasPrincipal(Collection<Quota> quotas) throws IOException {
     List<ClientQuotaAlteration> lstQuotasAlteration =
         quotas.stream()
             .map(f -> new QuotasClientBindingsBuilder(f).build())
             .collect(Collectors.toList());
 
-    this.adminClient.alterClientQuotas(lstQuotasAlteration).all();
+    adminClient.alterClientQuotas(lstQuotasAlteration);
   }
 
-  public void removeQuotasPrincipal(Collection<User> users) {
+  public void removeQuotasPrincipal(Collection<User> users) throws IOException {
     List<ClientQuotaAlteration> lstQuotasRemove =
         users.stream()
             .map(
@@ -48,11 +157,34 @@ public class QuotasManager {
                                 Optional.empty()))
                         .build())
             .collect(Collectors.toList());
-    this.adminClient.alterClientQuotas(lstQuotasRemove);
+    adminClient.alterClientQuotas(lstQuotasRemove);
+  }
+
+  @Override
+  public void printCurrentState(PrintStream out) throws IOException {
+    if (!managingQuotas) {
+      return;
+    }
+    print(adminClient.describeUserQuotas(), out);
+  }
+
+  @Override
+  public void printCurrentState(ClusterSnapshot snapshot, PrintStream out) throws IOException {
+    if (!managingQuotas) {
+      return;
+    }
+    print(snapshot.quotas().getAll(adminClient::describeUserQuotas), out);
   }
 
-  private void describeClientQuotas() throws ExecutionException, InterruptedException {
-    Map<ClientQuotaEntity, Map<String, Double>> quotasresult =
-        this.adminClient.describeClientQuotas(ClientQuotaFilter.all()).entities().get();
+  private static void print(Map<ClientQuotaEntity, Map<String, Double>> current, PrintStream out) {
+    out.println("List of Quotas: ");
+    current.keySet().stream()
+        .sorted(BY_USER)
+        .forEach(
+            entity ->
+                out.println(
+                    entity.entries().get(ClientQuotaEntity.USER)
+                        + " "
+                        + new TreeMap<>(current.get(entity))));
   }
 }
@@ -0,0 +1,160 @@
+package com.purbon.kafka.topology.roles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourceType;
+
+/**
+ * Replace groups of LITERAL topic bindings with a single PREFIXED one.
+ *
+ * <p>A group of bindings sharing principal, operation and host is collapsed into a binding for one
+ * of the candidate prefixes only if it covers every known topic starting with that prefix, and if
+ * the prefix is within the managed prefixes. Within the known topics the compacted bindings grant
+ * exactly the same access as the original ones.
+ */
+public class AclCompactor {
+
+  /** Replacing a single literal binding does not save anything and widens the access. */
+  private static final int MIN_GROUP_SIZE = 2;
+
+  private final Set<String> prefixes;
+  private final Map<String, Integer> topicsPerPrefix;
+  private final Set<String> topics;
+  private final ResourceFilter resourceFilter;
+  private final Map<String, List<String>> prefixesPerName = new HashMap<>();
+
+  /**
+   * @param prefixes the prefixes a group of bindings can be collapsed into, e.g. the project
+   *     prefixes
+   * @param topics all the topics known to exist, or to be created
+   * @param resourceFilter the managed prefixes
+   */
+  public AclCompactor(
+      Collection<String> prefixes, Collection<String> topics, ResourceFilter resourceFilter) {
+    this.prefixes = new HashSet<>(prefixes);
+    this.topics = new HashSet<>(topics);
+    this.resourceFilter = resourceFilter;
+    this.topicsPerPrefix = new HashMap<>();
+    for (String topic : this.topics) {
+      for (String prefix : prefixesOf(topic)) {
+        topicsPerPrefix.merge(prefix, 1, Integer::sum);
+      }
+    }
+  }
+
+  public Set<TopologyAclBinding> compact(Set<TopologyAclBinding> bindings) {
+    Set<TopologyAclBinding> compacted = new HashSet<>();
+    Map<GroupKey, List<TopologyAclBinding>> groups = new HashMap<>();
+    for (TopologyAclBinding binding : bindings) {
+      if (isCandidate(binding)) {
+        groups.computeIfAbsent(new GroupKey(binding), k -> new ArrayList<>()).add(binding);
+      } else {
+        compacted.add(binding);
+      }
+    }
+    groups.values().forEach(group -> compactGroup(group, compacted));
+    return compacted;
+  }
+
+  private void compactGroup(List<TopologyAclBinding> group, Set<TopologyAclBinding> compacted) {
+    Map<String, Integer> coveredPerPrefix = new HashMap<>();
+    Map<String, Integer> literalsPerPrefix = new HashMap<>();
+    for (TopologyAclBinding binding : group) {
+      String name = binding.getResourceName();
+      for (String prefix : prefixesOf(name)) {
+        literalsPerPrefix.merge(prefix, 1, Integer::sum);
+        if (topics.contains(name)) {
+          coveredPerPrefix.merge(prefix, 1, Integer::sum);
+        }
+      }
+    }
+
+    for (TopologyAclBinding binding : group) {
+      String prefix =
+          prefixesOf(binding.getResourceName()).stream()
+              .filter(p -> literalsPerPrefix.get(p) >= MIN_GROUP_SIZE)
+              .filter(p -> coveredPerPrefix.getOrDefault(p, 0).equals(topicsPerPrefix.get(p)))
+              .map(p -> prefixed(binding, p))
+              .filter(resourceFilter::matchesManagedPrefixList)
+              .map(TopologyAclBinding::getResourceName)
+              .findFirst()
+              .orElse(null);
+      compacted.add(prefix == null ? binding : prefixed(binding, prefix));
+    }
+  }
+
+  /** The candidate prefixes of a resource name, shortest first. */
+  private List<String> prefixesOf(String name) {
+    return prefixesPerName.computeIfAbsent(
+        name,
+        n -> {
+          List<String> matches = new ArrayList<>();
+          for (int i = 1; i < n.length(); i++) {
+            String prefix = n.substring(0, i);
+            if (prefixes.contains(prefix)) {
+              matches.add(prefix);
+            }
+          }
+          return matches;
+        });
+  }
+
+  private static boolean isCandidate(TopologyAclBinding binding) {
+    // RBAC bindings carry the resource within their request scope, only plain ACLs are rewritten
+    return binding.getScope() == null
+        && ResourceType.TOPIC.name().equalsIgnoreCase(binding.getResourceType())
+        && PatternType.LITERAL.name().equalsIgnoreCase(binding.getPattern())
+        && !binding.getResourceName().equals("*");
+  }
+
+  private static TopologyAclBinding prefixed(TopologyAclBinding binding, String prefix) {
+    return new TopologyAclBinding(
+        binding.getResourceType(),
+        prefix,
+        binding.getHost(),
+        binding.getOperation(),
+        binding.getPrincipal(),
+        PatternType.PREFIXED.name());
+  }
+
+  private static class GroupKey {
+    private final String resourceType;
+    private final String host;
+    private final String operation;
+    private final String principal;
+
+    GroupKey(TopologyAclBinding binding) {
+      this.resourceType = binding.getResourceType();
+      this.host = binding.getHost();
+      this.operation = binding.getOperation();
+      this.principal = binding.getPrincipal();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof GroupKey)) {
+        return false;
+      }
+      GroupKey key = (GroupKey) o;
+      return resourceType.equals(key.resourceType)
+          && host.equals(key.host)
+          && operation.equals(key.operation)
+          && principal.equals(key.principal);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(resourceType, host, operation, principal);
+    }
+  }
+}
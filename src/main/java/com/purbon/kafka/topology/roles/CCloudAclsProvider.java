@@ -4,6 +4,9 @@ import com.purbon.kafka.topology.AccessControlProvider;
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import com.purbon.kafka.topology.api.ccloud.CCloudApi;
+import com.purbon.kafka.topology.api.ccloud.requests.KafkaAclFilter;
+import com.purbon.kafka.topology.model.users.ConfluentCloudPrincipal;
+import com.purbon.kafka.topology.model.users.ConfluentCloudPrincipal.PrincipalType;
 import com.purbon.kafka.topology.utils.CCloudUtils;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -11,7 +14,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,28 +32,62 @@ public class CCloudAclsProvider extends SimpleAclsProvider implements AccessCont
 
   public CCloudAclsProvider(
       final TopologyBuilderAdminClient adminClient, final Configuration config) throws IOException {
+    this(
+        adminClient,
+        config,
+        new CCloudApi(config.getConfluentCloudClusterUrl(), config),
+        new CCloudUtils(config));
+  }
+
+  CCloudAclsProvider(
+      final TopologyBuilderAdminClient adminClient,
+      final Configuration config,
+      final CCloudApi cli,
+      final CCloudUtils cCloudUtils) {
     super(adminClient);
-    this.cli = new CCloudApi(config.getConfluentCloudClusterUrl(), config);
+    this.cli = cli;
     this.clusterId = config.getConfluentCloudClusterId();
     this.config = config;
-    this.cCloudUtils = new CCloudUtils(config);
+    this.cCloudUtils = cCloudUtils;
   }
 
   @Override
   public void createBindings(Set<TopologyAclBinding> bindings) throws IOException {
-    var serviceAccountIdByNameMap = cCloudUtils.initializeLookupTable(this.cli);
-    for (TopologyAclBinding binding : bindings) {
-      cli.createAcl(
-          clusterId, cCloudUtils.translateIfNecessary(binding, serviceAccountIdByNameMap));
-    }
+    apply(bindings, cli::createAcl);
   }
 
   @Override
   public void clearBindings(Set<TopologyAclBinding> bindings) throws IOException {
-    var serviceAccountIdByNameMap = cCloudUtils.initializeLookupTable(this.cli);
+    apply(bindings, cli::deleteAcls);
+  }
+
+  @FunctionalInterface
+  private interface AclCall {
+    void apply(String clusterId, TopologyAclBinding binding) throws IOException;
+  }
+
+  /**
+   * Make the call for each binding, with its principal translated. A call that fails with an id
+   * from the cached directory is made once more if the service account got another id since, e.g.
+   * as it was deleted and created again.
+   */
+  private void apply(Set<TopologyAclBinding> bindings, AclCall call) throws IOException {
+    var serviceAccountIdByNameMap = cCloudUtils.lookupTable(this.cli, bindings);
     for (TopologyAclBinding binding : bindings) {
-      cli.deleteAcls(
-          clusterId, cCloudUtils.translateIfNecessary(binding, serviceAccountIdByNameMap));
+      try {
+        call.apply(clusterId, cCloudUtils.translateIfNecessary(binding, serviceAccountIdByNameMap));
+      } catch (IOException e) {
+        var renewed = cCloudUtils.renewedLookupTable(cli, binding);
+        String principal = binding.getPrincipal();
+        if (renewed.isEmpty()
+            || Objects.equals(
+                renewed.get().get(principal), serviceAccountIdByNameMap.get(principal))) {
+          throw e;
+        }
+        LOGGER.debug("Stale id of " + principal + ", calling again with the id fetched again");
+        serviceAccountIdByNameMap = renewed.get();
+        call.apply(clusterId, cCloudUtils.translateIfNecessary(binding, serviceAccountIdByNameMap));
+      }
     }
   }
 
@@ -55,7 +95,9 @@ public class CCloudAclsProvider extends SimpleAclsProvider implements AccessCont
   public Map<String, List<TopologyAclBinding>> listAcls() {
     try {
       Map<String, List<TopologyAclBinding>> bindings = new HashMap<>();
-      for (TopologyAclBinding binding : cli.listAcls(clusterId)) {
+      var acls =
+          cli.listAcls(clusterId, aclFilters(), config.getConfluentCloudAclsListConcurrency());
+      for (TopologyAclBinding binding : acls) {
         String resourceName = binding.getResourceName();
         if (!bindings.containsKey(resourceName)) {
           bindings.put(resourceName, new ArrayList<>());
@@ -68,4 +110,28 @@ public class CCloudAclsProvider extends SimpleAclsProvider implements AccessCont
       return Collections.emptyMap();
     }
   }
+
+  /**
+   * The server matches the filters exactly, so only the managed service account prefixes narrow the
+   * listing, resolved into the principals of the matching service accounts. This requires the
+   * service accounts fetched during this run, the ones cached on disk may miss recently created
+   * accounts whose ACLs would never be listed. Otherwise all the ACLs are listed at once, and the
+   * managed prefixes are applied to the listed ACLs.
+   */
+  private List<KafkaAclFilter> aclFilters() throws IOException {
+    List<String> prefixes = config.getServiceAccountManagedPrefixes();
+    Optional<Map<String, Long>> serviceAccountIdByNameMap =
+        prefixes.isEmpty() ? Optional.empty() : cCloudUtils.fetchedLookupTable(cli);
+    if (serviceAccountIdByNameMap.isEmpty()) {
+      return List.of(KafkaAclFilter.ALL);
+    }
+    return serviceAccountIdByNameMap.get().entrySet().stream()
+        .filter(e -> prefixes.stream().anyMatch(e.getKey()::startsWith))
+        .map(
+            e ->
+                new ConfluentCloudPrincipal(PrincipalType.User, e.getKey())
+                    .toMappedPrincipalString(e.getValue()))
+        .map(KafkaAclFilter::forPrincipal)
+        .collect(Collectors.toList());
+  }
 }
@@ -38,7 +38,7 @@ public class HybridCCloudAclsProvider extends SimpleAclsProvider implements Acce
 
   @Override
   public void createBindings(Set<TopologyAclBinding> bindings) throws IOException {
-    var serviceAccountIdByNameMap = cCloudUtils.initializeLookupTable(this.cli);
+    var serviceAccountIdByNameMap = cCloudUtils.lookupTable(this.cli, bindings);
     var mayBeTranslated =
         bindings.stream()
             .map(
@@ -76,7 +76,7 @@ public class HybridCCloudAclsProvider extends SimpleAclsProvider implements Acce
 
   @Override
   public void clearBindings(Set<TopologyAclBinding> bindings) throws IOException {
-    var serviceAccountIdByNameMap = cCloudUtils.initializeLookupTable(this.cli);
+    var serviceAccountIdByNameMap = cCloudUtils.lookupTable(this.cli, bindings);
     for (TopologyAclBinding binding : bindings) {
       adminClient.clearAcls(cCloudUtils.translateIfNecessary(binding, serviceAccountIdByNameMap));
     }
@@ -1,7 +1,9 @@
 package com.purbon.kafka.topology.roles;
 
 import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ContextScope;
 import java.util.List;
+import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,17 +15,22 @@ public class ResourceFilter {
   private final List<String> managedTopicPrefixes;
   private final List<String> managedGroupPrefixes;
   private final List<String> managedSubjectPrefixes;
+  private final ContextScope contextScope;
 
   public ResourceFilter(Configuration config) {
     this.managedServiceAccountPrefixes = config.getServiceAccountManagedPrefixes();
     this.managedTopicPrefixes = config.getTopicManagedPrefixes();
     this.managedGroupPrefixes = config.getGroupManagedPrefixes();
     this.managedSubjectPrefixes = config.getSubjectManagedPrefixes();
+    this.contextScope = Optional.ofNullable(config.getContextScope()).orElse(ContextScope.ALL);
   }
 
   public boolean matchesManagedPrefixList(TopologyAclBinding topologyAclBinding) {
     String resourceName = topologyAclBinding.getResourceName();
     String principle = topologyAclBinding.getPrincipal();
+    if (!matchesContextScope(topologyAclBinding, resourceName)) {
+      return false;
+    }
     // For global wild cards ACL's we manage only if we manage the service account/principle,
     // regardless. Filtering by service account will always take precedence if defined
     if (hasServiceAccountPrefixFilters() || resourceName.equals("*")) {
@@ -56,6 +63,17 @@ public class ResourceFilter {
     }
   }
 
+  private boolean matchesContextScope(TopologyAclBinding topologyAclBinding, String resourceName) {
+    String resourceType = topologyAclBinding.getResourceType();
+    if (!resourceName.equals("*")
+        && ("TOPIC".equalsIgnoreCase(resourceType)
+            || "SUBJECT".equalsIgnoreCase(resourceType)
+            || "GROUP".equalsIgnoreCase(resourceType))) {
+      return contextScope.contains(resourceName);
+    }
+    return contextScope.containsUnnamedResources();
+  }
+
   private boolean matchesTopicPrefixList(String topic) {
     return matchesPrefix(managedTopicPrefixes, topic, "Topic");
   }
@@ -1,5 +1,7 @@
 package com.purbon.kafka.topology.roles;
 
+import static com.purbon.kafka.topology.utils.Interner.intern;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.purbon.kafka.topology.api.ccloud.response.KafkaAclResponse;
 import com.purbon.kafka.topology.api.mds.RequestScope;
@@ -10,9 +12,15 @@ import org.apache.kafka.common.acl.AclBinding;
 import org.apache.kafka.common.resource.ResourcePattern;
 import org.apache.kafka.common.resource.ResourceType;
 
+/**
+ * A binding as managed by JulieOps, either an ACL or an RBAC role binding. The fields are shared
+ * through the {@link com.purbon.kafka.topology.utils.Interner}, as large deployments hold many
+ * bindings repeating the same principals, resources and operations.
+ */
 public class TopologyAclBinding implements Comparable<TopologyAclBinding> {
 
-  @JsonIgnore private Optional<AclBinding> aclBindingOptional;
+  // the Kafka binding this one was read from, if any, null otherwise
+  @JsonIgnore private AclBinding aclBinding;
 
   private String resourceType;
   private String resourceName;
@@ -38,13 +46,12 @@ public class TopologyAclBinding implements Comparable<TopologyAclBinding> {
       String operation,
       String principal,
       String pattern) {
-    this.resourceType = resourceType;
-    this.resourceName = resourceName;
-    this.host = host;
-    this.operation = operation;
-    this.principal = principal;
-    this.pattern = pattern;
-    this.aclBindingOptional = Optional.empty();
+    this.resourceType = intern(resourceType);
+    this.resourceName = intern(resourceName);
+    this.host = intern(host);
+    this.operation = intern(operation);
+    this.principal = intern(principal);
+    this.pattern = intern(pattern);
   }
 
   /**
@@ -77,31 +84,30 @@ public class TopologyAclBinding implements Comparable<TopologyAclBinding> {
 
   public TopologyAclBinding(AclBinding binding) {
 
-    this.aclBindingOptional = Optional.of(binding);
+    this.aclBinding = binding;
 
     AccessControlEntry entry = binding.entry();
     ResourcePattern pattern = binding.pattern();
 
     this.resourceType = pattern.resourceType().name();
-    this.resourceName = pattern.name();
-    this.principal = entry.principal();
+    this.resourceName = intern(pattern.name());
+    this.principal = intern(entry.principal());
     this.operation = entry.operation().name();
     this.pattern = pattern.patternType().name();
-    this.host = entry.host();
+    this.host = intern(entry.host());
   }
 
   public TopologyAclBinding(KafkaAclResponse kafkaAclResponse) {
-    this.resourceName = kafkaAclResponse.getResource_name();
-    this.resourceType = kafkaAclResponse.getResource_type();
-    this.host = kafkaAclResponse.getHost();
-    this.operation = kafkaAclResponse.getOperation();
-    this.principal = kafkaAclResponse.getPrincipal();
-    this.pattern = kafkaAclResponse.getPattern_type();
-    this.operation = kafkaAclResponse.getOperation();
+    this.resourceName = intern(kafkaAclResponse.getResource_name());
+    this.resourceType = intern(kafkaAclResponse.getResource_type());
+    this.host = intern(kafkaAclResponse.getHost());
+    this.operation = intern(kafkaAclResponse.getOperation());
+    this.principal = intern(kafkaAclResponse.getPrincipal());
+    this.pattern = intern(kafkaAclResponse.getPattern_type());
   }
 
   public Optional<AclBinding> asAclBinding() {
-    return aclBindingOptional;
+    return Optional.ofNullable(aclBinding);
   }
 
   public String getResourceType() {
@@ -124,24 +130,28 @@ public class TopologyAclBinding implements Comparable<TopologyAclBinding> {
     return host;
   }
 
+  public void setResourceName(String resourceName) {
+    this.resourceName = intern(resourceName);
+  }
+
   public void setResourceType(String resourceType) {
-    this.resourceType = resourceType;
+    this.resourceType = intern(resourceType);
   }
 
   public void setHost(String host) {
-    this.host = host;
+    this.host = intern(host);
   }
 
   public void setOperation(String operation) {
-    this.operation = operation;
+    this.operation = intern(operation);
   }
 
   public void setPrincipal(String principal) {
-    this.principal = principal;
+    this.principal = intern(principal);
   }
 
   public void setPattern(String pattern) {
-    this.pattern = pattern;
+    this.pattern = intern(pattern);
   }
 
   @Override
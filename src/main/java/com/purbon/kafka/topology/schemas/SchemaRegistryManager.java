@@ -1,5 +1,6 @@
 package com.purbon.kafka.topology.schemas;
 
+import com.purbon.kafka.topology.utils.Lazy;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import java.io.File;
@@ -9,6 +10,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,12 +28,21 @@ public class SchemaRegistryManager {
     }
   }
 
-  private final SchemaRegistryClient schemaRegistryClient;
+  private final Supplier<SchemaRegistryClient> schemaRegistryClient;
   private final String rootPath;
 
   public SchemaRegistryManager(
       SchemaRegistryClient schemaRegistryClient, String topologyFileOrDir) {
-    this.schemaRegistryClient = schemaRegistryClient;
+    this(() -> schemaRegistryClient, topologyFileOrDir);
+  }
+
+  /**
+   * @param schemaRegistryClient creates the client on first use, runs without schemas never build
+   *     it.
+   */
+  public SchemaRegistryManager(
+      Supplier<SchemaRegistryClient> schemaRegistryClient, String topologyFileOrDir) {
+    this.schemaRegistryClient = Lazy.of(schemaRegistryClient);
     this.rootPath =
         Files.isDirectory(Paths.get(topologyFileOrDir))
             ? topologyFileOrDir
@@ -60,7 +71,7 @@ public class SchemaRegistryManager {
 
   public String setCompatibility(String subject, String compatibility) {
     try {
-      return schemaRegistryClient.updateCompatibility(subject, compatibility);
+      return schemaRegistryClient.get().updateCompatibility(subject, compatibility);
     } catch (Exception e) {
       final String msg =
           String.format(
@@ -80,7 +91,7 @@ public class SchemaRegistryManager {
 
   protected int save(String subjectName, String schemaType, String schemaString) {
     final Optional<ParsedSchema> maybeSchema =
-        schemaRegistryClient.parseSchema(schemaType, schemaString, Collections.emptyList());
+        schemaRegistryClient.get().parseSchema(schemaType, schemaString, Collections.emptyList());
 
     final ParsedSchema parsedSchema =
         maybeSchema.orElseThrow(
@@ -93,7 +104,7 @@ public class SchemaRegistryManager {
             });
 
     try {
-      return schemaRegistryClient.register(subjectName, parsedSchema);
+      return schemaRegistryClient.get().register(subjectName, parsedSchema);
     } catch (Exception e) {
       final String msg =
           String.format(
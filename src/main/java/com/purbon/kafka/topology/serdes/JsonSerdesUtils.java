@@ -1,30 +1,101 @@
 package com.purbon.kafka.topology.serdes;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class JsonSerdesUtils<T> {
+/**
+ * Helpers to read the descriptors token by token, binding the values directly from the parser
+ * instead of materialising intermediate trees. All the readers expect the parser to be positioned
+ * on the first token of the value and leave it on its last token.
+ */
+public class JsonSerdesUtils {
 
-  public List<T> parseApplicationUser(JsonParser parser, JsonNode userNode, Class<T> clazz)
-      throws JsonProcessingException {
-    List<T> usersList = new ArrayList<>();
-    for (int i = 0; i < userNode.size(); i++) {
-      JsonNode node = userNode.get(i);
-      T user = parser.getCodec().treeToValue(node, clazz);
-      usersList.add(user);
+  private JsonSerdesUtils() {}
+
+  /**
+   * @return the elements of a list, empty if the value is null or not a list
+   */
+  public static <T> List<T> readList(
+      JsonParser parser, DeserializationContext context, Class<T> clazz) throws IOException {
+    List<T> list = new ArrayList<>();
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return list;
+    }
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      list.add(
+          parser.currentToken() == JsonToken.VALUE_NULL ? null : context.readValue(parser, clazz));
+    }
+    return list;
+  }
+
+  /**
+   * @return the text of a scalar value, as {@link com.fasterxml.jackson.databind.JsonNode#asText()}
+   *     would return it, empty for lists and objects
+   */
+  public static String readText(JsonParser parser) throws IOException {
+    switch (parser.currentToken()) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return String.valueOf(parser.getNumberValue());
+      case VALUE_TRUE:
+        return "true";
+      case VALUE_FALSE:
+        return "false";
+      case VALUE_NULL:
+        return "null";
+      default:
+        parser.skipChildren();
+        return "";
+    }
+  }
+
+  /**
+   * @return the fields of an object with their values as text, empty if the value is not an object
+   */
+  public static Map<String, String> readTextMap(JsonParser parser) throws IOException {
+    Map<String, String> map = new HashMap<>();
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return map;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String key = parser.getCurrentName();
+      parser.nextToken();
+      map.put(key, readText(parser));
+    }
+    return map;
+  }
+
+  /**
+   * @return the name of the first field of an object, null if the object is empty
+   */
+  public static String firstFieldName(
+      JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = parser.nextToken();
+    }
+    if (token == JsonToken.END_OBJECT) {
+      return null;
+    }
+    if (token != JsonToken.FIELD_NAME) {
+      return context.reportInputMismatch(type, "Expected an object, found %s", token);
     }
-    return usersList;
+    return parser.getCurrentName();
   }
 
-  public static void validateRequiresKeys(JsonNode rootNode, String... keys) throws IOException {
-    for (String key : keys) {
-      if (rootNode.get(key) == null) {
-        throw new IOException(key + " is a required field in the topology, please specify.");
-      }
+  public static void validateRequiresKey(Object value, String key) throws IOException {
+    if (value == null) {
+      throw new IOException(key + " is a required field in the topology, please specify.");
     }
   }
 }
@@ -1,21 +1,24 @@
 package com.purbon.kafka.topology.serdes;
 
 import static com.purbon.kafka.topology.model.SubjectNameStrategy.TOPIC_NAME_STRATEGY;
-import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.validateRequiresKeys;
-import static java.util.Collections.singletonList;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.firstFieldName;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.readList;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.readText;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.readTextMap;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.validateRequiresKey;
+import static com.purbon.kafka.topology.utils.Interner.intern;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.exceptions.TopologyParsingException;
 import com.purbon.kafka.topology.exceptions.ValidationException;
 import com.purbon.kafka.topology.model.PlanMap;
 import com.purbon.kafka.topology.model.SubjectNameStrategy;
 import com.purbon.kafka.topology.model.Topic;
-import com.purbon.kafka.topology.model.User;
 import com.purbon.kafka.topology.model.schema.TopicSchemas;
 import com.purbon.kafka.topology.model.users.Consumer;
 import com.purbon.kafka.topology.model.users.Producer;
@@ -24,13 +27,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -63,55 +64,86 @@ public class TopicCustomDeserializer extends StdDeserializer<Topic> {
 
   @Override
   public Topic deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-    JsonNode rootNode = parser.getCodec().readTree(parser);
-    validateRequiresKeys(rootNode, "name");
-
-    String name = rootNode.get("name").asText();
-    List<Consumer> consumers = getUsers(parser, rootNode, "consumers", Consumer.class);
-    List<Producer> producers = getUsers(parser, rootNode, "producers", Producer.class);
-
-    Optional<JsonNode> optionalDataTypeNode = Optional.ofNullable(rootNode.get("dataType"));
-    Optional<String> optionalDataType = optionalDataTypeNode.map(JsonNode::asText);
-
-    Map<String, String> config = getMap(rootNode.get("config"));
+    String name = null;
+    List<Consumer> consumers = new ArrayList<>();
+    List<Producer> producers = new ArrayList<>();
+    Optional<String> optionalDataType = Optional.empty();
+    Map<String, String> config = new HashMap<>();
+    Optional<String> optionalPlanLabel = Optional.empty();
+    Optional<SubjectNameStrategy> subjectNameStrategy = Optional.empty();
+    List<JsonNode> schemaNodes = null;
+    Map<String, String> metadata = new HashMap<>();
+
+    for (String field = firstFieldName(parser, context, Topic.class);
+        field != null;
+        field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case "name":
+          name = readText(parser);
+          break;
+        case "consumers":
+          consumers = readList(parser, context, Consumer.class);
+          consumers.replaceAll(TopicCustomDeserializer::share);
+          break;
+        case "producers":
+          producers = readList(parser, context, Producer.class);
+          producers.replaceAll(TopicCustomDeserializer::share);
+          break;
+        case "dataType":
+          optionalDataType = Optional.of(readText(parser));
+          break;
+        case "config":
+          config = readTextMap(parser);
+          break;
+        case "plan":
+          optionalPlanLabel = Optional.of(readText(parser));
+          break;
+        case "subject.name.strategy":
+          subjectNameStrategy =
+              Optional.ofNullable(SubjectNameStrategy.valueOfLabel(readText(parser)));
+          break;
+        case "schemas":
+          // the schemas are small, they are kept as trees to build the subjects from
+          schemaNodes = new ArrayList<>();
+          if (parser.currentToken() == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+              schemaNodes.add(context.readTree(parser));
+            }
+          } else {
+            schemaNodes.add(context.readTree(parser));
+          }
+          break;
+        case "metadata":
+          metadata = readTextMap(parser);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    validateRequiresKey(name, "name");
 
-    Optional<JsonNode> optionalPlanLabel = Optional.ofNullable(rootNode.get("plan"));
     if (optionalPlanLabel.isPresent() && plans.size() == 0) {
       throw new IOException("A plan definition is required if the topology uses them");
     }
-    optionalPlanLabel.ifPresent(
-        jsonNode -> {
-          String planLabel = jsonNode.asText();
-          if (plans.containsKey(planLabel)) {
-            Map<String, String> planConfigObject = plans.get(planLabel).getConfig();
-            planConfigObject.forEach(config::putIfAbsent);
-          } else {
-            throw new TopologyParsingException(
-                "Topic \"" + name + "\" references non-existing plan \"" + planLabel + "\"");
-          }
-        });
+    if (optionalPlanLabel.isPresent()) {
+      String planLabel = optionalPlanLabel.get();
+      if (plans.containsKey(planLabel)) {
+        Map<String, String> planConfigObject = plans.get(planLabel).getConfig();
+        planConfigObject.forEach(config::putIfAbsent);
+      } else {
+        throw new TopologyParsingException(
+            "Topic \"" + name + "\" references non-existing plan \"" + planLabel + "\"");
+      }
+    }
     Topic topic = new Topic(name, producers, consumers, optionalDataType, config, this.config);
-
-    Optional<SubjectNameStrategy> subjectNameStrategy =
-        Optional.ofNullable(rootNode.get("subject.name.strategy"))
-            .map(JsonNode::asText)
-            .map(SubjectNameStrategy::valueOfLabel);
     topic.setSubjectNameStrategy(subjectNameStrategy);
 
     List<TopicSchemas> schemas = new ArrayList<>();
 
-    if (rootNode.get("schemas") != null) {
-      JsonNode schemasNode = rootNode.get("schemas");
-      Iterator<JsonNode> it =
-          schemasNode instanceof ArrayNode
-              ? schemasNode.elements()
-              : singletonList(schemasNode).iterator();
-      Iterable<JsonNode> iterable = () -> it;
-
+    if (schemaNodes != null) {
       List<Either<ValidationException, TopicSchemas>> listOfResultsOrErrors =
-          StreamSupport.stream(iterable.spliterator(), true)
-              .map(validateAndBuildSchemas(topic))
-              .collect(Collectors.toList());
+          schemaNodes.stream().map(validateAndBuildSchemas(topic)).collect(Collectors.toList());
 
       List<ValidationException> errors =
           listOfResultsOrErrors.stream()
@@ -138,8 +170,6 @@ public class TopicCustomDeserializer extends StdDeserializer<Topic> {
     }
 
     topic.setSchemas(schemas);
-
-    Map<String, String> metadata = getMap(rootNode.get("metadata"));
     topic.setMetadata(metadata);
 
     LOGGER.debug(
@@ -147,20 +177,29 @@ public class TopicCustomDeserializer extends StdDeserializer<Topic> {
     return topic;
   }
 
-  private Map<String, String> getMap(JsonNode jsonNode) {
-    Optional<JsonNode> optionalNode = Optional.ofNullable(jsonNode);
-    return optionalNode
-        .map(
-            node -> {
-              Map<String, String> map = new HashMap<>();
-              Iterator<Map.Entry<String, JsonNode>> it = node.fields();
-              while (it.hasNext()) {
-                Map.Entry<String, JsonNode> entry = it.next();
-                map.put(entry.getKey(), entry.getValue().asText());
-              }
-              return map;
-            })
-        .orElse(new HashMap<>());
+  /** The same users are declared on many topics, the equal ones are shared by all of them. */
+  private static Consumer share(Consumer consumer) {
+    if (consumer == null) {
+      return null;
+    }
+    return intern(
+        Arrays.asList(
+            Consumer.class, consumer.getPrincipal(), consumer.getGroup(), consumer.getMetadata()),
+        consumer);
+  }
+
+  private static Producer share(Producer producer) {
+    if (producer == null) {
+      return null;
+    }
+    return intern(
+        Arrays.asList(
+            Producer.class,
+            producer.getPrincipal(),
+            producer.getTransactionId(),
+            producer.getIdempotence(),
+            producer.getMetadata()),
+        producer);
   }
 
   private Function<JsonNode, Either<ValidationException, TopicSchemas>> validateAndBuildSchemas(
@@ -208,13 +247,4 @@ public class TopicCustomDeserializer extends StdDeserializer<Topic> {
               "Missing required value.schema.file on schemas for topic %s", topic.getName()));
     }
   }
-
-  private <T extends User> List<T> getUsers(
-      JsonParser parser, JsonNode rootNode, String fieldName, Class<T> tClass)
-      throws com.fasterxml.jackson.core.JsonProcessingException {
-    JsonNode jsonNode = rootNode.get(fieldName);
-    return jsonNode == null
-        ? new ArrayList<>()
-        : new JsonSerdesUtils<T>().parseApplicationUser(parser, jsonNode, tClass);
-  }
 }
@@ -1,16 +1,15 @@
 package com.purbon.kafka.topology.serdes;
 
-import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.validateRequiresKeys;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toList;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.firstFieldName;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.readList;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.readText;
+import static com.purbon.kafka.topology.serdes.JsonSerdesUtils.validateRequiresKey;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.google.common.collect.Maps;
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.exceptions.TopologyParsingException;
 import com.purbon.kafka.topology.model.*;
@@ -29,14 +28,11 @@ import com.purbon.kafka.topology.model.users.platform.Kafka;
 import com.purbon.kafka.topology.model.users.platform.KafkaConnect;
 import com.purbon.kafka.topology.model.users.platform.KsqlServer;
 import com.purbon.kafka.topology.model.users.platform.SchemaRegistry;
-import com.purbon.kafka.topology.utils.Pair;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -99,50 +95,55 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
   public Topology deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
 
-    JsonNode rootNode = parser.getCodec().readTree(parser);
-    validateRequiresKeys(rootNode, CONTEXT_KEY);
-    if (rootNode.get(PROJECTS_KEY) == null) {
+    Topology topology = new TopologyImpl(config);
+    String contextName = null;
+    Platform platform = new Platform();
+    List<ProjectFields> projects = null;
+    List<Topic> specialTopics = new ArrayList<>();
+
+    for (String field = firstFieldName(parser, context, Topology.class);
+        field != null;
+        field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case CONTEXT_KEY:
+          contextName = readText(parser);
+          break;
+        case PLATFORM_KEY:
+          platform = parsePlatform(parser, context);
+          break;
+        case PROJECTS_KEY:
+          projects = parseProjects(parser, context);
+          break;
+        case SPECIAL_TOPICS_NODE:
+          specialTopics = readTopics(parser, context);
+          break;
+        default:
+          topology.addOther(field, readText(parser));
+      }
+    }
+
+    validateRequiresKey(contextName, CONTEXT_KEY);
+    if (projects == null) {
       LOGGER.warn(
           PROJECTS_KEY
               + " is missing for topology: "
-              + rootNode.get(CONTEXT_KEY).asText()
+              + contextName
               + ", this might be a required field, be aware.");
     }
+    topology.setContext(contextName);
+    topology.setPlatform(platform);
 
-    Topology topology = new TopologyImpl(config);
-    List<String> excludeAttributes =
-        Arrays.asList(PROJECTS_KEY, CONTEXT_KEY, PLATFORM_KEY, SPECIAL_TOPICS_NODE);
-
-    Iterator<String> fieldNames = rootNode.fieldNames();
-    while (fieldNames.hasNext()) {
-      String fieldName = fieldNames.next();
-      if (!excludeAttributes.contains(fieldName)) {
-        topology.addOther(fieldName, rootNode.get(fieldName).asText());
+    // the projects are named after all the fields of the topology, so they are only built once
+    // the whole topology is read
+    if (projects != null) {
+      for (ProjectFields fields : projects) {
+        Project project = buildProject(fields, topology, config);
+        LOGGER.debug(
+            String.format(
+                "Adding project %s to the Topology %s", project.getName(), topology.getContext()));
+        topology.addProject(project);
       }
-    }
-    topology.setContext(rootNode.get(CONTEXT_KEY).asText());
-
-    JsonNode platformNode = rootNode.get(PLATFORM_KEY);
-    Platform platform = new Platform();
-    if (platformNode != null && platformNode.size() > 0) {
-      parse(platformNode, KAFKA_KEY, parser, Kafka.class)
-          .ifPresent(obj -> platform.setKafka((Kafka) obj));
-      parse(platformNode, KAFKA_CONNECT_KEY, parser, KafkaConnect.class)
-          .ifPresent(obj -> platform.setKafkaConnect((KafkaConnect) obj));
-      parse(platformNode, SCHEMA_REGISTRY_KEY, parser, SchemaRegistry.class)
-          .ifPresent(obj -> platform.setSchemaRegistry((SchemaRegistry) obj));
-      parse(platformNode, CONTROL_CENTER_KEY, parser, ControlCenter.class)
-          .ifPresent(obj -> platform.setControlCenter((ControlCenter) obj));
-      parse(platformNode, KSQL_KEY, parser, KsqlServer.class)
-          .ifPresent(obj -> platform.setKsqlServer((KsqlServer) obj));
-    } else {
-      LOGGER.debug("No platform components defined in the topology.");
-    }
-
-    topology.setPlatform(platform);
-    if (rootNode.get(PROJECTS_KEY) != null) {
-      parseProjects(parser, rootNode.get(PROJECTS_KEY), topology, config)
-          .forEach(topology::addProject);
 
       // validate the generated full topics names for valid encoding
       for (Project project : topology.getProjects()) {
@@ -152,11 +153,8 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
       }
     }
 
-    JsonNode specialTopicsNode = rootNode.get(SPECIAL_TOPICS_NODE);
-    if (specialTopicsNode != null && specialTopicsNode.size() > 0) {
-      for (int i = 0; i < specialTopicsNode.size(); i++) {
-        JsonNode node = specialTopicsNode.get(i);
-        var topic = parser.getCodec().treeToValue(node, Topic.class);
+    for (Topic topic : specialTopics) {
+      if (topic != null) {
         topology.addSpecialTopic(topic);
       }
     }
@@ -164,94 +162,135 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
     return topology;
   }
 
-  private Optional<Object> parse(JsonNode node, String key, JsonParser parser, Class klass)
-      throws JsonProcessingException {
-    JsonNode pNode = node.get(key);
-    if (pNode == null) {
-      LOGGER.debug(String.format("%s key is missing.", key));
-      return Optional.empty();
+  /** The topics failing the validation are reported as illegal arguments. */
+  private List<Topic> readTopics(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    try {
+      return readList(parser, context, Topic.class);
+    } catch (JsonProcessingException e) {
+      throw e;
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
     }
-    Object obj = parser.getCodec().treeToValue(pNode, klass);
-    LOGGER.debug(String.format("Extracting key %s with value %s", key, obj));
-    return Optional.of(obj);
   }
 
-  private List<Project> parseProjects(
-      JsonParser parser, JsonNode projectsNode, Topology topology, Configuration config)
+  private Platform parsePlatform(JsonParser parser, DeserializationContext context)
       throws IOException {
-    List<Project> projects = new ArrayList<>();
-    for (int i = 0; i < projectsNode.size(); i++) {
-      Project project = parseProject(parser, projectsNode.get(i), topology, config);
-      LOGGER.debug(
-          String.format(
-              "Adding project %s to the Topology %s", project.getName(), topology.getContext()));
-      projects.add(project);
+    Platform platform = new Platform();
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      LOGGER.debug("No platform components defined in the topology.");
+      return platform;
     }
-    return projects;
+    for (String field = firstFieldName(parser, context, Platform.class);
+        field != null;
+        field = parser.nextFieldName()) {
+      parser.nextToken();
+      if (parser.currentToken() == JsonToken.VALUE_NULL) {
+        LOGGER.debug(String.format("%s key is missing.", field));
+        continue;
+      }
+      switch (field) {
+        case KAFKA_KEY:
+          platform.setKafka(context.readValue(parser, Kafka.class));
+          break;
+        case KAFKA_CONNECT_KEY:
+          platform.setKafkaConnect(context.readValue(parser, KafkaConnect.class));
+          break;
+        case SCHEMA_REGISTRY_KEY:
+          platform.setSchemaRegistry(context.readValue(parser, SchemaRegistry.class));
+          break;
+        case CONTROL_CENTER_KEY:
+          platform.setControlCenter(context.readValue(parser, ControlCenter.class));
+          break;
+        case KSQL_KEY:
+          platform.setKsqlServer(context.readValue(parser, KsqlServer.class));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return platform;
   }
 
-  private Project parseProject(
-      JsonParser parser, JsonNode rootNode, Topology topology, Configuration config)
+  private List<ProjectFields> parseProjects(JsonParser parser, DeserializationContext context)
       throws IOException {
+    List<ProjectFields> projects = new ArrayList<>();
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return projects;
+    }
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      projects.add(parseProject(parser, context));
+    }
+    return projects;
+  }
 
-    Iterable<String> it = () -> rootNode.fieldNames();
-    List<String> keys =
-        StreamSupport.stream(it.spliterator(), false)
-            .filter(key -> !Arrays.asList(TOPICS_KEY, NAME_KEY).contains(key))
-            .collect(Collectors.toList());
-    Map<String, JsonNode> rootNodes = Maps.asMap(new HashSet<>(keys), (key) -> rootNode.get(key));
-
-    Map<String, PlatformSystem> mapOfValues = new HashMap<>();
-    for (String key : rootNodes.keySet()) {
-      JsonNode keyNode = rootNodes.get(key);
-      if (keyNode != null) {
-        Optional<PlatformSystem> optionalPlatformSystem;
-        switch (key) {
-          case CONSUMERS_KEY:
-            optionalPlatformSystem = doConsumerElements(parser, keyNode);
-            break;
-          case PRODUCERS_KEY:
-            optionalPlatformSystem = doProducerElements(parser, keyNode);
-            break;
-          case CONNECTORS_KEY:
-            optionalPlatformSystem = doKafkaConnectElements(parser, keyNode);
-            break;
-          case STREAMS_KEY:
-            optionalPlatformSystem = doStreamsElements(parser, keyNode);
-            break;
-          case SCHEMAS_KEY:
-            optionalPlatformSystem = doSchemasElements(parser, keyNode);
-            break;
-          case KSQL_KEY:
-            optionalPlatformSystem = doKSqlElements(parser, keyNode);
-            break;
-          default:
-            optionalPlatformSystem = Optional.empty();
-            if (!key.equalsIgnoreCase(RBAC_KEY)) {
-              optionalPlatformSystem = doOtherElements(parser, keyNode);
-            }
-        }
-        optionalPlatformSystem.ifPresent(ps -> mapOfValues.put(key, ps));
+  private ProjectFields parseProject(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    ProjectFields fields = new ProjectFields();
+    for (String field = firstFieldName(parser, context, Project.class);
+        field != null;
+        field = parser.nextFieldName()) {
+      parser.nextToken();
+      PlatformSystem platformSystem = null;
+      switch (field) {
+        case NAME_KEY:
+          fields.name = readText(parser);
+          break;
+        case TOPICS_KEY:
+          fields.topics = readTopics(parser, context);
+          break;
+        case CONSUMERS_KEY:
+          platformSystem = new PlatformSystem<>(readList(parser, context, Consumer.class));
+          break;
+        case PRODUCERS_KEY:
+          platformSystem = new PlatformSystem<>(readList(parser, context, Producer.class));
+          break;
+        case CONNECTORS_KEY:
+          platformSystem = doKafkaConnectElements(parser, context);
+          break;
+        case STREAMS_KEY:
+          platformSystem = doStreamsElements(parser, context);
+          break;
+        case SCHEMAS_KEY:
+          platformSystem = new PlatformSystem<>(readList(parser, context, Schemas.class));
+          break;
+        case KSQL_KEY:
+          platformSystem = doKSqlElements(parser, context);
+          break;
+        case RBAC_KEY:
+          fields.rbacRoles = parseOptionalRbacRoles(parser, context);
+          break;
+        default:
+          platformSystem = new PlatformSystem<>(readList(parser, context, Other.class));
+      }
+      if (platformSystem != null) {
+        fields.platformSystems.put(field, platformSystem);
       }
     }
+    validateRequiresKey(fields.name, NAME_KEY);
+    return fields;
+  }
 
+  private Project buildProject(ProjectFields fields, Topology topology, Configuration config) {
+    Map<String, PlatformSystem> mapOfValues = fields.platformSystems;
     ProjectImpl project =
         new ProjectImpl(
-            rootNode.get(NAME_KEY).asText(),
+            fields.name,
             Optional.ofNullable(mapOfValues.get(CONSUMERS_KEY)),
             Optional.ofNullable(mapOfValues.get(PRODUCERS_KEY)),
             Optional.ofNullable(mapOfValues.get(STREAMS_KEY)),
             Optional.ofNullable(mapOfValues.get(CONNECTORS_KEY)),
             Optional.ofNullable(mapOfValues.get(SCHEMAS_KEY)),
             Optional.ofNullable(mapOfValues.get(KSQL_KEY)),
-            parseOptionalRbacRoles(rootNode.get(RBAC_KEY)),
+            fields.rbacRoles,
             filterOthers(mapOfValues),
             config);
 
     project.setPrefixContextAndOrder(topology.asFullContext(), topology.getOrder());
 
-    var topicsNode = rootNode.get(TOPICS_KEY);
-    if (topicsNode == null) {
+    if (fields.topics == null) {
       LOGGER.warn(
           TOPICS_KEY
               + " is missing for project: "
@@ -264,21 +303,19 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
               .collect(Collectors.toList());
       var denyList =
           config.getDlqTopicsDenyList().stream().map(Pattern::compile).collect(Collectors.toList());
-      new JsonSerdesUtils<Topic>()
-          .parseApplicationUser(parser, topicsNode, Topic.class)
-          .forEach(
-              topic -> {
-                project.addTopic(topic); // add normal topic and evaluate
-                if (config.shouldGenerateDlqTopics()) {
-                  String name = topic.toString();
-                  if (shouldGenerateDlqTopic(allowList, denyList).apply(name)) {
-                    Topic dlqTopic = topic.clone();
-                    dlqTopic.setDlqPrefix(config.getDlqTopicLabel());
-                    dlqTopic.setTopicNamePattern(config.getDlqTopicPrefixFormat());
-                    project.addTopic(dlqTopic);
-                  }
-                }
-              });
+      fields.topics.forEach(
+          topic -> {
+            project.addTopic(topic); // add normal topic and evaluate
+            if (config.shouldGenerateDlqTopics()) {
+              String name = topic.toString();
+              if (shouldGenerateDlqTopic(allowList, denyList).apply(name)) {
+                Topic dlqTopic = topic.clone();
+                dlqTopic.setDlqPrefix(config.getDlqTopicLabel());
+                dlqTopic.setTopicNamePattern(config.getDlqTopicPrefixFormat());
+                project.addTopic(dlqTopic);
+              }
+            }
+          });
     }
 
     return project;
@@ -305,42 +342,28 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
         .collect(Collectors.toList());
   }
 
-  private Optional<PlatformSystem> doOtherElements(JsonParser parser, JsonNode node)
-      throws JsonProcessingException {
-    List<Other> others =
-        new JsonSerdesUtils<Other>().parseApplicationUser(parser, node, Other.class);
-    return Optional.of(new PlatformSystem(others));
-  }
-
-  private Optional<PlatformSystem> doConsumerElements(JsonParser parser, JsonNode node)
-      throws JsonProcessingException {
-    List<Consumer> consumers =
-        new JsonSerdesUtils<Consumer>().parseApplicationUser(parser, node, Consumer.class);
-    return Optional.of(new PlatformSystem(consumers));
-  }
-
-  private Optional<PlatformSystem> doProducerElements(JsonParser parser, JsonNode node)
-      throws JsonProcessingException {
-    List<Producer> producers =
-        new JsonSerdesUtils<Producer>().parseApplicationUser(parser, node, Producer.class);
-    return Optional.of(new PlatformSystem(producers));
-  }
-
-  private Optional<PlatformSystem> doKafkaConnectElements(JsonParser parser, JsonNode node)
+  private PlatformSystem doKafkaConnectElements(JsonParser parser, DeserializationContext context)
       throws IOException {
-
-    JsonNode acNode = node;
-    if (node.has(ACCESS_CONTROL)) {
-      acNode = node.get(ACCESS_CONTROL);
+    List<Connector> connectors = new ArrayList<>();
+    List<KafkaConnectArtefact> artefacts = null;
+    if (parser.currentToken() == JsonToken.START_OBJECT) {
+      for (String field = firstFieldName(parser, context, Connector.class);
+          field != null;
+          field = parser.nextFieldName()) {
+        parser.nextToken();
+        if (field.equals(ACCESS_CONTROL)) {
+          connectors = readList(parser, context, Connector.class);
+        } else if (field.equals(ARTEFACTS) || (field.equals(ARTIFACTS) && artefacts == null)) {
+          artefacts = readList(parser, context, KafkaConnectArtefact.class);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } else {
+      connectors = readList(parser, context, Connector.class);
     }
-    List<Connector> connectors =
-        new JsonSerdesUtils<Connector>().parseApplicationUser(parser, acNode, Connector.class);
-    List<KafkaConnectArtefact> artefacts = Collections.emptyList();
-    if (node.has(ARTEFACTS) || node.has(ARTIFACTS)) {
-      String key = node.has(ARTEFACTS) ? ARTEFACTS : ARTIFACTS;
-      artefacts =
-          new JsonSerdesUtils<KafkaConnectArtefact>()
-              .parseApplicationUser(parser, node.get(key), KafkaConnectArtefact.class);
+
+    if (artefacts != null) {
       Set<String> serverLabels = config.getKafkaConnectServers().keySet();
       for (KafkaConnectArtefact artefact : artefacts) {
         if (artefact.getPath() == null
@@ -356,70 +379,76 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
                   artefact.getServerLabel()));
         }
       }
+    } else {
+      artefacts = Collections.emptyList();
     }
     // bloody hack that needs to be cleanned. This is to support not having ACLS defined properly
     // and only connectors.
     if (connectors.size() == 1 && connectors.get(0) == null) {
       connectors = new ArrayList<>();
     }
-    return Optional.of(new PlatformSystem(connectors, new KConnectArtefacts(artefacts)));
+    return new PlatformSystem(connectors, new KConnectArtefacts(artefacts));
   }
 
-  private Optional<PlatformSystem> doKSqlElements(JsonParser parser, JsonNode node)
-      throws JsonProcessingException {
-
-    JsonNode acNode = node;
-    if (node.has(ACCESS_CONTROL)) {
-      acNode = node.get(ACCESS_CONTROL);
-    }
-
-    List<KSqlApp> ksqls =
-        new JsonSerdesUtils<KSqlApp>().parseApplicationUser(parser, acNode, KSqlApp.class);
+  private PlatformSystem doKSqlElements(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    List<KSqlApp> ksqls = new ArrayList<>();
     List<KsqlStreamArtefact> streamArtefacts = new ArrayList<>();
     List<KsqlTableArtefact> tableArtefacts = new ArrayList<>();
     KsqlVarsArtefact varsArtefacts = new KsqlVarsArtefact(Collections.emptyMap());
 
-    if (node.has(ARTEFACTS) || node.has(ARTIFACTS)) {
-      String key = node.has(ARTEFACTS) ? ARTEFACTS : ARTIFACTS;
-      JsonNode artefactsNode = node.get(key);
-      if (artefactsNode.has(STREAMS_NODE)) {
-        streamArtefacts =
-            new JsonSerdesUtils<KsqlStreamArtefact>()
-                .parseApplicationUser(
-                    parser, artefactsNode.get(STREAMS_NODE), KsqlStreamArtefact.class);
-      }
-
-      if (artefactsNode.has(TABLES_NODE)) {
-        tableArtefacts =
-            new JsonSerdesUtils<KsqlTableArtefact>()
-                .parseApplicationUser(
-                    parser, artefactsNode.get(TABLES_NODE), KsqlTableArtefact.class);
-      }
-
-      if (artefactsNode.has(VARS_NODE)) {
-        artefactsNode.get(VARS_NODE);
-        varsArtefacts.setSessionVars(
-            parser.getCodec().treeToValue(artefactsNode.get(VARS_NODE), Map.class));
+    if (parser.currentToken() == JsonToken.START_OBJECT) {
+      boolean artefactsRead = false;
+      for (String field = firstFieldName(parser, context, KSqlApp.class);
+          field != null;
+          field = parser.nextFieldName()) {
+        parser.nextToken();
+        if (field.equals(ACCESS_CONTROL)) {
+          ksqls = readList(parser, context, KSqlApp.class);
+        } else if ((field.equals(ARTEFACTS) || (field.equals(ARTIFACTS) && !artefactsRead))
+            && parser.currentToken() == JsonToken.START_OBJECT) {
+          artefactsRead = true;
+          for (String kind = firstFieldName(parser, context, KsqlArtefacts.class);
+              kind != null;
+              kind = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (kind) {
+              case STREAMS_NODE:
+                streamArtefacts = readList(parser, context, KsqlStreamArtefact.class);
+                break;
+              case TABLES_NODE:
+                tableArtefacts = readList(parser, context, KsqlTableArtefact.class);
+                break;
+              case VARS_NODE:
+                varsArtefacts.setSessionVars(context.readValue(parser, Map.class));
+                break;
+              default:
+                parser.skipChildren();
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
       }
+    } else {
+      ksqls = readList(parser, context, KSqlApp.class);
     }
 
-    return Optional.of(
-        new PlatformSystem(
-            ksqls, new KsqlArtefacts(streamArtefacts, tableArtefacts, varsArtefacts)));
+    return new PlatformSystem(
+        ksqls, new KsqlArtefacts(streamArtefacts, tableArtefacts, varsArtefacts));
   }
 
-  private Optional<PlatformSystem> doStreamsElements(JsonParser parser, JsonNode node)
+  private PlatformSystem doStreamsElements(JsonParser parser, DeserializationContext context)
       throws IOException {
     List<KStream> streams =
-        new JsonSerdesUtils<KStream>()
-            .parseApplicationUser(parser, node, KStream.class).stream()
-                .map(
-                    ks -> {
-                      ks.getTopics().putIfAbsent(KStream.READ_TOPICS, Collections.emptyList());
-                      ks.getTopics().putIfAbsent(KStream.WRITE_TOPICS, Collections.emptyList());
-                      return ks;
-                    })
-                .collect(Collectors.toList());
+        readList(parser, context, KStream.class).stream()
+            .map(
+                ks -> {
+                  ks.getTopics().putIfAbsent(KStream.READ_TOPICS, Collections.emptyList());
+                  ks.getTopics().putIfAbsent(KStream.WRITE_TOPICS, Collections.emptyList());
+                  return ks;
+                })
+            .collect(Collectors.toList());
 
     for (KStream ks : streams) {
       var topics = ks.getTopics();
@@ -445,14 +474,7 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
                 + " have missing read topics. This field is required.");
       }
     }
-    return Optional.of(new PlatformSystem(streams));
-  }
-
-  private Optional<PlatformSystem> doSchemasElements(JsonParser parser, JsonNode node)
-      throws JsonProcessingException {
-    List<Schemas> schemas =
-        new JsonSerdesUtils<Schemas>().parseApplicationUser(parser, node, Schemas.class);
-    return Optional.of(new PlatformSystem(schemas));
+    return new PlatformSystem(streams);
   }
 
   private void validateEncodingForTopicName(String name) throws IOException {
@@ -467,22 +489,56 @@ public class TopologyCustomDeserializer extends StdDeserializer<Topology> {
     }
   }
 
-  private Map<String, List<String>> parseOptionalRbacRoles(JsonNode rbacRootNode) {
-    if (rbacRootNode == null) return new HashMap<>();
-    return StreamSupport.stream(rbacRootNode.spliterator(), true)
-        .map(
-            (Function<JsonNode, Pair<String, JsonNode>>)
-                node -> {
-                  String key = node.fieldNames().next();
-                  return new Pair(key, node.get(key));
-                })
-        .flatMap(
-            (Function<Pair<String, JsonNode>, Stream<Pair<String, String>>>)
-                principals ->
-                    StreamSupport.stream(principals.getValue().spliterator(), true)
-                        .map(
-                            node ->
-                                new Pair<>(principals.getKey(), node.get(PRINCIPAL_KEY).asText())))
-        .collect(groupingBy(Pair::getKey, mapping(Pair::getValue, toList())));
+  /**
+   * @return the principals of each rbac role, every element of the list maps one role to the
+   *     principals holding it.
+   */
+  private Map<String, List<String>> parseOptionalRbacRoles(
+      JsonParser parser, DeserializationContext context) throws IOException {
+    Map<String, List<String>> roles = new HashMap<>();
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return roles;
+    }
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      String role = firstFieldName(parser, context, Map.class);
+      if (role == null) {
+        continue;
+      }
+      parser.nextToken();
+      if (parser.currentToken() == JsonToken.START_ARRAY) {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          String principal = null;
+          for (String field = firstFieldName(parser, context, Map.class);
+              field != null;
+              field = parser.nextFieldName()) {
+            parser.nextToken();
+            if (field.equals(PRINCIPAL_KEY)) {
+              principal = readText(parser);
+            } else {
+              parser.skipChildren();
+            }
+          }
+          validateRequiresKey(principal, PRINCIPAL_KEY);
+          roles.computeIfAbsent(role, key -> new ArrayList<>()).add(principal);
+        }
+      } else {
+        parser.skipChildren();
+      }
+      // only the first role of an element is taken
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        parser.nextToken();
+        parser.skipChildren();
+      }
+    }
+    return roles;
+  }
+
+  /** The fields of a project, read before the topology is complete. */
+  private static class ProjectFields {
+    private String name;
+    private List<Topic> topics;
+    private Map<String, List<String>> rbacRoles = new HashMap<>();
+    private final Map<String, PlatformSystem> platformSystems = new LinkedHashMap<>();
   }
 }
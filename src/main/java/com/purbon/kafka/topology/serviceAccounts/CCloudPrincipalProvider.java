@@ -4,16 +4,20 @@ import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.PrincipalProvider;
 import com.purbon.kafka.topology.api.ccloud.CCloudApi;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.utils.CCloudUtils;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 public class CCloudPrincipalProvider implements PrincipalProvider {
 
   private CCloudApi cCloudApi;
+  private CCloudUtils cCloudUtils;
   private String env;
 
   public CCloudPrincipalProvider(Configuration config) throws IOException {
     this.cCloudApi = new CCloudApi(config.getConfluentCloudClusterUrl(), config);
+    this.cCloudUtils = new CCloudUtils(config);
     this.env = config.getConfluentCloudEnv();
   }
 
@@ -30,11 +34,15 @@ public class CCloudPrincipalProvider implements PrincipalProvider {
   @Override
   public ServiceAccount createServiceAccount(String principal, String description)
       throws IOException {
-    return cCloudApi.createServiceAccount(principal, description);
+    ServiceAccount serviceAccount = cCloudApi.createServiceAccount(principal, description);
+    // an account created again gets a new id, the cached one is stale
+    cCloudUtils.forget(cCloudApi, List.of(principal));
+    return serviceAccount;
   }
 
   @Override
   public void deleteServiceAccount(ServiceAccount serviceAccount) throws IOException {
     cCloudApi.deleteServiceAccount(serviceAccount.getId());
+    cCloudUtils.forget(cCloudApi, List.of(serviceAccount.getName()));
   }
 }
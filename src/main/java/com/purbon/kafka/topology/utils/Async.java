@@ -0,0 +1,63 @@
+package com.purbon.kafka.topology.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs blocking remote calls in the background, so they overlap with the work of the caller. All
+ * the background calls, e.g. the prefetches of the {@link
+ * com.purbon.kafka.topology.ClusterSnapshot}, share a pool of daemon threads of their own, never
+ * the common fork join pool.
+ */
+public final class Async {
+
+  private static final ExecutorService EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "julie-async");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private Async() {}
+
+  @FunctionalInterface
+  public interface Call<T> {
+    T call() throws IOException;
+  }
+
+  /**
+   * @return the future result of the call, completed exceptionally if the call fails
+   */
+  public static <T> CompletableFuture<T> supply(Call<T> call) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return call.call();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        EXECUTOR);
+  }
+
+  /**
+   * Waits for the result of a call.
+   *
+   * @throws IOException the failure of the call
+   */
+  public static <T> T join(CompletableFuture<T> future) throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -2,12 +2,22 @@ package com.purbon.kafka.topology.utils;
 
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.api.ccloud.CCloudApi;
+import com.purbon.kafka.topology.api.ccloud.ServiceAccountDirectory;
+import com.purbon.kafka.topology.model.cluster.ServiceAccountV1;
 import com.purbon.kafka.topology.model.users.ConfluentCloudPrincipal;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -17,6 +27,7 @@ public class CCloudUtils {
   private static final long SERVICE_ACCOUNT_NOT_FOUND = -1L;
 
   private Configuration config;
+  private ServiceAccountDirectory directory;
 
   public CCloudUtils(Configuration config) {
     this.config = config;
@@ -65,17 +76,84 @@ public class CCloudUtils {
     return translatedBinding;
   }
 
+  /**
+   * @return the numeric ids of the service accounts by name, fetched again if a principal of the
+   *     bindings is unknown, e.g. for a service account created by this run
+   */
+  public synchronized Map<String, Long> lookupTable(
+      CCloudApi cli, Collection<TopologyAclBinding> bindings) throws IOException {
+    if (!config.isConfluentCloudServiceAccountTranslationEnabled()) {
+      return Collections.emptyMap();
+    }
+    ServiceAccountDirectory directory = directory(cli);
+    directory.refresh(
+        bindings.stream().map(TopologyAclBinding::getPrincipal).collect(Collectors.toSet()));
+    return directory.ids();
+  }
+
+  /**
+   * Look up the id of the principal of a binding again, after a call made with the id from the
+   * cached directory failed, e.g. as the service account was deleted and created again since.
+   *
+   * @return the ids fetched again, empty if they were already fetched during this run
+   */
+  public synchronized Optional<Map<String, Long>> renewedLookupTable(
+      CCloudApi cli, TopologyAclBinding binding) throws IOException {
+    if (!config.isConfluentCloudServiceAccountTranslationEnabled() || directory(cli).fetched()) {
+      return Optional.empty();
+    }
+    directory(cli).forget(List.of(binding.getPrincipal()));
+    return Optional.of(lookupTable(cli, List.of(binding)));
+  }
+
+  /** Forget the ids of the service accounts, e.g. as they were created or deleted. */
+  public synchronized void forget(CCloudApi cli, Collection<String> principals) throws IOException {
+    if (config.isConfluentCloudServiceAccountTranslationEnabled()) {
+      directory(cli).forget(principals);
+    }
+  }
+
+  /**
+   * @return the numeric ids of the service accounts by name, only if fetched from Confluent Cloud
+   *     during this run, empty if read from the cache file or if the translation is disabled
+   */
+  public synchronized Optional<Map<String, Long>> fetchedLookupTable(CCloudApi cli)
+      throws IOException {
+    if (!config.isConfluentCloudServiceAccountTranslationEnabled()) {
+      return Optional.empty();
+    }
+    ServiceAccountDirectory directory = directory(cli);
+    Map<String, Long> ids = directory.ids();
+    return directory.fetched() ? Optional.of(ids) : Optional.empty();
+  }
+
+  private ServiceAccountDirectory directory(CCloudApi cli) {
+    if (directory == null) {
+      Optional<Path> file = config.getConfluentCloudServiceAccountCacheFile().map(Paths::get);
+      String owner = file.isPresent() ? config.getConfluentCloudCloudApiAuth().getUser() : "";
+      directory =
+          new ServiceAccountDirectory(
+              () -> initializeLookupTable(cli),
+              config.getConfluentCloudServiceAccountCacheTtlMs(),
+              file,
+              owner);
+    }
+    return directory;
+  }
+
   public Map<String, Long> initializeLookupTable(CCloudApi cli) throws IOException {
     Map<String, Long> lookupServiceAccountTable = new HashMap<>();
 
+    // the v1 listing is a single request, made while the v2 pages are fetched
+    CompletableFuture<Set<ServiceAccountV1>> v1Request = Async.supply(cli::listServiceAccountsV1);
+
     Map<String, String> lookupSaName = new HashMap<>();
     var v2ServiceAccounts = cli.listServiceAccounts();
     for (var serviceAccount : v2ServiceAccounts) {
       lookupSaName.put(serviceAccount.getId(), serviceAccount.getName());
     }
 
-    var v1ServiceAccounts = cli.listServiceAccountsV1();
-    for (var serviceAccount : v1ServiceAccounts) {
+    for (var serviceAccount : Async.join(v1Request)) {
       var serviceAccountNameOptional =
           Optional.ofNullable(lookupSaName.get(serviceAccount.getResource_id()));
       serviceAccountNameOptional.ifPresent(
@@ -0,0 +1,49 @@
+package com.purbon.kafka.topology.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The values shared by many bindings and topics of a run, e.g. principals, resource names and the
+ * users of the topics, kept once so equal values point to the same instance. Cleared at the end of
+ * the run.
+ */
+public class Interner {
+
+  private static final Map<String, String> pool = new ConcurrentHashMap<>();
+  private static final Map<Object, Object> objects = new ConcurrentHashMap<>();
+
+  private Interner() {}
+
+  /**
+   * @return the shared instance equal to the value, null for null
+   */
+  public static String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    String shared = pool.putIfAbsent(value, value);
+    return shared == null ? value : shared;
+  }
+
+  /**
+   * Share an object that is not modified once built, e.g. a user read from a topology.
+   *
+   * @param key every field of the value, as its equals() may ignore some of them
+   * @return the shared instance with the same key, the value itself the first time
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T intern(Object key, T value) {
+    Object shared = objects.putIfAbsent(key, value);
+    return shared == null ? value : (T) shared;
+  }
+
+  public static int size() {
+    return pool.size() + objects.size();
+  }
+
+  public static void clear() {
+    pool.clear();
+    objects.clear();
+  }
+}
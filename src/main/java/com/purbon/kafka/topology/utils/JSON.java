@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +56,14 @@ public class JSON {
     return mapper.readValue(jsonString, objectClazz);
   }
 
+  public static <T> T toObject(JsonNode node, Class<T> objectClazz) throws JsonProcessingException {
+    return mapper.treeToValue(node, objectClazz);
+  }
+
+  public static <T> T toObject(InputStream stream, Class<T> objectClazz) throws IOException {
+    return mapper.readValue(stream, objectClazz);
+  }
+
   public static JsonNode toNode(String jsonString) throws JsonProcessingException {
     return mapper.readTree(jsonString);
   }
@@ -0,0 +1,36 @@
+package com.purbon.kafka.topology.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * A value created on first use, e.g. a client whose construction connects to a remote server or
+ * loads key material. The value is created at most once, even if requested concurrently.
+ */
+public class Lazy<T> implements Supplier<T> {
+
+  private final Supplier<? extends T> factory;
+  private volatile T value;
+
+  private Lazy(Supplier<? extends T> factory) {
+    this.factory = factory;
+  }
+
+  public static <T> Lazy<T> of(Supplier<? extends T> factory) {
+    return new Lazy<>(factory);
+  }
+
+  @Override
+  public T get() {
+    T result = value;
+    if (result == null) {
+      synchronized (this) {
+        result = value;
+        if (result == null) {
+          result = factory.get();
+          value = result;
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,119 @@
+package com.purbon.kafka.topology.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Applies a blocking operation, e.g. a remote call, to a collection of items with a bounded number
+ * of operations at the same time.
+ */
+public final class Parallel {
+
+  private Parallel() {}
+
+  /** The results of the operations that succeeded, and the first failure if any. */
+  public static class Results<R> {
+
+    private final List<R> successes;
+    private final IOException failure;
+
+    private Results(List<R> successes, IOException failure) {
+      this.successes = Collections.unmodifiableList(successes);
+      this.failure = failure;
+    }
+
+    public List<R> successes() {
+      return successes;
+    }
+
+    public Optional<IOException> failure() {
+      return Optional.ofNullable(failure);
+    }
+
+    /**
+     * @return the results of all the operations
+     * @throws IOException the first failure
+     */
+    public List<R> get() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      return successes;
+    }
+  }
+
+  /**
+   * Applies the operation to every item, up to the concurrency at the same time, on daemon threads
+   * with the given name. When run one at a time, the items following a failure are skipped,
+   * otherwise all the operations already submitted run to completion.
+   *
+   * @return the results of the operations that succeeded, in the order of the items
+   */
+  public static <T, R> Results<R> map(
+      String threadName, Collection<T> items, int concurrency, CheckedFunction<T, R> operation)
+      throws IOException {
+    List<R> successes = new ArrayList<>();
+    if (concurrency <= 1 || items.size() <= 1) {
+      for (T item : items) {
+        try {
+          successes.add(apply(operation, item));
+        } catch (IOException e) {
+          return new Results<>(successes, e);
+        }
+      }
+      return new Results<>(successes, null);
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(concurrency, items.size()),
+            runnable -> {
+              Thread thread = new Thread(runnable, threadName);
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<Future<R>> futures = new ArrayList<>();
+      for (T item : items) {
+        futures.add(executor.submit(() -> apply(operation, item)));
+      }
+      IOException failure = null;
+      for (Future<R> future : futures) {
+        try {
+          successes.add(future.get());
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure =
+                e.getCause() instanceof IOException
+                    ? (IOException) e.getCause()
+                    : new IOException(e.getCause());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      return new Results<>(successes, failure);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T, R> R apply(CheckedFunction<T, R> operation, T item) throws IOException {
+    try {
+      return operation.apply(item);
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+}
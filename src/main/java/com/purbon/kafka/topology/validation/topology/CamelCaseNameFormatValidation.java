@@ -5,10 +5,11 @@ import com.purbon.kafka.topology.model.Project;
 import com.purbon.kafka.topology.model.Topic;
 import com.purbon.kafka.topology.model.Topology;
 import com.purbon.kafka.topology.validation.TopologyValidation;
+import java.util.regex.Pattern;
 
 public class CamelCaseNameFormatValidation implements TopologyValidation {
 
-  private String camelCasePattern = "([a-z]+[A-Z]+\\w+)+";
+  private static final Pattern CAMEL_CASE_PATTERN = Pattern.compile("([a-z]+[A-Z]+\\w+)+");
 
   @Override
   public void valid(Topology topology) throws ValidationException {
@@ -23,7 +24,7 @@ public class CamelCaseNameFormatValidation implements TopologyValidation {
   }
 
   private void matches(String name, String clazz) throws ValidationException {
-    if (!name.matches(camelCasePattern)) {
+    if (!CAMEL_CASE_PATTERN.matcher(name).matches()) {
       String msg = String.format("%s name does not follow the camelCase format: %s", clazz, name);
       throw new ValidationException(msg);
     }
@@ -588,6 +588,74 @@ public class AccessControlManagerTest {
     assertThat(topics).contains("TopicA");
   }
 
+  @Test
+  public void shouldCompactTopicLevelAclsIntoPrefixedOnes() throws IOException {
+    var topicBindings =
+        compactedTopicBindings(
+            Collections.singletonList("ctx."), Collections.singletonList("ctx.project.topicA"));
+
+    assertThat(topicBindings)
+        .containsExactlyInAnyOrder(
+            new TopologyAclBinding("TOPIC", "ctx.project.", "*", "READ", "User:app1", "PREFIXED"),
+            new TopologyAclBinding(
+                "TOPIC", "ctx.project.", "*", "DESCRIBE", "User:app1", "PREFIXED"),
+            new TopologyAclBinding(
+                "TOPIC", "ctx.project.topicB", "*", "READ", "User:app2", "LITERAL"),
+            new TopologyAclBinding(
+                "TOPIC", "ctx.project.topicB", "*", "DESCRIBE", "User:app2", "LITERAL"));
+  }
+
+  @Test
+  public void shouldNotCompactAclsCoveringTopicsOutsideOfTheTopologies() throws IOException {
+    var topicBindings =
+        compactedTopicBindings(
+            Collections.singletonList("ctx."), Collections.singletonList("ctx.project.unmanaged"));
+
+    assertThat(topicBindings).allMatch(b -> b.getPattern().equals("LITERAL"));
+    assertThat(topicBindings).hasSize(6);
+  }
+
+  @Test
+  public void shouldNotCompactAclsWithoutManagedTopicPrefixes() throws IOException {
+    var topicBindings = compactedTopicBindings(Collections.emptyList(), Collections.emptyList());
+
+    assertThat(topicBindings).allMatch(b -> b.getPattern().equals("LITERAL"));
+    assertThat(topicBindings).hasSize(6);
+  }
+
+  private Set<TopologyAclBinding> compactedTopicBindings(
+      List<String> managedPrefixes, List<String> clusterTopics) throws IOException {
+    HashMap<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Properties props = new Properties();
+    props.put(ACLS_COMPACTION_ENABLED_CONFIG, true);
+    for (int i = 0; i < managedPrefixes.size(); i++) {
+      props.put(TOPIC_MANAGED_PREFIXES + "." + i, managedPrefixes.get(i));
+    }
+    Configuration config = new Configuration(cliOps, props);
+    accessControlManager =
+        new AccessControlManager(
+            aclsProvider,
+            new AclsBindingsBuilder(config),
+            new JulieRoles(),
+            config,
+            Optional.of(() -> clusterTopics));
+
+    Topic topicA = new Topic("topicA");
+    topicA.setConsumers(singletonList(new Consumer("User:app1")));
+    Topic topicB = new Topic("topicB");
+    topicB.setConsumers(asList(new Consumer("User:app1"), new Consumer("User:app2")));
+    TestTopologyBuilder builder =
+        TestTopologyBuilder.createProject().addTopic(topicA).addTopic(topicB);
+
+    accessControlManager.updatePlan(builder.buildTopology(), plan);
+    plan.run();
+
+    return plan.getBindings().stream()
+        .filter(b -> b.getResourceType().equals("TOPIC"))
+        .collect(Collectors.toSet());
+  }
+
   private HashMap<String, List<TopologyAclBinding>> mapBindings(ExecutionPlan plan) {
     var allBindings = new HashMap<String, List<TopologyAclBinding>>();
     for (var binding : plan.getBindings()) {
@@ -851,6 +919,38 @@ public class AccessControlManagerTest {
     accessControlManager.updatePlan(topology, plan);
   }
 
+  @Test
+  public void testBindingsOfManyProjectsAreAllGenerated() throws IOException {
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Configuration config = new Configuration(cliOps, new Properties());
+    accessControlManager =
+        new AccessControlManager(aclsProvider, new AclsBindingsBuilder(config), config);
+
+    Topology topology = new TopologyImpl(config);
+    for (int i = 0; i < 50; i++) {
+      Project project = new ProjectImpl("project" + i, config);
+      project.setConsumers(singletonList(new Consumer("User:app" + i)));
+      project.addTopic(new Topic("topic", config));
+      topology.addProject(project);
+    }
+
+    accessControlManager.updatePlan(topology, plan);
+
+    assertEquals(1, plan.getActions().size());
+    Set<String> topics =
+        getAccessControlActions(plan).get(0).getAclBindings().stream()
+            .filter(b -> b.getResourceType().equals(ResourceType.TOPIC.name()))
+            .map(TopologyAclBinding::getResourceName)
+            .collect(Collectors.toSet());
+    assertThat(topics)
+        .hasSize(50)
+        .containsAll(
+            topology.getProjects().stream()
+                .map(project -> project.getTopics().get(0).toString())
+                .collect(Collectors.toList()));
+  }
+
   private List<BaseAccessControlAction> getAccessControlActions(ExecutionPlan plan) {
     List<BaseAccessControlAction> list = new ArrayList<>();
     for (Action action : plan.getActions()) {
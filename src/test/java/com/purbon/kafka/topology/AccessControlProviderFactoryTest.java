@@ -69,6 +69,29 @@ public class AccessControlProviderFactoryTest {
     MatcherAssert.assertThat(provider, instanceOf(RBACProvider.class));
   }
 
+  @Test
+  public void testRBACProviderAndBuilderShareTheClient() throws IOException {
+
+    props.put(ACCESS_CONTROL_IMPLEMENTATION_CLASS, "com.purbon.kafka.topology.roles.RBACProvider");
+    props.put(MDS_SERVER, "http://localhost:8090");
+    props.put(MDS_USER_CONFIG, "alice");
+    props.put(MDS_PASSWORD_CONFIG, "alice-secret");
+    props.put(MDS_KAFKA_CLUSTER_ID_CONFIG, "UtBZ3rTSRtypmmkAL1HbHw");
+
+    Configuration config = new Configuration(cliOps, props);
+
+    when(mdsApiClientBuilder.build()).thenReturn(mdsApiClient);
+
+    AccessControlProviderFactory factory =
+        new AccessControlProviderFactory(config, adminClient, mdsApiClientBuilder);
+
+    factory.get();
+    factory.builder();
+
+    verify(mdsApiClientBuilder, times(1)).build();
+    verify(mdsApiClient, times(1)).authenticate();
+  }
+
   @Test
   public void testACLsConfig() throws IOException {
 
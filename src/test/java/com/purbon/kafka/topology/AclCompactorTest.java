@@ -0,0 +1,98 @@
+package com.purbon.kafka.topology;
+
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.TOPIC_MANAGED_PREFIXES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.purbon.kafka.topology.roles.AclCompactor;
+import com.purbon.kafka.topology.roles.ResourceFilter;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AclCompactorTest {
+
+  private static final List<String> PREFIXES = List.of("ctx.foo.", "ctx.bar.");
+  private static final List<String> TOPICS =
+      List.of("ctx.foo.t1", "ctx.foo.t2", "ctx.bar.t1", "ctx.bar.t2", "ctx.bar.t3");
+
+  private AclCompactor compactor;
+
+  @Before
+  public void before() {
+    compactor = new AclCompactor(PREFIXES, TOPICS, new ResourceFilter(new Configuration()));
+  }
+
+  @Test
+  public void shouldCompactBindingsCoveringAllTopicsOfAPrefix() {
+    Set<TopologyAclBinding> bindings =
+        Set.of(
+            literal("ctx.foo.t1", "READ", "User:app"),
+            literal("ctx.foo.t2", "READ", "User:app"),
+            literal("ctx.foo.t1", "WRITE", "User:app"));
+
+    assertThat(compactor.compact(bindings))
+        .containsExactlyInAnyOrder(
+            prefixed("ctx.foo.", "READ", "User:app"), literal("ctx.foo.t1", "WRITE", "User:app"));
+  }
+
+  @Test
+  public void shouldNotGrantAccessToTopicsNotCovered() {
+    Set<TopologyAclBinding> bindings =
+        Set.of(
+            literal("ctx.bar.t1", "READ", "User:app"),
+            literal("ctx.bar.t2", "READ", "User:app"),
+            literal("ctx.bar.t3", "READ", "User:other"));
+
+    assertThat(compactor.compact(bindings)).isEqualTo(bindings);
+  }
+
+  @Test
+  public void shouldKeepNonLiteralAndNonTopicBindings() {
+    Set<TopologyAclBinding> bindings =
+        Set.of(
+            new TopologyAclBinding("GROUP", "*", "*", "READ", "User:app", "LITERAL"),
+            new TopologyAclBinding("GROUP", "ctx.foo.g1", "*", "READ", "User:app", "LITERAL"),
+            new TopologyAclBinding("GROUP", "ctx.foo.g2", "*", "READ", "User:app", "LITERAL"),
+            prefixed("ctx.bar.", "READ", "User:app"));
+
+    assertThat(compactor.compact(bindings)).isEqualTo(bindings);
+  }
+
+  @Test
+  public void shouldOnlyCompactIntoManagedPrefixes() {
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Properties props = new Properties();
+    props.put(TOPIC_MANAGED_PREFIXES + ".0", "ctx.bar.");
+    Configuration config = new Configuration(cliOps, props);
+    compactor = new AclCompactor(PREFIXES, TOPICS, new ResourceFilter(config));
+
+    Set<TopologyAclBinding> bindings =
+        Set.of(
+            literal("ctx.foo.t1", "READ", "User:app"),
+            literal("ctx.foo.t2", "READ", "User:app"),
+            literal("ctx.bar.t1", "READ", "User:app"),
+            literal("ctx.bar.t2", "READ", "User:app"),
+            literal("ctx.bar.t3", "READ", "User:app"));
+
+    assertThat(compactor.compact(bindings))
+        .containsExactlyInAnyOrder(
+            literal("ctx.foo.t1", "READ", "User:app"),
+            literal("ctx.foo.t2", "READ", "User:app"),
+            prefixed("ctx.bar.", "READ", "User:app"));
+  }
+
+  private static TopologyAclBinding literal(String topic, String operation, String principal) {
+    return new TopologyAclBinding("TOPIC", topic, "*", operation, principal, "LITERAL");
+  }
+
+  private static TopologyAclBinding prefixed(String prefix, String operation, String principal) {
+    return new TopologyAclBinding("TOPIC", prefix, "*", operation, principal, "PREFIXED");
+  }
+}
@@ -42,6 +42,11 @@ public class ArtefactManagerTest {
       return new ArrayList<>();
     }
 
+    @Override
+    protected ClusterSnapshot.Source<Artefact> getSnapshotState(ClusterSnapshot snapshot) {
+      return snapshot.connectors();
+    }
+
     @Override
     Set<? extends Artefact> parseNewArtefacts(Topology topology) {
       return new HashSet<>();
@@ -0,0 +1,182 @@
+package com.purbon.kafka.topology;
+
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.TOPOLOGY_TOPIC_STATE_FROM_CLUSTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.purbon.kafka.topology.actions.topics.UpdateTopicConfigs;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.audit.VoidAuditor;
+import com.purbon.kafka.topology.model.Impl.ProjectImpl;
+import com.purbon.kafka.topology.model.Impl.TopologyImpl;
+import com.purbon.kafka.topology.model.Project;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ClusterSnapshotSerdesTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock TopologyBuilderAdminClient adminClient;
+  @Mock SchemaRegistryManager schemaRegistryManager;
+  @Mock PrintStream mockPrintStream;
+
+  private final ClusterSnapshotSerdes serdes = new ClusterSnapshotSerdes();
+  private Path snapshotFile;
+
+  @Before
+  public void before() throws IOException {
+    TestUtils.deleteStateFile();
+    snapshotFile = Files.createTempFile("julie-snapshot", ".json.gz");
+  }
+
+  @After
+  public void after() throws IOException {
+    Files.deleteIfExists(snapshotFile);
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldReadBackAnExportedSnapshot() throws IOException {
+    TopologyAclBinding binding =
+        new TopologyAclBinding("TOPIC", "ctx.foo", "*", "READ", "User:app", "LITERAL");
+    ServiceAccount account = new ServiceAccount("1", "User:app", "an app", "sa-1");
+    ClientQuotaEntity entity = new ClientQuotaEntity(Map.of(ClientQuotaEntity.USER, "app"));
+
+    ClusterSnapshot snapshot = new ClusterSnapshot();
+    snapshot.topics().preload(List.of("ctx.foo", "ctx.bar"));
+    snapshot
+        .topicDetails()
+        .preload(
+            Map.of(
+                "ctx.foo", new TopicDetails(3, config("retention.ms", "1000")),
+                "ctx.bar", new TopicDetails(6, config("cleanup.policy", "compact"))));
+    snapshot.bindings().preload(List.of(binding));
+    snapshot.serviceAccounts().preload(List.of(account));
+    snapshot.quotas().preload(Map.of(entity, Map.of("producer_byte_rate", 1024.0)));
+    serdes.write(snapshot, snapshotFile);
+
+    ClusterSnapshot offline = serdes.read(snapshotFile);
+
+    assertThat(offline.topics().get(this::unexpectedLoad))
+        .containsExactlyInAnyOrder("ctx.foo", "ctx.bar");
+    assertThat(offline.bindings().get(this::unexpectedLoad)).containsExactly(binding);
+    assertThat(offline.serviceAccounts().get(this::unexpectedLoad)).containsExactly(account);
+    assertThat(offline.connectors().get(this::unexpectedLoad)).isEmpty();
+    assertThat(offline.quotas().getAll(() -> Map.of()))
+        .isEqualTo(Map.of(entity, Map.of("producer_byte_rate", 1024.0)));
+
+    TopicDetails foo = offline.topicDetails().get("ctx.foo", topic -> null);
+    assertThat(foo.getPartitionCount()).isEqualTo(3);
+    assertThat(foo.getConfig().get("retention.ms").value()).isEqualTo("1000");
+    assertThat(foo.getConfig().get("retention.ms").source())
+        .isEqualTo(ConfigSource.DYNAMIC_TOPIC_CONFIG);
+    assertThat(foo.getConfig().get("cleanup.policy").value()).isEqualTo("delete");
+    assertThat(foo.getConfig().get("cleanup.policy").source())
+        .isEqualTo(ConfigSource.DEFAULT_CONFIG);
+    TopicDetails bar = offline.topicDetails().get("ctx.bar", topic -> null);
+    assertThat(bar.getConfig().get("cleanup.policy").value()).isEqualTo("compact");
+    assertThat(bar.getConfig().get("retention.ms").value()).isEqualTo("604800000");
+
+    assertThatThrownBy(() -> offline.topicDetails().get("ctx.other", topic -> null))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void shouldPlanTopicUpdatesOffline() throws IOException {
+    ClusterSnapshot snapshot = new ClusterSnapshot();
+    snapshot.topics().preload(List.of("default.project.foo"));
+    snapshot
+        .topicDetails()
+        .preload(
+            Map.of("default.project.foo", new TopicDetails(3, config("retention.ms", "1000"))));
+    serdes.write(snapshot, snapshotFile);
+
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Properties props = new Properties();
+    props.put(TOPOLOGY_TOPIC_STATE_FROM_CLUSTER, "true");
+    Configuration config = new Configuration(cliOps, props);
+
+    Topology topology = new TopologyImpl();
+    Project project = new ProjectImpl("project");
+    topology.addProject(project);
+    project.addTopic(new Topic("foo", Map.of(TopicManager.NUM_PARTITIONS, "6")));
+
+    ExecutionPlan plan =
+        ExecutionPlan.init(
+            new BackendController(), mockPrintStream, new VoidAuditor(), serdes.read(snapshotFile));
+    new TopicManager(adminClient, schemaRegistryManager, config).updatePlan(topology, plan);
+
+    assertThat(plan.getActions()).hasAtLeastOneElementOfType(UpdateTopicConfigs.class);
+    verify(adminClient, never()).listApplicationTopics();
+    verify(adminClient, never()).getActualTopicConfig(anyString());
+    verify(adminClient, never()).getPartitionCount(anyString());
+    verify(adminClient, never()).getTopicDetails(anyCollection());
+  }
+
+  private <T> List<T> unexpectedLoad() {
+    throw new AssertionError("the offline snapshot should not load anything");
+  }
+
+  /** A topic config with a topic level value, and the defaults for the other configs. */
+  private static Config config(String topicConfig, String value) {
+    Map<String, ConfigEntry> entries = new HashMap<>();
+    entries.put("cleanup.policy", defaultEntry("cleanup.policy", "delete"));
+    entries.put("retention.ms", defaultEntry("retention.ms", "604800000"));
+    entries.put(
+        topicConfig,
+        new ConfigEntry(
+            topicConfig,
+            value,
+            ConfigSource.DYNAMIC_TOPIC_CONFIG,
+            false,
+            false,
+            Collections.emptyList(),
+            ConfigEntry.ConfigType.UNKNOWN,
+            null));
+    return new Config(entries.values());
+  }
+
+  private static ConfigEntry defaultEntry(String name, String value) {
+    return new ConfigEntry(
+        name,
+        value,
+        ConfigSource.DEFAULT_CONFIG,
+        false,
+        false,
+        Collections.emptyList(),
+        ConfigEntry.ConfigType.UNKNOWN,
+        null);
+  }
+}
@@ -0,0 +1,145 @@
+package com.purbon.kafka.topology;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
+import com.purbon.kafka.topology.actions.topics.DeleteTopics;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.audit.VoidAuditor;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.admin.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ClusterSnapshotTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock TopologyBuilderAdminClient adminClient;
+  @Mock PrintStream mockPrintStream;
+
+  private ClusterSnapshot snapshot;
+
+  @Before
+  public void before() {
+    TestUtils.deleteStateFile();
+    snapshot = new ClusterSnapshot();
+  }
+
+  @After
+  public void after() {
+    snapshot.close();
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldLoadEachSourceOnlyOnce() throws IOException {
+    AtomicInteger calls = new AtomicInteger();
+    ClusterSnapshot.Loader<String> loader =
+        () -> {
+          calls.incrementAndGet();
+          return Set.of("foo");
+        };
+
+    assertThat(snapshot.topics().get(loader)).containsExactly("foo");
+    assertThat(snapshot.topics().get(loader)).containsExactly("foo");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  public void shouldReturnThePrefetchedState() throws IOException {
+    snapshot.topics().prefetch(() -> Set.of("foo"));
+
+    assertThat(snapshot.topics().get(this::failingLoader)).containsExactly("foo");
+  }
+
+  @Test
+  public void shouldReportPrefetchErrorsOnUse() {
+    snapshot.topics().prefetch(this::failingLoader);
+
+    assertThatThrownBy(() -> snapshot.topics().get(Collections::emptySet))
+        .isInstanceOf(IOException.class)
+        .hasMessage("boom");
+  }
+
+  @Test
+  public void shouldApplyTheExecutedActions() throws IOException {
+    snapshot.topics().prefetch(() -> Set.of("context.foo"));
+
+    ExecutionPlan plan =
+        ExecutionPlan.init(new BackendController(), mockPrintStream, new VoidAuditor(), snapshot);
+    plan.add(new CreateTopicAction(adminClient, new Topic("bar"), "context.bar"));
+    plan.add(new DeleteTopics(adminClient, Collections.singletonList("context.foo")));
+    plan.run();
+
+    assertThat(snapshot.topics().get(this::failingLoader)).containsExactly("context.bar");
+    // resources not loaded before the run are loaded as usual
+    assertThat(snapshot.bindings().get(Collections::emptySet)).isEmpty();
+  }
+
+  @Test
+  public void shouldLoadTheMissingKeysAtOnceWithoutBlockingOtherLookups() throws Exception {
+    TopicDetails a = new TopicDetails(1, new Config(Collections.emptyList()));
+    TopicDetails b = new TopicDetails(2, new Config(Collections.emptyList()));
+    TopicDetails c = new TopicDetails(3, new Config(Collections.emptyList()));
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Map<String, TopicDetails>> slow =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return snapshot
+                    .topicDetails()
+                    .getAll(
+                        List.of("a", "b"),
+                        keys -> {
+                          loading.countDown();
+                          await(release);
+                          return Map.of("a", a, "b", b);
+                        });
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // another topic is looked up while the first load is still running
+    assertThat(snapshot.topicDetails().get("c", topic -> c)).isSameAs(c);
+
+    release.countDown();
+    assertThat(slow.get(10, TimeUnit.SECONDS)).containsOnly(entry("a", a), entry("b", b));
+    assertThat(snapshot.topicDetails().getAll(List.of("a", "c"), topics -> Map.of()))
+        .containsOnly(entry("a", a), entry("c", c));
+  }
+
+  private static void await(CountDownLatch latch) throws IOException {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private Set<String> failingLoader() throws IOException {
+    throw new IOException("boom");
+  }
+}
@@ -0,0 +1,182 @@
+package com.purbon.kafka.topology;
+
+import static com.purbon.kafka.topology.CommandLineInterface.*;
+import static com.purbon.kafka.topology.Constants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.audit.VoidAuditor;
+import com.purbon.kafka.topology.backend.Backend;
+import com.purbon.kafka.topology.backend.BackendState;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.roles.acls.AclsBindingsBuilder;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ContextPipelinesTest {
+
+  @Mock TopologyBuilderAdminClient adminClient;
+
+  @Mock AccessControlProvider accessControlProvider;
+
+  @Mock Backend backend;
+
+  @Mock PrincipalProvider principalProvider;
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private Map<String, String> cliOps;
+  private Properties props;
+  private Configuration config;
+  private ByteArrayOutputStream output;
+
+  @Before
+  public void before() throws IOException {
+    cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+
+    props = new Properties();
+    props.put(ALLOW_DELETE_TOPICS, "true");
+    props.put(ALLOW_DELETE_BINDINGS, "true");
+    props.put(CONFLUENT_SCHEMA_REGISTRY_URL_CONFIG, "mock://");
+    props.put(JULIE_ENABLE_MULTIPLE_CONTEXT_PER_DIR, "true");
+    props.put(JULIE_CONTEXT_PIPELINES_PARALLELISM, "2");
+    config = new Configuration(cliOps, props);
+
+    output = new ByteArrayOutputStream();
+    when(backend.load()).thenReturn(new BackendState());
+  }
+
+  @Test
+  public void shouldReconcileEachContextInItsOwnPipeline() throws Exception {
+    buildJulieOps().run(new BackendController(backend), printStream(), new VoidAuditor());
+
+    verify(adminClient, times(6)).createTopic(any(Topic.class), anyString());
+    assertThat(savedState().getTopics())
+        .hasSize(6)
+        .anyMatch(topic -> topic.startsWith("contextA."))
+        .anyMatch(topic -> topic.startsWith("contextB."));
+    assertThat(savedState().getBindings()).isNotEmpty();
+
+    String plan = output.toString(StandardCharsets.UTF_8);
+    assertThat(plan).contains("Context contextA:").contains("Context contextB:");
+    assertThat(plan.indexOf("Context contextA:")).isLessThan(plan.indexOf("Context contextB:"));
+  }
+
+  @Test
+  public void shouldKeepTheProgressOfTheOtherContextsWhenOneFails() throws Exception {
+    doThrow(new IOException("boom"))
+        .when(adminClient)
+        .createTopic(any(Topic.class), startsWith("contextA."));
+
+    JulieOps julieOps = buildJulieOps();
+    assertThatThrownBy(
+            () -> julieOps.run(new BackendController(backend), printStream(), new VoidAuditor()))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("contextA");
+
+    assertThat(savedState().getTopics())
+        .isNotEmpty()
+        .allMatch(topic -> topic.startsWith("contextB."));
+    assertThat(output.toString(StandardCharsets.UTF_8)).contains("Context contextA (failed):");
+  }
+
+  @Test
+  public void shouldPlanThePrincipalsOfAllTheContextsAtOnce() throws Exception {
+    verifyPrincipalsOfAllTheContextsArePlannedAtOnce(2);
+  }
+
+  @Test
+  public void shouldPlanThePrincipalsOfAllTheTopologiesAtOnceWithoutPipelines() throws Exception {
+    verifyPrincipalsOfAllTheContextsArePlannedAtOnce(1);
+  }
+
+  private void verifyPrincipalsOfAllTheContextsArePlannedAtOnce(int parallelism) throws Exception {
+    props.put(JULIE_CONTEXT_PIPELINES_PARALLELISM, String.valueOf(parallelism));
+    props.put(JULIE_ENABLE_PRINCIPAL_MANAGEMENT, "true");
+    props.put(ALLOW_DELETE_PRINCIPALS, "true");
+    props.put(TOPOLOGY_STATE_FROM_CLUSTER, "false");
+    config = new Configuration(cliOps, props);
+
+    ServiceAccount app0 = new ServiceAccount("1", "User:App0", MANAGED_BY);
+    ServiceAccount gone = new ServiceAccount("2", "User:Gone", MANAGED_BY);
+    BackendState state = new BackendState();
+    state.addAccounts(List.of(app0, gone));
+    when(backend.load()).thenReturn(state);
+    when(principalProvider.createServiceAccount(anyString(), anyString()))
+        .thenAnswer(
+            invocation ->
+                new ServiceAccount("3", invocation.getArgument(0), invocation.getArgument(1)));
+
+    String fileOrDirPath = TestUtils.getResourceFilename("/dir_with_context_principals");
+    JulieOps.build(
+            fileOrDirPath,
+            "default",
+            config,
+            adminClient,
+            accessControlProvider,
+            new AclsBindingsBuilder(config),
+            principalProvider)
+        .run(new BackendController(backend), printStream(), new VoidAuditor());
+
+    // the accounts of one topology are neither created twice nor deleted by the other one
+    verify(principalProvider, times(2)).configure();
+    verify(principalProvider, times(1)).createServiceAccount(eq("User:App1"), anyString());
+    verify(principalProvider, times(1)).createServiceAccount(anyString(), anyString());
+    verify(principalProvider, times(1)).deleteServiceAccount(gone);
+    verify(principalProvider, times(1)).deleteServiceAccount(any(ServiceAccount.class));
+  }
+
+  @Test
+  public void shouldNotDeleteTheResourcesOfOtherContexts() {
+    ContextScope context = ContextScope.of("contextA.");
+    ContextScope shared = ContextScope.excluding(List.of("contextA.", "contextB."));
+
+    assertThat(context.contains("contextA.source.foo")).isTrue();
+    assertThat(context.contains("contextB.source.foo")).isFalse();
+    assertThat(context.containsUnnamedResources()).isFalse();
+    assertThat(shared.contains("contextA.source.foo")).isFalse();
+    assertThat(shared.contains("removedContext.source.foo")).isTrue();
+    assertThat(shared.containsUnnamedResources()).isTrue();
+  }
+
+  private JulieOps buildJulieOps() throws Exception {
+    String fileOrDirPath = TestUtils.getResourceFilename("/dir_with_contexts");
+    return JulieOps.build(
+        fileOrDirPath, config, adminClient, accessControlProvider, new AclsBindingsBuilder(config));
+  }
+
+  private PrintStream printStream() {
+    return new PrintStream(output, true, StandardCharsets.UTF_8);
+  }
+
+  private BackendState savedState() throws IOException {
+    ArgumentCaptor<BackendState> state = ArgumentCaptor.forClass(BackendState.class);
+    verify(backend).save(state.capture());
+    return state.getValue();
+  }
+}
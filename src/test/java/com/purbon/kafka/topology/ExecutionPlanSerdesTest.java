@@ -0,0 +1,154 @@
+package com.purbon.kafka.topology;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.purbon.kafka.topology.actions.access.CreateBindings;
+import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
+import com.purbon.kafka.topology.actions.topics.DeleteTopics;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.exceptions.RemoteValidationException;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.roles.SimpleAclsProvider;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
+import com.purbon.kafka.topology.serviceAccounts.VoidPrincipalProvider;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.resource.ResourceType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ExecutionPlanSerdesTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock PrintStream mockPrintStream;
+  @Mock TopologyBuilderAdminClient adminClient;
+  @Mock SimpleAclsProvider aclsProvider;
+  @Mock SchemaRegistryManager schemaRegistryManager;
+  @Mock KafkaConnectArtefactManager connectorManager;
+  @Mock KSqlArtefactManager kSqlArtefactManager;
+
+  private ExecutionPlanSerdes serdes;
+  private Path planFile;
+
+  @Before
+  public void before() throws IOException {
+    TestUtils.deleteStateFile();
+    serdes =
+        new ExecutionPlanSerdes(
+            new Configuration(),
+            adminClient,
+            schemaRegistryManager,
+            aclsProvider,
+            new VoidPrincipalProvider(),
+            connectorManager,
+            kSqlArtefactManager);
+    planFile = Files.createTempFile("julie-plan", ".json");
+  }
+
+  @After
+  public void after() throws IOException {
+    Files.deleteIfExists(planFile);
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldApplyAStoredPlan() throws IOException {
+    Map<String, String> config = new HashMap<>();
+    config.put(TopicManager.NUM_PARTITIONS, "3");
+    config.put("retention.ms", "1000");
+    Topic topic = new Topic("foo", config);
+    TopologyAclBinding binding =
+        new TopologyAclBinding(
+            ResourceType.TOPIC.name(), "foo", "*", "READ", "User:foo", "LITERAL");
+
+    BackendController backendController = new BackendController();
+    ExecutionPlan plan = ExecutionPlan.init(backendController, mockPrintStream);
+    plan.add(new CreateTopicAction(adminClient, topic, "context.foo"));
+    plan.add(new CreateBindings(aclsProvider, Collections.singleton(binding)));
+    plan.add(new DeleteTopics(adminClient, Collections.singletonList("context.bar")));
+    plan.run(true);
+    serdes.write(plan, backendController, planFile);
+
+    backendController = new BackendController();
+    ExecutionPlan storedPlan = ExecutionPlan.init(backendController, mockPrintStream);
+    serdes.read(planFile, storedPlan, backendController);
+    assertThat(storedPlan.getActions()).hasSize(3);
+
+    storedPlan.run();
+
+    verify(adminClient, times(1)).createTopic(any(Topic.class), eq("context.foo"));
+    verify(aclsProvider, times(1)).createBindings(Set.of(binding));
+    verify(adminClient, times(1)).deleteTopics(Collections.singletonList("context.bar"));
+    assertThat(storedPlan.getTopics()).containsExactly("context.foo");
+    assertThat(storedPlan.getBindings()).containsExactly(binding);
+  }
+
+  @Test
+  public void shouldResumeAFailedPlanAfterTheLastCommittedAction() throws IOException {
+    BackendController backendController = new BackendController();
+    ExecutionPlan plan = ExecutionPlan.init(backendController, mockPrintStream);
+    plan.add(new CreateTopicAction(adminClient, new Topic("foo"), "context.foo"));
+    plan.add(new CreateTopicAction(adminClient, new Topic("bar"), "context.bar"));
+    serdes.write(plan, backendController, planFile);
+
+    doThrow(new IOException("boom"))
+        .doNothing()
+        .when(adminClient)
+        .createTopic(any(Topic.class), eq("context.bar"));
+
+    BackendController firstBackend = new BackendController();
+    ExecutionPlan firstRun = ExecutionPlan.init(firstBackend, mockPrintStream);
+    serdes.read(planFile, firstRun, firstBackend);
+    assertThatThrownBy(firstRun::run).isInstanceOf(IOException.class);
+
+    BackendController secondBackend = new BackendController();
+    ExecutionPlan secondRun = ExecutionPlan.init(secondBackend, mockPrintStream);
+    serdes.read(planFile, secondRun, secondBackend);
+    secondRun.run();
+
+    verify(adminClient, times(1)).createTopic(any(Topic.class), eq("context.foo"));
+    verify(adminClient, times(2)).createTopic(any(Topic.class), eq("context.bar"));
+    assertThat(secondRun.getTopics()).containsExactlyInAnyOrder("context.foo", "context.bar");
+    assertThat(secondBackend.getCheckpoint()).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectAStalePlan() throws IOException {
+    BackendController backendController = new BackendController();
+    ExecutionPlan plan = ExecutionPlan.init(backendController, mockPrintStream);
+    plan.add(new CreateTopicAction(adminClient, new Topic("foo"), "context.foo"));
+    serdes.write(plan, backendController, planFile);
+
+    // somebody else applied changes in between
+    ExecutionPlan otherPlan = ExecutionPlan.init(new BackendController(), mockPrintStream);
+    otherPlan.add(new CreateTopicAction(adminClient, new Topic("bar"), "context.bar"));
+    otherPlan.run();
+
+    BackendController currentBackend = new BackendController();
+    ExecutionPlan storedPlan = ExecutionPlan.init(currentBackend, mockPrintStream);
+    assertThatThrownBy(() -> serdes.read(planFile, storedPlan, currentBackend))
+        .isInstanceOf(RemoteValidationException.class)
+        .hasMessageContaining("state");
+    assertThat(storedPlan.getActions()).isEmpty();
+  }
+}
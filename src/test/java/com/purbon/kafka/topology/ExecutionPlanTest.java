@@ -1,12 +1,19 @@
 package com.purbon.kafka.topology;
 
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.purbon.kafka.topology.actions.access.ClearBindings;
 import com.purbon.kafka.topology.actions.access.CreateBindings;
+import com.purbon.kafka.topology.actions.accounts.ClearAccounts;
+import com.purbon.kafka.topology.actions.accounts.CreateAccounts;
 import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
 import com.purbon.kafka.topology.actions.topics.DeleteTopics;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
@@ -15,6 +22,7 @@ import com.purbon.kafka.topology.model.Impl.TopologyImpl;
 import com.purbon.kafka.topology.model.Project;
 import com.purbon.kafka.topology.model.Topic;
 import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import com.purbon.kafka.topology.roles.SimpleAclsProvider;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
@@ -24,6 +32,7 @@ import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.resource.ResourceType;
 import org.junit.Before;
 import org.junit.Rule;
@@ -47,6 +56,8 @@ public class ExecutionPlanTest {
 
   @Mock SchemaRegistryManager schemaRegistryManager;
 
+  @Mock PrincipalProvider principalProvider;
+
   @Before
   public void before() throws IOException {
     TestUtils.deleteStateFile();
@@ -168,6 +179,78 @@ public class ExecutionPlanTest {
     assertEquals(1, backendController.size());
   }
 
+  @Test
+  public void deleteAccountsPreviouslyCreatedTest() throws IOException {
+    when(principalProvider.createServiceAccount(anyString(), anyString()))
+        .thenAnswer(i -> new ServiceAccount("123", i.getArgument(0), i.getArgument(1)));
+
+    plan.add(
+        new CreateAccounts(
+            principalProvider,
+            singleton(new ServiceAccount("-1", "User:foo", "managed by julie"))));
+    plan.add(
+        new CreateAccounts(
+            principalProvider,
+            singleton(new ServiceAccount("-1", "User:bar", "managed by julie"))));
+    plan.run();
+    assertEquals(2, plan.getServiceAccounts().size());
+
+    BackendController backendController = new BackendController();
+    ExecutionPlan plan = ExecutionPlan.init(backendController, mockPrintStream);
+    // the account to delete only shares the name with the stored one
+    plan.add(
+        new ClearAccounts(
+            principalProvider, singletonList(new ServiceAccount("", "User:foo", ""))));
+    plan.run();
+
+    assertEquals(1, plan.getServiceAccounts().size());
+    assertEquals(1, backendController.size());
+  }
+
+  @Test
+  public void checkpointStateWhenAnActionFailsTest() throws IOException {
+    Topology topology = buildTopologyForTest();
+    Topic topicFoo = topology.getProjects().get(0).getTopics().get(0);
+    Topic topicBar = topology.getProjects().get(0).getTopics().get(1);
+
+    doThrow(new IOException("boom")).when(adminClient).createTopic(topicBar, topicBar.toString());
+
+    plan.add(new CreateTopicAction(adminClient, topicFoo, topicFoo.toString()));
+    plan.add(new CreateTopicAction(adminClient, topicBar, topicBar.toString()));
+
+    assertThrows(IOException.class, () -> plan.run());
+
+    BackendController backendController = new BackendController();
+    backendController.load();
+    assertEquals(singleton(topicFoo.toString()), backendController.getTopics());
+    backendController.flushAndClose();
+  }
+
+  @Test
+  public void recordTheAccountsCreatedWhenSomeFailTest() throws IOException {
+    when(principalProvider.createServiceAccount(anyString(), anyString()))
+        .thenAnswer(i -> new ServiceAccount("123", i.getArgument(0), i.getArgument(1)));
+    when(principalProvider.createServiceAccount("User:bar", "managed by julie"))
+        .thenThrow(new IOException("boom"));
+
+    Set<ServiceAccount> accounts = new HashSet<>();
+    accounts.add(new ServiceAccount("-1", "User:foo", "managed by julie"));
+    accounts.add(new ServiceAccount("-1", "User:bar", "managed by julie"));
+    accounts.add(new ServiceAccount("-1", "User:zet", "managed by julie"));
+    plan.add(new CreateAccounts(principalProvider, accounts, 2));
+
+    assertThrows(IOException.class, () -> plan.run());
+
+    BackendController backendController = new BackendController();
+    backendController.load();
+    assertEquals(
+        Set.of("User:foo", "User:zet"),
+        backendController.getServiceAccounts().stream()
+            .map(ServiceAccount::getName)
+            .collect(Collectors.toSet()));
+    backendController.flushAndClose();
+  }
+
   private Topology buildTopologyForTest() {
     Topology topology = new TopologyImpl();
     topology.setContext("context");
@@ -58,6 +58,7 @@ public class PrincipalManagerTest {
   public void before() throws IOException {
 
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
     backendController = new BackendController();
 
     cliOps = new HashMap<>();
@@ -130,6 +131,46 @@ public class PrincipalManagerTest {
     backendController.flushAndClose();
   }
 
+  @Test
+  public void testPrincipalsOfAllTopologiesAreComparedAtOnce() throws IOException {
+    Topology first = new TopologyImpl();
+    first.setContext("first");
+    Project project = new ProjectImpl("foo");
+    project.setConsumers(Arrays.asList(new Consumer("shared"), new Consumer("first-consumer")));
+    first.addProject(project);
+
+    Topology second = new TopologyImpl();
+    second.setContext("second");
+    project = new ProjectImpl("bar");
+    project.setConsumers(Arrays.asList(new Consumer("shared"), new Consumer("second-consumer")));
+    second.addProject(project);
+
+    Map<String, Topology> topologies = new LinkedHashMap<>();
+    topologies.put("first", first);
+    topologies.put("second", second);
+
+    long id = 0;
+    for (String name : Arrays.asList("shared", "first-consumer", "second-consumer")) {
+      doReturn(new ServiceAccount(String.valueOf(++id), name, MANAGED_BY))
+          .when(provider)
+          .createServiceAccount(eq(name), eq(MANAGED_BY));
+    }
+
+    principalUpdateManager.updatePlan(plan, topologies);
+    principalDeleteManager.updatePlan(plan, topologies);
+
+    assertThat(plan.getActions()).hasSize(1);
+    assertThat(((CreateAccounts) plan.getActions().get(0)).getPrincipals()).hasSize(3);
+    plan.run();
+    assertThat(plan.getServiceAccounts()).hasSize(3);
+
+    plan = ExecutionPlan.init(backendController, mockPrintStream);
+    principalUpdateManager.updatePlan(plan, topologies);
+    principalDeleteManager.updatePlan(plan, topologies);
+
+    assertThat(plan.getActions()).isEmpty();
+  }
+
   @Test
   public void testDeleteAccountsRequired() throws IOException {
 
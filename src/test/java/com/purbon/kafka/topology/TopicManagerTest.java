@@ -12,6 +12,7 @@ import com.purbon.kafka.topology.model.Impl.TopologyImpl;
 import com.purbon.kafka.topology.model.Project;
 import com.purbon.kafka.topology.model.Topic;
 import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.cluster.TopicDetails;
 import com.purbon.kafka.topology.model.users.Consumer;
 import com.purbon.kafka.topology.model.users.Producer;
 import com.purbon.kafka.topology.schemas.SchemaRegistryManager;
@@ -52,6 +53,7 @@ public class TopicManagerTest {
   public void setup() throws IOException {
 
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
     backendController = new BackendController();
 
     cliOps = new HashMap<>();
@@ -101,7 +103,7 @@ public class TopicManagerTest {
 
     verify(adminClient, times(1)).createTopic(topicA, topicA.toString());
     verify(adminClient, times(1)).createTopic(topicB, topicB.toString());
-    verify(adminClient, times(0)).updatePartitionCount(topicB, topicB.toString());
+    verify(adminClient, times(0)).updatePartitionCounts(anyMap());
 
     ExecutionPlan plan = ExecutionPlan.init(backendController, System.out);
     Configuration config = new Configuration(cliOps, props);
@@ -117,16 +119,24 @@ public class TopicManagerTest {
     topicB = new Topic("topicB", Collections.singletonMap(NUM_PARTITIONS, "12"));
     project.addTopic(topicB);
 
-    doReturn(new Config(Collections.emptyList())).when(adminClient).getActualTopicConfig(any());
     var listOfTopics = new HashSet<>(Arrays.asList(topicA.toString(), topicB.toString()));
     doReturn(listOfTopics).when(adminClient).listApplicationTopics();
+    Config emptyConfig = new Config(Collections.emptyList());
+    doReturn(
+            Map.of(
+                topicA.toString(), new TopicDetails(1, emptyConfig),
+                topicB.toString(), new TopicDetails(1, emptyConfig)))
+        .when(adminClient)
+        .getTopicDetails(anyCollection());
     topicManager.updatePlan(topology, plan);
     plan.run();
 
+    // the details of the existing topics are described at once
+    verify(adminClient, times(1)).getTopicDetails(anyCollection());
+
     verify(adminClient, times(0)).createTopic(topicA, topicA.toString());
     verify(adminClient, times(0)).createTopic(topicB, topicB.toString());
-    verify(adminClient, times(0)).updatePartitionCount(topicA, topicB.toString());
-    verify(adminClient, times(1)).updatePartitionCount(topicB, topicB.toString());
+    verify(adminClient, times(1)).updatePartitionCounts(Map.of(topicB.toString(), 12));
   }
 
   @Test
@@ -317,6 +327,30 @@ public class TopicManagerTest {
     verify(adminClient, times(0)).deleteTopics(Collections.singletonList(topicC));
   }
 
+  @Test
+  public void remoteTopicsAreListedOncePerRunTest() throws IOException {
+    props.put(TOPOLOGY_TOPIC_STATE_FROM_CLUSTER, "true");
+    props.put(ALLOW_DELETE_TOPICS, "true");
+    props.put(JULIE_VERIFY_STATE_SYNC, "true");
+    Configuration config = new Configuration(cliOps, props);
+    TopicManager topicManager = new TopicManager(adminClient, schemaRegistryManager, config);
+
+    Project project = new ProjectImpl("project");
+    Topic topicA = new Topic("topicA");
+    project.addTopic(topicA);
+    Topology topology = new TopologyImpl();
+    topology.addProject(project);
+
+    when(adminClient.listApplicationTopics()).thenReturn(new HashSet<>());
+    topicManager.prefetchClusterState(plan.getClusterSnapshot(), true);
+    topicManager.updatePlan(topology, plan);
+    plan.run();
+    topicManager.printCurrentState(plan.getClusterSnapshot(), outputStream);
+
+    verify(adminClient, times(1)).listApplicationTopics();
+    verify(outputStream, times(1)).println(topicA.toString());
+  }
+
   @Test
   public void dryRunTest() throws IOException {
 
@@ -1,7 +1,10 @@
 package com.purbon.kafka.topology;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+import com.purbon.kafka.topology.actions.topics.TopicConfigUpdatePlan;
 import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
 import com.purbon.kafka.topology.model.*;
 import com.purbon.kafka.topology.model.Impl.ProjectImpl;
@@ -14,17 +17,28 @@ import com.purbon.kafka.topology.model.users.platform.ControlCenter;
 import com.purbon.kafka.topology.model.users.platform.ControlCenterInstance;
 import com.purbon.kafka.topology.model.users.platform.SchemaRegistry;
 import com.purbon.kafka.topology.model.users.platform.SchemaRegistryInstance;
+import com.purbon.kafka.topology.profiling.Profile;
+import com.purbon.kafka.topology.profiling.Profiler;
 import com.purbon.kafka.topology.roles.SimpleAclsProvider;
 import com.purbon.kafka.topology.roles.acls.AclsBindingsBuilder;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.AlterConfigsResult;
 import org.apache.kafka.clients.admin.CreateAclsResult;
+import org.apache.kafka.clients.admin.CreatePartitionsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.ConfigResource.Type;
+import org.apache.kafka.common.errors.InvalidConfigurationException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
@@ -203,4 +217,59 @@ public class TopologyBuilderAdminClientTest {
 
     verify(kafkaAdminClient, times(1)).createAcls(anyCollection());
   }
+
+  @Test
+  public void shouldUpdateTheConfigOfManyTopicsInOneRequest() throws Exception {
+    KafkaFutureImpl<Void> failed = new KafkaFutureImpl<>();
+    failed.completeExceptionally(new InvalidConfigurationException("boom"));
+    Map<ConfigResource, KafkaFuture<Void>> results = new HashMap<>();
+    results.put(new ConfigResource(Type.TOPIC, "topicA"), KafkaFuture.completedFuture(null));
+    results.put(new ConfigResource(Type.TOPIC, "topicB"), failed);
+    results.put(new ConfigResource(Type.TOPIC, "topicC"), KafkaFuture.completedFuture(null));
+    AlterConfigsResult alterConfigsResult = mock(AlterConfigsResult.class);
+    doReturn(results).when(alterConfigsResult).values();
+    doReturn(alterConfigsResult).when(kafkaAdminClient).incrementalAlterConfigs(anyMap());
+
+    List<TopicConfigUpdatePlan> updatePlans = new ArrayList<>();
+    for (String name : Arrays.asList("topicA", "topicB", "topicC")) {
+      TopicConfigUpdatePlan updatePlan = new TopicConfigUpdatePlan(new Topic(name));
+      updatePlan.addConfigToUpdate("retention.ms", "1000");
+      updatePlans.add(updatePlan);
+    }
+
+    Profiler.start();
+    assertThatThrownBy(() -> adminClient.updateTopicConfigs(updatePlans))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("1 out of 3")
+        .hasMessageContaining("[topicB]");
+
+    // the request is recorded once, not once per topic
+    Profile.RemoteCallStats call = Profiler.stop().orElseThrow().getRemoteCalls().get(0);
+    assertThat(call.getLatency().getCount()).isEqualTo(1);
+    assertThat(call.getErrors()).isEqualTo(1);
+
+    ArgumentCaptor<Map<ConfigResource, Collection<AlterConfigOp>>> configs =
+        ArgumentCaptor.forClass(Map.class);
+    verify(kafkaAdminClient, times(1)).incrementalAlterConfigs(configs.capture());
+    assertThat(configs.getValue()).hasSize(3);
+  }
+
+  @Test
+  public void shouldIncreaseThePartitionsOfManyTopicsInOneRequest() throws Exception {
+    CreatePartitionsResult createPartitionsResult = mock(CreatePartitionsResult.class);
+    doReturn(
+            Map.of(
+                "topicA", KafkaFuture.completedFuture(null),
+                "topicB", KafkaFuture.completedFuture(null)))
+        .when(createPartitionsResult)
+        .values();
+    doReturn(createPartitionsResult).when(kafkaAdminClient).createPartitions(anyMap());
+
+    adminClient.updatePartitionCounts(Map.of("topicA", 6, "topicB", 12));
+
+    ArgumentCaptor<Map<String, NewPartitions>> partitions = ArgumentCaptor.forClass(Map.class);
+    verify(kafkaAdminClient, times(1)).createPartitions(partitions.capture());
+    assertThat(partitions.getValue()).containsOnlyKeys("topicA", "topicB");
+    assertThat(partitions.getValue().get("topicB").totalCount()).isEqualTo(12);
+  }
 }
@@ -23,6 +23,7 @@ import com.purbon.kafka.topology.model.users.Consumer;
 import com.purbon.kafka.topology.model.users.KSqlApp;
 import com.purbon.kafka.topology.model.users.KStream;
 import com.purbon.kafka.topology.model.users.Producer;
+import com.purbon.kafka.topology.model.users.Quota;
 import com.purbon.kafka.topology.model.users.Schemas;
 import com.purbon.kafka.topology.model.users.platform.ControlCenterInstance;
 import com.purbon.kafka.topology.model.users.platform.KsqlServerInstance;
@@ -103,6 +104,21 @@ public class TopologySerdesTest {
     assertEquals("contextOrg.source.foo.", anotherProject.namePrefix());
   }
 
+  @Test
+  public void testPlatformQuotas() {
+    Topology topology =
+        parser.deserialise(TestUtils.getResourceFile("/descriptor-with-quotas.yaml"));
+
+    List<Quota> quotas = topology.getPlatform().getKafka().getQuotas().orElseThrow();
+    assertThat(quotas).hasSize(3);
+    assertThat(quotas.get(0).getPrincipal()).isEqualTo("User:App0");
+    assertThat(quotas.get(0).getProducer_byte_rate()).hasValue(1024.0);
+    assertThat(quotas.get(0).getRequest_percentage()).hasValue(50.0);
+    assertThat(quotas.get(1).getRequest_percentage()).isEmpty();
+    assertThat(quotas.get(2).getConsumer_byte_rate()).isEmpty();
+    assertThat(quotas.get(2).getRequest_percentage()).hasValue(80.0);
+  }
+
   @Test
   public void testFileWithoutTopicsShouldNotError() {
     parser.deserialise(TestUtils.getResourceFile("/descriptor-without-topics.yml"));
@@ -766,6 +782,32 @@ public class TopologySerdesTest {
     assertEquals(2, topology.getProjects().get(0).getTopics().size());
   }
 
+  @Test
+  public void testProjectsDefinedBeforeTheTopologyFields() {
+    String descriptor =
+        "projects:\n"
+            + "  - name: \"foo\"\n"
+            + "    consumers:\n"
+            + "      - principal: \"User:app1\"\n"
+            + "    topics:\n"
+            + "      - name: \"bar\"\n"
+            + "        config:\n"
+            + "          replication.factor: 1\n"
+            + "          retention.ms: 3.5\n"
+            + "context: \"contextOrg\"\n"
+            + "source: \"source\"\n";
+
+    Topology topology = parser.deserialise(descriptor);
+
+    Project project = topology.getProjects().get(0);
+    assertThat(project.namePrefix()).isEqualTo("contextOrg.source.foo.");
+    assertThat(project.getConsumers()).extracting(Consumer::getPrincipal).contains("User:app1");
+    Topic topic = project.getTopics().get(0);
+    assertThat(topic.toString()).isEqualTo("contextOrg.source.foo.bar");
+    assertThat(topic.getRawConfig()).containsEntry("retention.ms", "3.5");
+    assertThat(topic.replicationFactor()).hasValue((short) 1);
+  }
+
   @Test
   public void shouldParseSpecialTopics() {
     Topology topology = parser.deserialise(TestUtils.getResourceFile("/descriptor.yaml"));
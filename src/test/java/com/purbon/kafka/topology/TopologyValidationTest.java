@@ -75,6 +75,23 @@ public class TopologyValidationTest {
         .isEqualTo("Topic contextOrg.source.baz.topicF has an invalid number of partitions: 1");
   }
 
+  @Test
+  public void testValidatorIsReusedAcrossTopologies() {
+    Topology topology = parser.deserialise(TestUtils.getResourceFile("/descriptor.yaml"));
+    Topology otherTopology =
+        parser.deserialise(TestUtils.getResourceFile("/descriptor-with-camelCaseNames.yml"));
+
+    Configuration config =
+        createTopologyBuilderConfig(
+            "com.purbon.kafka.topology.validation.topology.CamelCaseNameFormatValidation",
+            "com.purbon.kafka.topology.validation.topic.PartitionNumberValidation");
+
+    TopologyValidator validator = new TopologyValidator(config);
+    assertThat(validator.validate(topology)).hasSize(5);
+    assertThat(validator.validate(otherTopology)).isEmpty();
+    assertThat(validator.validate(topology)).hasSize(5);
+  }
+
   @Test
   public void regexpValidationShouldFindPatterns() {
     Topology topology = parser.deserialise(TestUtils.getResourceFile("/descriptor.yaml"));
@@ -1,9 +1,16 @@
 package com.purbon.kafka.topology.actions.accounts;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.purbon.kafka.topology.PrincipalProvider;
+import com.purbon.kafka.topology.exceptions.PartiallyAppliedException;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import java.io.IOException;
 import java.util.HashSet;
 import org.junit.Rule;
 import org.junit.Test;
@@ -43,4 +50,40 @@ public class CreateAccountsTest {
                 + "  \"operation\" : \"com.purbon.kafka.topology.actions.BaseAccountsAction$1\"\n"
                 + "}");
   }
+
+  @Test
+  public void shouldCreateTheAccountsConcurrently() throws IOException {
+    var accounts = new HashSet<ServiceAccount>();
+    for (int i = 0; i < 10; i++) {
+      accounts.add(new ServiceAccount("-1", "account-" + i, "description"));
+      when(provider.createServiceAccount("account-" + i, "description"))
+          .thenReturn(new ServiceAccount(String.valueOf(i), "account-" + i, "description"));
+    }
+
+    var action = new CreateAccounts(provider, accounts, 4);
+    action.run();
+
+    assertThat(action.getPrincipals()).hasSize(10);
+    assertThat(action.getPrincipals()).noneMatch(account -> account.getId().equals("-1"));
+  }
+
+  @Test
+  public void shouldFailOnceAllTheAccountsWereProcessed() throws IOException {
+    var accounts = new HashSet<ServiceAccount>();
+    for (int i = 0; i < 10; i++) {
+      accounts.add(new ServiceAccount("-1", "account-" + i, "description"));
+    }
+    when(provider.createServiceAccount(anyString(), anyString()))
+        .thenAnswer(i -> new ServiceAccount("1", i.getArgument(0), i.getArgument(1)));
+    when(provider.createServiceAccount("account-3", "description"))
+        .thenThrow(new IOException("boom"));
+
+    var action = new CreateAccounts(provider, accounts, 4);
+
+    assertThatThrownBy(action::run)
+        .isInstanceOf(PartiallyAppliedException.class)
+        .hasMessage("boom");
+    verify(provider, times(10)).createServiceAccount(anyString(), anyString());
+    assertThat(action.getPrincipals()).hasSize(9);
+  }
 }
@@ -9,6 +9,8 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.profiling.Profile;
+import com.purbon.kafka.topology.profiling.Profiler;
 import com.purbon.kafka.topology.utils.PTHttpClient;
 import java.io.IOException;
 import java.util.HashMap;
@@ -51,6 +53,24 @@ public class JulieHttpClientTest {
     assertThat(client.doGet("/some/thing/else").getStatus()).isEqualTo(404);
   }
 
+  @Test
+  public void shouldProfileTheRequestsWhenEnabled() throws IOException {
+    stubFor(
+        get(urlEqualTo("/connectors/foo-1/status"))
+            .willReturn(aResponse().withBody("Hello world!")));
+
+    Profiler.start();
+    client.doGet("/connectors/foo-1/status");
+    Profile profile = Profiler.stop().orElseThrow();
+
+    assertThat(profile.getRemoteCalls().size()).isEqualTo(1);
+    Profile.RemoteCallStats call = profile.getRemoteCalls().get(0);
+    assertThat(call.getClient()).isEqualTo("PTHttpClient");
+    assertThat(call.getEndpoint()).isEqualTo("GET /connectors/*/status");
+    assertThat(call.getBytesReceived()).isEqualTo(12L);
+    assertThat(call.getLatency().getCount()).isEqualTo(1L);
+  }
+
   @Test
   public void shouldRunTheRetryFlowForRetrievableErrorCodes() throws IOException {
 
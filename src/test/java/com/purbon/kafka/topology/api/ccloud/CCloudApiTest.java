@@ -9,12 +9,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.api.ccloud.requests.KafkaAclFilter;
 import com.purbon.kafka.topology.api.mds.Response;
 import com.purbon.kafka.topology.clients.JulieHttpClient;
 import com.purbon.kafka.topology.model.cluster.ServiceAccount;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -197,4 +199,50 @@ public class CCloudApiTest {
     Set<ServiceAccount> accounts = apiClient.listServiceAccounts();
     assertThat(accounts).hasSize(2);
   }
+
+  @Test
+  public void listAclsShouldQueryEachFilterAndMergeTheResults() throws IOException {
+    when(httpClient.doGet("/kafka/v3/clusters/clusterId/acls?principal=User%3A1"))
+        .thenReturn(new Response(null, 200, aclList("foo", "User:1")));
+    when(httpClient.doGet("/kafka/v3/clusters/clusterId/acls?principal=User%3A2"))
+        .thenReturn(new Response(null, 200, aclList("bar", "User:2")));
+    when(httpClient.doGet("/kafka/v3/clusters/clusterId/acls?resource_type=TOPIC"))
+        .thenReturn(new Response(null, 200, aclList("foo", "User:1")));
+
+    var filters =
+        List.of(
+            KafkaAclFilter.forPrincipal("User:1"),
+            KafkaAclFilter.forPrincipal("User:2"),
+            KafkaAclFilter.forResourceType("TOPIC"));
+    Set<TopologyAclBinding> acls = apiClient.listAcls("clusterId", filters, 2);
+
+    assertThat(acls)
+        .containsExactlyInAnyOrder(
+            new TopologyAclBinding("TOPIC", "foo", "*", "READ", "User:1", "LITERAL"),
+            new TopologyAclBinding("TOPIC", "bar", "*", "READ", "User:2", "LITERAL"));
+  }
+
+  private String aclList(String topic, String principal) {
+    return "{\n"
+        + "  \"kind\": \"KafkaAclList\",\n"
+        + "  \"metadata\": { \"self\": \"\", \"next\": null },\n"
+        + "  \"data\": [\n"
+        + "    {\n"
+        + "      \"kind\": \"KafkaAcl\",\n"
+        + "      \"cluster_id\": \"clusterId\",\n"
+        + "      \"resource_type\": \"TOPIC\",\n"
+        + "      \"resource_name\": \""
+        + topic
+        + "\",\n"
+        + "      \"pattern_type\": \"LITERAL\",\n"
+        + "      \"principal\": \""
+        + principal
+        + "\",\n"
+        + "      \"host\": \"*\",\n"
+        + "      \"operation\": \"READ\",\n"
+        + "      \"permission\": \"ALLOW\"\n"
+        + "    }\n"
+        + "  ]\n"
+        + "}";
+  }
 }
@@ -0,0 +1,165 @@
+package com.purbon.kafka.topology.api.ccloud;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ServiceAccountDirectoryTest {
+
+  private static final long TTL_MS = 3600000;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  private Clock clock;
+  private Path file;
+
+  @Before
+  public void before() {
+    clock =
+        new Clock() {
+          @Override
+          public ZoneId getZone() {
+            return ZoneOffset.UTC;
+          }
+
+          @Override
+          public Clock withZone(ZoneId zone) {
+            return this;
+          }
+
+          @Override
+          public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+          }
+        };
+    file = folder.getRoot().toPath().resolve("cache").resolve("service-accounts.json");
+  }
+
+  @Test
+  public void shouldFetchTheDirectoryOncePerRun() throws IOException {
+    ServiceAccountDirectory directory = directory(Optional.empty(), "key");
+
+    assertThat(directory.ids()).containsOnlyKeys("User:app1");
+    assertThat(directory.refresh()).isFalse();
+    assertThat(directory.ids()).containsOnlyKeys("User:app1");
+    assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  public void shouldRefreshTheCachedDirectoryOncePerRun() throws IOException {
+    directory(Optional.of(file), "key").ids();
+
+    ServiceAccountDirectory directory = directory(Optional.of(file), "key");
+    assertThat(directory.ids()).containsOnlyKeys("User:app1");
+    assertThat(directory.refresh()).isTrue();
+    assertThat(directory.refresh()).isFalse();
+    assertThat(directory.ids()).containsKeys("User:app2");
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void shouldTellIfTheDirectoryWasFetchedDuringTheRun() throws IOException {
+    ServiceAccountDirectory fetched = directory(Optional.of(file), "key");
+    fetched.ids();
+    assertThat(fetched.fetched()).isTrue();
+
+    ServiceAccountDirectory cached = directory(Optional.of(file), "key");
+    cached.ids();
+    assertThat(cached.fetched()).isFalse();
+    cached.refresh();
+    assertThat(cached.fetched()).isTrue();
+  }
+
+  @Test
+  public void shouldReuseTheCachedDirectoryUntilItExpires() throws IOException {
+    directory(Optional.of(file), "key").ids();
+    assertThat(file).exists();
+
+    now.set(TTL_MS - 1);
+    assertThat(directory(Optional.of(file), "key").ids()).containsOnlyKeys("User:app1");
+    assertThat(fetches).hasValue(1);
+
+    now.set(TTL_MS);
+    assertThat(directory(Optional.of(file), "key").ids()).containsKeys("User:app2");
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void shouldIgnoreTheDirectoryCachedForAnotherKey() throws IOException {
+    directory(Optional.of(file), "key").ids();
+
+    assertThat(directory(Optional.of(file), "other").ids()).containsKeys("User:app2");
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void shouldIgnoreAnUnreadableCache() throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, "{ not json");
+
+    assertThat(directory(Optional.of(file), "key").ids()).containsOnlyKeys("User:app1");
+    assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  public void shouldFetchAgainForTheUnknownOrForgottenAccounts() throws IOException {
+    ServiceAccountDirectory directory = directory(Optional.empty(), "key");
+
+    assertThat(directory.refresh(List.of("User:app1"))).isTrue();
+    assertThat(directory.refresh(List.of("User:app1"))).isFalse();
+    assertThat(directory.refresh(List.of("User:app3"))).isTrue();
+    // still unknown after a fetch during this run
+    assertThat(directory.refresh(List.of("User:app3"))).isFalse();
+    assertThat(fetches).hasValue(2);
+
+    directory.forget(List.of("User:app2"));
+    assertThat(directory.fetched()).isFalse();
+    assertThat(directory.ids()).containsOnlyKeys("User:app1");
+    assertThat(directory.refresh(List.of("User:app2"))).isTrue();
+    assertThat(directory.ids()).containsKeys("User:app2");
+    assertThat(fetches).hasValue(3);
+  }
+
+  @Test
+  public void shouldForgetTheAccountsInTheCacheKeepingItsAge() throws IOException {
+    directory(Optional.of(file), "key").ids();
+
+    now.set(TTL_MS / 2);
+    directory(Optional.of(file), "key").forget(List.of("User:app1"));
+    assertThat(directory(Optional.of(file), "key").ids()).isEmpty();
+    assertThat(fetches).hasValue(1);
+
+    now.set(TTL_MS);
+    assertThat(directory(Optional.of(file), "key").ids()).containsKeys("User:app1");
+    assertThat(fetches).hasValue(2);
+  }
+
+  private ServiceAccountDirectory directory(Optional<Path> file, String owner) {
+    return new ServiceAccountDirectory(this::fetch, TTL_MS, file, owner, clock);
+  }
+
+  private Map<String, Long> fetch() {
+    if (fetches.incrementAndGet() == 1) {
+      return Map.of("User:app1", 1L);
+    }
+    return Map.of("User:app1", 1L, "User:app2", 2L);
+  }
+}
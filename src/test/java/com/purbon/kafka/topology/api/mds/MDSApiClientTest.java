@@ -1,15 +1,23 @@
 package com.purbon.kafka.topology.api.mds;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static com.purbon.kafka.topology.roles.rbac.RBACPredefinedRoles.DEVELOPER_READ;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.BasicAuth;
 import java.io.IOException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 
 public class MDSApiClientTest {
 
+  @Rule public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
   private MDSApiClient apiClient;
 
   @Before
@@ -70,4 +78,44 @@ public class MDSApiClientTest {
         .isEqualTo(
             "{\"resourcePatterns\":[{\"name\":\"jdbc-sink\",\"patternType\":\"LITERAL\",\"resourceType\":\"Connector\"}],\"scope\":{\"clusters\":{\"kafka-cluster\":\"\",\"connect-cluster\":\"\"}}}");
   }
+
+  @Test
+  public void shouldAuthenticateAgainWhenTheTokenIsRejected() throws IOException {
+    stubFor(
+        get(urlEqualTo("/security/1.0/authenticate"))
+            .withBasicAuth("alice", "secret")
+            .inScenario("tokens")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(okJson(token("token1")))
+            .willSetStateTo("token1 issued"));
+    stubFor(
+        get(urlEqualTo("/security/1.0/authenticate"))
+            .withBasicAuth("alice", "secret")
+            .inScenario("tokens")
+            .whenScenarioStateIs("token1 issued")
+            .willReturn(okJson(token("token2"))));
+    stubFor(
+        post(urlEqualTo("/security/1.0/principals/User:foo/roles/DeveloperRead/bindings"))
+            .withHeader("Authorization", equalTo("Bearer token1"))
+            .willReturn(aResponse().withStatus(401)));
+    stubFor(
+        post(urlEqualTo("/security/1.0/principals/User:foo/roles/DeveloperRead/bindings"))
+            .withHeader("Authorization", equalTo("Bearer token2"))
+            .willReturn(aResponse().withStatus(204)));
+
+    MDSApiClient client = new MDSApiClient(wireMockRule.baseUrl());
+    client.setBasicAuth(new BasicAuth("alice", "secret"));
+    client.authenticate();
+    client.bindRequest(client.bind("User:foo", DEVELOPER_READ, "topic", "LITERAL"));
+
+    verify(2, getRequestedFor(urlEqualTo("/security/1.0/authenticate")));
+    verify(
+        postRequestedFor(
+                urlEqualTo("/security/1.0/principals/User:foo/roles/DeveloperRead/bindings"))
+            .withHeader("Authorization", equalTo("Bearer token2")));
+  }
+
+  private String token(String token) {
+    return "{\"auth_token\":\"" + token + "\",\"token_type\":\"Bearer\",\"expires_in\":3600}";
+  }
 }
@@ -0,0 +1,116 @@
+package com.purbon.kafka.topology.api.mds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MDSTokenManagerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final AtomicInteger authentications = new AtomicInteger();
+
+  private Clock clock;
+
+  @Before
+  public void before() {
+    clock =
+        new Clock() {
+          @Override
+          public ZoneId getZone() {
+            return ZoneOffset.UTC;
+          }
+
+          @Override
+          public Clock withZone(ZoneId zone) {
+            return this;
+          }
+
+          @Override
+          public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+          }
+        };
+  }
+
+  @Test
+  public void shouldReuseTheTokenUntilItExpires() throws IOException {
+    MDSTokenManager manager = manager(Optional.empty());
+
+    assertThat(manager.authorization()).isEqualTo("Bearer token1");
+    now.set(30000);
+    assertThat(manager.authorization()).isEqualTo("Bearer token1");
+    assertThat(authentications).hasValue(1);
+
+    now.set(3600000);
+    assertThat(manager.authorization()).isEqualTo("Bearer token2");
+    assertThat(authentications).hasValue(2);
+  }
+
+  @Test
+  public void shouldRefreshTheTokenBeforeItExpires() throws Exception {
+    MDSTokenManager manager = manager(Optional.empty());
+    manager.authorization();
+
+    now.set(3590000);
+    // the current token is still used while the new one is requested
+    assertThat(manager.authorization()).isEqualTo("Bearer token1");
+    for (int i = 0; i < 100 && !manager.authorization().equals("Bearer token2"); i++) {
+      Thread.sleep(50);
+    }
+    assertThat(manager.authorization()).isEqualTo("Bearer token2");
+    assertThat(authentications).hasValue(2);
+  }
+
+  @Test
+  public void shouldAuthenticateAgainOnceTheTokenIsRejected() throws IOException {
+    MDSTokenManager manager = manager(Optional.empty());
+    String rejected = manager.authorization();
+
+    manager.invalidate(rejected);
+    assertThat(manager.authorization()).isEqualTo("Bearer token2");
+
+    // a request sent with the old token does not drop the new one
+    manager.invalidate(rejected);
+    assertThat(manager.authorization()).isEqualTo("Bearer token2");
+    assertThat(authentications).hasValue(2);
+  }
+
+  @Test
+  public void shouldReuseTheCachedTokenAcrossRuns() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("mds.token");
+    manager(Optional.of(new MDSTokenCache(file, "mds|alice"))).authorization();
+    assertThat(folder.getRoot().toPath().resolve("mds.token.key")).exists();
+
+    MDSTokenManager nextRun = manager(Optional.of(new MDSTokenCache(file, "mds|alice")));
+    assertThat(nextRun.authorization()).isEqualTo("Bearer token1");
+    assertThat(authentications).hasValue(1);
+
+    MDSTokenManager otherUser = manager(Optional.of(new MDSTokenCache(file, "mds|bob")));
+    assertThat(otherUser.authorization()).isEqualTo("Bearer token2");
+    assertThat(authentications).hasValue(2);
+  }
+
+  private MDSTokenManager manager(Optional<MDSTokenCache> cache) {
+    return new MDSTokenManager(
+        () ->
+            new AuthenticationCredentials(
+                "token" + authentications.incrementAndGet(), "Bearer", 3600),
+        60000,
+        cache,
+        clock);
+  }
+}
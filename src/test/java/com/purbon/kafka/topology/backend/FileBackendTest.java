@@ -2,9 +2,11 @@ package com.purbon.kafka.topology.backend;
 
 import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.purbon.kafka.topology.BackendController.Mode;
+import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.TestTopologyBuilder;
 import com.purbon.kafka.topology.api.mds.ClusterIDs;
 import com.purbon.kafka.topology.api.mds.RequestScope;
@@ -15,16 +17,23 @@ import com.purbon.kafka.topology.utils.TestUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Properties;
 import java.util.Set;
 import org.apache.kafka.common.acl.AclOperation;
 import org.apache.kafka.common.resource.PatternType;
 import org.apache.kafka.common.resource.ResourceType;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class FileBackendTest {
 
@@ -35,9 +44,12 @@ public class FileBackendTest {
     backend = new FileBackend();
   }
 
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @After
   public void after() throws IOException {
     Files.deleteIfExists(Paths.get(STATE_FILE_NAME));
+    Files.deleteIfExists(Paths.get(STATE_FILE_NAME + FileBackend.JOURNAL_FILE_SUFFIX));
   }
 
   @Test
@@ -102,6 +114,140 @@ public class FileBackendTest {
     assertThat(state.getAccounts()).hasSize(0);
   }
 
+  @Test
+  public void shouldAppendTheChangesToTheJournal() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    FileBackend journaled = new FileBackend(file);
+
+    BackendState state = new BackendState();
+    state.addTopics(Arrays.asList("topic.a", "topic.b"));
+    journaled.save(state);
+    String snapshot = Files.readString(file);
+
+    state.getTopics().remove("topic.a");
+    state.addTopics(Collections.singleton("topic.c"));
+    state.setCheckpoint(new PlanCheckpoint("plan", 2));
+    journaled.save(state);
+
+    assertThat(Files.readString(file)).isEqualTo(snapshot);
+    Path journal = folder.getRoot().toPath().resolve(STATE_FILE_NAME + ".journal");
+    assertThat(Files.readAllLines(journal)).hasSize(2);
+    assertThat(journaled.transferredBytes()).isEqualTo(Files.size(journal));
+    assertThat(journaled.storedBytes()).isEqualTo(Files.size(file) + Files.size(journal));
+
+    FileBackend reader = new FileBackend(file);
+    BackendState recovered = reader.load();
+    assertThat(reader.transferredBytes()).isEqualTo(Files.size(file) + Files.size(journal));
+    assertThat(recovered.getTopics()).containsExactlyInAnyOrder("topic.b", "topic.c");
+    assertThat(recovered.getCheckpoint().getCommittedActions()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldDropAnIncompleteSegment() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    Path journal = folder.getRoot().toPath().resolve(STATE_FILE_NAME + ".journal");
+    FileBackend journaled = new FileBackend(file);
+
+    BackendState state = new BackendState();
+    state.addTopics(Collections.singleton("topic.a"));
+    journaled.save(state);
+    state.addTopics(Collections.singleton("topic.b"));
+    journaled.save(state);
+    Files.writeString(journal, "{\"added\":{\"topi", StandardOpenOption.APPEND);
+
+    journaled = new FileBackend(file);
+    assertThat(journaled.load().getTopics()).containsExactlyInAnyOrder("topic.a", "topic.b");
+
+    state.addTopics(Collections.singleton("topic.c"));
+    journaled.save(state);
+    assertThat(new FileBackend(file).load().getTopics())
+        .containsExactlyInAnyOrder("topic.a", "topic.b", "topic.c");
+  }
+
+  @Test
+  public void shouldCompactTheJournalIntoTheSnapshot() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    Path journal = folder.getRoot().toPath().resolve(STATE_FILE_NAME + ".journal");
+    FileBackend journaled = new FileBackend(file, 400);
+
+    BackendState state = new BackendState();
+    journaled.save(state);
+    state.addTopics(Collections.singleton("topic.a"));
+    journaled.save(state);
+    assertThat(journal).exists();
+
+    state.addTopics(Arrays.asList("topic.b", "topic.c", "topic.d"));
+    journaled.save(state);
+    assertThat(journal).doesNotExist();
+    assertThat(Files.readString(file)).contains("topic.d");
+    assertThat(new FileBackend(file).load().getTopics()).hasSize(4);
+  }
+
+  @Test
+  public void shouldConfigureTheCompactionSize() {
+    Configuration config = new Configuration(new HashMap<>(), new Properties());
+    assertThat(config.getStateFileJournalCompactionBytes())
+        .isEqualTo(FileBackend.DEFAULT_COMPACTION_BYTES);
+  }
+
+  @Test
+  public void shouldFailOnTheJournalOfAnotherSnapshot() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    FileBackend journaled = new FileBackend(file);
+
+    BackendState state = new BackendState();
+    journaled.save(state);
+    state.addTopics(Collections.singleton("topic.a"));
+    journaled.save(state);
+    Files.writeString(file, new BackendState().asPrettyJson() + "\n");
+
+    assertThatThrownBy(() -> new FileBackend(file).load())
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("extends another snapshot");
+  }
+
+  @Test
+  public void shouldReplayTheJournalOfACopiedSnapshot() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    Path journal = folder.getRoot().toPath().resolve(STATE_FILE_NAME + ".journal");
+    FileBackend journaled = new FileBackend(file);
+
+    BackendState state = new BackendState();
+    journaled.save(state);
+    state.addTopics(Collections.singleton("topic.a"));
+    journaled.save(state);
+
+    Path copy = folder.newFolder("copy").toPath().resolve(STATE_FILE_NAME);
+    Files.copy(file, copy);
+    Files.copy(journal, copy.resolveSibling(STATE_FILE_NAME + ".journal"));
+    Files.setLastModifiedTime(copy, FileTime.fromMillis(0));
+
+    assertThat(new FileBackend(copy).load().getTopics()).containsExactly("topic.a");
+  }
+
+  @Test
+  public void shouldIgnoreAJournalAlreadyCompactedIntoTheSnapshot() throws IOException {
+    Path file = folder.getRoot().toPath().resolve(STATE_FILE_NAME);
+    Path journal = folder.getRoot().toPath().resolve(STATE_FILE_NAME + ".journal");
+    FileBackend journaled = new FileBackend(file, 400);
+
+    BackendState state = new BackendState();
+    journaled.save(state);
+    state.addTopics(Collections.singleton("topic.a"));
+    journaled.save(state);
+    String segments = Files.readString(journal);
+
+    state.addTopics(Arrays.asList("topic.b", "topic.c", "topic.d"));
+    journaled.save(state);
+    assertThat(journal).doesNotExist();
+
+    // a compaction interrupted after replacing the snapshot, before removing the journal
+    String hash = CompressedState.sha256(Files.readAllBytes(file));
+    Files.writeString(journal, segments + "{\"compacted_into\":\"" + hash + "\"}\n");
+
+    assertThat(new FileBackend(file).load().getTopics()).hasSize(4);
+  }
+
   private void verifyStoreAndLoadWithPrincipal(final String principal) throws IOException {
     TopologyAclBinding binding =
         TopologyAclBinding.build(
@@ -0,0 +1,144 @@
+package com.purbon.kafka.topology.backend;
+
+import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.JULIE_GCP_BUCKET;
+import static com.purbon.kafka.topology.Constants.JULIE_GCP_PROJECT_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import com.purbon.kafka.topology.Configuration;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class GCPBackendTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock Storage storage;
+
+  private GCPBackend backend;
+  private BackendState state;
+
+  @Before
+  public void before() {
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Properties props = new Properties();
+    props.put(JULIE_GCP_PROJECT_ID, "project");
+    props.put(JULIE_GCP_BUCKET, "bucket");
+
+    backend = new GCPBackend();
+    backend.configure(new Configuration(cliOps, props), storage);
+
+    state = new BackendState();
+    state.addTopics(Collections.singleton("topic.a"));
+  }
+
+  @Test
+  public void shouldNotUploadAnUnchangedState() throws IOException {
+    storedBlob(CompressedState.of(state));
+
+    assertThat(backend.load().getTopics()).containsExactly("topic.a");
+    backend.save(state);
+
+    verify(storage, never())
+        .create(any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption[].class));
+  }
+
+  @Test
+  public void shouldUploadOnlyIfTheBlobDidNotChange() throws IOException {
+    storedBlob(CompressedState.of(state));
+    Blob created = blob(8L, "hash-2", 10L);
+    when(storage.create(
+            any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption[].class)))
+        .thenReturn(created);
+
+    backend.load();
+    state.addTopics(Collections.singleton("topic.b"));
+    backend.save(state);
+
+    ArgumentCaptor<BlobInfo> info = ArgumentCaptor.forClass(BlobInfo.class);
+    ArgumentCaptor<Storage.BlobTargetOption> options =
+        ArgumentCaptor.forClass(Storage.BlobTargetOption.class);
+    verify(storage).create(info.capture(), any(byte[].class), options.capture());
+    assertThat(info.getValue().getBlobId()).isEqualTo(BlobId.of("bucket", STATE_FILE_NAME, 7L));
+    assertThat(info.getValue().getMetadata())
+        .containsEntry(CompressedState.HASH_METADATA, CompressedState.of(state).getHash());
+    assertThat(options.getAllValues()).containsExactly(Storage.BlobTargetOption.generationMatch());
+  }
+
+  @Test
+  public void shouldCreateTheBlobIfThereIsNone() throws IOException {
+    Blob created = blob(1L, "hash-1", 10L);
+    when(storage.create(
+            any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption[].class)))
+        .thenReturn(created);
+
+    backend.save(state);
+
+    ArgumentCaptor<Storage.BlobTargetOption> options =
+        ArgumentCaptor.forClass(Storage.BlobTargetOption.class);
+    verify(storage).create(any(BlobInfo.class), any(byte[].class), options.capture());
+    assertThat(options.getAllValues()).containsExactly(Storage.BlobTargetOption.doesNotExist());
+  }
+
+  @Test
+  public void shouldFailIfAnotherRunChangedTheBlob() throws IOException {
+    storedBlob(CompressedState.of(state));
+    when(storage.create(
+            any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption[].class)))
+        .thenThrow(new StorageException(412, "Precondition Failed"));
+
+    backend.load();
+    state.addTopics(Collections.singleton("topic.b"));
+
+    assertThatThrownBy(() -> backend.save(state))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("changed by another run");
+  }
+
+  private void storedBlob(CompressedState content) throws IOException {
+    Blob blob = blob(7L, content.getHash(), (long) content.getContent().length);
+    ReadableByteChannel channel =
+        Channels.newChannel(new ByteArrayInputStream(content.getContent()));
+    ReadChannel reader = mock(ReadChannel.class);
+    when(reader.read(any(ByteBuffer.class)))
+        .thenAnswer(invocation -> channel.read(invocation.getArgument(0)));
+    when(blob.reader()).thenReturn(reader);
+    when(storage.get(any(BlobId.class))).thenReturn(blob);
+  }
+
+  private Blob blob(Long generation, String hash, Long size) {
+    Blob blob = mock(Blob.class);
+    when(blob.getGeneration()).thenReturn(generation);
+    when(blob.getMetadata()).thenReturn(Map.of(CompressedState.HASH_METADATA, hash));
+    when(blob.getSize()).thenReturn(size);
+    return blob;
+  }
+}
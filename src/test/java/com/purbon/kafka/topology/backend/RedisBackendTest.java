@@ -1,16 +1,22 @@
 package com.purbon.kafka.topology.backend;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.utils.JSON;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import org.apache.kafka.common.resource.ResourceType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Before;
@@ -20,10 +26,16 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
 public class RedisBackendTest {
 
+  @Mock JedisPool pool;
   @Mock Jedis jedis;
+  @Mock Transaction transaction;
 
   @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
 
@@ -33,7 +45,12 @@ public class RedisBackendTest {
   @Before
   public void before() {
     bucket = "foo";
-    stateProcessor = new RedisBackend(jedis, bucket);
+    stateProcessor = new RedisBackend(pool, bucket);
+    when(pool.getResource()).thenReturn(jedis);
+    when(jedis.multi()).thenReturn(transaction);
+    when(transaction.exec()).thenReturn(List.of(1L));
+    when(jedis.sscan(anyString(), anyString(), any(ScanParams.class)))
+        .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of()));
   }
 
   @Test
@@ -42,14 +59,38 @@ public class RedisBackendTest {
     BackendState state = buildBackendState();
     stateProcessor.save(state);
 
-    verify(jedis, times(1)).set(eq(bucket), any());
+    String binding = JSON.asString(state.getBindings().iterator().next());
+    verify(transaction, times(1)).sadd(eq("foo:bindings"), eq(binding));
+    verify(transaction, times(1)).del(eq(bucket));
+    verify(transaction, times(1)).exec();
+  }
+
+  @Test
+  public void testSaveOnlyTheChangedResources() throws IOException {
+    when(jedis.sscan(eq("foo:topics"), anyString(), any(ScanParams.class)))
+        .thenReturn(new ScanResult<>("7", List.of("topic.a", "topic.b")))
+        .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of("topic.c")));
+
+    BackendState state = stateProcessor.load();
+    assertThat(state.getTopics()).containsExactlyInAnyOrder("topic.a", "topic.b", "topic.c");
+
+    state.getTopics().remove("topic.b");
+    state.addTopics(List.of("topic.d"));
+    stateProcessor.save(state);
+
+    verify(transaction, times(1)).sadd(eq("foo:topics"), eq("topic.d"));
+    verify(transaction, times(1)).srem(eq("foo:topics"), eq("topic.b"));
+    verify(transaction, never()).sadd(eq("foo:bindings"), any(String[].class));
+    verify(transaction, times(1)).exec();
   }
 
   @Test
   public void testDataLoading() throws IOException {
 
     BackendState mockedState = buildBackendState();
-    when(jedis.get(eq(bucket))).thenReturn(mockedState.asPrettyJson());
+    String binding = JSON.asString(mockedState.getBindings().iterator().next());
+    when(jedis.sscan(eq("foo:bindings"), anyString(), any(ScanParams.class)))
+        .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of(binding)));
 
     BackendState state = stateProcessor.load();
     assertEquals(1, state.size());
@@ -57,6 +98,69 @@ public class RedisBackendTest {
     assertEquals("Topic A", state.getBindings().iterator().next().getResourceName());
   }
 
+  @Test
+  public void testLegacyDataLoading() throws IOException {
+
+    BackendState mockedState = buildBackendState();
+    when(jedis.get(eq(bucket))).thenReturn(mockedState.asPrettyJson());
+
+    BackendState state = stateProcessor.load();
+    assertEquals(1, state.size());
+    assertEquals("Topic A", state.getBindings().iterator().next().getResourceName());
+
+    stateProcessor.save(state);
+    String binding = JSON.asString(state.getBindings().iterator().next());
+    verify(transaction, times(1)).sadd(eq("foo:bindings"), eq(binding));
+    verify(transaction, times(1)).del(eq(bucket));
+  }
+
+  @Test
+  public void testSaveAgainstTheStoredStateIfModifiedSinceLoaded() throws IOException {
+    when(jedis.get(eq("foo:version"))).thenReturn("1").thenReturn("2");
+    when(jedis.sscan(eq("foo:topics"), anyString(), any(ScanParams.class)))
+        .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of("topic.a")))
+        .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of("topic.b")));
+
+    BackendState state = stateProcessor.load();
+    state.addTopics(List.of("topic.c"));
+    stateProcessor.save(state);
+
+    verify(transaction, times(1)).sadd(eq("foo:topics"), eq("topic.a"), eq("topic.c"));
+    verify(transaction, times(1)).srem(eq("foo:topics"), eq("topic.b"));
+    verify(transaction, times(1)).incr(eq("foo:version"));
+  }
+
+  @Test
+  public void testSaveAgainWhenTheTransactionIsAborted() throws IOException {
+    when(transaction.exec()).thenReturn(null).thenReturn(List.of(2L));
+
+    stateProcessor.save(buildBackendState());
+
+    verify(jedis, times(2)).watch(any(String[].class));
+    verify(transaction, times(2)).exec();
+    verify(jedis, times(2)).sscan(eq("foo:bindings"), anyString(), any(ScanParams.class));
+  }
+
+  @Test
+  public void testSaveFailsIfTheTransactionIsAlwaysAborted() {
+    when(transaction.exec()).thenReturn(null);
+
+    assertThatThrownBy(() -> stateProcessor.save(buildBackendState()))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("modified concurrently");
+    verify(transaction, times(RedisBackend.MAX_SAVE_ATTEMPTS)).exec();
+  }
+
+  @Test
+  public void testClosedBackendCanNotBeUsed() {
+    when(pool.isClosed()).thenReturn(true);
+
+    assertThatThrownBy(() -> stateProcessor.load())
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("closed");
+    verify(pool, never()).getResource();
+  }
+
   @NotNull
   private BackendState buildBackendState() {
     TopologyAclBinding binding =
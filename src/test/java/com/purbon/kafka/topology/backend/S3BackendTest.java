@@ -0,0 +1,144 @@
+package com.purbon.kafka.topology.backend;
+
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.JULIE_S3_BUCKET;
+import static com.purbon.kafka.topology.Constants.JULIE_S3_REGION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.purbon.kafka.topology.Configuration;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+public class S3BackendTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock S3Client s3;
+
+  private S3Backend backend;
+  private BackendState state;
+
+  @Before
+  public void before() {
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Properties props = new Properties();
+    props.put(JULIE_S3_REGION, "us-west-2");
+    props.put(JULIE_S3_BUCKET, "bucket");
+
+    backend = new S3Backend();
+    backend.configure(new Configuration(cliOps, props), s3);
+
+    state = new BackendState();
+    state.addTopics(Collections.singleton("topic.a"));
+  }
+
+  @Test
+  public void shouldNotUploadAnUnchangedState() throws IOException {
+    storedObject(CompressedState.of(state));
+
+    assertThat(backend.load().getTopics()).containsExactly("topic.a");
+    backend.save(state);
+
+    verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  public void shouldUploadOnlyIfTheObjectDidNotChange() throws IOException {
+    storedObject(CompressedState.of(state));
+    when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+        .thenReturn(PutObjectResponse.builder().eTag("etag-2").build());
+
+    backend.load();
+    state.addTopics(Collections.singleton("topic.b"));
+    backend.save(state);
+
+    ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3).putObject(request.capture(), any(RequestBody.class));
+    assertThat(request.getValue().overrideConfiguration().get().headers())
+        .containsEntry("If-Match", List.of("etag-1"));
+    assertThat(request.getValue().metadata())
+        .containsEntry(CompressedState.HASH_METADATA, CompressedState.of(state).getHash());
+  }
+
+  @Test
+  public void shouldCreateTheObjectIfThereIsNone() throws IOException {
+    when(s3.headObject(any(HeadObjectRequest.class)))
+        .thenThrow(NoSuchKeyException.builder().build());
+    when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+        .thenReturn(PutObjectResponse.builder().eTag("etag-1").build());
+
+    backend.save(state);
+
+    ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3).putObject(request.capture(), any(RequestBody.class));
+    assertThat(request.getValue().overrideConfiguration().get().headers())
+        .containsEntry("If-None-Match", List.of("*"));
+  }
+
+  @Test
+  public void shouldFailIfAnotherRunChangedTheObject() throws IOException {
+    storedObject(CompressedState.of(state));
+    when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+        .thenThrow(S3Exception.builder().statusCode(412).build());
+
+    backend.load();
+    state.addTopics(Collections.singleton("topic.b"));
+
+    assertThatThrownBy(() -> backend.save(state))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("changed by another run");
+  }
+
+  @Test
+  public void shouldLoadAStateStoredAsPlainJson() throws IOException {
+    byte[] json = state.asJson().getBytes(StandardCharsets.UTF_8);
+    when(s3.getObject(any(GetObjectRequest.class)))
+        .thenReturn(
+            new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("etag-1").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json))));
+
+    assertThat(backend.load().getTopics()).containsExactly("topic.a");
+  }
+
+  private void storedObject(CompressedState content) {
+    when(s3.getObject(any(GetObjectRequest.class)))
+        .thenReturn(
+            new ResponseInputStream<>(
+                GetObjectResponse.builder()
+                    .eTag("etag-1")
+                    .metadata(Map.of(CompressedState.HASH_METADATA, content.getHash()))
+                    .build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content.getContent()))));
+  }
+}
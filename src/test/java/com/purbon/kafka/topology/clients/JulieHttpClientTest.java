@@ -0,0 +1,26 @@
+package com.purbon.kafka.topology.clients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class JulieHttpClientTest {
+
+  @Test
+  public void shouldCountTheBytesOfTheBodyAsUtf8() {
+    String body = "{\"name\":\"café\",\"price\":\"€1\",\"tag\":\"🚀\"}";
+
+    assertThat(JulieHttpClient.utf8Length(body))
+        .isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+    assertThat(JulieHttpClient.utf8Length("")).isZero();
+  }
+
+  @Test
+  public void shouldCountALoneSurrogateAsItIsEncoded() {
+    String body = "a\ud83d\ude80\ud83db";
+
+    assertThat(JulieHttpClient.utf8Length(body))
+        .isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+  }
+}
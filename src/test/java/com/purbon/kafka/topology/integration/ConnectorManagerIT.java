@@ -54,6 +54,7 @@ public class ConnectorManagerIT {
     connectContainer.start();
 
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
 
     this.plan = ExecutionPlan.init(new BackendController(), System.out);
   }
@@ -49,6 +49,7 @@ public class KsqlManagerIT {
     ksqlContainer.start();
 
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
 
     KsqlClientConfig ksqlClientConfig =
         KsqlClientConfig.builder().setServer(ksqlContainer.getUrl()).build();
@@ -60,6 +60,7 @@ public class SchemaRegistryManagerIT {
   @Before
   public void configure() throws IOException {
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
 
     parser = new TopologySerdes();
 
@@ -24,6 +24,7 @@ public class DefaultBackendIT {
   @Before
   public void before() throws IOException {
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
     backend = new BackendController();
   }
 
@@ -68,6 +68,7 @@ public class RedisBackendIT {
   @Before
   public void before() throws IOException {
     Files.deleteIfExists(Paths.get(".cluster-state"));
+    Files.deleteIfExists(Paths.get(".cluster-state.journal"));
 
     kafkaAdminClient = ContainerTestUtils.getSaslAdminClient(container);
     TopologyBuilderAdminClient adminClient = new TopologyBuilderAdminClient(kafkaAdminClient);
@@ -77,7 +78,7 @@ public class RedisBackendIT {
         new SchemaRegistryManager(schemaRegistryClient, System.getProperty("user.dir"));
 
     this.jedis = new Jedis(redis.getHost(), redis.getFirstMappedPort());
-    var backend = new RedisBackend(jedis, bucket);
+    var backend = new RedisBackend(redis.getHost(), redis.getFirstMappedPort(), bucket);
 
     this.plan = ExecutionPlan.init(new BackendController(backend), System.out);
 
@@ -155,9 +156,9 @@ public class RedisBackendIT {
     topicManager.updatePlan(topology, plan);
     plan.run();
 
-    String content = jedis.get(bucket);
-    assertThat(content)
-        .contains(
-            "\"topics\" : [ \"testTopicCreation.project.topicB\", \"testTopicCreation.project.topicA\" ]");
+    Set<String> topics = jedis.smembers(bucket + ":topics");
+    assertThat(topics)
+        .containsExactlyInAnyOrder(
+            "testTopicCreation.project.topicB", "testTopicCreation.project.topicA");
   }
 }
@@ -0,0 +1,64 @@
+package com.purbon.kafka.topology.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Counter;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Family;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Gauge;
+import com.purbon.kafka.topology.metrics.MetricsRegistry.Summary;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+  private final MetricsRegistry registry = new MetricsRegistry();
+
+  @Test
+  public void shouldWriteTheTextFormat() {
+    Family<Counter> counter = registry.counter("julie_foo_total", "Foos.", "type");
+    Family<Gauge> gauge = registry.gauge("julie_bar", "Bars.");
+    Family<Summary> summary = registry.summary("julie_baz_seconds", "Baz time.", "type");
+
+    counter.labels("a").inc();
+    counter.labels("a").inc();
+    gauge.labels().set(1.5);
+    summary.labels("b").observe(0.25);
+    summary.labels("b").observe(0.5);
+
+    assertThat(registry.asText())
+        .isEqualTo(
+            "# HELP julie_bar Bars.\n"
+                + "# TYPE julie_bar gauge\n"
+                + "julie_bar 1.5\n"
+                + "# HELP julie_baz_seconds Baz time.\n"
+                + "# TYPE julie_baz_seconds summary\n"
+                + "julie_baz_seconds_count{type=\"b\"} 2\n"
+                + "julie_baz_seconds_sum{type=\"b\"} 0.75\n"
+                + "# HELP julie_foo_total Foos.\n"
+                + "# TYPE julie_foo_total counter\n"
+                + "julie_foo_total{type=\"a\"} 2\n");
+  }
+
+  @Test
+  public void shouldEscapeLabelValues() {
+    registry.counter("julie_foo_total", "Foos.", "name").labels("a\"b\\c\nd").inc();
+
+    assertThat(registry.asText()).contains("julie_foo_total{name=\"a\\\"b\\\\c\\nd\"} 1\n");
+  }
+
+  @Test
+  public void shouldSkipMetricsWithoutSamples() {
+    registry.counter("julie_foo_total", "Foos.", "type");
+
+    assertThat(registry.asText()).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectWrongLabels() {
+    Family<Counter> counter = registry.counter("julie_foo_total", "Foos.", "type");
+
+    assertThatThrownBy(() -> counter.labels("a", "b")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> registry.gauge("julie_foo_total", "Again."))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,116 @@
+package com.purbon.kafka.topology.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+import com.purbon.kafka.topology.BackendController;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class MetricsTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock PrintStream mockPrintStream;
+  @Mock TopologyBuilderAdminClient adminClient;
+
+  @Before
+  public void before() throws IOException {
+    TestUtils.deleteStateFile();
+    Metrics.enable();
+  }
+
+  @After
+  public void after() throws IOException {
+    Metrics.disable();
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldRecordThePlanExecution() throws IOException {
+    doThrow(new IOException("boom"))
+        .when(adminClient)
+        .createTopic(any(Topic.class), eq("context.bar"));
+
+    ExecutionPlan plan = ExecutionPlan.init(new BackendController(), mockPrintStream);
+    plan.add(new CreateTopicAction(adminClient, new Topic("foo"), "context.foo"));
+    plan.add(new CreateTopicAction(adminClient, new Topic("bar"), "context.bar"));
+    try {
+      plan.run();
+    } catch (IOException e) {
+      // expected
+    }
+    plan = ExecutionPlan.init(new BackendController(), mockPrintStream);
+    plan.run();
+    Metrics.runCompleted(1_000_000, false);
+
+    String metrics = Metrics.registry().orElseThrow().asText();
+    assertThat(metrics)
+        .contains("julie_actions_planned_total{type=\"CreateTopicAction\"} 2\n")
+        .contains("julie_actions_executed_total{type=\"CreateTopicAction\"} 2\n")
+        .contains("julie_action_failures_total{type=\"CreateTopicAction\"} 1\n")
+        .contains("julie_managed_resources{kind=\"topics\"} 1\n")
+        .contains(
+            "julie_backend_duration_seconds_count{operation=\"load\",backend=\"FileBackend\"} 2\n")
+        .contains("julie_backend_stored_bytes{backend=\"FileBackend\"}")
+        .doesNotContain("julie_backend_failures_total")
+        .contains("julie_runs_total 1\n")
+        .contains("julie_last_run_success 1\n");
+  }
+
+  @Test
+  public void shouldWriteTheTextFile() throws IOException {
+    Metrics.runCompleted(1_000_000, true);
+    Path file = Files.createTempFile("julie", ".prom");
+    try {
+      Metrics.writeTextFile(file);
+
+      assertThat(Files.readString(file))
+          .contains("# TYPE julie_run_failures_total counter\n")
+          .contains("julie_run_failures_total 1\n");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void shouldServeTheMetrics() throws Exception {
+    Metrics.runCompleted(1_000_000, false);
+    MetricsRegistry registry = Metrics.registry().orElseThrow();
+
+    try (MetricsServer server = MetricsServer.start(0, registry)) {
+      HttpResponse<String> response =
+          HttpClient.newHttpClient()
+              .send(
+                  HttpRequest.newBuilder(
+                          URI.create("http://localhost:" + server.getPort() + "/metrics"))
+                      .build(),
+                  HttpResponse.BodyHandlers.ofString());
+
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(response.headers().firstValue("Content-Type"))
+          .hasValue(MetricsRegistry.CONTENT_TYPE);
+      assertThat(response.body()).isEqualTo(registry.asText());
+    }
+  }
+}
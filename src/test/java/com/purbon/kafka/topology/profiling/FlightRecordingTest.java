@@ -0,0 +1,75 @@
+package com.purbon.kafka.topology.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.purbon.kafka.topology.BackendController;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.actions.topics.CreateTopicAction;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class FlightRecordingTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock PrintStream mockPrintStream;
+  @Mock TopologyBuilderAdminClient adminClient;
+
+  private Path recordingFile;
+
+  @Before
+  public void before() throws IOException {
+    TestUtils.deleteStateFile();
+    recordingFile = Files.createTempFile("julie-ops", ".jfr");
+  }
+
+  @After
+  public void after() throws IOException {
+    Files.deleteIfExists(recordingFile);
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldRecordTheActionsAndTheBackendOperations() throws IOException {
+    try (FlightRecording recording = FlightRecording.start(recordingFile)) {
+      ExecutionPlan plan = ExecutionPlan.init(new BackendController(), mockPrintStream);
+      plan.add(new CreateTopicAction(adminClient, new Topic("foo"), "context.foo"));
+      plan.run();
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().startsWith("julie."))
+            .collect(Collectors.toList());
+
+    assertThat(events)
+        .filteredOn(event -> event.getEventType().getName().equals("julie.Action"))
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.getString("type")).isEqualTo("CreateTopicAction");
+              assertThat(event.getString("resources")).contains("context.foo");
+              assertThat(event.getBoolean("failed")).isFalse();
+            });
+    assertThat(events)
+        .filteredOn(event -> event.getEventType().getName().equals("julie.Backend"))
+        .extracting(event -> event.getString("operation"))
+        .containsExactly("load", "save");
+  }
+}
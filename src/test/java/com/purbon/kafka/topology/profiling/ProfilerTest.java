@@ -0,0 +1,94 @@
+package com.purbon.kafka.topology.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class ProfilerTest {
+
+  @After
+  public void after() {
+    Profiler.stop();
+  }
+
+  @Test
+  public void shouldNotCollectAnythingWhenDisabled() throws IOException {
+    assertThat(Profiler.phase("phase", () -> "result")).isEqualTo("result");
+    Profiler.remoteCall("AdminClient", "listTopics", 0, 0, false, 1);
+
+    assertThat(Profiler.isEnabled()).isFalse();
+    assertThat(Profiler.stop()).isEmpty();
+  }
+
+  @Test
+  public void shouldAggregatePhasesByName() throws IOException {
+    Profiler.start();
+    Profiler.phase("updatePlan TopicManager", () -> {});
+    Profiler.phase("updatePlan TopicManager", () -> {});
+    assertThatThrownBy(
+            () ->
+                Profiler.phase(
+                    "run plan",
+                    () -> {
+                      throw new IOException("boom");
+                    }))
+        .isInstanceOf(IOException.class);
+
+    List<Profile.PhaseStats> phases = Profiler.stop().orElseThrow().getPhases();
+    assertThat(phases)
+        .extracting(Profile.PhaseStats::getName)
+        .containsExactly("updatePlan TopicManager", "run plan");
+    assertThat(phases.get(0).getCount()).isEqualTo(2);
+    assertThat(phases.get(1).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCollectRemoteCallStatistics() {
+    Profiler.start();
+    Profiler.remoteCall("AdminClient", "createTopics", 0, 0, false, millis(3));
+    Profiler.remoteCall("AdminClient", "createTopics", 0, 0, true, millis(40));
+    Profiler.remoteCall("MDSApiClient", "POST /security/*/lookup", 10, 200, false, millis(1));
+
+    Profile profile = Profiler.stop().orElseThrow();
+    Profile.RemoteCallStats createTopics = profile.getRemoteCalls().get(0);
+    assertThat(createTopics.getEndpoint()).isEqualTo("createTopics");
+    assertThat(createTopics.getErrors()).isEqualTo(1);
+    assertThat(createTopics.getLatency().getCount()).isEqualTo(2);
+    assertThat(createTopics.getLatency().percentileMs(50)).isEqualTo(5d);
+    assertThat(createTopics.getLatency().percentileMs(99)).isEqualTo(40d);
+    Profile.RemoteCallStats lookup = profile.getRemoteCalls().get(1);
+    assertThat(lookup.getBytesSent()).isEqualTo(10);
+    assertThat(lookup.getBytesReceived()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldReportTheProfile() throws IOException {
+    Profiler.start();
+    Profiler.phase("build topologies", () -> {});
+    Profiler.remoteCall("AdminClient", "listTopics", 0, 0, false, millis(12));
+    Profile profile = Profiler.stop().orElseThrow();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    profile.print(new PrintStream(out));
+    assertThat(out.toString()).contains("build topologies").contains("AdminClient listTopics");
+
+    Map<String, Object> map = profile.asMap();
+    assertThat(map).containsOnlyKeys("phases", "remoteCalls");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> call = ((List<Map<String, Object>>) map.get("remoteCalls")).get(0);
+    assertThat(call).containsEntry("endpoint", "listTopics").containsEntry("count", 1L);
+    assertThat((Map<String, Long>) call.get("histogram")).containsEntry("<20ms", 1L);
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,209 @@
+package com.purbon.kafka.topology.quotas;
+
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.ALLOW_DELETE_QUOTAS;
+import static com.purbon.kafka.topology.Constants.SERVICE_ACCOUNT_MANAGED_PREFIXES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.purbon.kafka.topology.BackendController;
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.ExecutionPlan;
+import com.purbon.kafka.topology.actions.quotas.AlterClientQuotas;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.model.Impl.TopologyImpl;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.users.Quota;
+import com.purbon.kafka.topology.utils.TestUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class QuotasManagerTest {
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock TopologyBuilderAdminClient adminClient;
+  @Mock PrintStream mockPrintStream;
+
+  private ExecutionPlan plan;
+  private Properties props;
+
+  @Before
+  public void before() throws IOException {
+    TestUtils.deleteStateFile();
+    plan = ExecutionPlan.init(new BackendController(), mockPrintStream);
+    props = new Properties();
+  }
+
+  @After
+  public void after() throws IOException {
+    TestUtils.deleteStateFile();
+  }
+
+  @Test
+  public void shouldOnlyAlterTheChangedQuotas() throws IOException {
+    Map<ClientQuotaEntity, Map<String, Double>> current = new HashMap<>();
+    current.put(user("App0"), Map.of("producer_byte_rate", 1024.0));
+    current.put(user("App1"), Map.of("producer_byte_rate", 1024.0, "request_percentage", 50.0));
+    when(adminClient.describeUserQuotas()).thenReturn(current);
+
+    Topology topology =
+        topology(
+            new Quota("User:App0", Optional.of(1024.0), Optional.empty()),
+            new Quota("User:App1", Optional.of(2048.0), Optional.empty()),
+            new Quota("App2", Optional.empty(), Optional.of(512.0)));
+
+    quotasManager().updatePlan(topology, plan);
+
+    assertThat(plan.getActions()).hasSize(1);
+    List<ClientQuotaAlteration> alterations =
+        ((AlterClientQuotas) plan.getActions().get(0)).getAlterations();
+    assertThat(alterations)
+        .extracting(ClientQuotaAlteration::entity)
+        .containsExactly(user("App1"), user("App2"));
+    assertThat(alterations.get(0).ops())
+        .containsExactly(
+            new ClientQuotaAlteration.Op("producer_byte_rate", 2048.0),
+            new ClientQuotaAlteration.Op("request_percentage", null));
+    assertThat(alterations.get(1).ops())
+        .containsExactly(new ClientQuotaAlteration.Op("consumer_byte_rate", 512.0));
+    verify(adminClient, times(1)).describeUserQuotas();
+  }
+
+  @Test
+  public void shouldNotFetchTheQuotasWhenNoneAreManaged() throws IOException {
+    quotasManager().updatePlan(topology(), plan);
+
+    assertThat(plan.getActions()).isEmpty();
+    verify(adminClient, never()).describeUserQuotas();
+  }
+
+  @Test
+  public void shouldRemoveTheUndeclaredQuotasOfManagedUsersWhenAllowed() throws IOException {
+    props.put(ALLOW_DELETE_QUOTAS, "true");
+    props.put(SERVICE_ACCOUNT_MANAGED_PREFIXES + ".0", "User:team");
+    Map<ClientQuotaEntity, Map<String, Double>> current = new HashMap<>();
+    current.put(user("team-app"), Map.of("producer_byte_rate", 1024.0));
+    current.put(user("other-app"), Map.of("producer_byte_rate", 1024.0));
+    when(adminClient.describeUserQuotas()).thenReturn(current);
+
+    quotasManager().updatePlan(topology(), plan);
+
+    List<ClientQuotaAlteration> alterations =
+        ((AlterClientQuotas) plan.getActions().get(0)).getAlterations();
+    assertThat(alterations).hasSize(1);
+    assertThat(alterations.get(0).entity()).isEqualTo(user("team-app"));
+    assertThat(alterations.get(0).ops())
+        .containsExactly(new ClientQuotaAlteration.Op("producer_byte_rate", null));
+  }
+
+  @Test
+  public void shouldKeepTheDefaultQuotaUnlessDeclared() throws IOException {
+    props.put(ALLOW_DELETE_QUOTAS, "true");
+    Map<ClientQuotaEntity, Map<String, Double>> current = new HashMap<>();
+    current.put(user(null), Map.of("producer_byte_rate", 1024.0));
+    current.put(user("app"), Map.of("producer_byte_rate", 1024.0));
+    when(adminClient.describeUserQuotas()).thenReturn(current);
+
+    QuotasManager quotasManager = quotasManager();
+    quotasManager.updatePlan(topology(), plan);
+
+    List<ClientQuotaAlteration> alterations =
+        ((AlterClientQuotas) plan.getActions().get(0)).getAlterations();
+    assertThat(alterations).extracting(ClientQuotaAlteration::entity).containsExactly(user("app"));
+
+    quotasManager.printCurrentState(plan.getClusterSnapshot(), mockPrintStream);
+    verify(adminClient, times(1)).describeUserQuotas();
+  }
+
+  @Test
+  public void shouldPrintTheQuotasAsAlteredByThePlan() throws IOException {
+    props.put(ALLOW_DELETE_QUOTAS, "true");
+    Map<ClientQuotaEntity, Map<String, Double>> current = new HashMap<>();
+    current.put(user("App0"), Map.of("producer_byte_rate", 1024.0));
+    current.put(user("App1"), Map.of("producer_byte_rate", 1024.0, "request_percentage", 50.0));
+    current.put(user("App3"), Map.of("producer_byte_rate", 1024.0));
+    when(adminClient.describeUserQuotas()).thenReturn(current);
+
+    QuotasManager quotasManager = quotasManager();
+    quotasManager.updatePlan(
+        topology(
+            new Quota("User:App0", Optional.of(1024.0), Optional.empty()),
+            new Quota("User:App1", Optional.of(2048.0), Optional.empty()),
+            new Quota("App2", Optional.empty(), Optional.of(512.0))),
+        plan);
+    plan.run();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    quotasManager.printCurrentState(
+        plan.getClusterSnapshot(), new PrintStream(out, true, StandardCharsets.UTF_8));
+    assertThat(out.toString(StandardCharsets.UTF_8).lines())
+        .containsExactly(
+            "List of Quotas: ",
+            "App0 {producer_byte_rate=1024.0}",
+            "App1 {producer_byte_rate=2048.0}",
+            "App2 {consumer_byte_rate=512.0}");
+    verify(adminClient, times(1)).describeUserQuotas();
+  }
+
+  @Test
+  public void shouldSendTheAlterationsInBatches() throws IOException {
+    List<ClientQuotaAlteration> alterations = new ArrayList<>();
+    for (int i = 0; i < 1200; i++) {
+      alterations.add(
+          new ClientQuotaAlteration(
+              user("App" + i),
+              List.of(new ClientQuotaAlteration.Op("producer_byte_rate", 1024.0))));
+    }
+
+    new AlterClientQuotas(adminClient, alterations).run();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<ClientQuotaAlteration>> batches =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(adminClient, times(3)).alterClientQuotas(batches.capture());
+    assertThat(batches.getAllValues()).extracting(Collection::size).containsExactly(500, 500, 200);
+  }
+
+  private QuotasManager quotasManager() {
+    HashMap<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    return new QuotasManager(adminClient, new Configuration(cliOps, props));
+  }
+
+  private static Topology topology(Quota... quotas) {
+    Topology topology = new TopologyImpl();
+    topology.setContext("context");
+    if (quotas.length > 0) {
+      topology.getPlatform().getKafka().setQuotas(Optional.of(List.of(quotas)));
+    }
+    return topology;
+  }
+
+  private static ClientQuotaEntity user(String name) {
+    return new ClientQuotaEntity(Collections.singletonMap(ClientQuotaEntity.USER, name));
+  }
+}
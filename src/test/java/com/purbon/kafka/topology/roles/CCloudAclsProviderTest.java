@@ -0,0 +1,134 @@
+package com.purbon.kafka.topology.roles;
+
+import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
+import static com.purbon.kafka.topology.Constants.CCLOUD_ACLS_LIST_CONCURRENCY;
+import static com.purbon.kafka.topology.Constants.CCLOUD_CLOUD_API_KEY;
+import static com.purbon.kafka.topology.Constants.CCLOUD_CLOUD_API_SECRET;
+import static com.purbon.kafka.topology.Constants.CCLOUD_KAFKA_CLUSTER_ID_CONFIG;
+import static com.purbon.kafka.topology.Constants.CCLOUD_SA_ACCOUNT_CACHE_FILE;
+import static com.purbon.kafka.topology.Constants.SERVICE_ACCOUNT_MANAGED_PREFIXES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.purbon.kafka.topology.Configuration;
+import com.purbon.kafka.topology.api.adminclient.TopologyBuilderAdminClient;
+import com.purbon.kafka.topology.api.ccloud.CCloudApi;
+import com.purbon.kafka.topology.api.ccloud.requests.KafkaAclFilter;
+import com.purbon.kafka.topology.model.cluster.ServiceAccount;
+import com.purbon.kafka.topology.model.cluster.ServiceAccountV1;
+import com.purbon.kafka.topology.utils.CCloudUtils;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class CCloudAclsProviderTest {
+
+  @Mock TopologyBuilderAdminClient adminClient;
+  @Mock CCloudApi cli;
+  @Captor ArgumentCaptor<Collection<KafkaAclFilter>> filters;
+
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Properties props;
+
+  @Before
+  public void before() {
+    props = new Properties();
+    props.put(CCLOUD_KAFKA_CLUSTER_ID_CONFIG, "clusterId");
+    props.put(CCLOUD_ACLS_LIST_CONCURRENCY, 2);
+  }
+
+  @Test
+  public void shouldListTheAclsOfTheManagedServiceAccountsOnly() throws IOException {
+    props.put(SERVICE_ACCOUNT_MANAGED_PREFIXES + ".0", "User:app");
+    when(cli.listServiceAccounts())
+        .thenReturn(
+            Set.of(
+                new ServiceAccount("sa-1", "User:app-1", ""),
+                new ServiceAccount("sa-2", "User:app-2", ""),
+                new ServiceAccount("sa-3", "User:other", "")));
+    when(cli.listServiceAccountsV1())
+        .thenReturn(
+            Set.of(
+                new ServiceAccountV1(1001L, "", "User:app-1", "sa-1"),
+                new ServiceAccountV1(1002L, "", "User:app-2", "sa-2"),
+                new ServiceAccountV1(1003L, "", "User:other", "sa-3")));
+    TopologyAclBinding binding =
+        new TopologyAclBinding("TOPIC", "foo", "*", "READ", "User:1001", "LITERAL");
+    when(cli.listAcls(eq("clusterId"), anyCollection(), eq(2))).thenReturn(Set.of(binding));
+
+    Map<String, List<TopologyAclBinding>> acls = provider().listAcls();
+
+    verify(cli).listAcls(eq("clusterId"), filters.capture(), eq(2));
+    assertThat(filters.getValue())
+        .containsExactlyInAnyOrder(
+            KafkaAclFilter.forPrincipal("User:1001"), KafkaAclFilter.forPrincipal("User:1002"));
+    assertThat(acls).containsOnly(Map.entry("foo", List.of(binding)));
+  }
+
+  @Test
+  public void shouldListAllTheAclsAtOnceWithoutManagedPrefixes() throws IOException {
+    when(cli.listAcls(eq("clusterId"), anyCollection(), anyInt())).thenReturn(Set.of());
+
+    assertThat(provider().listAcls()).isEmpty();
+
+    verify(cli).listAcls(eq("clusterId"), filters.capture(), eq(2));
+    assertThat(filters.getValue()).containsExactly(KafkaAclFilter.ALL);
+    verify(cli, never()).listServiceAccounts();
+  }
+
+  @Test
+  public void shouldCallAgainWithTheIdOfAnAccountCreatedAgain() throws IOException {
+    props.put(CCLOUD_CLOUD_API_KEY, "key");
+    props.put(CCLOUD_CLOUD_API_SECRET, "secret");
+    props.put(
+        CCLOUD_SA_ACCOUNT_CACHE_FILE, folder.getRoot().toPath().resolve("accounts").toString());
+    when(cli.listServiceAccounts()).thenReturn(Set.of(new ServiceAccount("sa-1", "User:app", "")));
+    when(cli.listServiceAccountsV1())
+        .thenReturn(Set.of(new ServiceAccountV1(1001L, "", "User:app", "sa-1")))
+        .thenReturn(Set.of(new ServiceAccountV1(2001L, "", "User:app", "sa-1")));
+    TopologyAclBinding binding =
+        new TopologyAclBinding("TOPIC", "foo", "*", "READ", "User:app", "LITERAL");
+    provider().createBindings(Set.of(binding));
+
+    // the cached id is stale, the account was deleted and created again since
+    doThrow(new IOException("boom"))
+        .when(cli)
+        .createAcl(eq("clusterId"), argThat(b -> b.getPrincipal().equals("User:1001")));
+    provider().createBindings(Set.of(binding));
+
+    verify(cli, times(2))
+        .createAcl(eq("clusterId"), argThat(b -> b.getPrincipal().equals("User:1001")));
+    verify(cli).createAcl(eq("clusterId"), argThat(b -> b.getPrincipal().equals("User:2001")));
+    verify(cli, times(2)).listServiceAccounts();
+  }
+
+  private CCloudAclsProvider provider() {
+    Map<String, String> cliOps = new HashMap<>();
+    cliOps.put(BROKERS_OPTION, "");
+    Configuration config = new Configuration(cliOps, props);
+    return new CCloudAclsProvider(adminClient, config, cli, new CCloudUtils(config));
+  }
+}
@@ -0,0 +1,30 @@
+package com.purbon.kafka.topology.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import org.junit.Test;
+
+public class AsyncTest {
+
+  @Test
+  public void shouldRunTheCallsOnTheirOwnThreads() throws IOException {
+    String thread = Async.join(Async.supply(() -> Thread.currentThread().getName()));
+
+    assertThat(thread).startsWith("julie-async");
+  }
+
+  @Test
+  public void shouldRethrowTheFailureOfTheCall() {
+    assertThatThrownBy(
+            () ->
+                Async.join(
+                    Async.supply(
+                        () -> {
+                          throw new IOException("boom");
+                        })))
+        .isInstanceOf(IOException.class)
+        .hasMessage("boom");
+  }
+}
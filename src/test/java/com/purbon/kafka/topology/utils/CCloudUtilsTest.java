@@ -1,9 +1,14 @@
 package com.purbon.kafka.topology.utils;
 
 import static com.purbon.kafka.topology.CommandLineInterface.BROKERS_OPTION;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static com.purbon.kafka.topology.Constants.CCLOUD_CLOUD_API_KEY;
+import static com.purbon.kafka.topology.Constants.CCLOUD_CLOUD_API_SECRET;
+import static com.purbon.kafka.topology.Constants.CCLOUD_SA_ACCOUNT_CACHE_FILE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.purbon.kafka.topology.Configuration;
 import com.purbon.kafka.topology.api.ccloud.CCloudApi;
@@ -13,6 +18,7 @@ import com.purbon.kafka.topology.roles.TopologyAclBinding;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import org.apache.kafka.common.resource.ResourceType;
@@ -20,6 +26,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -32,6 +39,7 @@ public class CCloudUtilsTest {
   @Mock CCloudApi cCloudApi;
 
   @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
 
   @Before
   public void before() {
@@ -84,6 +92,91 @@ public class CCloudUtilsTest {
     assertThat(translatedBinding.getPrincipal()).isEqualTo("User:12345");
   }
 
+  @Test
+  public void lookupTableShouldBeFetchedAgainOnceForUnknownPrincipals() throws IOException {
+    props.put(CCLOUD_CLOUD_API_KEY, "key");
+    props.put(CCLOUD_CLOUD_API_SECRET, "secret");
+    props.put(
+        CCLOUD_SA_ACCOUNT_CACHE_FILE, folder.getRoot().toPath().resolve("accounts").toString());
+    Configuration config = new Configuration(cliOps, props);
+
+    var accounts = new HashSet<>();
+    accounts.add(new ServiceAccount("sa-1", "User:foo", "description", "sa-1"));
+    doReturn(accounts).when(cCloudApi).listServiceAccounts();
+    var accountsV1 = new HashSet<>();
+    accountsV1.add(new ServiceAccountV1(1L, "email", "User:foo", "sa-1"));
+    doReturn(accountsV1).when(cCloudApi).listServiceAccountsV1();
+
+    var foo = binding("User:foo");
+    var bar = binding("User:bar");
+
+    // the first run fetches the directory and caches it
+    assertThat(new CCloudUtils(config).lookupTable(cCloudApi, List.of(foo)))
+        .containsEntry("User:foo", 1L);
+    verify(cCloudApi, times(1)).listServiceAccounts();
+
+    // the next run uses the cache, and fetches it again only once for an unknown principal
+    var utils = new CCloudUtils(config);
+    assertThat(utils.lookupTable(cCloudApi, List.of(foo))).containsEntry("User:foo", 1L);
+    verify(cCloudApi, times(1)).listServiceAccounts();
+    utils.lookupTable(cCloudApi, List.of(foo, bar));
+    utils.lookupTable(cCloudApi, List.of(bar));
+    verify(cCloudApi, times(2)).listServiceAccounts();
+  }
+
+  @Test
+  public void forgottenAccountsShouldBeFetchedAgainByTheNextRun() throws IOException {
+    props.put(CCLOUD_CLOUD_API_KEY, "key");
+    props.put(CCLOUD_CLOUD_API_SECRET, "secret");
+    props.put(
+        CCLOUD_SA_ACCOUNT_CACHE_FILE, folder.getRoot().toPath().resolve("accounts").toString());
+    Configuration config = new Configuration(cliOps, props);
+
+    var accounts = new HashSet<>();
+    accounts.add(new ServiceAccount("sa-1", "User:foo", "description", "sa-1"));
+    doReturn(accounts).when(cCloudApi).listServiceAccounts();
+    var accountsV1 = new HashSet<>();
+    accountsV1.add(new ServiceAccountV1(1L, "email", "User:foo", "sa-1"));
+    doReturn(accountsV1).when(cCloudApi).listServiceAccountsV1();
+
+    var foo = binding("User:foo");
+    new CCloudUtils(config).lookupTable(cCloudApi, List.of(foo));
+
+    // the account is deleted and created again, e.g. by the principals of another run
+    new CCloudUtils(config).forget(cCloudApi, List.of("User:foo"));
+    accountsV1.clear();
+    accountsV1.add(new ServiceAccountV1(2L, "email", "User:foo", "sa-1"));
+
+    assertThat(new CCloudUtils(config).lookupTable(cCloudApi, List.of(foo)))
+        .containsEntry("User:foo", 2L);
+    verify(cCloudApi, times(2)).listServiceAccounts();
+  }
+
+  @Test
+  public void fetchedLookupTableShouldIgnoreTheCachedDirectory() throws IOException {
+    props.put(CCLOUD_CLOUD_API_KEY, "key");
+    props.put(CCLOUD_CLOUD_API_SECRET, "secret");
+    props.put(
+        CCLOUD_SA_ACCOUNT_CACHE_FILE, folder.getRoot().toPath().resolve("accounts").toString());
+    Configuration config = new Configuration(cliOps, props);
+
+    var accounts = new HashSet<>();
+    accounts.add(new ServiceAccount("sa-1", "User:foo", "description", "sa-1"));
+    doReturn(accounts).when(cCloudApi).listServiceAccounts();
+    var accountsV1 = new HashSet<>();
+    accountsV1.add(new ServiceAccountV1(1L, "email", "User:foo", "sa-1"));
+    doReturn(accountsV1).when(cCloudApi).listServiceAccountsV1();
+
+    assertThat(new CCloudUtils(config).fetchedLookupTable(cCloudApi))
+        .hasValueSatisfying(ids -> assertThat(ids).containsEntry("User:foo", 1L));
+    assertThat(new CCloudUtils(config).fetchedLookupTable(cCloudApi)).isEmpty();
+  }
+
+  private TopologyAclBinding binding(String principal) {
+    return TopologyAclBinding.build(
+        ResourceType.TOPIC.name(), "topic", "*", "READ", principal, "LITERAL");
+  }
+
   @Test(expected = IOException.class)
   public void translationShouldBeAbortedIfErrors() throws IOException {
     Configuration config = new Configuration(cliOps, props);
@@ -0,0 +1,88 @@
+package com.purbon.kafka.topology.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.purbon.kafka.topology.model.Topic;
+import com.purbon.kafka.topology.model.Topology;
+import com.purbon.kafka.topology.model.User;
+import com.purbon.kafka.topology.roles.TopologyAclBinding;
+import com.purbon.kafka.topology.serdes.TopologySerdes;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+public class InternerTest {
+
+  @After
+  public void after() {
+    Interner.clear();
+  }
+
+  @Test
+  public void shouldShareTheFieldsOfEqualBindings() {
+    TopologyAclBinding first = binding();
+    TopologyAclBinding second = binding();
+
+    assertThat(first.getResourceName()).isSameAs(second.getResourceName());
+    assertThat(first.getPrincipal()).isSameAs(second.getPrincipal());
+    assertThat(first.getOperation()).isSameAs(second.getOperation());
+    assertThat(first.getResourceType()).isSameAs(second.getResourceType());
+    assertThat(first.getPattern()).isSameAs(second.getPattern());
+    assertThat(new User(new String("User:app")).getPrincipal()).isSameAs(first.getPrincipal());
+    assertThat(first.asAclBinding()).isEmpty();
+  }
+
+  @Test
+  public void shouldShareTheFieldsOfTheBindingsReadFromTheState() throws Exception {
+    String json = JSON.asString(binding());
+    TopologyAclBinding first = (TopologyAclBinding) JSON.toObject(json, TopologyAclBinding.class);
+    TopologyAclBinding second = (TopologyAclBinding) JSON.toObject(json, TopologyAclBinding.class);
+
+    assertThat(first).isEqualTo(binding());
+    assertThat(first.getResourceName()).isSameAs(second.getResourceName());
+    assertThat(first.getPrincipal()).isSameAs(second.getPrincipal());
+  }
+
+  @Test
+  public void shouldShareTheEqualUsersOfTheTopics() {
+    Topology topology =
+        new TopologySerdes()
+            .deserialise(
+                "context: \"context\"\n"
+                    + "projects:\n"
+                    + "  - name: \"foo\"\n"
+                    + "    topics:\n"
+                    + "      - name: \"a\"\n"
+                    + "        consumers:\n"
+                    + "          - principal: \"User:app\"\n"
+                    + "      - name: \"b\"\n"
+                    + "        consumers:\n"
+                    + "          - principal: \"User:app\"\n"
+                    + "          - principal: \"User:app\"\n"
+                    + "            group: \"other\"\n");
+
+    List<Topic> topics = topology.getProjects().get(0).getTopics();
+    assertThat(topics.get(1).getConsumers().get(0)).isSameAs(topics.get(0).getConsumers().get(0));
+    assertThat(topics.get(1).getConsumers().get(1).groupString()).isEqualTo("other");
+  }
+
+  @Test
+  public void shouldForgetTheValuesOnceCleared() {
+    String value = Interner.intern(new String("some.topic"));
+    Interner.clear();
+
+    assertThat(Interner.size()).isZero();
+    assertThat(Interner.intern(new String("some.topic"))).isNotSameAs(value);
+    assertThat(Interner.intern(null)).isNull();
+  }
+
+  private TopologyAclBinding binding() {
+    return new TopologyAclBinding(
+        new String("TOPIC"),
+        new String("some.topic"),
+        new String("*"),
+        new String("READ"),
+        new String("User:app"),
+        new String("LITERAL"));
+  }
+}
@@ -0,0 +1,48 @@
+package com.purbon.kafka.topology.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ParallelTest {
+
+  @Test
+  public void shouldKeepTheOrderOfTheItems() throws IOException {
+    var results = Parallel.map("test", List.of(1, 2, 3, 4), 3, i -> i * 10);
+
+    assertThat(results.get()).containsExactly(10, 20, 30, 40);
+    assertThat(results.failure()).isEmpty();
+  }
+
+  @Test
+  public void shouldStopAtTheFirstFailureWhenRunOneAtATime() throws IOException {
+    AtomicInteger calls = new AtomicInteger();
+    var results = Parallel.map("test", List.of(1, 2, 3), 1, i -> fail(calls, i));
+
+    assertThat(results.successes()).containsExactly(1);
+    assertThat(results.failure()).hasValueSatisfying(e -> assertThat(e).hasMessage("boom 2"));
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  public void shouldReportTheFirstFailureAndTheOtherResults() throws IOException {
+    AtomicInteger calls = new AtomicInteger();
+    var results = Parallel.map("test", List.of(1, 2, 3), 3, i -> fail(calls, i));
+
+    assertThat(results.successes()).containsExactly(1, 3);
+    assertThat(results.failure()).hasValueSatisfying(e -> assertThat(e).hasMessage("boom 2"));
+    assertThatThrownBy(results::get).isInstanceOf(IOException.class).hasMessage("boom 2");
+  }
+
+  private Integer fail(AtomicInteger calls, Integer i) throws IOException {
+    calls.incrementAndGet();
+    if (i == 2) {
+      throw new IOException("boom " + i);
+    }
+    return i;
+  }
+}
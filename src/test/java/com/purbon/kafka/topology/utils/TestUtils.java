@@ -2,6 +2,7 @@ package com.purbon.kafka.topology.utils;
 
 import static com.purbon.kafka.topology.BackendController.STATE_FILE_NAME;
 
+import com.purbon.kafka.topology.backend.FileBackend;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -16,6 +17,7 @@ public final class TestUtils {
   public static void deleteStateFile() {
     try {
       Files.deleteIfExists(Paths.get(STATE_FILE_NAME));
+      Files.deleteIfExists(Paths.get(STATE_FILE_NAME + FileBackend.JOURNAL_FILE_SUFFIX));
     } catch (final IOException e) {
       throw new RuntimeException(e);
     }